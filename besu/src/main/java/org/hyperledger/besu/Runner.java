@@ -40,6 +40,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -148,19 +149,21 @@ public class Runner implements AutoCloseable {
     LOG.info("Starting external services ... ");
     metrics.ifPresent(service -> waitForServiceToStart("metrics", service.start()));
 
-    jsonRpc.ifPresent(service -> waitForServiceToStart("jsonRpc", service.start()));
-    engineJsonRpc.ifPresent(service -> waitForServiceToStart("engineJsonRpc", service.start()));
-    graphQLHttp.ifPresent(service -> waitForServiceToStart("graphQLHttp", service.start()));
-    webSocketRpc.ifPresent(service -> waitForServiceToStart("websocketRpc", service.start()));
+    // the services start concurrently, while the log bloom cache is checked
+    final Map<String, CompletableFuture<?>> startFutures = new LinkedHashMap<>();
+    jsonRpc.ifPresent(service -> startFutures.put("jsonRpc", service.start()));
+    engineJsonRpc.ifPresent(service -> startFutures.put("engineJsonRpc", service.start()));
+    graphQLHttp.ifPresent(service -> startFutures.put("graphQLHttp", service.start()));
+    webSocketRpc.ifPresent(service -> startFutures.put("websocketRpc", service.start()));
     ipcJsonRpc.ifPresent(
         service ->
-            waitForServiceToStart(
+            startFutures.put(
                 "ipcJsonRpc", service.start().toCompletionStage().toCompletableFuture()));
     stratumServer.ifPresent(
         server ->
-            waitForServiceToStart(
-                "stratum", server.start().toCompletionStage().toCompletableFuture()));
+            startFutures.put("stratum", server.start().toCompletionStage().toCompletableFuture()));
     autoTransactionLogBloomCachingService.ifPresent(AutoTransactionLogBloomCachingService::start);
+    startFutures.forEach(this::waitForServiceToStart);
   }
 
   private void startExternalServicePostMainLoop() {
@@ -112,6 +112,7 @@ import org.hyperledger.besu.ethstats.EthStatsService;
 import org.hyperledger.besu.ethstats.util.EthStatsConnectOptions;
 import org.hyperledger.besu.metrics.MetricsService;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
 import org.hyperledger.besu.nat.NatMethod;
 import org.hyperledger.besu.nat.NatService;
@@ -127,6 +128,7 @@ import org.hyperledger.besu.services.BesuPluginContextImpl;
 import org.hyperledger.besu.services.PermissioningServiceImpl;
 import org.hyperledger.besu.services.RpcEndpointServiceImpl;
 import org.hyperledger.besu.util.NetworkUtility;
+import org.hyperledger.besu.util.StartupProfiler;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -184,6 +186,7 @@ public class RunnerBuilder {
   private Optional<Path> pidPath = Optional.empty();
   private MetricsConfiguration metricsConfiguration;
   private ObservableMetricsSystem metricsSystem;
+  private StartupProfiler startupProfiler = new StartupProfiler(new NoOpMetricsSystem());
   private PermissioningServiceImpl permissioningService;
   private Optional<PermissioningConfiguration> permissioningConfiguration = Optional.empty();
   private Collection<EnodeURL> staticNodes = Collections.emptyList();
@@ -481,6 +484,17 @@ public class RunnerBuilder {
     return this;
   }
 
+  /**
+   * Add Startup profiler.
+   *
+   * @param startupProfiler the startup profiler
+   * @return the runner builder
+   */
+  public RunnerBuilder startupProfiler(final StartupProfiler startupProfiler) {
+    this.startupProfiler = startupProfiler;
+    return this;
+  }
+
   /**
    * Add Permissioning service.
    *
@@ -613,6 +627,8 @@ public class RunnerBuilder {
 
     Preconditions.checkNotNull(besuController);
 
+    final StartupProfiler.Phase p2pNetworkPhase = startupProfiler.startPhase("p2p_network");
+
     final DiscoveryConfiguration discoveryConfiguration =
         DiscoveryConfiguration.create()
             .setBindHost(p2pListenInterface)
@@ -739,7 +755,9 @@ public class RunnerBuilder {
         n ->
             n.setInsufficientPeersPermissioningProvider(
                 new InsufficientPeersPermissioningProvider(network, bootnodes)));
+    p2pNetworkPhase.end();
 
+    final StartupProfiler.Phase rpcServicesPhase = startupProfiler.startPhase("rpc_services");
     final TransactionPool transactionPool = besuController.getTransactionPool();
     final MiningCoordinator miningCoordinator = besuController.getMiningCoordinator();
     final MiningConfiguration miningConfiguration = besuController.getMiningParameters();
@@ -1109,6 +1127,7 @@ public class RunnerBuilder {
     } else {
       inProcessRpcMethods = Map.of();
     }
+    rpcServicesPhase.end();
 
     return new Runner(
         vertx,
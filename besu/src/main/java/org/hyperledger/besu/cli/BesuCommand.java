@@ -203,6 +203,7 @@ import org.hyperledger.besu.util.InvalidConfigurationException;
 import org.hyperledger.besu.util.LogConfigurator;
 import org.hyperledger.besu.util.NetworkUtility;
 import org.hyperledger.besu.util.PermissioningConfigurationValidator;
+import org.hyperledger.besu.util.StartupProfiler;
 import org.hyperledger.besu.util.number.Fraction;
 import org.hyperledger.besu.util.number.Percentage;
 import org.hyperledger.besu.util.number.PositiveNumber;
@@ -712,6 +713,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   private DataStorageConfiguration dataStorageConfiguration;
   private Collection<EnodeURL> staticNodes;
   private BesuController besuController;
+  private Optional<StartupProfiler> startupProfiler = Optional.empty();
   private BesuConfigurationImpl pluginCommonConfiguration;
 
   private Vertx vertx;
@@ -958,10 +960,13 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       instantiateSignatureAlgorithmFactory();
 
       logger.info("Starting Besu");
+      final StartupProfiler profiler = new StartupProfiler(besuComponent.getMetricsSystem());
+      startupProfiler = Optional.of(profiler);
 
       // Need to create vertx after cmdline has been parsed, such that metricsSystem is configurable
       vertx = createVertx(createVertxOptions(besuComponent.getMetricsSystem()));
 
+      final StartupProfiler.Phase configurationPhase = profiler.startPhase("configuration");
       validateOptions();
 
       configure();
@@ -971,21 +976,32 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       VersionMetadata.versionCompatibilityChecks(versionCompatibilityProtection, dataDir());
 
       configureNativeLibs();
-      besuController = buildController();
+      configurationPhase.end();
+      besuController = profiler.profile("controller", this::buildController);
 
       besuPluginContext.beforeExternalServices();
 
-      final var runner = buildRunner();
+      final var runner = profiler.profile("runner", this::buildRunner);
+      final StartupProfiler.Phase externalServicesPhase = profiler.startPhase("external_services");
       runner.startExternalServices();
+      externalServicesPhase.end();
 
+      final StartupProfiler.Phase pluginsPhase = profiler.startPhase("plugins");
       startPlugins(runner);
       validatePrivacyPluginOptions();
+      pluginsPhase.end();
       setReleaseMetrics();
+      final StartupProfiler.Phase preSynchronizationPhase =
+          profiler.startPhase("pre_synchronization");
       preSynchronization();
+      preSynchronizationPhase.end();
 
+      final StartupProfiler.Phase mainLoopPhase = profiler.startPhase("main_loop");
       runner.startEthereumMainLoop();
+      mainLoopPhase.end();
 
       besuPluginContext.afterExternalServicesMainLoop();
+      profiler.logSummary();
 
       runner.awaitStop();
 
@@ -1591,7 +1607,11 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         unstableChainPruningOptions.getChainDataPruningBlocksRetained();
     if (unstableChainPruningOptions.getChainDataPruningEnabled()) {
       final GenesisConfigOptions genesisConfigOptions = readGenesisConfigOptions();
-      if (chainDataPruningBlocksRetained
+      if (getDataStorageConfiguration().getAncientBlockFreezerEnabled()) {
+        throw new ParameterException(
+            this.commandLine,
+            "--Xchain-pruning-enabled can not be used with --Xancient-block-freezer-enabled");
+      } else if (chainDataPruningBlocksRetained
           < unstableChainPruningOptions.getChainDataPruningBlocksRetainedLimit()) {
         throw new ParameterException(
             this.commandLine,
@@ -1829,6 +1849,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .requiredBlocks(requiredBlocks)
             .reorgLoggingThreshold(reorgLoggingThreshold)
             .evmConfiguration(unstableEvmOptions.toDomainObject())
+            .codeAnalysisStoreEnabled(unstableEvmOptions.isCodeAnalysisStoreEnabled())
             .maxPeers(p2PDiscoveryOptions.maxPeers)
             .maxRemotelyInitiatedPeers(maxRemoteInitiatedPeers)
             .randomPeerPriority(p2PDiscoveryOptions.randomPeerPriority)
@@ -1837,6 +1858,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .genesisStateHashCacheEnabled(genesisStateHashCacheEnabled)
             .apiConfiguration(apiConfigurationSupplier.get())
             .besuComponent(besuComponent);
+    startupProfiler.ifPresent(besuControllerBuilder::startupProfiler);
     if (DataStorageFormat.BONSAI.equals(getDataStorageConfiguration().getDataStorageFormat())) {
       final DiffBasedSubStorageConfiguration subStorageConfiguration =
           getDataStorageConfiguration().getDiffBasedSubStorageConfiguration();
@@ -2258,6 +2280,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
 
     checkNotNull(runnerBuilder);
 
+    startupProfiler.ifPresent(runnerBuilder::startupProfiler);
     final Runner runner =
         runnerBuilder
             .vertx(vertx)
@@ -2662,6 +2685,19 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     if (!unstableChainPruningOptions.getChainDataPruningEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!dataStorageOptions
+        .toDomainObject()
+        .getDiffBasedSubStorageConfiguration()
+        .getUnstable()
+        .getArchiveEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(
+          KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE_ARCHIVE);
+      rocksDBPlugin.addIgnorableSegmentIdentifier(
+          KeyValueSegmentIdentifier.ACCOUNT_STORAGE_ARCHIVE);
+    }
+    if (!unstableEvmOptions.isCodeAnalysisStoreEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CODE_ANALYSIS);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
@@ -30,6 +30,7 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
   private static final String CHAIN_PRUNING_BLOCKS_RETAINED_LIMIT_FLAG =
       "--Xchain-pruning-blocks-retained-limit";
   private static final String CHAIN_PRUNING_FREQUENCY_FLAG = "--Xchain-pruning-frequency";
+  private static final String CHAIN_PRUNING_WINDOW_SIZE_FLAG = "--Xchain-pruning-window-size";
 
   /**
    * The "CHAIN_DATA_PRUNING_MIN_BLOCKS_RETAINED_LIMIT" field sets the minimum limit for the
@@ -42,6 +43,9 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
   /** The constant DEFAULT_CHAIN_DATA_PRUNING_FREQUENCY. */
   public static final int DEFAULT_CHAIN_DATA_PRUNING_FREQUENCY = 256;
 
+  /** The constant DEFAULT_CHAIN_DATA_PRUNING_WINDOW_SIZE. */
+  public static final int DEFAULT_CHAIN_DATA_PRUNING_WINDOW_SIZE = 1024;
+
   @CommandLine.Option(
       hidden = true,
       names = {CHAIN_PRUNING_ENABLED_FLAG},
@@ -77,6 +81,14 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
   private final PositiveNumber chainDataPruningBlocksFrequency =
       PositiveNumber.fromInt(DEFAULT_CHAIN_DATA_PRUNING_FREQUENCY);
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {CHAIN_PRUNING_WINDOW_SIZE_FLAG},
+      description =
+          "The maximum number of blocks pruned by a single pruning operation, the remaining blocks being pruned by the next operations. Must be positive (default: ${DEFAULT-VALUE})")
+  private final PositiveNumber chainDataPruningWindowSize =
+      PositiveNumber.fromInt(DEFAULT_CHAIN_DATA_PRUNING_WINDOW_SIZE);
+
   /** Default Constructor. */
   ChainPruningOptions() {}
 
@@ -122,7 +134,8 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
         chainDataPruningEnabled,
         chainDataPruningBlocksRetained,
         chainDataPruningBlocksRetainedLimit,
-        chainDataPruningBlocksFrequency.getValue());
+        chainDataPruningBlocksFrequency.getValue(),
+        chainDataPruningWindowSize.getValue());
   }
 
   @Override
@@ -135,6 +148,8 @@ public class ChainPruningOptions implements CLIOptions<ChainPrunerConfiguration>
         CHAIN_PRUNING_BLOCKS_RETAINED_LIMIT_FLAG,
         chainDataPruningBlocksRetainedLimit.toString(),
         CHAIN_PRUNING_FREQUENCY_FLAG,
-        chainDataPruningBlocksFrequency.toString());
+        chainDataPruningBlocksFrequency.toString(),
+        CHAIN_PRUNING_WINDOW_SIZE_FLAG,
+        chainDataPruningWindowSize.toString());
   }
 }
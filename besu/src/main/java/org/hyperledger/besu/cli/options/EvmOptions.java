@@ -14,9 +14,11 @@
  */
 package org.hyperledger.besu.cli.options;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import picocli.CommandLine;
 
@@ -29,6 +31,15 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant WORLDSTATE_UPDATE_MODE. */
   public static final String WORLDSTATE_UPDATE_MODE = "--Xevm-worldstate-update-mode";
 
+  /** The constant CACHED_PRECOMPILES. */
+  public static final String CACHED_PRECOMPILES = "--Xevm-cached-precompiles";
+
+  /** The constant PRECOMPILE_CACHE_WEIGHT. */
+  public static final String PRECOMPILE_CACHE_WEIGHT = "--Xevm-precompile-cache-weight-kb";
+
+  /** The constant CODE_ANALYSIS_STORE_ENABLED. */
+  public static final String CODE_ANALYSIS_STORE_ENABLED = "--Xevm-code-analysis-store-enabled";
+
   /** Default constructor. */
   EvmOptions() {}
 
@@ -63,13 +74,67 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
       EvmConfiguration.WorldUpdaterMode
           .STACKED; // Stacked Updater.  Years of battle tested correctness.
 
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {CACHED_PRECOMPILES},
+      description =
+          "Addresses of deterministic precompiles whose results are cached, "
+              + "e.g. 0x08 for the alt_bn128 pairing check",
+      hidden = true,
+      split = ",",
+      arity = "1..*")
+  private List<String> cachedPrecompiles = List.of();
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {PRECOMPILE_CACHE_WEIGHT},
+      description =
+          "size in kilobytes to allow the result cache of each cached precompile "
+              + "to grow to before evicting the least recently used entry",
+      fallbackValue = "4096",
+      hidden = true,
+      arity = "1")
+  private Long precompileCacheWeightKilobytes =
+      EvmConfiguration.DEFAULT_PRECOMPILE_CACHE_WEIGHT_KB;
+
+  @SuppressWarnings({"FieldCanBeFinal", "FieldMayBeFinal"})
+  @CommandLine.Option(
+      names = {CODE_ANALYSIS_STORE_ENABLED},
+      description =
+          "Persist the valid jump destinations of the executed contracts in the database, "
+              + "so that they are not analyzed again after an eviction or a restart",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private Boolean codeAnalysisStoreEnabled = false;
+
   @Override
   public EvmConfiguration toDomainObject() {
-    return new EvmConfiguration(jumpDestCacheWeightKilobytes, worldstateUpdateMode);
+    return new EvmConfiguration(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        cachedPrecompiles.stream()
+            .map(address -> Address.fromHexString(address.trim()))
+            .collect(Collectors.toSet()),
+        precompileCacheWeightKilobytes);
+  }
+
+  /**
+   * Whether the code analysis results are persisted across restarts.
+   *
+   * @return true if the code analysis store is enabled
+   */
+  public boolean isCodeAnalysisStoreEnabled() {
+    return codeAnalysisStoreEnabled;
   }
 
   @Override
   public List<String> getCLIOptions() {
-    return List.of(JUMPDEST_CACHE_WEIGHT, WORLDSTATE_UPDATE_MODE);
+    return List.of(
+        JUMPDEST_CACHE_WEIGHT,
+        WORLDSTATE_UPDATE_MODE,
+        CACHED_PRECOMPILES,
+        PRECOMPILE_CACHE_WEIGHT,
+        CODE_ANALYSIS_STORE_ENABLED);
   }
 }
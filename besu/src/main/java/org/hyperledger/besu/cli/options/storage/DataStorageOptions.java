@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.cli.options.storage;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_ANCIENT_BLOCK_FREEZER_BLOCKS_RETAINED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_ANCIENT_BLOCK_FREEZER_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_RECEIPT_COMPACTION_ENABLED;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
@@ -49,6 +51,22 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       fallbackValue = "true")
   private Boolean receiptCompactionEnabled = DEFAULT_RECEIPT_COMPACTION_ENABLED;
 
+  @Option(
+      hidden = true,
+      names = "--Xancient-block-freezer-enabled",
+      description =
+          "Moves the bodies and receipts of old finalized blocks to append-only ancient block files (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private Boolean ancientBlockFreezerEnabled = DEFAULT_ANCIENT_BLOCK_FREEZER_ENABLED;
+
+  @Option(
+      hidden = true,
+      names = "--Xancient-block-freezer-blocks-retained",
+      description =
+          "Number of recent blocks whose bodies and receipts are kept in the database by the ancient block freezer (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private Long ancientBlockFreezerBlocksRetained = DEFAULT_ANCIENT_BLOCK_FREEZER_BLOCKS_RETAINED;
+
   /**
    * Options specific to diff-based storage modes. Holds the necessary parameters to configure
    * diff-based storage, such as the Bonsai mode or Verkle in the future.
@@ -76,6 +94,10 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
    */
   public void validate(final CommandLine commandLine) {
     diffBasedSubStorageOptions.validate(commandLine, dataStorageFormat);
+    if (ancientBlockFreezerEnabled && ancientBlockFreezerBlocksRetained < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--Xancient-block-freezer-blocks-retained must not be negative");
+    }
   }
 
   /**
@@ -88,6 +110,9 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
     final DataStorageOptions dataStorageOptions = DataStorageOptions.create();
     dataStorageOptions.dataStorageFormat = domainObject.getDataStorageFormat();
     dataStorageOptions.receiptCompactionEnabled = domainObject.getReceiptCompactionEnabled();
+    dataStorageOptions.ancientBlockFreezerEnabled = domainObject.getAncientBlockFreezerEnabled();
+    dataStorageOptions.ancientBlockFreezerBlocksRetained =
+        domainObject.getAncientBlockFreezerBlocksRetained();
     dataStorageOptions.diffBasedSubStorageOptions =
         DiffBasedSubStorageOptions.fromConfig(domainObject.getDiffBasedSubStorageConfiguration());
     return dataStorageOptions;
@@ -99,6 +124,8 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
         ImmutableDataStorageConfiguration.builder()
             .dataStorageFormat(dataStorageFormat)
             .receiptCompactionEnabled(receiptCompactionEnabled)
+            .ancientBlockFreezerEnabled(ancientBlockFreezerEnabled)
+            .ancientBlockFreezerBlocksRetained(ancientBlockFreezerBlocksRetained)
             .diffBasedSubStorageConfiguration(diffBasedSubStorageOptions.toDomainObject());
     return builder.build();
   }
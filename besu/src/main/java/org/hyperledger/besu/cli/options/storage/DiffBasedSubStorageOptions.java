@@ -17,8 +17,11 @@ package org.hyperledger.besu.cli.options.storage;
 import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DEFAULT_LIMIT_TRIE_LOGS_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DEFAULT_MAX_LAYERS_TO_LOAD;
 import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DEFAULT_TRIE_LOG_PRUNING_WINDOW_SIZE;
+import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DiffBasedUnstable.DEFAULT_ARCHIVE_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DiffBasedUnstable.DEFAULT_CODE_USING_CODE_HASH_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DiffBasedUnstable.DEFAULT_FLAT_DB_CACHE_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DiffBasedUnstable.DEFAULT_FULL_FLAT_DB_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DiffBasedUnstable.DEFAULT_WRITE_BEHIND_BLOCKS;
 import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.MINIMUM_TRIE_LOG_RETENTION_LIMIT;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
@@ -79,6 +82,12 @@ public class DiffBasedSubStorageOptions implements CLIOptions<DiffBasedSubStorag
           "The max number of blocks to load and prune trie logs for at startup. (default: ${DEFAULT-VALUE})")
   private Integer trieLogPruningWindowSize = DEFAULT_TRIE_LOG_PRUNING_WINDOW_SIZE;
 
+  /** The bonsai write-behind blocks option name. */
+  public static final String WRITE_BEHIND_BLOCKS = "--Xbonsai-write-behind-blocks";
+
+  /** The bonsai flat database cache size option name. */
+  public static final String FLAT_DB_CACHE_SIZE = "--Xbonsai-flat-db-cache-size";
+
   @CommandLine.ArgGroup(validate = false)
   private final DiffBasedSubStorageOptions.Unstable unstableOptions = new Unstable();
 
@@ -116,6 +125,31 @@ public class DiffBasedSubStorageOptions implements CLIOptions<DiffBasedSubStorag
             "Enables parallelization of transactions to optimize processing speed by concurrently loading and executing necessary data in advance. (default: ${DEFAULT-VALUE})")
     private Boolean isParallelTxProcessingEnabled = false;
 
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-archive-enabled"},
+        arity = "1",
+        description =
+            "Enables the bonsai archive, which keeps block-number-versioned flat state so historical account and storage reads do not need trie log rollbacks. (default: ${DEFAULT-VALUE})")
+    private Boolean archiveEnabled = DEFAULT_ARCHIVE_ENABLED;
+
+    @Option(
+        hidden = true,
+        names = {WRITE_BEHIND_BLOCKS},
+        arity = "1",
+        description =
+            "Number of blocks whose world state is kept in memory and written to the database in a single commit, 0 to write each block. The blocks not written before a crash are recovered from the trie logs. (default: ${DEFAULT-VALUE})")
+    private Integer writeBehindBlocks = DEFAULT_WRITE_BEHIND_BLOCKS;
+
+    @Option(
+        hidden = true,
+        names = {FLAT_DB_CACHE_SIZE},
+        paramLabel = "<LONG>",
+        arity = "1",
+        description =
+            "Size in bytes of the cache of the most frequently read flat accounts and storage values of the head world state, 0 to disable it. (default: ${DEFAULT-VALUE})")
+    private Long flatDbCacheSize = DEFAULT_FLAT_DB_CACHE_SIZE;
+
     /** Default Constructor. */
     Unstable() {}
   }
@@ -138,6 +172,34 @@ public class DiffBasedSubStorageOptions implements CLIOptions<DiffBasedSubStorag
    */
   public void validate(final CommandLine commandLine, final DataStorageFormat dataStorageFormat) {
     if (DataStorageFormat.BONSAI == dataStorageFormat) {
+      if (unstableOptions.archiveEnabled && !unstableOptions.codeUsingCodeHashEnabled) {
+        throw new CommandLine.ParameterException(
+            commandLine,
+            "The archive mode requires code to be stored by code hash (--Xbonsai-code-using-code-hash-enabled).");
+      }
+      if (unstableOptions.writeBehindBlocks < 0) {
+        throw new CommandLine.ParameterException(
+            commandLine,
+            String.format(
+                WRITE_BEHIND_BLOCKS + "=%d must not be negative",
+                unstableOptions.writeBehindBlocks));
+      }
+      if (unstableOptions.flatDbCacheSize < 0) {
+        throw new CommandLine.ParameterException(
+            commandLine,
+            String.format(
+                FLAT_DB_CACHE_SIZE + "=%d must not be negative",
+                unstableOptions.flatDbCacheSize));
+      }
+      // the blocks not yet written are rolled forward from their trie logs after a crash
+      if (unstableOptions.writeBehindBlocks >= maxLayersToLoad) {
+        throw new CommandLine.ParameterException(
+            commandLine,
+            String.format(
+                WRITE_BEHIND_BLOCKS + "=%d must be less than " + MAX_LAYERS_TO_LOAD + "=%d",
+                unstableOptions.writeBehindBlocks,
+                maxLayersToLoad));
+      }
       if (limitTrieLogsEnabled) {
         if (maxLayersToLoad < MINIMUM_TRIE_LOG_RETENTION_LIMIT) {
           throw new CommandLine.ParameterException(
@@ -170,6 +232,14 @@ public class DiffBasedSubStorageOptions implements CLIOptions<DiffBasedSubStorag
             commandLine,
             "Transaction parallelization is not supported unless operating in a 'diffbased' mode, such as Bonsai.");
       }
+      if (unstableOptions.archiveEnabled) {
+        throw new CommandLine.ParameterException(
+            commandLine, "The archive mode is only supported when operating in Bonsai mode.");
+      }
+      if (unstableOptions.writeBehindBlocks != 0) {
+        throw new CommandLine.ParameterException(
+            commandLine, "The write-behind is only supported when operating in Bonsai mode.");
+      }
     }
   }
 
@@ -191,6 +261,12 @@ public class DiffBasedSubStorageOptions implements CLIOptions<DiffBasedSubStorag
         domainObject.getUnstable().getCodeStoredByCodeHashEnabled();
     dataStorageOptions.unstableOptions.isParallelTxProcessingEnabled =
         domainObject.getUnstable().isParallelTxProcessingEnabled();
+    dataStorageOptions.unstableOptions.archiveEnabled =
+        domainObject.getUnstable().getArchiveEnabled();
+    dataStorageOptions.unstableOptions.writeBehindBlocks =
+        domainObject.getUnstable().getWriteBehindBlocks();
+    dataStorageOptions.unstableOptions.flatDbCacheSize =
+        domainObject.getUnstable().getFlatDbCacheSize();
 
     return dataStorageOptions;
   }
@@ -206,6 +282,9 @@ public class DiffBasedSubStorageOptions implements CLIOptions<DiffBasedSubStorag
                 .fullFlatDbEnabled(unstableOptions.fullFlatDbEnabled)
                 .codeStoredByCodeHashEnabled(unstableOptions.codeUsingCodeHashEnabled)
                 .isParallelTxProcessingEnabled(unstableOptions.isParallelTxProcessingEnabled)
+                .archiveEnabled(unstableOptions.archiveEnabled)
+                .writeBehindBlocks(unstableOptions.writeBehindBlocks)
+                .flatDbCacheSize(unstableOptions.flatDbCacheSize)
                 .build())
         .build();
   }
@@ -56,6 +56,7 @@ import org.hyperledger.besu.ethereum.eth.manager.EthProtocolManager;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.MergePeerFilter;
 import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
+import org.hyperledger.besu.ethereum.eth.manager.peertask.AdaptiveRequestController;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskExecutor;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerTaskRequestSender;
 import org.hyperledger.besu.ethereum.eth.manager.snap.SnapProtocolManager;
@@ -81,17 +82,24 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
 import org.hyperledger.besu.ethereum.forkid.ForkIdManager;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockFreezer;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockStore;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockchainStorage;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiWorldStateProvider;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive.BonsaiArchiveStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive.BonsaiArchiver;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogPruner;
 import org.hyperledger.besu.ethereum.trie.forest.ForestWorldStateArchive;
+import org.hyperledger.besu.ethereum.vm.KeyValueCodeAnalysisStore;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
@@ -101,9 +109,11 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStatePreimageStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+import org.hyperledger.besu.util.StartupProfiler;
 
 import java.io.Closeable;
 import java.math.BigInteger;
@@ -116,15 +126,19 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
+import com.google.common.base.Throwables;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** The Besu controller builder that builds Besu Controller. */
 public abstract class BesuControllerBuilder implements MiningParameterOverrides {
   private static final Logger LOG = LoggerFactory.getLogger(BesuControllerBuilder.class);
+  private static final String ANCIENT_BLOCKS_DIRECTORY = "ancient";
 
   /** The genesis file */
   protected GenesisConfig genesisConfig;
@@ -153,6 +167,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   /** The Metrics system. */
   protected ObservableMetricsSystem metricsSystem;
 
+  /** The Startup profiler. */
+  protected StartupProfiler startupProfiler = new StartupProfiler(new NoOpMetricsSystem());
+
   /** The Privacy parameters. */
   protected PrivacyParameters privacyParameters;
 
@@ -191,6 +208,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   /** The Evm configuration. */
   protected EvmConfiguration evmConfiguration;
 
+  /** Whether the code analysis results are persisted across restarts. */
+  protected boolean codeAnalysisStoreEnabled;
+
   /** The Max peers. */
   protected int maxPeers;
 
@@ -362,6 +382,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  /**
+   * Startup profiler besu controller builder.
+   *
+   * @param startupProfiler the startup profiler
+   * @return the besu controller builder
+   */
+  public BesuControllerBuilder startupProfiler(final StartupProfiler startupProfiler) {
+    this.startupProfiler = startupProfiler;
+    return this;
+  }
+
   /**
    * Privacy parameters besu controller builder.
    *
@@ -474,6 +505,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  /**
+   * Code analysis store enabled besu controller builder.
+   *
+   * @param codeAnalysisStoreEnabled whether the code analysis results are persisted across restarts
+   * @return the besu controller builder
+   */
+  public BesuControllerBuilder codeAnalysisStoreEnabled(final boolean codeAnalysisStoreEnabled) {
+    this.codeAnalysisStoreEnabled = codeAnalysisStoreEnabled;
+    return this;
+  }
+
   /**
    * Max peers besu controller builder.
    *
@@ -594,24 +636,53 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     checkNotNull(besuComponent, "Must supply a BesuComponent");
     prepForBuild();
 
-    final ProtocolSchedule protocolSchedule = createProtocolSchedule();
+    // opening the database may take a while, do it while creating the protocol schedule and,
+    // unless read from the database, the genesis state
+    final CompletableFuture<VariablesStorage> variablesStorageFuture =
+        CompletableFuture.supplyAsync(
+            () -> startupProfiler.profile("database", storageProvider::createVariablesStorage));
+
+    // the code caches of the protocol schedule EVMs are given the code analysis store
+    final Optional<KeyValueCodeAnalysisStore> codeAnalysisStore = createCodeAnalysisStore();
+    final ProtocolSchedule protocolSchedule =
+        startupProfiler.profile("protocol_schedule", this::createProtocolSchedule);
 
-    final VariablesStorage variablesStorage = storageProvider.createVariablesStorage();
+    final Supplier<GenesisState> genesisStateFromConfig =
+        () -> GenesisState.fromConfig(dataStorageConfiguration, genesisConfig, protocolSchedule);
+    final Optional<CompletableFuture<GenesisState>> computedGenesisState =
+        genesisStateHashCacheEnabled
+            ? Optional.empty()
+            : Optional.of(
+                CompletableFuture.supplyAsync(
+                    () -> startupProfiler.profile("genesis_state", genesisStateFromConfig)));
+
+    final VariablesStorage variablesStorage = join(variablesStorageFuture);
+
+    codeAnalysisStore.ifPresent(KeyValueCodeAnalysisStore::warmup);
 
     final WorldStateStorageCoordinator worldStateStorageCoordinator =
         storageProvider.createWorldStateStorageCoordinator(dataStorageConfiguration);
 
-    final BlockchainStorage blockchainStorage =
+    final BlockchainStorage keyValueBlockchainStorage =
         storageProvider.createBlockchainStorage(
             protocolSchedule, variablesStorage, dataStorageConfiguration);
+    final BlockchainStorage blockchainStorage =
+        dataStorageConfiguration.getAncientBlockFreezerEnabled()
+            ? createAncientBlockchainStorage(keyValueBlockchainStorage, protocolSchedule)
+            : keyValueBlockchainStorage;
 
     final var maybeStoredGenesisBlockHash = blockchainStorage.getBlockHash(0L);
 
     final var genesisState =
-        getGenesisState(
-            maybeStoredGenesisBlockHash.flatMap(blockchainStorage::getBlockHeader),
-            protocolSchedule);
-
+        computedGenesisState
+            .map(BesuControllerBuilder::join)
+            .orElseGet(
+                () ->
+                    getGenesisState(
+                        maybeStoredGenesisBlockHash.flatMap(blockchainStorage::getBlockHeader),
+                        protocolSchedule));
+
+    final StartupProfiler.Phase blockchainPhase = startupProfiler.startPhase("blockchain");
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
             genesisState.getBlock(),
@@ -620,6 +691,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             reorgLoggingThreshold,
             dataDirectory.toString(),
             numberOfBlocksToCache);
+    blockchainPhase.end();
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
@@ -627,6 +699,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
 
     final var worldStateHealerSupplier = new AtomicReference<WorldStateHealer>();
 
+    final StartupProfiler.Phase worldStatePhase = startupProfiler.startPhase("world_state");
     final WorldStateArchive worldStateArchive =
         createWorldStateArchive(
             worldStateStorageCoordinator,
@@ -637,6 +710,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     if (maybeStoredGenesisBlockHash.isEmpty()) {
       genesisState.writeStateTo(worldStateArchive.getWorldState());
     }
+    worldStatePhase.end();
 
     transactionSimulator =
         new TransactionSimulator(
@@ -665,6 +739,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             genesisConfigOptions.getForkBlockNumbers(),
             genesisConfigOptions.getForkBlockTimestamps(),
             ethereumWireProtocolConfiguration.isLegacyEth64ForkIdEnabled());
+    // shared by peer selection, the peer task executor and the snap sync requests, so that they
+    // all size and route requests from the same view of each peer
+    final AdaptiveRequestController adaptiveRequestController = new AdaptiveRequestController();
     final EthPeers ethPeers =
         new EthPeers(
             currentProtocolSpecSupplier,
@@ -677,7 +754,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             maxRemotelyInitiatedPeers,
             randomPeerPriority,
             syncConfig.getSyncMode(),
-            forkIdManager);
+            forkIdManager,
+            adaptiveRequestController);
 
     final EthMessages ethMessages = new EthMessages();
     final EthMessages snapMessages = new EthMessages();
@@ -705,7 +783,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     }
 
     final PeerTaskExecutor peerTaskExecutor =
-        new PeerTaskExecutor(ethPeers, new PeerTaskRequestSender(), metricsSystem);
+        new PeerTaskExecutor(
+            ethPeers, new PeerTaskRequestSender(), adaptiveRequestController, metricsSystem);
     final EthContext ethContext =
         new EthContext(ethPeers, ethMessages, snapMessages, scheduler, peerTaskExecutor);
     final boolean fullSyncDisabled = !SyncMode.isFullSync(syncConfig.getSyncMode());
@@ -718,7 +797,19 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
           "Chain data pruning enabled with recent blocks retained to be: "
               + chainPrunerConfiguration.getChainPruningBlocksRetained()
               + " and frequency to be: "
-              + chainPrunerConfiguration.getChainPruningBlocksFrequency());
+              + chainPrunerConfiguration.getChainPruningBlocksFrequency()
+              + " and window size to be: "
+              + chainPrunerConfiguration.getChainPruningWindowSize());
+    }
+
+    if (blockchainStorage instanceof AncientBlockchainStorage ancientBlockchainStorage) {
+      final AncientBlockFreezer ancientBlockFreezer =
+          createAncientBlockFreezer(blockchain, ancientBlockchainStorage);
+      ancientBlockFreezer.removeLeftoverFrozenBlocks();
+      blockchain.observeBlockAdded(ancientBlockFreezer);
+      LOG.info(
+          "Ancient block freezer enabled with recent blocks retained to be: "
+              + dataStorageConfiguration.getAncientBlockFreezerBlocksRetained());
     }
 
     final TransactionPool transactionPool =
@@ -813,11 +904,26 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             createTrieLogPruner(worldStateKeyValueStorage, blockchain, scheduler);
         trieLogManager.subscribe(trieLogPruner);
       }
+      if (subStorageConfiguration.getUnstable().getArchiveEnabled()) {
+        final BonsaiWorldStateProvider bonsaiWorldStateProvider =
+            (BonsaiWorldStateProvider) worldStateArchive;
+        final BonsaiArchiveStorage archiveStorage =
+            createArchiveStorage(worldStateStorageCoordinator);
+        blockchain.observeBlockAdded(
+            new BonsaiArchiver(
+                archiveStorage, blockchain, bonsaiWorldStateProvider.getTrieLogManager()));
+        bonsaiWorldStateProvider.provideArchiveStorage(archiveStorage);
+        LOG.info("Bonsai archive enabled");
+      }
     }
 
     final List<Closeable> closeables = new ArrayList<>();
     closeables.add(protocolContext.getWorldStateArchive());
+    codeAnalysisStore.ifPresent(closeables::add);
     closeables.add(storageProvider);
+    if (blockchainStorage instanceof AncientBlockchainStorage ancientBlockchainStorage) {
+      closeables.add(ancientBlockchainStorage.getAncientBlockStore());
+    }
     if (privacyParameters.getPrivateStorageProvider() != null) {
       closeables.add(privacyParameters.getPrivateStorageProvider());
     }
@@ -1175,6 +1281,40 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     };
   }
 
+  private BonsaiArchiveStorage createArchiveStorage(
+      final WorldStateStorageCoordinator worldStateStorageCoordinator) {
+    return new BonsaiArchiveStorage(
+        storageProvider.getStorageBySegmentIdentifiers(
+            List.of(
+                KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE_ARCHIVE,
+                KeyValueSegmentIdentifier.ACCOUNT_STORAGE_ARCHIVE)),
+        worldStateStorageCoordinator.getStrategy(BonsaiWorldStateKeyValueStorage.class));
+  }
+
+  private static <T> T join(final CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (final CompletionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  private Optional<KeyValueCodeAnalysisStore> createCodeAnalysisStore() {
+    if (!codeAnalysisStoreEnabled) {
+      return Optional.empty();
+    }
+    // the segment is only opened by the store in the background, once the database is open
+    final KeyValueCodeAnalysisStore codeAnalysisStore =
+        new KeyValueCodeAnalysisStore(
+            () ->
+                storageProvider.getStorageBySegmentIdentifier(
+                    KeyValueSegmentIdentifier.CODE_ANALYSIS));
+    evmConfiguration(evmConfiguration.withCodeAnalysisStore(codeAnalysisStore));
+    LOG.info("Code analysis store enabled");
+    return Optional.of(codeAnalysisStore);
+  }
+
   private ChainDataPruner createChainPruner(final BlockchainStorage blockchainStorage) {
     return new ChainDataPruner(
         blockchainStorage,
@@ -1183,11 +1323,36 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
                 KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE)),
         chainPrunerConfiguration.getChainPruningBlocksRetained(),
         chainPrunerConfiguration.getChainPruningBlocksFrequency(),
+        chainPrunerConfiguration.getChainPruningWindowSize(),
         MonitoredExecutors.newBoundedThreadPool(
             ChainDataPruner.class.getSimpleName(),
             1,
             1,
             ChainDataPruner.MAX_PRUNING_THREAD_QUEUE_SIZE,
+            metricsSystem),
+        metricsSystem);
+  }
+
+  private AncientBlockchainStorage createAncientBlockchainStorage(
+      final BlockchainStorage blockchainStorage, final ProtocolSchedule protocolSchedule) {
+    return new AncientBlockchainStorage(
+        blockchainStorage,
+        new AncientBlockStore(dataDirectory.resolve(ANCIENT_BLOCKS_DIRECTORY)),
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule),
+        dataStorageConfiguration.getReceiptCompactionEnabled());
+  }
+
+  private AncientBlockFreezer createAncientBlockFreezer(
+      final Blockchain blockchain, final AncientBlockchainStorage ancientBlockchainStorage) {
+    return new AncientBlockFreezer(
+        blockchain,
+        ancientBlockchainStorage,
+        dataStorageConfiguration.getAncientBlockFreezerBlocksRetained(),
+        MonitoredExecutors.newBoundedThreadPool(
+            AncientBlockFreezer.class.getSimpleName(),
+            1,
+            1,
+            AncientBlockFreezer.MAX_FREEZING_THREAD_QUEUE_SIZE,
             metricsSystem));
   }
 
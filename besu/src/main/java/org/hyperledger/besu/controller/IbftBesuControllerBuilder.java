@@ -101,7 +101,7 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder {
   @Override
   protected void prepForBuild() {
     bftConfig = genesisConfigOptions.getBftConfigOptions();
-    bftEventQueue = new BftEventQueue(bftConfig.getMessageQueueLimit());
+    bftEventQueue = new BftEventQueue(bftConfig.getMessageQueueLimit(), metricsSystem);
     forksSchedule = IbftForksSchedulesFactory.create(genesisConfigOptions);
     bftExtraDataCodec = new IbftExtraDataCodec();
     bftBlockInterface = new BftBlockInterface(bftExtraDataCodec);
@@ -54,6 +54,7 @@ import org.hyperledger.besu.consensus.qbft.adaptor.QbftExtraDataProviderAdaptor;
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftFinalStateImpl;
 import org.hyperledger.besu.consensus.qbft.adaptor.QbftProtocolScheduleAdaptor;
 import org.hyperledger.besu.consensus.qbft.blockcreation.QbftBlockCreatorFactory;
+import org.hyperledger.besu.consensus.qbft.core.messagedata.QbftMessageSignerRecovery;
 import org.hyperledger.besu.consensus.qbft.core.network.QbftGossip;
 import org.hyperledger.besu.consensus.qbft.core.payload.MessageFactory;
 import org.hyperledger.besu.consensus.qbft.core.statemachine.QbftBlockHeightManagerFactory;
@@ -123,7 +124,7 @@ public class QbftBesuControllerBuilder extends BesuControllerBuilder {
   @Override
   protected void prepForBuild() {
     qbftConfig = genesisConfigOptions.getQbftConfigOptions();
-    bftEventQueue = new BftEventQueue(qbftConfig.getMessageQueueLimit());
+    bftEventQueue = new BftEventQueue(qbftConfig.getMessageQueueLimit(), metricsSystem);
     qbftForksSchedule = QbftForksSchedulesFactory.create(genesisConfigOptions);
     bftConfigOptions = qbftConfig;
     qbftExtraDataCodec = new QbftExtraDataCodec();
@@ -172,7 +173,8 @@ public class QbftBesuControllerBuilder extends BesuControllerBuilder {
                     bftEventQueue,
                     peers,
                     Istanbul100SubProtocol.ISTANBUL_100,
-                    Istanbul100SubProtocol.get().getName()));
+                    Istanbul100SubProtocol.get().getName(),
+                    new QbftMessageSignerRecovery(new QbftBlockCodecAdaptor(qbftExtraDataCodec))));
     maybeSnapProtocolManager.ifPresent(
         snapProtocolManager ->
             subProtocolConfiguration.withSubProtocol(SnapProtocol.get(), snapProtocolManager));
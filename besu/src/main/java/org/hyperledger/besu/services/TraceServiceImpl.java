@@ -42,9 +42,17 @@ import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.LongStream;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,8 +61,14 @@ import org.slf4j.LoggerFactory;
 public class TraceServiceImpl implements TraceService {
   private static final Logger LOG = LoggerFactory.getLogger(TraceServiceImpl.class);
 
+  // block range segments are traced on a pool shared by all the calls, with at most one thread per
+  // available processor, so segments beyond that wait for a thread; idle threads are released
+  private static final int MAX_TRACING_THREADS = Runtime.getRuntime().availableProcessors();
+  private static final long TRACING_THREAD_KEEP_ALIVE_SECONDS = 60L;
+
   private final BlockchainQueries blockchainQueries;
   private final ProtocolSchedule protocolSchedule;
+  private final ExecutorService tracingExecutor = newTracingExecutor();
 
   /**
    * Instantiates a new TraceServiceImpl service.
@@ -142,15 +156,119 @@ public class TraceServiceImpl implements TraceService {
       final BlockAwareOperationTracer tracer) {
     checkArgument(tracer != null);
     LOG.debug("Tracing from block {} to block {}", fromBlockNumber, toBlockNumber);
+    traceBlocks(getBlocks(fromBlockNumber, toBlockNumber), beforeTracing, afterTracing, tracer);
+  }
+
+  /**
+   * Traces range of blocks, splitting it into contiguous segments traced concurrently on their own
+   * historical world states.
+   *
+   * @param fromBlockNumber the beginning of the range (inclusive)
+   * @param toBlockNumber the end of the range (inclusive)
+   * @param parallelism the maximum number of segments traced concurrently
+   * @param beforeTracing Function which performs an operation on the world state of each segment
+   *     before tracing
+   * @param afterTracing Function which performs an operation on the world state of each segment
+   *     after tracing
+   * @param tracerFactory creates the tracer of each segment
+   * @return the tracers of the segments, ordered by block number
+   */
+  @Override
+  public <T extends BlockAwareOperationTracer> List<T> trace(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final int parallelism,
+      final Consumer<WorldUpdater> beforeTracing,
+      final Consumer<WorldUpdater> afterTracing,
+      final Supplier<T> tracerFactory) {
+    checkArgument(parallelism > 0, "Parallelism must be positive, got %s", parallelism);
+    checkArgument(fromBlockNumber <= toBlockNumber, "Block range must not be empty");
+    final List<Block> blocks = getBlocks(fromBlockNumber, toBlockNumber);
+    final int segmentSize = Math.ceilDiv(blocks.size(), Math.min(parallelism, blocks.size()));
+    if (segmentSize >= blocks.size()) {
+      final T tracer = tracerFactory.get();
+      checkArgument(tracer != null);
+      traceBlocks(blocks, beforeTracing, afterTracing, tracer);
+      return List.of(tracer);
+    }
+
+    final List<List<Block>> segments = new ArrayList<>();
+    for (int start = 0; start < blocks.size(); start += segmentSize) {
+      segments.add(blocks.subList(start, Math.min(start + segmentSize, blocks.size())));
+    }
+    LOG.debug(
+        "Tracing from block {} to block {} in {} segments",
+        fromBlockNumber,
+        toBlockNumber,
+        segments.size());
+
+    final List<Future<T>> futures = new ArrayList<>(segments.size());
+    try {
+      for (final List<Block> segment : segments) {
+        futures.add(
+            tracingExecutor.submit(
+                () -> {
+                  final T tracer = tracerFactory.get();
+                  checkArgument(tracer != null);
+                  traceBlocks(segment, beforeTracing, afterTracing, tracer);
+                  return tracer;
+                }));
+      }
+      final List<T> tracers = new ArrayList<>(futures.size());
+      for (final Future<T> future : futures) {
+        tracers.add(getSegmentTracer(future));
+      }
+      return tracers;
+    } finally {
+      // the segments still running are of no use once one of them failed
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  private static ExecutorService newTracingExecutor() {
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            MAX_TRACING_THREADS,
+            MAX_TRACING_THREADS,
+            TRACING_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("TraceService-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static <T> T getSegmentTracer(final Future<T> future) {
+    try {
+      return future.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while tracing block range", e);
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new RuntimeException("Failed to trace block range", e.getCause());
+    }
+  }
+
+  private List<Block> getBlocks(final long fromBlockNumber, final long toBlockNumber) {
+    final Blockchain blockchain = blockchainQueries.getBlockchain();
+    return LongStream.rangeClosed(fromBlockNumber, toBlockNumber)
+        .mapToObj(
+            number ->
+                blockchain
+                    .getBlockByNumber(number)
+                    .orElseThrow(() -> new RuntimeException("Block not found " + number)))
+        .toList();
+  }
+
+  private void traceBlocks(
+      final List<Block> blocks,
+      final Consumer<WorldUpdater> beforeTracing,
+      final Consumer<WorldUpdater> afterTracing,
+      final BlockAwareOperationTracer tracer) {
     final Blockchain blockchain = blockchainQueries.getBlockchain();
-    final List<Block> blocks =
-        LongStream.rangeClosed(fromBlockNumber, toBlockNumber)
-            .mapToObj(
-                number ->
-                    blockchain
-                        .getBlockByNumber(number)
-                        .orElseThrow(() -> new RuntimeException("Block not found " + number)))
-            .toList();
     Tracer.processTracing(
         blockchainQueries,
         blocks.getFirst().getHash(),
@@ -23,17 +23,22 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StateOverrideMap;
 import org.hyperledger.besu.datatypes.Transaction;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator.BatchExecution;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.plugin.Unstable;
 import org.hyperledger.besu.plugin.data.ProcessableBlockHeader;
 import org.hyperledger.besu.plugin.data.TransactionSimulationResult;
 import org.hyperledger.besu.plugin.services.TransactionSimulationService;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /** TransactionSimulationServiceImpl */
@@ -108,15 +113,103 @@ public class TransactionSimulationServiceImpl implements TransactionSimulationSe
         .processOnPending(
             callParameter,
             maybeStateOverrides,
-            isAllowExceedingBalance
-                ? isAllowFutureNonce
-                    ? transactionSimulatorAllowExceedingBalanceAndFutureNonce()
-                    : transactionSimulatorAllowExceedingBalance()
-                : isAllowFutureNonce
-                    ? transactionSimulatorAllowFutureNonce()
-                    : transactionSimulator(),
+            transactionValidationParams(isAllowExceedingBalance, isAllowFutureNonce),
             operationTracer,
             (org.hyperledger.besu.ethereum.core.ProcessableBlockHeader) pendingBlockHeader)
         .map(res -> new TransactionSimulationResult(transaction, res.result()));
   }
+
+  @Override
+  public Optional<List<TransactionSimulationResult>> simulateBatch(
+      final List<? extends Transaction> transactions,
+      final Optional<StateOverrideMap> maybeStateOverrides,
+      final Hash blockHash,
+      final OperationTracer operationTracer,
+      final boolean isAllowExceedingBalance,
+      final boolean isSequential) {
+
+    final var maybeBlockHeader =
+        blockchain.getBlockHeader(blockHash).or(() -> blockchain.getBlockHeaderSafe(blockHash));
+
+    if (maybeBlockHeader.isEmpty()) {
+      return Optional.of(
+          transactions.stream()
+              .map(
+                  transaction ->
+                      invalidResult(transaction, TransactionInvalidReason.BLOCK_NOT_FOUND))
+              .toList());
+    }
+
+    return transactionSimulator
+        .processBatch(
+            callParameters(transactions),
+            maybeStateOverrides,
+            callParameter -> transactionValidationParams(isAllowExceedingBalance, false),
+            batchExecution(isSequential),
+            operationTracer,
+            maybeBlockHeader.get())
+        .map(results -> simulationResults(transactions, results));
+  }
+
+  @Override
+  public List<TransactionSimulationResult> simulateBatch(
+      final List<? extends Transaction> transactions,
+      final Optional<StateOverrideMap> maybeStateOverrides,
+      final ProcessableBlockHeader pendingBlockHeader,
+      final OperationTracer operationTracer,
+      final boolean isAllowExceedingBalance,
+      final boolean isAllowFutureNonce,
+      final boolean isSequential) {
+
+    return simulationResults(
+        transactions,
+        transactionSimulator.processBatchOnPending(
+            callParameters(transactions),
+            maybeStateOverrides,
+            callParameter ->
+                transactionValidationParams(isAllowExceedingBalance, isAllowFutureNonce),
+            batchExecution(isSequential),
+            operationTracer,
+            (org.hyperledger.besu.ethereum.core.ProcessableBlockHeader) pendingBlockHeader));
+  }
+
+  private static List<CallParameter> callParameters(
+      final List<? extends Transaction> transactions) {
+    return transactions.stream().map(CallParameter::fromTransaction).toList();
+  }
+
+  private static BatchExecution batchExecution(final boolean isSequential) {
+    return isSequential ? BatchExecution.SEQUENTIAL : BatchExecution.INDEPENDENT;
+  }
+
+  private static List<TransactionSimulationResult> simulationResults(
+      final List<? extends Transaction> transactions,
+      final List<Optional<TransactionSimulatorResult>> results) {
+    final List<TransactionSimulationResult> simulationResults = new ArrayList<>(results.size());
+    for (int i = 0; i < results.size(); i++) {
+      final Transaction transaction = transactions.get(i);
+      simulationResults.add(
+          results
+              .get(i)
+              .map(res -> new TransactionSimulationResult(transaction, res.result()))
+              .orElseGet(
+                  () -> invalidResult(transaction, TransactionInvalidReason.INTERNAL_ERROR)));
+    }
+    return simulationResults;
+  }
+
+  private static TransactionSimulationResult invalidResult(
+      final Transaction transaction, final TransactionInvalidReason invalidReason) {
+    return new TransactionSimulationResult(
+        transaction, TransactionProcessingResult.invalid(ValidationResult.invalid(invalidReason)));
+  }
+
+  private static TransactionValidationParams transactionValidationParams(
+      final boolean isAllowExceedingBalance, final boolean isAllowFutureNonce) {
+    return isAllowExceedingBalance
+        ? isAllowFutureNonce
+            ? transactionSimulatorAllowExceedingBalanceAndFutureNonce()
+            : transactionSimulatorAllowExceedingBalance()
+        : isAllowFutureNonce ? transactionSimulatorAllowFutureNonce() : transactionSimulator();
+  }
 }
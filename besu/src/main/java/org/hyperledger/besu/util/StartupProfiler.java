@@ -0,0 +1,131 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the duration of the phases of the node startup, exports them as the {@code
+ * startup_phase_duration_seconds} gauge labelled by phase, and logs a summary once the node is
+ * started. Phases may run in parallel, so their durations do not add up to the total startup time.
+ */
+public class StartupProfiler {
+  private static final Logger LOG = LoggerFactory.getLogger(StartupProfiler.class);
+
+  private final LabelledSuppliedMetric phaseDurationGauge;
+  private final Map<String, Duration> phaseDurations = new LinkedHashMap<>();
+  private final long startNanos = System.nanoTime();
+
+  /**
+   * Instantiates a new Startup profiler, the startup being considered as started.
+   *
+   * @param metricsSystem the metrics system
+   */
+  public StartupProfiler(final MetricsSystem metricsSystem) {
+    this.phaseDurationGauge =
+        metricsSystem.createLabelledSuppliedGauge(
+            BesuMetricCategory.STARTUP,
+            "phase_duration_seconds",
+            "Duration of the phases of the node startup",
+            "phase");
+  }
+
+  /**
+   * Starts a startup phase.
+   *
+   * @param name the name of the phase
+   * @return the phase, to end once done
+   */
+  public Phase startPhase(final String name) {
+    return new Phase(name, System.nanoTime());
+  }
+
+  /**
+   * Runs a startup phase.
+   *
+   * @param name the name of the phase
+   * @param phase the phase
+   * @param <T> the type of the phase result
+   * @return the phase result
+   */
+  public <T> T profile(final String name, final Supplier<T> phase) {
+    final Phase startedPhase = startPhase(name);
+    try {
+      return phase.get();
+    } finally {
+      startedPhase.end();
+    }
+  }
+
+  /**
+   * Gets the duration of the ended startup phases, in their ending order.
+   *
+   * @return the phase durations
+   */
+  public synchronized Map<String, Duration> getPhaseDurations() {
+    return new LinkedHashMap<>(phaseDurations);
+  }
+
+  /** Logs the total startup time and the duration of each startup phase. */
+  public synchronized void logSummary() {
+    final Duration total = Duration.ofNanos(System.nanoTime() - startNanos);
+    record("total", total);
+    LOG.info(
+        "Startup completed in {} ms ({})",
+        total.toMillis(),
+        phaseDurations.entrySet().stream()
+            .filter(phase -> !phase.getKey().equals("total"))
+            .map(phase -> phase.getKey() + ": " + phase.getValue().toMillis() + " ms")
+            .collect(Collectors.joining(", ")));
+  }
+
+  private synchronized void record(final String name, final Duration duration) {
+    if (phaseDurations.put(name, duration) == null) {
+      phaseDurationGauge.labels(() -> getPhaseDuration(name).toNanos() / 1_000_000_000.0, name);
+    }
+    LOG.debug("Startup phase {} took {} ms", name, duration.toMillis());
+  }
+
+  private synchronized Duration getPhaseDuration(final String name) {
+    return phaseDurations.getOrDefault(name, Duration.ZERO);
+  }
+
+  /** A startup phase being run. */
+  public class Phase {
+    private final String name;
+    private final long phaseStartNanos;
+
+    private Phase(final String name, final long phaseStartNanos) {
+      this.name = name;
+      this.phaseStartNanos = phaseStartNanos;
+    }
+
+    /** Ends the phase, recording its duration. */
+    public void end() {
+      record(name, Duration.ofNanos(System.nanoTime() - phaseStartNanos));
+    }
+  }
+}
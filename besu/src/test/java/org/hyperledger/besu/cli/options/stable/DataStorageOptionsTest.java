@@ -152,6 +152,66 @@ public class DataStorageOptionsTest
         "false");
   }
 
+  @Test
+  public void bonsaiArchiveCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getDiffBasedSubStorageConfiguration()
+                        .getUnstable()
+                        .getArchiveEnabled())
+                .isEqualTo(true),
+        "--Xbonsai-archive-enabled",
+        "true");
+  }
+
+  @Test
+  public void bonsaiArchiveIsRejectedForForest() {
+    internalTestFailure(
+        "The archive mode is only supported when operating in Bonsai mode.",
+        "--data-storage-format",
+        "FOREST",
+        "--Xbonsai-archive-enabled",
+        "true");
+  }
+
+  @Test
+  public void bonsaiWriteBehindBlocksCanBeSet() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getDiffBasedSubStorageConfiguration()
+                        .getUnstable()
+                        .getWriteBehindBlocks())
+                .isEqualTo(32),
+        "--Xbonsai-write-behind-blocks",
+        "32");
+  }
+
+  @Test
+  public void bonsaiWriteBehindBlocksMustBeLessThanTheHistoricalBlockLimit() {
+    internalTestFailure(
+        "--Xbonsai-write-behind-blocks=512 must be less than --bonsai-historical-block-limit=512",
+        "--Xbonsai-write-behind-blocks",
+        "512");
+  }
+
+  @Test
+  public void bonsaiFlatDbCacheSizeCanBeSet() {
+    internalTestSuccess(
+        dataStorageConfiguration ->
+            assertThat(
+                    dataStorageConfiguration
+                        .getDiffBasedSubStorageConfiguration()
+                        .getUnstable()
+                        .getFlatDbCacheSize())
+                .isEqualTo(256_000_000L),
+        "--Xbonsai-flat-db-cache-size",
+        "256000000");
+  }
+
   @Test
   public void receiptCompactionCanBeEnabledWithImplicitTrueValue() {
     internalTestSuccess(
@@ -176,6 +236,30 @@ public class DataStorageOptionsTest
         "--receipt-compaction-enabled=false");
   }
 
+  @Test
+  public void ancientBlockFreezerCanBeEnabled() {
+    internalTestSuccess(
+        dataStorageConfiguration -> {
+          assertThat(dataStorageConfiguration.getAncientBlockFreezerEnabled()).isTrue();
+          assertThat(dataStorageConfiguration.getAncientBlockFreezerBlocksRetained())
+              .isEqualTo(10_000L);
+        },
+        "--Xancient-block-freezer-enabled",
+        "true",
+        "--Xancient-block-freezer-blocks-retained",
+        "10000");
+  }
+
+  @Test
+  public void ancientBlockFreezerBlocksRetainedMustNotBeNegative() {
+    internalTestFailure(
+        "--Xancient-block-freezer-blocks-retained must not be negative",
+        "--Xancient-block-freezer-enabled",
+        "true",
+        "--Xancient-block-freezer-blocks-retained",
+        "-1");
+  }
+
   @Override
   protected DataStorageConfiguration createDefaultDomainObject() {
     return DataStorageConfiguration.DEFAULT_CONFIG;
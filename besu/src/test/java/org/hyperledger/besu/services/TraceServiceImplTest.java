@@ -43,6 +43,8 @@ import org.hyperledger.besu.plugin.services.TraceService;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -193,6 +195,37 @@ class TraceServiceImplTest {
             });
   }
 
+  @Test
+  void shouldTraceRangeInOrderedSegmentsWhenParallel() {
+    final Address addressToVerify =
+        Address.fromHexString("0xa94f5374fce5edbc8e2a8697c15331677e6ebf0b");
+
+    final long persistedNonceForAccount =
+        worldStateArchive.getWorldState().get(addressToVerify).getNonce();
+
+    final List<Long> beforeNonces = Collections.synchronizedList(new ArrayList<>());
+    final List<Long> afterNonces = Collections.synchronizedList(new ArrayList<>());
+
+    final List<BlockNumberTracer> tracers =
+        traceService.trace(
+            1,
+            32,
+            4,
+            worldState -> beforeNonces.add(worldState.get(addressToVerify).getNonce()),
+            worldState -> afterNonces.add(worldState.get(addressToVerify).getNonce()),
+            BlockNumberTracer::new);
+
+    assertThat(tracers).hasSize(4);
+    assertThat(tracers.stream().flatMap(tracer -> tracer.startedBlocks.stream()))
+        .containsExactlyElementsOf(LongStream.rangeClosed(1, 32).boxed().toList());
+    assertThat(tracers).allSatisfy(tracer -> assertThat(tracer.startedBlocks).hasSize(8));
+    assertThat(beforeNonces).containsExactlyInAnyOrder(0L, 8L, 16L, 24L);
+    assertThat(afterNonces).containsExactlyInAnyOrder(8L, 16L, 24L, 32L);
+
+    assertThat(worldStateArchive.getWorldState().get(addressToVerify).getNonce())
+        .isEqualTo(persistedNonceForAccount);
+  }
+
   @Test
   void shouldReturnTheCorrectWorldViewForTxStartEnd() {
     final TxStartEndTracer txStartEndTracer = new TxStartEndTracer();
@@ -266,6 +299,16 @@ class TraceServiceImplTest {
                 "0xffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"));
   }
 
+  private static class BlockNumberTracer implements BlockAwareOperationTracer {
+    private final List<Long> startedBlocks = new ArrayList<>();
+
+    @Override
+    public void traceStartBlock(
+        final BlockHeader blockHeader, final BlockBody blockBody, final Address miningBeneficiary) {
+      startedBlocks.add(blockHeader.getNumber());
+    }
+  }
+
   private static class TxStartEndTracer implements BlockAwareOperationTracer {
     public WorldView txStartWorldView;
     public WorldView txEndWorldView;
@@ -0,0 +1,82 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StartupProfilerTest {
+
+  private final MetricsSystem metricsSystem = mock(MetricsSystem.class);
+  private final LabelledSuppliedMetric phaseDurationGauge = mock(LabelledSuppliedMetric.class);
+  private StartupProfiler startupProfiler;
+
+  @BeforeEach
+  public void setUp() {
+    when(metricsSystem.createLabelledSuppliedGauge(
+            eq(BesuMetricCategory.STARTUP), eq("phase_duration_seconds"), any(), eq("phase")))
+        .thenReturn(phaseDurationGauge);
+    startupProfiler = new StartupProfiler(metricsSystem);
+  }
+
+  @Test
+  public void phaseDurationsAreRecordedInTheirEndingOrder() {
+    final StartupProfiler.Phase database = startupProfiler.startPhase("database");
+    final String protocolSchedule = startupProfiler.profile("protocol_schedule", () -> "schedule");
+    database.end();
+
+    assertThat(protocolSchedule).isEqualTo("schedule");
+    assertThat(startupProfiler.getPhaseDurations().keySet())
+        .containsExactly("protocol_schedule", "database");
+  }
+
+  @Test
+  public void failedPhaseIsRecorded() {
+    assertThatThrownBy(
+            () ->
+                startupProfiler.profile(
+                    "database",
+                    () -> {
+                      throw new IllegalStateException("corrupted database");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(startupProfiler.getPhaseDurations()).containsOnlyKeys("database");
+  }
+
+  @Test
+  public void phaseDurationIsExportedOncePerPhase() {
+    startupProfiler.startPhase("database").end();
+    startupProfiler.startPhase("database").end();
+    startupProfiler.logSummary();
+
+    verify(phaseDurationGauge, times(1)).labels(any(), eq("database"));
+    verify(phaseDurationGauge, times(1)).labels(any(), eq("total"));
+    assertThat(startupProfiler.getPhaseDurations()).containsOnlyKeys("database", "total");
+  }
+}
@@ -18,12 +18,10 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
-import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
 import java.util.List;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes;
 
@@ -101,9 +99,7 @@ public class BftBlockHashing {
       final BlockHeader header, final BftExtraData bftExtraData) {
     final Hash committerHash = calculateDataHashForCommittedSeal(header, bftExtraData);
 
-    return bftExtraData.getSeals().stream()
-        .map(p -> Util.signatureToAddress(p, committerHash))
-        .collect(Collectors.toList());
+    return BftSignerRecovery.recoverSigners(bftExtraData.getSeals(), committerHash);
   }
 
   /**
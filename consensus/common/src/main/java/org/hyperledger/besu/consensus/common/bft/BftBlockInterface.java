@@ -23,12 +23,10 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
-import org.hyperledger.besu.ethereum.core.Util;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /** The Bft block interface. */
 public class BftBlockInterface implements BlockInterface {
@@ -131,8 +129,6 @@ public class BftBlockInterface implements BlockInterface {
                 () -> bftExtraDataCodec.encodeWithoutCommitSeals(bftExtraData),
                 bftExtraDataCodec));
 
-    return bftExtraData.getSeals().stream()
-        .map(p -> Util.signatureToAddress(p, committerHash))
-        .collect(Collectors.toList());
+    return BftSignerRecovery.recoverSigners(bftExtraData.getSeals(), committerHash);
   }
 }
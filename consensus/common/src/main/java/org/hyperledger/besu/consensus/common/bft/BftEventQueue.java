@@ -16,31 +16,106 @@ package org.hyperledger.besu.consensus.common.bft;
 
 import org.hyperledger.besu.consensus.common.bft.events.BftEvent;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvents;
+import org.hyperledger.besu.consensus.common.bft.events.BftReceivedMessageEvent;
+import org.hyperledger.besu.consensus.common.bft.events.NewChainHead;
+import org.hyperledger.besu.consensus.common.bft.events.RoundExpiry;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nullable;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Threadsafe queue that lets parts of the system inform the Bft infrastructure about events */
+/**
+ * Threadsafe queue that lets parts of the system inform the Bft infrastructure about events.
+ *
+ * <p>Events are handed out by distance of the consensus round they relate to from the current
+ * round: nearest height and lowest round first, and in arrival order within a round. The current
+ * round starts at the first round of the height following the chain head, which is supplied by the
+ * mining coordinator, and follows the round expiry and new chain head events handed out. Events
+ * relating to heights at or below the chain head, or to rounds below the current one, are stale
+ * and come after every other event. Events whose round is not known are handed out with the events
+ * of the current round, in arrival order.
+ *
+ * <p>Received messages are bounded by the message queue limit. A message that is already queued is
+ * discarded, and once the limit is reached the message relating to the furthest round, stale ones
+ * first, is shed, which may be the incoming one. Timer and chain head events are never shed.
+ */
 public class BftEventQueue {
-  private final BlockingQueue<BftEvent> queue = new LinkedBlockingQueue<>();
 
   private static final Logger LOG = LoggerFactory.getLogger(BftEventQueue.class);
+  private static final OperationTimer.TimingContext NOT_TIMED = () -> 0;
+
   private final int messageQueueLimit;
   private final AtomicBoolean started = new AtomicBoolean(false);
 
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  // depends on the current round, so only used holding the lock
+  private final Comparator<QueuedEvent> priority =
+      Comparator.comparing(this::isStale)
+          .thenComparingLong(this::distanceFromCurrentHeight)
+          .thenComparingInt(this::round)
+          .thenComparingLong(QueuedEvent::arrival);
+  private final TreeSet<QueuedEvent> queue = new TreeSet<>(priority);
+  private final Set<Bytes> queuedMessageData = new HashSet<>();
+  private int queuedMessages = 0;
+  private long arrivals = 0;
+  private ConsensusRoundIdentifier currentRound = new ConsensusRoundIdentifier(1, 0);
+
+  private final LabelledMetric<Counter> droppedEvents;
+  private final OperationTimer queueLatency;
+
   /**
    * Instantiates a new Bft event queue.
    *
    * @param messageQueueLimit the message queue limit
    */
   public BftEventQueue(final int messageQueueLimit) {
+    this(messageQueueLimit, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Instantiates a new Bft event queue.
+   *
+   * @param messageQueueLimit the message queue limit
+   * @param metricsSystem the metrics system
+   */
+  public BftEventQueue(final int messageQueueLimit, final MetricsSystem metricsSystem) {
     this.messageQueueLimit = messageQueueLimit;
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bft_event_queue_depth",
+        "Number of BFT events awaiting processing",
+        this::size);
+    this.droppedEvents =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "bft_event_queue_dropped_total",
+            "Number of received BFT messages dropped by the event queue",
+            "reason");
+    this.queueLatency =
+        metricsSystem.createTimer(
+            BesuMetricCategory.BLOCKCHAIN,
+            "bft_event_queue_latency_seconds",
+            "Time BFT events spend in the event queue before being processed");
   }
 
   /** Start the event queue. Until it has been started no events will be queued for processing. */
@@ -67,21 +142,160 @@ public class BftEventQueue {
 
     // Don't queue events other than block timer expiry, until we know we can process them
     if (isStarted() || event.getType() == BftEvents.Type.BLOCK_TIMER_EXPIRY) {
-      if (queue.size() > messageQueueLimit) {
-        LOG.warn("Queue size exceeded trying to add new bft event {}", event);
-      } else {
-        queue.add(event);
+      final Optional<Bytes> messageData = messageData(event);
+      lock.lock();
+      try {
+        final QueuedEvent queuedEvent =
+            new QueuedEvent(event, messageData, event.getTargetRound(), arrivals, NOT_TIMED);
+
+        if (queuedEvent.isMessage()) {
+          if (messageData.isPresent() && queuedMessageData.contains(messageData.get())) {
+            droppedEvents.labels("duplicate").inc();
+            return;
+          }
+          if (queuedMessages > messageQueueLimit && !shedFurtherMessageThan(queuedEvent)) {
+            LOG.warn("Queue size exceeded trying to add new bft event {}", event);
+            droppedEvents.labels("queue_full").inc();
+            return;
+          }
+        }
+        arrivals++;
+        enqueue(queuedEvent.timed(queueLatency.startTimer()));
+      } finally {
+        lock.unlock();
       }
     }
   }
 
+  /**
+   * Sets the height of the chain head, against which the queued events are prioritised.
+   *
+   * @param chainHeadHeight the height of the chain head
+   */
+  public void setChainHeadHeight(final long chainHeadHeight) {
+    lock.lock();
+    try {
+      if (chainHeadHeight + 1 != currentRound.getSequenceNumber()) {
+        setCurrentRound(new ConsensusRoundIdentifier(chainHeadHeight + 1, 0));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Follows the current round from an event handed out for processing. Must be called holding the
+   * lock.
+   */
+  private void trackCurrentRound(final BftEvent event) {
+    if (event instanceof RoundExpiry roundExpiry) {
+      final ConsensusRoundIdentifier expiredRound = roundExpiry.getView();
+      if (expiredRound.getSequenceNumber() == currentRound.getSequenceNumber()
+          && expiredRound.getRoundNumber() >= currentRound.getRoundNumber()) {
+        setCurrentRound(
+            new ConsensusRoundIdentifier(
+                expiredRound.getSequenceNumber(), expiredRound.getRoundNumber() + 1));
+      }
+    } else if (event instanceof NewChainHead newChainHead) {
+      final long nextHeight = newChainHead.getNewChainHeadHeader().getNumber() + 1;
+      if (nextHeight > currentRound.getSequenceNumber()) {
+        setCurrentRound(new ConsensusRoundIdentifier(nextHeight, 0));
+      }
+    }
+  }
+
+  /** Must be called holding the lock. */
+  private void setCurrentRound(final ConsensusRoundIdentifier currentRound) {
+    // the ordering changes with the current round, so the queued events are sorted again
+    final List<QueuedEvent> queuedEvents = new ArrayList<>(queue);
+    queue.clear();
+    this.currentRound = currentRound;
+    queue.addAll(queuedEvents);
+  }
+
+  /**
+   * Sheds the queued message relating to the furthest round, if it is further than the given
+   * event. Must be called holding the lock.
+   */
+  private boolean shedFurtherMessageThan(final QueuedEvent queuedEvent) {
+    for (final QueuedEvent furthest : queue.descendingSet()) {
+      if (priority.compare(furthest, queuedEvent) < 0) {
+        return false;
+      }
+      if (furthest.isMessage()) {
+        dequeue(furthest);
+        LOG.debug("Queue size exceeded, shedding bft event {}", furthest.event());
+        droppedEvents.labels("shed").inc();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void enqueue(final QueuedEvent queuedEvent) {
+    queue.add(queuedEvent);
+    if (queuedEvent.isMessage()) {
+      queuedMessages++;
+      queuedEvent.messageData().ifPresent(queuedMessageData::add);
+    }
+    notEmpty.signal();
+  }
+
+  private void dequeue(final QueuedEvent queuedEvent) {
+    queue.remove(queuedEvent);
+    if (queuedEvent.isMessage()) {
+      queuedMessages--;
+      queuedEvent.messageData().ifPresent(queuedMessageData::remove);
+    }
+  }
+
+  private boolean isStale(final QueuedEvent queuedEvent) {
+    return queuedEvent
+        .targetRound()
+        .map(
+            targetRound ->
+                targetRound.getSequenceNumber() < currentRound.getSequenceNumber()
+                    || (targetRound.getSequenceNumber() == currentRound.getSequenceNumber()
+                        && targetRound.getRoundNumber() < currentRound.getRoundNumber()))
+        .orElse(false);
+  }
+
+  private long distanceFromCurrentHeight(final QueuedEvent queuedEvent) {
+    return queuedEvent
+        .targetRound()
+        .map(
+            targetRound ->
+                Math.abs(targetRound.getSequenceNumber() - currentRound.getSequenceNumber()))
+        .orElse(0L);
+  }
+
+  private int round(final QueuedEvent queuedEvent) {
+    // an unknown round is handed out with the events of the current round, in arrival order
+    return queuedEvent
+        .targetRound()
+        .map(ConsensusRoundIdentifier::getRoundNumber)
+        .orElse(currentRound.getRoundNumber());
+  }
+
+  private static Optional<Bytes> messageData(final BftEvent event) {
+    if (event instanceof BftReceivedMessageEvent messageEvent) {
+      return Optional.of(messageEvent.getMessage().getData().getData());
+    }
+    return Optional.empty();
+  }
+
   /**
    * Size of queue.
    *
    * @return the int
    */
   public int size() {
-    return queue.size();
+    lock.lock();
+    try {
+      return queue.size();
+    } finally {
+      lock.unlock();
+    }
   }
 
   /**
@@ -90,7 +304,7 @@ public class BftEventQueue {
    * @return the boolean
    */
   public boolean isEmpty() {
-    return queue.isEmpty();
+    return size() == 0;
   }
 
   /**
@@ -104,6 +318,38 @@ public class BftEventQueue {
    */
   @Nullable
   public BftEvent poll(final long timeout, final TimeUnit unit) throws InterruptedException {
-    return queue.poll(timeout, unit);
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (queue.isEmpty()) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      final QueuedEvent queuedEvent = queue.first();
+      dequeue(queuedEvent);
+      queuedEvent.timingContext().stopTimer();
+      trackCurrentRound(queuedEvent.event());
+      return queuedEvent.event();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private record QueuedEvent(
+      BftEvent event,
+      Optional<Bytes> messageData,
+      Optional<ConsensusRoundIdentifier> targetRound,
+      long arrival,
+      OperationTimer.TimingContext timingContext) {
+
+    boolean isMessage() {
+      return event.getType() == BftEvents.Type.MESSAGE;
+    }
+
+    QueuedEvent timed(final OperationTimer.TimingContext timingContext) {
+      return new QueuedEvent(event, messageData, targetRound, arrival, timingContext);
+    }
   }
 }
@@ -0,0 +1,149 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import org.hyperledger.besu.crypto.SECPSignature;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Recovers the signers of BFT messages and commit seals.
+ *
+ * <p>The same signature is commonly recovered several times, e.g. when a message is authenticated
+ * ahead of the BFT event processor and again when it is handled, or when prepares and commit seals
+ * are re-validated as part of round change and proposal certificates. Recovered signers are
+ * therefore cached by message hash and signature.
+ *
+ * <p>Recovery runs on a bounded verification executor shared by received messages and commit
+ * seals, so that it is spread over a few dedicated threads rather than the common fork join pool.
+ */
+public class BftSignerRecovery {
+
+  /** The maximum number of recovered signers retained. */
+  static final int CACHE_SIZE = 8192;
+
+  /** The number of verification threads. */
+  static final int VERIFICATION_THREADS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+  /** The maximum number of recoveries waiting for a verification thread. */
+  static final int VERIFICATION_QUEUE_SIZE = 1000;
+
+  private static final Cache<SignedHash, Address> RECOVERED_SIGNERS =
+      CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+
+  private static final Executor VERIFICATION_EXECUTOR =
+      new ThreadPoolExecutor(
+          VERIFICATION_THREADS,
+          VERIFICATION_THREADS,
+          0L,
+          TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(VERIFICATION_QUEUE_SIZE),
+          new ThreadFactoryBuilder().setNameFormat("BftSignerRecovery-%d").setDaemon(true).build());
+
+  private BftSignerRecovery() {}
+
+  /**
+   * Recovers the address of the signer of a hash.
+   *
+   * @param signature the signature
+   * @param hash the hash that was signed
+   * @return the address of the signer
+   */
+  public static Address recoverSigner(final SECPSignature signature, final Hash hash) {
+    final SignedHash key = new SignedHash(hash, signature);
+    final Address cached = RECOVERED_SIGNERS.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final Address signer = Util.signatureToAddress(signature, hash);
+    if (signer != null) {
+      RECOVERED_SIGNERS.put(key, signer);
+    }
+    return signer;
+  }
+
+  /**
+   * The bounded executor on which signers are recovered. It rejects tasks once its queue is full.
+   *
+   * @return the verification executor
+   */
+  public static Executor verificationExecutor() {
+    return VERIFICATION_EXECUTOR;
+  }
+
+  /**
+   * Recovers the addresses of the signers of a hash. The signatures are fanned out on the
+   * verification executor, and the calling thread recovers those not yet picked up by it, so that
+   * recovery never waits on a saturated executor.
+   *
+   * @param signatures the signatures, e.g. the commit seals of a block
+   * @param hash the hash that was signed
+   * @return the addresses of the signers, in the order of the signatures
+   */
+  public static List<Address> recoverSigners(
+      final Collection<SECPSignature> signatures, final Hash hash) {
+    final List<FutureTask<Address>> recoveries = new ArrayList<>(signatures.size());
+    for (final SECPSignature signature : signatures) {
+      final FutureTask<Address> recovery = new FutureTask<>(() -> recoverSigner(signature, hash));
+      // the calling thread recovers the first signature itself
+      if (!recoveries.isEmpty()) {
+        try {
+          VERIFICATION_EXECUTOR.execute(recovery);
+        } catch (final RejectedExecutionException e) {
+          // recovered by the calling thread below
+        }
+      }
+      recoveries.add(recovery);
+    }
+
+    final List<Address> signers = new ArrayList<>(recoveries.size());
+    for (final FutureTask<Address> recovery : recoveries) {
+      // does nothing if the recovery already started on the verification executor
+      recovery.run();
+      signers.add(join(recovery));
+    }
+    return signers;
+  }
+
+  private static Address join(final FutureTask<Address> recovery) {
+    try {
+      return Uninterruptibles.getUninterruptibly(recovery);
+    } catch (final ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private record SignedHash(Hash hash, SECPSignature signature) {}
+}
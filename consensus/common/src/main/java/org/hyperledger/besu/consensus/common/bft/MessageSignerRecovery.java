@@ -0,0 +1,41 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.Optional;
+
+/**
+ * Recovers the signers of a received consensus message on the thread that received it, before it
+ * is queued for the single threaded BFT event processor. Recovered signers are cached by {@link
+ * BftSignerRecovery}, so the processor does not have to recover them again when it decodes the
+ * message. As the message is decoded to do so, the round it targets is returned to prioritise it
+ * in the {@link BftEventQueue}.
+ */
+@FunctionalInterface
+public interface MessageSignerRecovery {
+
+  /** Signer recovery which leaves all recovery to the BFT event processor. */
+  MessageSignerRecovery NONE = messageData -> Optional.empty();
+
+  /**
+   * Recover the signers of the message and of any signed data it embeds.
+   *
+   * @param messageData the received message
+   * @return the round targeted by the message, or empty if it could not be decoded
+   */
+  Optional<ConsensusRoundIdentifier> recoverSigners(MessageData messageData);
+}
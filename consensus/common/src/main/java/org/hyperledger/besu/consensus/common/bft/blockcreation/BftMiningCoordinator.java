@@ -98,6 +98,7 @@ public class BftMiningCoordinator implements MiningCoordinator, BlockAddedObserv
       bftProcessor.start();
       bftExecutors.start();
       blockAddedObserverId = blockchain.observeBlockAdded(this);
+      eventQueue.setChainHeadHeight(blockchain.getChainHeadBlockNumber());
       eventHandler.start();
       bftExecutors.executeBftProcessor(bftProcessor);
     }
@@ -189,6 +190,7 @@ public class BftMiningCoordinator implements MiningCoordinator, BlockAddedObserv
   public void onBlockAdded(final BlockAddedEvent event) {
     if (event.isNewCanonicalHead()) {
       LOG.trace("New canonical head detected");
+      eventQueue.setChainHeadHeight(event.getBlock().getHeader().getNumber());
       eventQueue.add(new NewChainHead(event.getBlock().getHeader()));
     }
   }
@@ -14,6 +14,10 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+
+import java.util.Optional;
+
 /** Category of events that will effect and are interpretable by the Bft processing mechanism */
 public interface BftEvent {
   /**
@@ -22,4 +26,13 @@ public interface BftEvent {
    * @return the type
    */
   BftEvents.Type getType();
+
+  /**
+   * Gets the consensus round the event relates to, used to prioritise queued events.
+   *
+   * @return the round the event relates to, or empty if it is not known
+   */
+  default Optional<ConsensusRoundIdentifier> getTargetRound() {
+    return Optional.empty();
+  }
 }
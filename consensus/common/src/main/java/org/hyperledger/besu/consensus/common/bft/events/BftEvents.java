@@ -14,8 +14,11 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+
 /** Static helper functions for producing and working with BftEvent objects */
 public class BftEvents {
   /** Default constructor. */
@@ -31,6 +34,18 @@ public class BftEvents {
     return new BftReceivedMessageEvent(message);
   }
 
+  /**
+   * Instantiate BftEvent From message.
+   *
+   * @param message the message
+   * @param targetRound the round targeted by the message, if it is known
+   * @return the bft event
+   */
+  public static BftEvent fromMessage(
+      final Message message, final Optional<ConsensusRoundIdentifier> targetRound) {
+    return new BftReceivedMessageEvent(message, targetRound);
+  }
+
   /** The enum Type. */
   public enum Type {
     /** Round expiry type. */
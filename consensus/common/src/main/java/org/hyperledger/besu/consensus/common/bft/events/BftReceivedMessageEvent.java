@@ -14,12 +14,16 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+
 /** The Bft received message event. */
 public class BftReceivedMessageEvent implements BftEvent {
 
   private final Message message;
+  private final Optional<ConsensusRoundIdentifier> targetRound;
 
   /**
    * Instantiates a new Bft received message event.
@@ -27,7 +31,19 @@ public class BftReceivedMessageEvent implements BftEvent {
    * @param message the message
    */
   public BftReceivedMessageEvent(final Message message) {
+    this(message, Optional.empty());
+  }
+
+  /**
+   * Instantiates a new Bft received message event.
+   *
+   * @param message the message
+   * @param targetRound the round targeted by the message, if it is known
+   */
+  public BftReceivedMessageEvent(
+      final Message message, final Optional<ConsensusRoundIdentifier> targetRound) {
     this.message = message;
+    this.targetRound = targetRound;
   }
 
   /**
@@ -43,4 +59,9 @@ public class BftReceivedMessageEvent implements BftEvent {
   public BftEvents.Type getType() {
     return BftEvents.Type.MESSAGE;
   }
+
+  @Override
+  public Optional<ConsensusRoundIdentifier> getTargetRound() {
+    return targetRound;
+  }
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.consensus.common.bft.events;
 import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import com.google.common.base.MoreObjects;
 
@@ -47,6 +48,11 @@ public final class BlockTimerExpiry implements BftEvent {
     return roundIdentifier;
   }
 
+  @Override
+  public Optional<ConsensusRoundIdentifier> getTargetRound() {
+    return Optional.of(roundIdentifier);
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this).add("Round Identifier", roundIdentifier).toString();
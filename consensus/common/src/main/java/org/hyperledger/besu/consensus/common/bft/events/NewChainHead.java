@@ -14,9 +14,11 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import com.google.common.base.MoreObjects;
 
@@ -70,4 +72,10 @@ public final class NewChainHead implements BftEvent {
   public BlockHeader getNewChainHeadHeader() {
     return newChainHeadHeader;
   }
+
+  @Override
+  public Optional<ConsensusRoundIdentifier> getTargetRound() {
+    // a new chain head starts the first round of the following height
+    return Optional.of(new ConsensusRoundIdentifier(newChainHeadHeader.getNumber() + 1, 0));
+  }
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.consensus.common.bft.events;
 import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
 
 import java.util.Objects;
+import java.util.Optional;
 
 import com.google.common.base.MoreObjects;
 
@@ -47,6 +48,11 @@ public final class RoundExpiry implements BftEvent {
     return round;
   }
 
+  @Override
+  public Optional<ConsensusRoundIdentifier> getTargetRound() {
+    return Optional.of(round);
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this).add("Round", round).toString();
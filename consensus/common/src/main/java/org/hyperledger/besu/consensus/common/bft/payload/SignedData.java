@@ -14,10 +14,10 @@
  */
 package org.hyperledger.besu.consensus.common.bft.payload;
 
+import org.hyperledger.besu.consensus.common.bft.BftSignerRecovery;
 import org.hyperledger.besu.crypto.SECPSignature;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
-import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
@@ -48,7 +48,8 @@ public class SignedData<M extends Payload> implements Authored {
   public static <T extends Payload> SignedData<T> create(
       final T payload, final SECPSignature signature) {
     final Hash msgHash = payload.hashForSignature();
-    return new SignedData<>(payload, Util.signatureToAddress(signature, msgHash), signature);
+    return new SignedData<>(
+        payload, BftSignerRecovery.recoverSigner(signature, msgHash), signature);
   }
 
   private SignedData(final M unsignedPayload, final Address sender, final SECPSignature signature) {
@@ -15,6 +15,9 @@
 package org.hyperledger.besu.consensus.common.bft.protocol;
 
 import org.hyperledger.besu.consensus.common.bft.BftEventQueue;
+import org.hyperledger.besu.consensus.common.bft.BftSignerRecovery;
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+import org.hyperledger.besu.consensus.common.bft.MessageSignerRecovery;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvent;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvents;
 import org.hyperledger.besu.consensus.common.bft.network.PeerConnectionTracker;
@@ -28,6 +31,14 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.Di
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import com.google.common.util.concurrent.MoreExecutors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,11 +46,18 @@ import org.slf4j.LoggerFactory;
 /** The Bft protocol manager. */
 public class BftProtocolManager implements ProtocolManager {
   private static final Logger LOG = LoggerFactory.getLogger(BftProtocolManager.class);
+  private static final int SIGNER_RECOVERY_LANES = 4;
+  private static final int SIGNER_RECOVERY_LANE_SIZE = 1000;
 
   private final BftEventQueue bftEventQueue;
   private final PeerConnectionTracker peers;
   private final Capability supportedCapability;
   private final String subProtocolName;
+  private final MessageSignerRecovery messageSignerRecovery;
+  // sequential lanes over the shared verification executor, a peer always uses the same one so
+  // that its messages are queued in the order they were received
+  private final List<SignerRecoveryLane> signerRecoveryLanes;
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
 
   /**
    * Constructor for the ibft protocol manager
@@ -54,10 +72,42 @@ public class BftProtocolManager implements ProtocolManager {
       final PeerConnectionTracker peers,
       final Capability supportedCapability,
       final String subProtocolName) {
+    this(
+        bftEventQueue, peers, supportedCapability, subProtocolName, MessageSignerRecovery.NONE);
+  }
+
+  /**
+   * Constructor for the bft protocol manager
+   *
+   * @param bftEventQueue Entry point into the bft event processor
+   * @param peers Used to track all connected BFT peers.
+   * @param supportedCapability The capability offered by this protocol manager
+   * @param subProtocolName The name of the protocol being supported
+   * @param messageSignerRecovery Recovers the signers of received messages before they are queued,
+   *     on the shared verification executor rather than on the network threads
+   */
+  public BftProtocolManager(
+      final BftEventQueue bftEventQueue,
+      final PeerConnectionTracker peers,
+      final Capability supportedCapability,
+      final String subProtocolName,
+      final MessageSignerRecovery messageSignerRecovery) {
     this.bftEventQueue = bftEventQueue;
     this.peers = peers;
     this.supportedCapability = supportedCapability;
     this.subProtocolName = subProtocolName;
+    this.messageSignerRecovery = messageSignerRecovery;
+    this.signerRecoveryLanes =
+        messageSignerRecovery == MessageSignerRecovery.NONE
+            ? List.of()
+            : IntStream.range(0, SIGNER_RECOVERY_LANES)
+                .mapToObj(
+                    i ->
+                        new SignerRecoveryLane(
+                            MoreExecutors.newSequentialExecutor(
+                                BftSignerRecovery.verificationExecutor()),
+                            new AtomicInteger()))
+                .toList();
   }
 
   @Override
@@ -71,10 +121,13 @@ public class BftProtocolManager implements ProtocolManager {
   }
 
   @Override
-  public void stop() {}
+  public void stop() {
+    // the verification executor is shared, so only the recoveries still queued are abandoned
+    stopped.set(true);
+  }
 
   @Override
-  public void awaitStop() throws InterruptedException {}
+  public void awaitStop() {}
 
   /**
    * This function is called by the P2P framework when an "IBF" message has been received. This
@@ -98,8 +151,38 @@ public class BftProtocolManager implements ProtocolManager {
     final Address address = message.getConnection().getPeerInfo().getAddress();
     LOG.trace("Process message {}, {}, from = {}", cap, code, address);
 
-    final BftEvent messageEvent = BftEvents.fromMessage(message);
-    bftEventQueue.add(messageEvent);
+    if (signerRecoveryLanes.isEmpty()) {
+      bftEventQueue.add(BftEvents.fromMessage(message, Optional.empty()));
+      return;
+    }
+    // recovering signers here spreads the signature recovery over the verification threads,
+    // rather than blocking the network threads or leaving it all to the BFT event processor
+    final SignerRecoveryLane lane =
+        signerRecoveryLanes.get(Math.floorMod(address.hashCode(), signerRecoveryLanes.size()));
+    if (lane.pending().incrementAndGet() > SIGNER_RECOVERY_LANE_SIZE) {
+      lane.pending().decrementAndGet();
+      LOG.debug("Signer recovery queue full, discarding message {} from {}", code, address);
+      return;
+    }
+    try {
+      lane.executor()
+          .execute(
+              () -> {
+                try {
+                  if (!stopped.get()) {
+                    final Optional<ConsensusRoundIdentifier> targetRound =
+                        messageSignerRecovery.recoverSigners(messageData);
+                    final BftEvent messageEvent = BftEvents.fromMessage(message, targetRound);
+                    bftEventQueue.add(messageEvent);
+                  }
+                } finally {
+                  lane.pending().decrementAndGet();
+                }
+              });
+    } catch (final RejectedExecutionException e) {
+      lane.pending().decrementAndGet();
+      LOG.debug("Signer recovery queue full, discarding message {} from {}", code, address);
+    }
   }
 
   @Override
@@ -119,4 +202,6 @@ public class BftProtocolManager implements ProtocolManager {
   public int getHighestProtocolVersion() {
     return supportedCapability.getVersion();
   }
+
+  private record SignerRecoveryLane(Executor executor, AtomicInteger pending) {}
 }
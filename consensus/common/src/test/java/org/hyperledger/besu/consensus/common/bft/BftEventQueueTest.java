@@ -16,14 +16,22 @@ package org.hyperledger.besu.consensus.common.bft;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.mock;
 
 import org.hyperledger.besu.consensus.common.bft.events.BftEvent;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvents;
+import org.hyperledger.besu.consensus.common.bft.events.RoundExpiry;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.DefaultMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 
 public class BftEventQueueTest {
@@ -180,4 +188,139 @@ public class BftEventQueueTest {
     queue.add(dummyBlockTimerEvent);
     assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(dummyBlockTimerEvent);
   }
+
+  @Test
+  public void eventsAreOrderedByTargetRound() throws InterruptedException {
+    final BftEventQueue queue = new BftEventQueue(MAX_QUEUE_SIZE);
+    queue.start();
+
+    final BftEvent futureRoundMessage = messageEvent(1, new ConsensusRoundIdentifier(2, 1));
+    final BftEvent currentRoundMessage = messageEvent(2, new ConsensusRoundIdentifier(1, 0));
+    final BftEvent currentRoundExpiry = new RoundExpiry(new ConsensusRoundIdentifier(1, 0));
+    queue.add(futureRoundMessage);
+    queue.add(currentRoundMessage);
+    queue.add(currentRoundExpiry);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(currentRoundMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(currentRoundExpiry);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(futureRoundMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isNull();
+  }
+
+  @Test
+  public void fullQueueShedsFurthestRoundMessage() throws InterruptedException {
+    final BftEventQueue queue = new BftEventQueue(1);
+    queue.start();
+
+    final BftEvent farFutureMessage = messageEvent(1, new ConsensusRoundIdentifier(5, 0));
+    final BftEvent currentRoundMessage = messageEvent(2, new ConsensusRoundIdentifier(1, 0));
+    final BftEvent nextRoundMessage = messageEvent(3, new ConsensusRoundIdentifier(1, 1));
+    queue.add(farFutureMessage);
+    queue.add(currentRoundMessage);
+    queue.add(nextRoundMessage);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(currentRoundMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(nextRoundMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isNull();
+  }
+
+  @Test
+  public void staleMessagesAreShedBeforeCurrentHeightMessages() throws InterruptedException {
+    final BftEventQueue queue = new BftEventQueue(1);
+    queue.start();
+
+    final BftEvent staleMessage = messageEvent(1, new ConsensusRoundIdentifier(4, 0));
+    final BftEvent staleRoundChange = messageEvent(2, new ConsensusRoundIdentifier(5, 3));
+    queue.add(staleMessage);
+    queue.add(staleRoundChange);
+
+    queue.setChainHeadHeight(5);
+    final BftEvent currentHeightMessage = messageEvent(3, new ConsensusRoundIdentifier(6, 0));
+    final BftEvent nextHeightMessage = messageEvent(4, new ConsensusRoundIdentifier(7, 0));
+    queue.add(currentHeightMessage);
+    queue.add(nextHeightMessage);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(currentHeightMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(nextHeightMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isNull();
+  }
+
+  @Test
+  public void staleEventsAreHandedOutLast() throws InterruptedException {
+    final BftEventQueue queue = new BftEventQueue(MAX_QUEUE_SIZE);
+    queue.start();
+    queue.setChainHeadHeight(5);
+
+    final BftEvent staleMessage = messageEvent(1, new ConsensusRoundIdentifier(5, 0));
+    final BftEvent unknownRoundEvent = new DummyRoundExpiryBftEvent();
+    final BftEvent futureHeightMessage = messageEvent(2, new ConsensusRoundIdentifier(7, 0));
+    final BftEvent currentHeightMessage = messageEvent(3, new ConsensusRoundIdentifier(6, 1));
+    queue.add(staleMessage);
+    queue.add(unknownRoundEvent);
+    queue.add(futureHeightMessage);
+    queue.add(currentHeightMessage);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(unknownRoundEvent);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(currentHeightMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(futureHeightMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(staleMessage);
+  }
+
+  @Test
+  public void messagesBelowCurrentRoundAreShedFirst() throws InterruptedException {
+    final BftEventQueue queue = new BftEventQueue(1);
+    queue.start();
+
+    queue.add(new RoundExpiry(new ConsensusRoundIdentifier(1, 0)));
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isInstanceOf(RoundExpiry.class);
+
+    final BftEvent expiredRoundMessage = messageEvent(1, new ConsensusRoundIdentifier(1, 0));
+    final BftEvent currentRoundMessage = messageEvent(2, new ConsensusRoundIdentifier(1, 1));
+    final BftEvent nextRoundMessage = messageEvent(3, new ConsensusRoundIdentifier(1, 2));
+    queue.add(expiredRoundMessage);
+    queue.add(currentRoundMessage);
+    queue.add(nextRoundMessage);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(currentRoundMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(nextRoundMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isNull();
+  }
+
+  @Test
+  public void unknownRoundEventsAreOrderedByArrivalWithinCurrentRound()
+      throws InterruptedException {
+    final BftEventQueue queue = new BftEventQueue(MAX_QUEUE_SIZE);
+    queue.start();
+
+    final BftEvent firstMessage = messageEvent(1, new ConsensusRoundIdentifier(1, 0));
+    final BftEvent unknownRoundEvent = new DummyRoundExpiryBftEvent();
+    final BftEvent secondMessage = messageEvent(2, new ConsensusRoundIdentifier(1, 0));
+    queue.add(firstMessage);
+    queue.add(unknownRoundEvent);
+    queue.add(secondMessage);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(firstMessage);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(unknownRoundEvent);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(secondMessage);
+  }
+
+  @Test
+  public void duplicateMessagesAreDiscarded() throws InterruptedException {
+    final BftEventQueue queue = new BftEventQueue(MAX_QUEUE_SIZE);
+    queue.start();
+
+    final BftEvent message = messageEvent(1, new ConsensusRoundIdentifier(1, 0));
+    final BftEvent duplicateMessage = messageEvent(1, new ConsensusRoundIdentifier(1, 0));
+    queue.add(message);
+    queue.add(duplicateMessage);
+
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isEqualTo(message);
+    assertThat(queue.poll(0, TimeUnit.MICROSECONDS)).isNull();
+  }
+
+  private BftEvent messageEvent(final int payload, final ConsensusRoundIdentifier targetRound) {
+    final Message message =
+        new DefaultMessage(mock(PeerConnection.class), new RawMessage(1, Bytes.of(payload)));
+    return BftEvents.fromMessage(message, Optional.of(targetRound));
+  }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.SECPSignature;
+import org.hyperledger.besu.cryptoservices.NodeKey;
+import org.hyperledger.besu.cryptoservices.NodeKeyUtils;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Util;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class BftSignerRecoveryTest {
+
+  private final Hash hash = Hash.hash(Bytes.of(1, 2, 3));
+
+  @Test
+  public void recoversSignerOfHash() {
+    final NodeKey nodeKey = NodeKeyUtils.generate();
+    final SECPSignature signature = nodeKey.sign(hash);
+
+    final Address expectedSigner = Util.publicKeyToAddress(nodeKey.getPublicKey());
+    assertThat(BftSignerRecovery.recoverSigner(signature, hash)).isEqualTo(expectedSigner);
+    // second recovery is served from the cache
+    assertThat(BftSignerRecovery.recoverSigner(signature, hash)).isEqualTo(expectedSigner);
+  }
+
+  @Test
+  public void recoversSignersInOrder() {
+    final List<NodeKey> nodeKeys =
+        IntStream.range(0, 16).mapToObj(i -> NodeKeyUtils.generate()).collect(Collectors.toList());
+    final List<SECPSignature> signatures =
+        nodeKeys.stream().map(nodeKey -> nodeKey.sign(hash)).collect(Collectors.toList());
+
+    final List<Address> expectedSigners =
+        nodeKeys.stream()
+            .map(nodeKey -> Util.publicKeyToAddress(nodeKey.getPublicKey()))
+            .collect(Collectors.toList());
+    assertThat(BftSignerRecovery.recoverSigners(signatures, hash))
+        .containsExactlyElementsOf(expectedSigners);
+  }
+
+  @Test
+  public void recoversSignersInOrderWhenVerificationExecutorIsSaturated() {
+    final List<NodeKey> nodeKeys =
+        IntStream.range(0, 4).mapToObj(i -> NodeKeyUtils.generate()).collect(Collectors.toList());
+    final List<SECPSignature> signatures =
+        nodeKeys.stream().map(nodeKey -> nodeKey.sign(hash)).collect(Collectors.toList());
+    final List<Address> expectedSigners =
+        nodeKeys.stream()
+            .map(nodeKey -> Util.publicKeyToAddress(nodeKey.getPublicKey()))
+            .collect(Collectors.toList());
+
+    final CountDownLatch release = new CountDownLatch(1);
+    final Executor executor = BftSignerRecovery.verificationExecutor();
+    try {
+      // occupy every verification thread and fill the queue, so that the calling thread has to
+      // recover the seals itself
+      while (true) {
+        executor.execute(() -> Uninterruptibles.awaitUninterruptibly(release));
+      }
+    } catch (final RejectedExecutionException e) {
+      // saturated
+    }
+    try {
+      assertThat(BftSignerRecovery.recoverSigners(signatures, hash))
+          .containsExactlyElementsOf(expectedSigners);
+    } finally {
+      release.countDown();
+    }
+  }
+}
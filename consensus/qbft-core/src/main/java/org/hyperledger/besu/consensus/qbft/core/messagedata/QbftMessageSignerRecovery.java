@@ -0,0 +1,68 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.core.messagedata;
+
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+import org.hyperledger.besu.consensus.common.bft.MessageSignerRecovery;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockCodec;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the signers of received QBFT messages by decoding them, which recovers the author of
+ * the message along with the authors of any prepares and round changes it carries.
+ */
+public class QbftMessageSignerRecovery implements MessageSignerRecovery {
+
+  private static final Logger LOG = LoggerFactory.getLogger(QbftMessageSignerRecovery.class);
+
+  private final QbftBlockCodec blockEncoder;
+
+  /**
+   * Instantiates a new Qbft message signer recovery.
+   *
+   * @param blockEncoder the block encoder
+   */
+  public QbftMessageSignerRecovery(final QbftBlockCodec blockEncoder) {
+    this.blockEncoder = blockEncoder;
+  }
+
+  @Override
+  public Optional<ConsensusRoundIdentifier> recoverSigners(final MessageData messageData) {
+    try {
+      final BftMessage<?> message =
+          switch (messageData.getCode()) {
+            case QbftV1.PROPOSAL ->
+                ProposalMessageData.fromMessageData(messageData).decode(blockEncoder);
+            case QbftV1.PREPARE -> PrepareMessageData.fromMessageData(messageData).decode();
+            case QbftV1.COMMIT -> CommitMessageData.fromMessageData(messageData).decode();
+            case QbftV1.ROUND_CHANGE ->
+                RoundChangeMessageData.fromMessageData(messageData).decode(blockEncoder);
+            // unknown messages are rejected by the BFT event processor
+            default -> null;
+          };
+      return Optional.ofNullable(message).map(BftMessage::getRoundIdentifier);
+    } catch (final RuntimeException e) {
+      // malformed messages are rejected by the BFT event processor
+      LOG.trace("Unable to recover signers of message with code {}", messageData.getCode(), e);
+      return Optional.empty();
+    }
+  }
+}
@@ -14,13 +14,13 @@
  */
 package org.hyperledger.besu.consensus.qbft.core.validation;
 
+import org.hyperledger.besu.consensus.common.bft.BftSignerRecovery;
 import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
 import org.hyperledger.besu.consensus.common.bft.payload.SignedData;
 import org.hyperledger.besu.consensus.qbft.core.messagewrappers.Commit;
 import org.hyperledger.besu.consensus.qbft.core.payload.CommitPayload;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
-import org.hyperledger.besu.ethereum.core.Util;
 
 import java.util.Collection;
 
@@ -101,7 +101,7 @@ public class CommitValidator {
     }
 
     final Address commitSealCreator =
-        Util.signatureToAddress(payload.getCommitSeal(), expectedCommitDigest);
+        BftSignerRecovery.recoverSigner(payload.getCommitSeal(), expectedCommitDigest);
 
     if (!commitSealCreator.equals(signedPayload.getAuthor())) {
       LOG.info(
@@ -17,32 +17,93 @@ package org.hyperledger.besu.consensus.qbft.adaptor;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockImporter;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.provider.DiffBasedWorldStateProvider;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** Adaptor class to allow a {@link BlockImporter} to be used as a {@link QbftBlockImporter}. */
 public class QbftBlockImporterAdaptor implements QbftBlockImporter {
 
+  private static final Logger LOG = LoggerFactory.getLogger(QbftBlockImporterAdaptor.class);
+
   private final BlockImporter blockImporter;
+  private final BlockHeaderValidator blockHeaderValidator;
+  private final QbftValidatedBlockCache validatedBlockCache;
   private final ProtocolContext context;
 
   /**
    * Constructs a new Qbft block importer.
    *
    * @param blockImporter The Besu block importer
+   * @param blockHeaderValidator The Besu block header validator
+   * @param validatedBlockCache The execution results of validated proposals
    * @param context The protocol context
    */
   public QbftBlockImporterAdaptor(
-      final BlockImporter blockImporter, final ProtocolContext context) {
+      final BlockImporter blockImporter,
+      final BlockHeaderValidator blockHeaderValidator,
+      final QbftValidatedBlockCache validatedBlockCache,
+      final ProtocolContext context) {
     this.blockImporter = blockImporter;
+    this.blockHeaderValidator = blockHeaderValidator;
+    this.validatedBlockCache = validatedBlockCache;
     this.context = context;
   }
 
   @Override
   public boolean importBlock(final QbftBlock block) {
+    final Block besuBlock = BlockUtil.toBesuBlock(block);
+    final Optional<QbftValidatedBlockCache.ValidatedBlock> maybeValidatedBlock =
+        validatedBlockCache.take(besuBlock.getHeader());
+    if (maybeValidatedBlock.isPresent()
+        && importValidatedBlock(besuBlock, maybeValidatedBlock.get())) {
+      return true;
+    }
     final BlockImportResult blockImportResult =
-        blockImporter.importBlock(context, BlockUtil.toBesuBlock(block), HeaderValidationMode.FULL);
+        blockImporter.importBlock(context, besuBlock, HeaderValidationMode.FULL);
     return blockImportResult.isImported();
   }
+
+  /**
+   * Imports a block whose proposal has already been executed during validation, by moving the head
+   * world state forward with the trie log of that execution rather than executing the block again.
+   *
+   * @return true if the block was appended to the chain, false if the regular import must be used
+   */
+  private boolean importValidatedBlock(
+      final Block block, final QbftValidatedBlockCache.ValidatedBlock validatedBlock) {
+    final MutableBlockchain blockchain = context.getBlockchain();
+    if (!(context.getWorldStateArchive() instanceof DiffBasedWorldStateProvider worldStateProvider)
+        || !blockchain.getChainHeadHash().equals(block.getHeader().getParentHash())
+        || !blockHeaderValidator.validateHeader(
+            block.getHeader(), context, HeaderValidationMode.FULL)) {
+      return false;
+    }
+    try {
+      final Optional<TrieLog> maybeTrieLog =
+          worldStateProvider
+              .getTrieLogManager()
+              .getTrieLogLayer(validatedBlock.executedBlockHash());
+      if (maybeTrieLog.isEmpty()
+          || worldStateProvider.rollHeadForward(block.getHeader(), maybeTrieLog.get()).isEmpty()) {
+        return false;
+      }
+    } catch (final MerkleTrieException e) {
+      LOG.debug("Unable to reuse validated execution of block {}", block.toLogString(), e);
+      return false;
+    }
+    blockchain.appendBlock(block, validatedBlock.receipts());
+    return true;
+  }
 }
@@ -16,38 +16,56 @@ package org.hyperledger.besu.consensus.qbft.adaptor;
 
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockValidator;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.BlockValidator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.provider.DiffBasedWorldStateProvider;
 
 /** Adaptor class to allow a {@link BlockValidator} to be used as a {@link QbftBlockValidator}. */
 public class QbftBlockValidatorAdaptor implements QbftBlockValidator {
 
   private final BlockValidator blockValidator;
+  private final QbftValidatedBlockCache validatedBlockCache;
   private final ProtocolContext protocolContext;
 
   /**
    * Constructs a new Qbft block validator
    *
    * @param blockValidator The Besu block validator
+   * @param validatedBlockCache The execution results of validated proposals
    * @param protocolContext The protocol context
    */
   public QbftBlockValidatorAdaptor(
-      final BlockValidator blockValidator, final ProtocolContext protocolContext) {
+      final BlockValidator blockValidator,
+      final QbftValidatedBlockCache validatedBlockCache,
+      final ProtocolContext protocolContext) {
     this.blockValidator = blockValidator;
+    this.validatedBlockCache = validatedBlockCache;
     this.protocolContext = protocolContext;
   }
 
   @Override
   public ValidationResult validateBlock(final QbftBlock block) {
+    final Block besuBlock = BlockUtil.toBesuBlock(block);
     final BlockProcessingResult blockProcessingResult =
         blockValidator.validateAndProcessBlock(
             protocolContext,
-            BlockUtil.toBesuBlock(block),
+            besuBlock,
             HeaderValidationMode.LIGHT,
             HeaderValidationMode.FULL,
             false);
+    // the trie log of the execution is kept by diff based storage, so retaining the receipts is
+    // enough to import the committed block without executing it again
+    if (blockProcessingResult.isSuccessful()
+        && protocolContext.getWorldStateArchive() instanceof DiffBasedWorldStateProvider) {
+      blockProcessingResult
+          .getYield()
+          .map(BlockProcessingOutputs::getReceipts)
+          .ifPresent(receipts -> validatedBlockCache.put(besuBlock, receipts));
+    }
     return new ValidationResult(
         blockProcessingResult.isSuccessful(), blockProcessingResult.errorMessage);
   }
@@ -28,6 +28,7 @@ public class QbftProtocolScheduleAdaptor implements QbftProtocolSchedule {
 
   private final ProtocolSchedule besuProtocolSchedule;
   private final ProtocolContext context;
+  private final QbftValidatedBlockCache validatedBlockCache = new QbftValidatedBlockCache();
 
   /**
    * Constructs a new Qbft protocol schedule.
@@ -44,6 +45,6 @@ public class QbftProtocolScheduleAdaptor implements QbftProtocolSchedule {
   @Override
   public QbftProtocolSpec getByBlockHeader(final BlockHeader header) {
     final ProtocolSpec protocolSpec = besuProtocolSchedule.getByBlockHeader(header);
-    return new QbftProtocolSpecAdaptor(protocolSpec, context);
+    return new QbftProtocolSpecAdaptor(protocolSpec, context, validatedBlockCache);
   }
 }
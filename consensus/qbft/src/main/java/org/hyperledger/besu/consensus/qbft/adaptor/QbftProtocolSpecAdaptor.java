@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 public class QbftProtocolSpecAdaptor implements QbftProtocolSpec {
   private final ProtocolSpec besuProtocolSpec;
   private final ProtocolContext context;
+  private final QbftValidatedBlockCache validatedBlockCache;
 
   /**
    * Constructs a new Qbft protocol spec.
@@ -33,17 +34,38 @@ public class QbftProtocolSpecAdaptor implements QbftProtocolSpec {
    */
   public QbftProtocolSpecAdaptor(
       final ProtocolSpec besuProtocolSpec, final ProtocolContext context) {
+    this(besuProtocolSpec, context, new QbftValidatedBlockCache());
+  }
+
+  /**
+   * Constructs a new Qbft protocol spec.
+   *
+   * @param besuProtocolSpec The Besu protocol spec.
+   * @param context The protocol context.
+   * @param validatedBlockCache The execution results of validated proposals, shared between the
+   *     block validator and the block importer.
+   */
+  public QbftProtocolSpecAdaptor(
+      final ProtocolSpec besuProtocolSpec,
+      final ProtocolContext context,
+      final QbftValidatedBlockCache validatedBlockCache) {
     this.besuProtocolSpec = besuProtocolSpec;
     this.context = context;
+    this.validatedBlockCache = validatedBlockCache;
   }
 
   @Override
   public QbftBlockImporter getBlockImporter() {
-    return new QbftBlockImporterAdaptor(besuProtocolSpec.getBlockImporter(), context);
+    return new QbftBlockImporterAdaptor(
+        besuProtocolSpec.getBlockImporter(),
+        besuProtocolSpec.getBlockHeaderValidator(),
+        validatedBlockCache,
+        context);
   }
 
   @Override
   public QbftBlockValidator getBlockValidator() {
-    return new QbftBlockValidatorAdaptor(besuProtocolSpec.getBlockValidator(), context);
+    return new QbftBlockValidatorAdaptor(
+        besuProtocolSpec.getBlockValidator(), validatedBlockCache, context);
   }
 }
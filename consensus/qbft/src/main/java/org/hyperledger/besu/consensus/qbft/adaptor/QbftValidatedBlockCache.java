@@ -0,0 +1,98 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.adaptor;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded cache of the execution results of QBFT proposals that passed validation, so that the
+ * block committed for the same proposal can be imported without executing it a second time.
+ *
+ * <p>Entries are keyed by the parent hash, state root, receipts root and transactions root of the
+ * block rather than by its hash, as the proposal and the committed block can be hashed with
+ * different header functions (e.g. with and without the round number).
+ */
+public class QbftValidatedBlockCache {
+
+  /** The default number of validated proposals retained. */
+  public static final int DEFAULT_CAPACITY = 8;
+
+  private final Cache<ExecutionKey, ValidatedBlock> validatedBlocks;
+
+  /** Constructs a new cache retaining up to {@link #DEFAULT_CAPACITY} validated proposals. */
+  public QbftValidatedBlockCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a new cache.
+   *
+   * @param capacity the maximum number of validated proposals retained
+   */
+  public QbftValidatedBlockCache(final long capacity) {
+    this.validatedBlocks = CacheBuilder.newBuilder().maximumSize(capacity).build();
+  }
+
+  /**
+   * Records the execution result of a validated block.
+   *
+   * @param block the validated block
+   * @param receipts the receipts produced by executing the block
+   */
+  public void put(final Block block, final List<TransactionReceipt> receipts) {
+    validatedBlocks.put(
+        ExecutionKey.of(block.getHeader()), new ValidatedBlock(block.getHash(), receipts));
+  }
+
+  /**
+   * Removes and returns the execution result recorded for a block with the same execution outputs
+   * as the given header.
+   *
+   * @param header the header of the block being imported
+   * @return the validated block, if any
+   */
+  public Optional<ValidatedBlock> take(final BlockHeader header) {
+    return Optional.ofNullable(validatedBlocks.asMap().remove(ExecutionKey.of(header)));
+  }
+
+  /**
+   * The execution result of a validated block.
+   *
+   * @param executedBlockHash the hash of the block as it was executed, which its trie log is keyed
+   *     by
+   * @param receipts the receipts produced by executing the block
+   */
+  public record ValidatedBlock(Hash executedBlockHash, List<TransactionReceipt> receipts) {}
+
+  private record ExecutionKey(
+      Hash parentHash, Hash stateRoot, Hash receiptsRoot, Hash transactionsRoot) {
+    static ExecutionKey of(final BlockHeader header) {
+      return new ExecutionKey(
+          header.getParentHash(),
+          header.getStateRoot(),
+          header.getReceiptsRoot(),
+          header.getTransactionsRoot());
+    }
+  }
+}
@@ -18,15 +18,30 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.ALREADY_IMPORTED;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.IMPORTED;
 import static org.hyperledger.besu.ethereum.mainnet.BlockImportResult.BlockImportStatus.NOT_IMPORTED;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlock;
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.BlockHeaderValidator;
 import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.provider.DiffBasedWorldStateProvider;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.List;
+import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,7 +51,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class QbftBlockImporterAdaptorTest {
   @Mock private BlockImporter blockImporter;
+  @Mock private BlockHeaderValidator blockHeaderValidator;
   @Mock private ProtocolContext protocolContext;
+  @Mock private MutableBlockchain blockchain;
+  @Mock private DiffBasedWorldStateProvider worldStateProvider;
+  @Mock private TrieLogManager trieLogManager;
+  @Mock private TrieLog trieLog;
+  private final QbftValidatedBlockCache validatedBlockCache = new QbftValidatedBlockCache();
   private final Block besuBlock = new BlockDataGenerator().block();
   private final QbftBlock block = new QbftBlockAdaptor(besuBlock);
 
@@ -46,7 +67,8 @@ class QbftBlockImporterAdaptorTest {
         .thenReturn(new BlockImportResult(IMPORTED));
 
     QbftBlockImporterAdaptor qbftBlockImporter =
-        new QbftBlockImporterAdaptor(blockImporter, protocolContext);
+        new QbftBlockImporterAdaptor(
+            blockImporter, blockHeaderValidator, validatedBlockCache, protocolContext);
     assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
   }
 
@@ -56,7 +78,8 @@ class QbftBlockImporterAdaptorTest {
         .thenReturn(new BlockImportResult(ALREADY_IMPORTED));
 
     QbftBlockImporterAdaptor qbftBlockImporter =
-        new QbftBlockImporterAdaptor(blockImporter, protocolContext);
+        new QbftBlockImporterAdaptor(
+            blockImporter, blockHeaderValidator, validatedBlockCache, protocolContext);
     assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
   }
 
@@ -66,7 +89,52 @@ class QbftBlockImporterAdaptorTest {
         .thenReturn(new BlockImportResult(NOT_IMPORTED));
 
     QbftBlockImporterAdaptor qbftBlockImporter =
-        new QbftBlockImporterAdaptor(blockImporter, protocolContext);
+        new QbftBlockImporterAdaptor(
+            blockImporter, blockHeaderValidator, validatedBlockCache, protocolContext);
     assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(false);
   }
+
+  @Test
+  void importsValidatedBlockWithoutExecutingItAgain() {
+    final List<TransactionReceipt> receipts = List.of();
+    validatedBlockCache.put(besuBlock, receipts);
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateProvider);
+    when(blockchain.getChainHeadHash()).thenReturn(besuBlock.getHeader().getParentHash());
+    when(blockHeaderValidator.validateHeader(
+            besuBlock.getHeader(), protocolContext, HeaderValidationMode.FULL))
+        .thenReturn(true);
+    when(worldStateProvider.getTrieLogManager()).thenReturn(trieLogManager);
+    when(trieLogManager.getTrieLogLayer(besuBlock.getHash())).thenReturn(Optional.of(trieLog));
+    when(worldStateProvider.rollHeadForward(besuBlock.getHeader(), trieLog))
+        .thenReturn(Optional.of(mock(MutableWorldState.class)));
+
+    QbftBlockImporterAdaptor qbftBlockImporter =
+        new QbftBlockImporterAdaptor(
+            blockImporter, blockHeaderValidator, validatedBlockCache, protocolContext);
+    assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
+    verify(blockchain).appendBlock(besuBlock, receipts);
+    verifyNoInteractions(blockImporter);
+  }
+
+  @Test
+  void importsValidatedBlockByExecutingItWhenHeadCannotBeRolledForward() {
+    validatedBlockCache.put(besuBlock, List.of());
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateProvider);
+    when(blockchain.getChainHeadHash()).thenReturn(besuBlock.getHeader().getParentHash());
+    when(blockHeaderValidator.validateHeader(
+            besuBlock.getHeader(), protocolContext, HeaderValidationMode.FULL))
+        .thenReturn(true);
+    when(worldStateProvider.getTrieLogManager()).thenReturn(trieLogManager);
+    when(trieLogManager.getTrieLogLayer(besuBlock.getHash())).thenReturn(Optional.empty());
+    when(blockImporter.importBlock(protocolContext, besuBlock, HeaderValidationMode.FULL))
+        .thenReturn(new BlockImportResult(IMPORTED));
+
+    QbftBlockImporterAdaptor qbftBlockImporter =
+        new QbftBlockImporterAdaptor(
+            blockImporter, blockHeaderValidator, validatedBlockCache, protocolContext);
+    assertThat(qbftBlockImporter.importBlock(block)).isEqualTo(true);
+    verify(blockchain, never()).appendBlock(any(), any());
+  }
 }
@@ -15,15 +15,22 @@
 package org.hyperledger.besu.consensus.qbft.adaptor;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.consensus.qbft.core.types.QbftBlockValidator;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.BlockValidator;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.provider.DiffBasedWorldStateProvider;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -37,6 +44,7 @@ class QbftBlockValidatorAdaptorTest {
   @Mock private ProtocolContext protocolContext;
   @Mock private Block besuBlock;
   @Mock private QbftBlockAdaptor qbftBlock;
+  private final QbftValidatedBlockCache validatedBlockCache = new QbftValidatedBlockCache();
 
   @Test
   void validateSuccessfullyWhenBesuValidatorSuccessful() {
@@ -50,7 +58,7 @@ class QbftBlockValidatorAdaptorTest {
         .thenReturn(new BlockProcessingResult(Optional.empty()));
 
     QbftBlockValidatorAdaptor qbftBlockValidator =
-        new QbftBlockValidatorAdaptor(blockValidator, protocolContext);
+        new QbftBlockValidatorAdaptor(blockValidator, validatedBlockCache, protocolContext);
     QbftBlockValidator.ValidationResult validationResult =
         qbftBlockValidator.validateBlock(qbftBlock);
     assertThat(validationResult.success()).isTrue();
@@ -69,10 +77,29 @@ class QbftBlockValidatorAdaptorTest {
         .thenReturn(new BlockProcessingResult("failed"));
 
     QbftBlockValidatorAdaptor qbftBlockValidator =
-        new QbftBlockValidatorAdaptor(blockValidator, protocolContext);
+        new QbftBlockValidatorAdaptor(blockValidator, validatedBlockCache, protocolContext);
     QbftBlockValidator.ValidationResult validationResult =
         qbftBlockValidator.validateBlock(qbftBlock);
     assertThat(validationResult.success()).isFalse();
     assertThat(validationResult.errorMessage()).contains("failed");
   }
+
+  @Test
+  void retainsReceiptsOfValidatedBlockForImport() {
+    final Block block = new BlockDataGenerator().block();
+    final List<TransactionReceipt> receipts = List.of();
+    when(protocolContext.getWorldStateArchive())
+        .thenReturn(mock(DiffBasedWorldStateProvider.class));
+    when(blockValidator.validateAndProcessBlock(
+            protocolContext, block, HeaderValidationMode.LIGHT, HeaderValidationMode.FULL, false))
+        .thenReturn(
+            new BlockProcessingResult(
+                Optional.of(new BlockProcessingOutputs(mock(MutableWorldState.class), receipts))));
+
+    QbftBlockValidatorAdaptor qbftBlockValidator =
+        new QbftBlockValidatorAdaptor(blockValidator, validatedBlockCache, protocolContext);
+    assertThat(qbftBlockValidator.validateBlock(new QbftBlockAdaptor(block)).success()).isTrue();
+    assertThat(validatedBlockCache.take(block.getHeader()))
+        .contains(new QbftValidatedBlockCache.ValidatedBlock(block.getHash(), receipts));
+  }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class Keccak256Benchmark {
+
+  private static final int BATCH_SIZE = 16;
+
+  // 20 bytes for addresses, 32 bytes for storage slots, 532 bytes for a full branch node
+  @Param({"20", "32", "532"})
+  public int size;
+
+  private Bytes input;
+  private List<Bytes> inputs;
+  private final byte[] output = new byte[Bytes32.SIZE];
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(42);
+    input = randomBytes(random);
+    inputs = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      inputs.add(randomBytes(random));
+    }
+  }
+
+  private Bytes randomBytes(final Random random) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return Bytes.wrap(bytes);
+  }
+
+  @Benchmark
+  public Bytes32 keccak256() {
+    return Hash.keccak256(input);
+  }
+
+  @Benchmark
+  public byte[] keccak256IntoBuffer() {
+    Hash.keccak256(input, output, 0);
+    return output;
+  }
+
+  @Benchmark
+  public List<Bytes32> keccak256Batch() {
+    return Hash.keccak256(inputs);
+  }
+
+  @Benchmark
+  public List<Bytes32> keccak256Individually() {
+    final List<Bytes32> digests = new ArrayList<>(BATCH_SIZE);
+    for (final Bytes bytes : inputs) {
+      digests.add(Hash.keccak256(bytes));
+    }
+    return digests;
+  }
+}
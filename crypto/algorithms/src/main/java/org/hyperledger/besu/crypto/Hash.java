@@ -14,13 +14,17 @@
  */
 package org.hyperledger.besu.crypto;
 
+import static com.google.common.base.Preconditions.checkPositionIndexes;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.BLAKE2BF_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.KECCAK256_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.RIPEMD160_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.SHA256_ALG;
 
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 
 import com.google.common.base.Suppliers;
@@ -31,8 +35,10 @@ import org.apache.tuweni.bytes.Bytes32;
 public abstract class Hash {
   private Hash() {}
 
-  private static final Supplier<MessageDigest> KECCAK256_SUPPLIER =
-      Suppliers.memoize(() -> messageDigest(KECCAK256_ALG));
+  // keccak-256 is hashed with a reusable per thread digest rather than a cloned MessageDigest, as
+  // it is by far the most frequently used digest (trie nodes, addresses, storage slots, KECCAK256)
+  private static final ThreadLocal<MessageDigest> KECCAK256_DIGEST =
+      ThreadLocal.withInitial(() -> messageDigest(KECCAK256_ALG));
   private static final Supplier<MessageDigest> SHA256_SUPPLIER =
       Suppliers.memoize(() -> messageDigest(SHA256_ALG));
   private static final Supplier<MessageDigest> RIPEMD160_SUPPLIER =
@@ -83,7 +89,47 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final Bytes input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_SUPPLIER));
+    final byte[] output = new byte[Bytes32.SIZE];
+    keccak256(input, output, 0);
+    return Bytes32.wrap(output);
+  }
+
+  /**
+   * Digest using keccak-256, writing the digest into a caller provided buffer.
+   *
+   * @param input The input bytes to produce the digest for.
+   * @param output The buffer receiving the 32 bytes digest.
+   * @param offset The offset in the buffer at which the digest is written.
+   */
+  public static void keccak256(final Bytes input, final byte[] output, final int offset) {
+    // checked before touching the digest, so that a bad buffer can't leave it half finalized
+    checkPositionIndexes(offset, offset + Bytes32.SIZE, output.length);
+    final MessageDigest digest = KECCAK256_DIGEST.get();
+    try {
+      input.update(digest);
+      digest.digest(output, offset, Bytes32.SIZE);
+    } catch (final DigestException e) {
+      digest.reset();
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Digest many inputs using keccak-256. The digests share a single backing array.
+   *
+   * @param inputs The inputs to produce the digests for.
+   * @return The digests, in the order of the inputs.
+   */
+  public static List<Bytes32> keccak256(final List<? extends Bytes> inputs) {
+    final int size = inputs.size();
+    final byte[] output = new byte[size * Bytes32.SIZE];
+    final List<Bytes32> digests = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final int offset = i * Bytes32.SIZE;
+      keccak256(inputs.get(i), output, offset);
+      digests.add(Bytes32.wrap(output, offset));
+    }
+    return digests;
   }
 
   /**
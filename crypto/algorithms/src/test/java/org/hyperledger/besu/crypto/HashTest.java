@@ -16,8 +16,12 @@ package org.hyperledger.besu.crypto;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Test;
 
@@ -52,6 +56,34 @@ public class HashTest {
     assertThat(resultCow).isEqualTo(Bytes.fromHexString(cowKeccak256));
   }
 
+  /** Validate keccak256 hash written into a provided buffer. */
+  @Test
+  public void keccak256HashIntoBuffer() {
+    final byte[] output = new byte[40];
+    Hash.keccak256(Bytes.wrap("horse".getBytes(UTF_8)), output, 8);
+    assertThat(Bytes.wrap(output, 8, 32)).isEqualTo(Bytes.fromHexString(horseKeccak256));
+    assertThat(Bytes.wrap(output, 0, 8)).isEqualTo(Bytes.wrap(new byte[8]));
+  }
+
+  /** Validate a too short buffer is rejected without breaking the digest of the thread. */
+  @Test
+  public void keccak256HashIntoTooShortBuffer() {
+    final Bytes horse = Bytes.wrap("horse".getBytes(UTF_8));
+    assertThatThrownBy(() -> Hash.keccak256(horse, new byte[40], 9))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThat(Hash.keccak256(horse)).isEqualTo(Bytes.fromHexString(horseKeccak256));
+  }
+
+  /** Validate keccak256 batch hash. */
+  @Test
+  public void keccak256BatchHash() {
+    final List<Bytes> inputs =
+        List.of(Bytes.wrap("horse".getBytes(UTF_8)), Bytes.wrap("cow".getBytes(UTF_8)));
+    assertThat(Hash.keccak256(inputs))
+        .containsExactly(
+            Bytes32.fromHexString(horseKeccak256), Bytes32.fromHexString(cowKeccak256));
+  }
+
   /** Validate sha256 hash. */
   @Test
   public void sha256Hash() {
@@ -23,12 +23,8 @@ import org.hyperledger.besu.ethereum.rlp.RLPException;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 
 import java.util.Arrays;
-import java.util.concurrent.ExecutionException;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.apache.tuweni.bytes.DelegatingBytes;
@@ -93,18 +89,6 @@ public class Address extends DelegatingBytes {
   /** The constant ZERO. */
   public static final Address ZERO = Address.fromHexString("0x0");
 
-  static LoadingCache<Address, Hash> hashCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(4000)
-          // .weakKeys() // unless we "intern" all addresses we cannot use weak or soft keys.
-          .build(
-              new CacheLoader<>() {
-                @Override
-                public Hash load(final Address key) {
-                  return Hash.hash(key);
-                }
-              });
-
   /**
    * Instantiates a new Address.
    *
@@ -280,11 +264,7 @@ public class Address extends DelegatingBytes {
    * @return the hash of the address.
    */
   public Hash addressHash() {
-    try {
-      return hashCache.get(this);
-    } catch (ExecutionException e) {
-      return Hash.hash(this);
-    }
+    return HashCache.ADDRESS_HASHES.get(this, Hash::hash);
   }
 
   @Override
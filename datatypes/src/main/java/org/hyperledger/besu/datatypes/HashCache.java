@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.datatypes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A bounded, lock-free cache of keccak-256 hashes.
+ *
+ * <p>The cache is direct mapped: each key maps to a single slot chosen from its hash code, and a
+ * colliding key simply replaces the previous entry. Lookups and inserts are a single atomic read
+ * or write of an immutable entry, so concurrent callers never block each other and at worst
+ * recompute a hash another thread is computing at the same time.
+ *
+ * @param <K> the type of the cached keys
+ */
+public final class HashCache<K extends Bytes> {
+
+  /** The cache of account address hashes used by {@link Address#addressHash()}. */
+  public static final HashCache<Address> ADDRESS_HASHES = new HashCache<>(1 << 14);
+
+  /** The cache of storage slot hashes used by {@link StorageSlotKey#StorageSlotKey(UInt256)}. */
+  public static final HashCache<UInt256> SLOT_HASHES = new HashCache<>(1 << 16);
+
+  private record Entry<K>(K key, Hash hash) {}
+
+  private final AtomicReferenceArray<Entry<K>> entries;
+  private final int mask;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Instantiates a new hash cache.
+   *
+   * @param capacity the number of slots, must be a power of two
+   */
+  public HashCache(final int capacity) {
+    checkArgument(
+        capacity > 0 && Integer.bitCount(capacity) == 1,
+        "Capacity must be a positive power of two, got %s",
+        capacity);
+    this.entries = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Gets the hash of the key, computing and caching it if it is not cached.
+   *
+   * @param key the key
+   * @param hashFunction the function computing the hash of the key on a miss
+   * @return the hash of the key
+   */
+  public Hash get(final K key, final Function<? super K, Hash> hashFunction) {
+    final int index = index(key);
+    final Entry<K> entry = entries.getAcquire(index);
+    if (entry != null && entry.key().equals(key)) {
+      hits.increment();
+      return entry.hash();
+    }
+    misses.increment();
+    final Hash hash = hashFunction.apply(key);
+    entries.setRelease(index, new Entry<>(key, hash));
+    return hash;
+  }
+
+  /**
+   * Gets the number of lookups served from the cache.
+   *
+   * @return the hit count
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Gets the number of lookups that had to compute the hash.
+   *
+   * @return the miss count
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /** Removes all cached entries. */
+  public void clear() {
+    for (int i = 0; i < entries.length(); i++) {
+      entries.setRelease(i, null);
+    }
+  }
+
+  private int index(final K key) {
+    final int h = key.hashCode();
+    return (h ^ (h >>> 16)) & mask;
+  }
+}
@@ -46,12 +46,13 @@ public class StorageSlotKey implements Comparable<StorageSlotKey> {
   }
 
   /**
-   * Creates a StorageSlotKey, hashing the slotKey.
+   * Creates a StorageSlotKey, hashing the slotKey. The hash is served from {@link
+   * HashCache#SLOT_HASHES} when the slot was hashed recently.
    *
    * @param slotKey the UInt256 storage slot key.
    */
   public StorageSlotKey(final UInt256 slotKey) {
-    this(Hash.hash(slotKey), Optional.of(slotKey));
+    this(HashCache.SLOT_HASHES.get(slotKey, Hash::hash), Optional.of(slotKey));
   }
 
   /**
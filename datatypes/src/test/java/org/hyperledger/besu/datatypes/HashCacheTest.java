@@ -0,0 +1,88 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.datatypes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+
+public class HashCacheTest {
+
+  @Test
+  public void shouldComputeHashOnceForRepeatedLookups() {
+    final HashCache<Address> cache = new HashCache<>(16);
+    final AtomicInteger computations = new AtomicInteger();
+    final Address address = Address.fromHexString("0x1234");
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(
+              cache.get(
+                  address,
+                  key -> {
+                    computations.incrementAndGet();
+                    return Hash.hash(key);
+                  }))
+          .isEqualTo(Hash.hash(address));
+    }
+
+    assertThat(computations).hasValue(1);
+    assertThat(cache.hitCount()).isEqualTo(2);
+    assertThat(cache.missCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReturnCorrectHashesWhenKeysCollide() {
+    final HashCache<UInt256> cache = new HashCache<>(1);
+
+    IntStream.range(0, 10)
+        .mapToObj(UInt256::valueOf)
+        .forEach(key -> assertThat(cache.get(key, Hash::hash)).isEqualTo(Hash.hash(key)));
+
+    assertThat(cache.missCount()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldRecomputeAfterClear() {
+    final HashCache<UInt256> cache = new HashCache<>(4);
+    cache.get(UInt256.ONE, Hash::hash);
+    cache.clear();
+    cache.get(UInt256.ONE, Hash::hash);
+
+    assertThat(cache.missCount()).isEqualTo(2);
+    assertThat(cache.hitCount()).isZero();
+  }
+
+  @Test
+  public void shouldRejectCapacityThatIsNotAPowerOfTwo() {
+    assertThatThrownBy(() -> new HashCache<Address>(3))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void storageSlotKeyAndAddressHashesMatchDirectHashing() {
+    final UInt256 slot = UInt256.valueOf(42);
+    assertThat(new StorageSlotKey(slot).getSlotHash()).isEqualTo(Hash.hash(slot));
+    assertThat(new StorageSlotKey(slot).getSlotHash()).isEqualTo(Hash.hash(slot));
+
+    final Address address = Address.fromHexString("0xdeadbeef");
+    assertThat(address.addressHash()).isEqualTo(Hash.hash(address));
+    assertThat(address.addressHash()).isEqualTo(Hash.hash(address));
+  }
+}
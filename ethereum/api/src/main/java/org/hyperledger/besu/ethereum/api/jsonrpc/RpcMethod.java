@@ -95,6 +95,7 @@ public enum RpcMethod {
   ETH_ACCOUNTS("eth_accounts"),
   ETH_BLOCK_NUMBER("eth_blockNumber"),
   ETH_CALL("eth_call"),
+  ETH_CALL_BATCH("eth_callBatch"),
   ETH_CHAIN_ID("eth_chainId"),
   ETH_COINBASE("eth_coinbase"),
   ETH_ESTIMATE_GAS("eth_estimateGas"),
@@ -78,12 +78,18 @@ public abstract class AbstractEstimateGas extends AbstractBlockParameterMethod {
     final var validationParams = getTransactionValidationParams(jsonCallParameter);
     final var maybeStateOverrides = getAddressStateOverrideMap(requestContext);
     final var pendingBlockHeader = transactionSimulator.simulatePendingBlockHeader();
-    final TransactionSimulationFunction simulationFunction =
-        (cp, op) ->
-            transactionSimulator.processOnPending(
-                cp, maybeStateOverrides, validationParams, op, pendingBlockHeader);
-    return simulate(
-        requestContext, jsonCallParameter, pendingBlockHeader.getGasLimit(), simulationFunction);
+    return transactionSimulator
+        .processOnPendingWithSharedWorldState(
+            pendingBlockHeader,
+            simulator ->
+                Optional.of(
+                    simulate(
+                        requestContext,
+                        jsonCallParameter,
+                        pendingBlockHeader.getGasLimit(),
+                        (cp, op) ->
+                            simulator.simulate(cp, maybeStateOverrides, validationParams, op))))
+        .orElseGet(() -> errorResponse(requestContext, RpcErrorType.INTERNAL_ERROR));
   }
 
   @Override
@@ -104,12 +110,20 @@ public abstract class AbstractEstimateGas extends AbstractBlockParameterMethod {
       final BlockHeader blockHeader) {
     final var validationParams = getTransactionValidationParams(jsonCallParameter);
     final var maybeStateOverrides = getAddressStateOverrideMap(requestContext);
-    final TransactionSimulationFunction simulationFunction =
-        (cp, op) ->
-            transactionSimulator.process(
-                cp, maybeStateOverrides, validationParams, op, blockHeader);
-    return simulate(
-        requestContext, jsonCallParameter, blockHeader.getGasLimit(), simulationFunction);
+    // every simulation of the request shares one world state view, so state read by the first
+    // attempt is served from memory to the following ones
+    return transactionSimulator
+        .processWithSharedWorldState(
+            blockHeader,
+            simulator ->
+                Optional.of(
+                    simulate(
+                        requestContext,
+                        jsonCallParameter,
+                        blockHeader.getGasLimit(),
+                        (cp, op) ->
+                            simulator.simulate(cp, maybeStateOverrides, validationParams, op))))
+        .orElseGet(() -> errorResponse(requestContext, RpcErrorType.INTERNAL_ERROR));
   }
 
   private Optional<BlockHeader> blockHeader(final long blockNumber) {
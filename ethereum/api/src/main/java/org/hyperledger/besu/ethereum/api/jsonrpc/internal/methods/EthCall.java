@@ -129,20 +129,22 @@ public class EthCall extends AbstractBlockParameterOrBlockHashMethod {
 
   private JsonRpcErrorResponse errorResponse(
       final JsonRpcRequestContext request, final TransactionSimulatorResult result) {
+    return errorResponse(request, callError(result));
+  }
+
+  protected JsonRpcError callError(final TransactionSimulatorResult result) {
     final ValidationResult<TransactionInvalidReason> validationResult =
         result.getValidationResult();
     if (validationResult != null && !validationResult.isValid()) {
-      return errorResponse(request, JsonRpcError.from(validationResult));
+      return JsonRpcError.from(validationResult);
     } else {
       final TransactionProcessingResult resultTrx = result.result();
       if (resultTrx != null && resultTrx.getRevertReason().isPresent()) {
 
-        return errorResponse(
-            request,
-            new JsonRpcError(
-                RpcErrorType.REVERT_ERROR, resultTrx.getRevertReason().get().toHexString()));
+        return new JsonRpcError(
+            RpcErrorType.REVERT_ERROR, resultTrx.getRevertReason().get().toHexString());
       }
-      return errorResponse(request, RpcErrorType.INTERNAL_ERROR);
+      return new JsonRpcError(RpcErrorType.INTERNAL_ERROR);
     }
   }
 
@@ -156,7 +158,14 @@ public class EthCall extends AbstractBlockParameterOrBlockHashMethod {
     return errorResponse(request, new JsonRpcError(rpcErrorType));
   }
 
-  private TransactionValidationParams buildTransactionValidationParams(
+  protected TransactionValidationParams buildTransactionValidationParams(
+      final BlockHeader header, final JsonCallParameter callParams) {
+    return isAllowExceedingBalance(header, callParams)
+        ? TransactionValidationParams.transactionSimulatorAllowExceedingBalanceAndFutureNonce()
+        : TransactionValidationParams.transactionSimulatorAllowFutureNonce();
+  }
+
+  protected boolean isAllowExceedingBalance(
       final BlockHeader header, final JsonCallParameter callParams) {
 
     final boolean isAllowExceedingBalance;
@@ -168,9 +177,7 @@ public class EthCall extends AbstractBlockParameterOrBlockHashMethod {
     } else {
       isAllowExceedingBalance = !callParams.isMaybeStrict().orElse(Boolean.FALSE);
     }
-    return isAllowExceedingBalance
-        ? TransactionValidationParams.transactionSimulatorAllowExceedingBalanceAndFutureNonce()
-        : TransactionValidationParams.transactionSimulatorAllowFutureNonce();
+    return isAllowExceedingBalance;
   }
 
   private boolean isAllowExceedingBalanceAutoSelection(
@@ -0,0 +1,124 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INTERNAL_ERROR;
+
+import org.hyperledger.besu.datatypes.StateOverrideMap;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonCallParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter.JsonRpcParameterException;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CallBatchResult;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator.BatchExecution;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Executes several calls against a single view of the world state at the requested block. By
+ * default the calls are executed sequentially, each one seeing the state changes of the preceding
+ * ones; passing {@code false} as fourth parameter executes them independently of each other. The
+ * number of calls is limited to the configured JSON-RPC batch size.
+ */
+public class EthCallBatch extends EthCall {
+  private final TransactionSimulator transactionSimulator;
+  private final int maxBatchSize;
+
+  public EthCallBatch(
+      final BlockchainQueries blockchainQueries,
+      final TransactionSimulator transactionSimulator,
+      final int maxBatchSize) {
+    super(blockchainQueries, transactionSimulator);
+    this.transactionSimulator = transactionSimulator;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  @Override
+  public String getName() {
+    return RpcMethod.ETH_CALL_BATCH.getMethodName();
+  }
+
+  @Override
+  protected Object resultByBlockHeader(
+      final JsonRpcRequestContext request, final BlockHeader header) {
+    final List<JsonCallParameter> calls = getCalls(request);
+    final Optional<StateOverrideMap> maybeStateOverrides = getAddressStateOverrideMap(request);
+
+    return transactionSimulator
+        .processBatch(
+            calls,
+            maybeStateOverrides,
+            callParams -> buildTransactionValidationParams(header, callParams),
+            isSequential(request) ? BatchExecution.SEQUENTIAL : BatchExecution.INDEPENDENT,
+            OperationTracer.NO_TRACING,
+            header)
+        .<Object>map(
+            results ->
+                new JsonRpcSuccessResponse(
+                    request.getRequest().getId(),
+                    results.stream().map(this::callBatchResult).toList()))
+        .orElseGet(() -> new JsonRpcErrorResponse(request.getRequest().getId(), INTERNAL_ERROR));
+  }
+
+  private CallBatchResult callBatchResult(final Optional<TransactionSimulatorResult> maybeResult) {
+    if (maybeResult.isEmpty()) {
+      return CallBatchResult.failure(new JsonRpcError(INTERNAL_ERROR));
+    }
+    final TransactionSimulatorResult result = maybeResult.get();
+    if (result.isInvalid()) {
+      return CallBatchResult.failure(callError(result));
+    }
+    return result.isSuccessful()
+        ? CallBatchResult.success(result.getOutput().toString(), result.getGasEstimate())
+        : CallBatchResult.failure(result.getGasEstimate(), callError(result));
+  }
+
+  private List<JsonCallParameter> getCalls(final JsonRpcRequestContext request) {
+    final JsonCallParameter[] calls;
+    try {
+      calls = request.getRequiredParameter(0, JsonCallParameter[].class);
+    } catch (JsonRpcParameterException e) {
+      throw new InvalidJsonRpcParameters(
+          "Invalid call parameters (index 0)", RpcErrorType.INVALID_CALL_PARAMS, e);
+    }
+    if (maxBatchSize > 0 && calls.length > maxBatchSize) {
+      throw new InvalidJsonRpcParameters(
+          "Number of calls exceeds the maximum batch size of " + maxBatchSize,
+          RpcErrorType.INVALID_PARAMS);
+    }
+    return Arrays.asList(calls);
+  }
+
+  private boolean isSequential(final JsonRpcRequestContext request) {
+    try {
+      return request.getOptionalParameter(3, Boolean.class).orElse(Boolean.TRUE);
+    } catch (JsonRpcParameterException e) {
+      throw new InvalidJsonRpcParameters(
+          "Invalid sequential parameter (index 3)", RpcErrorType.INVALID_PARAMS, e);
+    }
+  }
+}
@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.evm.tracing.EstimateGasOperationTracer;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
 
 import java.util.Optional;
 
@@ -63,21 +64,27 @@ public class EthEstimateGas extends AbstractEstimateGas {
     }
 
     final var result = maybeResult.get();
-    long low = result.result().getEstimateGasUsedByTransaction();
+    // when execution never depended on the remaining gas, the trace gives the exact gas limit
+    // needed, so if it succeeds no bisection iteration could lower it
+    long low =
+        operationTracer
+            .getExactGasLimitNeeded(result.result().getEstimateGasUsedByTransaction())
+            .orElse(result.result().getEstimateGasUsedByTransaction());
     final var lowResult =
-        simulationFunction.simulate(overrideGasLimit(callParams, low), operationTracer);
+        simulationFunction.simulate(overrideGasLimit(callParams, low), OperationTracer.NO_TRACING);
 
     if (lowResult.isPresent() && lowResult.get().isSuccessful()) {
       return Quantity.create(low);
     }
 
-    long high = processEstimateGas(result, operationTracer);
+    long high = Math.max(low, processEstimateGas(result, operationTracer));
     long mid;
 
     while (low + 1 < high) {
       mid = (low + high) / 2;
       var binarySearchResult =
-          simulationFunction.simulate(overrideGasLimit(callParams, mid), operationTracer);
+          simulationFunction.simulate(
+              overrideGasLimit(callParams, mid), OperationTracer.NO_TRACING);
 
       if (binarySearchResult.isEmpty() || !binarySearchResult.get().isSuccessful()) {
         low = mid;
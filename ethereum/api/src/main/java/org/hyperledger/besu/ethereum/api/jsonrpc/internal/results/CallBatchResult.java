@@ -0,0 +1,59 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"returnData", "gasUsed", "error"})
+public class CallBatchResult {
+
+  private final String returnData;
+  private final String gasUsed;
+  private final JsonRpcError error;
+
+  private CallBatchResult(final String returnData, final String gasUsed, final JsonRpcError error) {
+    this.returnData = returnData;
+    this.gasUsed = gasUsed;
+    this.error = error;
+  }
+
+  public static CallBatchResult success(final String returnData, final long gasUsed) {
+    return new CallBatchResult(returnData, Quantity.create(gasUsed), null);
+  }
+
+  public static CallBatchResult failure(final long gasUsed, final JsonRpcError error) {
+    return new CallBatchResult(null, Quantity.create(gasUsed), error);
+  }
+
+  public static CallBatchResult failure(final JsonRpcError error) {
+    return new CallBatchResult(null, null, error);
+  }
+
+  public String getReturnData() {
+    return returnData;
+  }
+
+  public String getGasUsed() {
+    return gasUsed;
+  }
+
+  public JsonRpcError getError() {
+    return error;
+  }
+}
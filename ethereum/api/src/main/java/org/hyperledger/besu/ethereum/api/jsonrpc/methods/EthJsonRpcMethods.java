@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthAccounts;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthBlobBaseFee;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthBlockNumber;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthCall;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthCallBatch;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthChainId;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthCoinbase;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.EthCreateAccessList;
@@ -90,6 +91,7 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
   private final Set<Capability> supportedCapabilities;
   private final ApiConfiguration apiConfiguration;
   private final TransactionSimulator transactionSimulator;
+  private final int maxBatchSize;
 
   public EthJsonRpcMethods(
       final BlockchainQueries blockchainQueries,
@@ -100,7 +102,8 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
       final MiningCoordinator miningCoordinator,
       final Set<Capability> supportedCapabilities,
       final ApiConfiguration apiConfiguration,
-      final TransactionSimulator transactionSimulator) {
+      final TransactionSimulator transactionSimulator,
+      final int maxBatchSize) {
     this.blockchainQueries = blockchainQueries;
     this.synchronizer = synchronizer;
     this.protocolSchedule = protocolSchedule;
@@ -110,6 +113,7 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
     this.supportedCapabilities = supportedCapabilities;
     this.apiConfiguration = apiConfiguration;
     this.transactionSimulator = transactionSimulator;
+    this.maxBatchSize = maxBatchSize;
   }
 
   @Override
@@ -129,6 +133,7 @@ public class EthJsonRpcMethods extends ApiGroupJsonRpcMethods {
         new EthGetBlockTransactionCountByNumber(blockchainQueries),
         new EthGetBlockTransactionCountByHash(blockchainQueries),
         new EthCall(blockchainQueries, transactionSimulator),
+        new EthCallBatch(blockchainQueries, transactionSimulator, maxBatchSize),
         new EthFeeHistory(protocolSchedule, blockchainQueries, miningCoordinator, apiConfiguration),
         new EthGetCode(blockchainQueries),
         new EthGetLogs(blockchainQueries, apiConfiguration.getMaxLogsRange()),
@@ -138,7 +138,8 @@ public class JsonRpcMethodsFactory {
                   miningCoordinator,
                   supportedCapabilities,
                   apiConfiguration,
-                  transactionSimulator),
+                  transactionSimulator,
+                  jsonRpcConfiguration.getMaxBatchSize()),
               new NetJsonRpcMethods(
                   p2pNetwork,
                   networkId,
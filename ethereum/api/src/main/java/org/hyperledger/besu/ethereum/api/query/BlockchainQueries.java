@@ -43,6 +43,7 @@ import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
+import org.hyperledger.besu.evm.worldstate.WorldState;
 
 import java.io.EOFException;
 import java.io.IOException;
@@ -332,7 +333,7 @@ public class BlockchainQueries {
    * @return The number of transactions sent from the given address.
    */
   public long getTransactionCount(final Address address, final Hash blockHash) {
-    return getAndMapWorldState(
+    return getAndMapReadOnlyWorldState(
             blockHash, worldState -> Optional.ofNullable(worldState.get(address)))
         .map(Account::getNonce)
         .orElse(0L);
@@ -1021,6 +1022,33 @@ public class BlockchainQueries {
             });
   }
 
+  /**
+   * Applies a read-only operation to the world state at the corresponding block hash. Unlike
+   * {@link #getAndMapWorldState(Hash, Function)}, concurrent operations on the same state may share
+   * a single view of it, so the mapper must neither mutate the world state nor keep a reference to
+   * it once it returns.
+   *
+   * @param <U> return type of the operation on the WorldState
+   * @param blockHash the block hash
+   * @param mapper Function which performs a read-only operation on a WorldState
+   * @return the result of the operation
+   */
+  public <U> Optional<U> getAndMapReadOnlyWorldState(
+      final Hash blockHash, final Function<? super WorldState, ? extends Optional<U>> mapper) {
+
+    return blockchain
+        .getBlockHeader(blockHash)
+        .flatMap(
+            blockHeader -> {
+              try {
+                return worldStateArchive.mapReadOnlyWorldState(blockHeader, mapper);
+              } catch (Exception ex) {
+                LOG.error("failed worldstate query for " + blockHash.toShortHexString(), ex);
+                return Optional.empty();
+              }
+            });
+  }
+
   /**
    * Wraps an operation on MutableWorldState with try-with-resources the corresponding block number
    *
@@ -1170,7 +1198,7 @@ public class BlockchainQueries {
       final Hash blockHash,
       final Function<Account, T> getter,
       final T noAccountValue) {
-    return getAndMapWorldState(
+    return getAndMapReadOnlyWorldState(
         blockHash,
         worldState ->
             Optional.ofNullable(worldState.get(address))
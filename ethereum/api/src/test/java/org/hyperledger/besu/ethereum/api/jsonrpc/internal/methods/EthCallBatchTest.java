@@ -0,0 +1,265 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INTERNAL_ERROR;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.INVALID_PARAMS;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType.REVERT_ERROR;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.InvalidJsonRpcParameters;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonCallParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcError;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CallBatchResult;
+import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.ChainHead;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator.BatchExecution;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class EthCallBatchTest {
+
+  private static final int MAX_BATCH_SIZE = 3;
+
+  private EthCallBatch method;
+
+  @Mock private Blockchain blockchain;
+  @Mock private ChainHead chainHead;
+  @Mock private BlockchainQueries blockchainQueries;
+  @Mock private TransactionSimulator transactionSimulator;
+
+  @Captor
+  private ArgumentCaptor<Function<? super JsonCallParameter, TransactionValidationParams>>
+      validationParamsCaptor;
+
+  @BeforeEach
+  public void setUp() {
+    method = new EthCallBatch(blockchainQueries, transactionSimulator, MAX_BATCH_SIZE);
+    final BlockHeader blockHeader = mock(BlockHeader.class);
+    when(blockHeader.getBaseFee()).thenReturn(Optional.of(Wei.ZERO));
+    when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
+    when(blockchain.getChainHead()).thenReturn(chainHead);
+    when(chainHead.getBlockHeader()).thenReturn(blockHeader);
+  }
+
+  @Test
+  public void shouldReturnCorrectMethodName() {
+    assertThat(method.getName()).isEqualTo("eth_callBatch");
+  }
+
+  @Test
+  public void shouldExecuteCallsSequentiallyByDefault() {
+    final JsonCallParameter[] calls = {callParameter(), callParameter()};
+    final JsonRpcRequestContext request = ethCallBatchRequest(calls, "latest");
+    when(transactionSimulator.processBatch(any(), any(), any(), any(), any(), any()))
+        .thenReturn(
+            Optional.of(
+                List.of(
+                    Optional.of(simulatorResult(true, 21_000L, Bytes.of(1), Optional.empty())),
+                    Optional.of(simulatorResult(true, 22_000L, Bytes.of(2), Optional.empty())))));
+
+    final JsonRpcResponse response = method.response(request);
+
+    assertThat(response)
+        .usingRecursiveComparison()
+        .isEqualTo(
+            new JsonRpcSuccessResponse(
+                null,
+                List.of(
+                    CallBatchResult.success("0x01", 21_000L),
+                    CallBatchResult.success("0x02", 22_000L))));
+    verify(transactionSimulator)
+        .processBatch(
+            eq(List.of(calls)),
+            eq(Optional.empty()),
+            any(),
+            eq(BatchExecution.SEQUENTIAL),
+            any(),
+            any());
+  }
+
+  @Test
+  public void shouldExecuteCallsIndependentlyWhenRequested() {
+    final JsonCallParameter[] calls = {callParameter()};
+    final JsonRpcRequestContext request =
+        new JsonRpcRequestContext(
+            new JsonRpcRequest(
+                "2.0", "eth_callBatch", new Object[] {calls, "latest", null, Boolean.FALSE}));
+    when(transactionSimulator.processBatch(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(List.of(Optional.empty())));
+
+    final JsonRpcResponse response = method.response(request);
+
+    assertThat(response)
+        .usingRecursiveComparison()
+        .isEqualTo(
+            new JsonRpcSuccessResponse(
+                null, List.of(CallBatchResult.failure(new JsonRpcError(INTERNAL_ERROR)))));
+    verify(transactionSimulator)
+        .processBatch(any(), any(), any(), eq(BatchExecution.INDEPENDENT), any(), any());
+  }
+
+  @Test
+  public void shouldReportRevertedCallsWithoutFailingTheBatch() {
+    final JsonCallParameter[] calls = {callParameter(), callParameter()};
+    final JsonRpcRequestContext request = ethCallBatchRequest(calls, "latest");
+    final Bytes revertReason = Bytes.fromHexString("0x1234");
+    when(transactionSimulator.processBatch(any(), any(), any(), any(), any(), any()))
+        .thenReturn(
+            Optional.of(
+                List.of(
+                    Optional.of(
+                        simulatorResult(false, 30_000L, Bytes.EMPTY, Optional.of(revertReason))),
+                    Optional.of(simulatorResult(true, 21_000L, Bytes.of(1), Optional.empty())))));
+
+    final JsonRpcResponse response = method.response(request);
+
+    assertThat(response)
+        .usingRecursiveComparison()
+        .isEqualTo(
+            new JsonRpcSuccessResponse(
+                null,
+                List.of(
+                    CallBatchResult.failure(
+                        30_000L, new JsonRpcError(REVERT_ERROR, revertReason.toHexString())),
+                    CallBatchResult.success("0x01", 21_000L))));
+  }
+
+  @Test
+  public void shouldReturnInternalErrorWhenBatchCannotBeProcessed() {
+    final JsonRpcRequestContext request =
+        ethCallBatchRequest(new JsonCallParameter[] {callParameter()}, "latest");
+    when(transactionSimulator.processBatch(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Optional.empty());
+
+    final JsonRpcResponse response = method.response(request);
+
+    assertThat(response)
+        .usingRecursiveComparison()
+        .isEqualTo(new JsonRpcErrorResponse(null, INTERNAL_ERROR));
+  }
+
+  @Test
+  public void shouldRejectBatchLargerThanMaxBatchSize() {
+    final JsonRpcRequestContext request =
+        ethCallBatchRequest(
+            new JsonCallParameter[] {
+              callParameter(), callParameter(), callParameter(), callParameter()
+            },
+            "latest");
+
+    final Throwable thrown = catchThrowable(() -> method.response(request));
+
+    assertThat(thrown)
+        .isInstanceOf(InvalidJsonRpcParameters.class)
+        .hasMessage("Number of calls exceeds the maximum batch size of " + MAX_BATCH_SIZE);
+    assertThat(((InvalidJsonRpcParameters) thrown).getRpcErrorType()).isEqualTo(INVALID_PARAMS);
+    verifyNoInteractions(transactionSimulator);
+  }
+
+  @Test
+  public void shouldValidateEachCallWithItsOwnParams() {
+    final JsonCallParameter strictCall =
+        new JsonCallParameter.JsonCallParameterBuilder()
+            .withFrom(Address.fromHexString("0x0"))
+            .withTo(Address.fromHexString("0x0"))
+            .withStrict(true)
+            .build();
+    final JsonCallParameter lenientCall = callParameter();
+    final JsonRpcRequestContext request =
+        ethCallBatchRequest(new JsonCallParameter[] {strictCall, lenientCall}, "latest");
+    when(transactionSimulator.processBatch(any(), any(), any(), any(), any(), any()))
+        .thenReturn(Optional.of(List.of(Optional.empty(), Optional.empty())));
+
+    method.response(request);
+
+    verify(transactionSimulator)
+        .processBatch(any(), any(), validationParamsCaptor.capture(), any(), any(), any());
+    assertThat(validationParamsCaptor.getValue().apply(strictCall).isAllowExceedingBalance())
+        .isFalse();
+    assertThat(validationParamsCaptor.getValue().apply(lenientCall).isAllowExceedingBalance())
+        .isTrue();
+  }
+
+  private TransactionSimulatorResult simulatorResult(
+      final boolean successful,
+      final long gasUsed,
+      final Bytes output,
+      final Optional<Bytes> revertReason) {
+    final TransactionProcessingResult processingResult = mock(TransactionProcessingResult.class);
+    when(processingResult.getRevertReason()).thenReturn(revertReason);
+    final TransactionSimulatorResult result = mock(TransactionSimulatorResult.class);
+    when(result.isSuccessful()).thenReturn(successful);
+    when(result.isInvalid()).thenReturn(false);
+    when(result.getValidationResult()).thenReturn(ValidationResult.valid());
+    when(result.getGasEstimate()).thenReturn(gasUsed);
+    when(result.getOutput()).thenReturn(output);
+    when(result.result()).thenReturn(processingResult);
+    return result;
+  }
+
+  private JsonCallParameter callParameter() {
+    return new JsonCallParameter.JsonCallParameterBuilder()
+        .withFrom(Address.fromHexString("0x0"))
+        .withTo(Address.fromHexString("0x0"))
+        .withGas(0L)
+        .withGasPrice(Wei.ZERO)
+        .withValue(Wei.ZERO)
+        .withInput(Bytes.EMPTY)
+        .build();
+  }
+
+  private JsonRpcRequestContext ethCallBatchRequest(
+      final JsonCallParameter[] calls, final String blockNumberInHex) {
+    return new JsonRpcRequestContext(
+        new JsonRpcRequest("2.0", "eth_callBatch", new Object[] {calls, blockNumberInHex}));
+  }
+}
@@ -37,9 +37,11 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.CreateAccessLi
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.CallParameter;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator.SharedWorldStateSimulator;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulatorResult;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.tracing.AccessListOperationTracer;
@@ -47,6 +49,7 @@ import org.hyperledger.besu.evm.tracing.AccessListOperationTracer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -97,9 +100,36 @@ public class EthCreateAccessListTest {
     when(transactionSimulator.simulatePendingBlockHeader()).thenReturn(pendingBlockHeader);
     when(worldStateArchive.isWorldStateAvailable(any(), any())).thenReturn(true);
 
+    mockSharedWorldStateSimulations();
+
     method = new EthCreateAccessList(blockchainQueries, transactionSimulator);
   }
 
+  private void mockSharedWorldStateSimulations() {
+    when(transactionSimulator.processWithSharedWorldState(any(BlockHeader.class), any()))
+        .thenAnswer(
+            invocation -> {
+              final BlockHeader header = invocation.getArgument(0);
+              final Function<SharedWorldStateSimulator, Optional<?>> simulations =
+                  invocation.getArgument(1);
+              return simulations.apply(
+                  (callParams, overrides, validationParams, tracer) ->
+                      transactionSimulator.process(
+                          callParams, overrides, validationParams, tracer, header));
+            });
+    when(transactionSimulator.processOnPendingWithSharedWorldState(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final ProcessableBlockHeader header = invocation.getArgument(0);
+              final Function<SharedWorldStateSimulator, Optional<?>> simulations =
+                  invocation.getArgument(1);
+              return simulations.apply(
+                  (callParams, overrides, validationParams, tracer) ->
+                      transactionSimulator.processOnPending(
+                          callParams, overrides, validationParams, tracer, header));
+            });
+  }
+
   @Test
   public void shouldReturnCorrectMethodName() {
     assertThat(method.getName()).isEqualTo(METHOD);
@@ -40,6 +40,9 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  // the size in bytes of the stored header, body and receipts of the block
+  long getBlockDataSize(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<Difficulty> getTotalDifficulty(Hash blockHash);
@@ -15,40 +15,98 @@
 package org.hyperledger.besu.ethereum.chain;
 
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Prunes the chain data of the blocks older than the retained blocks. Each pruning operation
+ * prunes at most {@code pruningWindowSize} blocks, and stops after the block that takes the pruned
+ * data over {@code pruningBytesBudget} bytes, in a single storage transaction, so that the writes
+ * of a pruning operation stay bounded. The blocks left over are pruned by the following operations.
+ */
 public class ChainDataPruner implements BlockAddedObserver {
   public static final int MAX_PRUNING_THREAD_QUEUE_SIZE = 16;
+  public static final long DEFAULT_PRUNING_BYTES_BUDGET = 64 * 1024 * 1024;
   private static final Logger LOG = LoggerFactory.getLogger(ChainDataPruner.class);
   private final BlockchainStorage blockchainStorage;
   private final ChainDataPrunerStorage prunerStorage;
   private final long blocksToRetain;
   private final long pruningFrequency;
+  private final long pruningWindowSize;
+  private final long pruningBytesBudget;
   private final ExecutorService pruningExecutor;
+  private final AtomicBoolean isPruning = new AtomicBoolean(false);
+  private final AtomicLong pruningBacklog = new AtomicLong();
+  private final Counter prunedBlocksCounter;
+  private final Counter prunedBytesCounter;
 
   public ChainDataPruner(
       final BlockchainStorage blockchainStorage,
       final ChainDataPrunerStorage prunerStorage,
       final long blocksToRetain,
       final long pruningFrequency,
-      final ExecutorService pruningExecutor) {
+      final long pruningWindowSize,
+      final ExecutorService pruningExecutor,
+      final MetricsSystem metricsSystem) {
+    this(
+        blockchainStorage,
+        prunerStorage,
+        blocksToRetain,
+        pruningFrequency,
+        pruningWindowSize,
+        DEFAULT_PRUNING_BYTES_BUDGET,
+        pruningExecutor,
+        metricsSystem);
+  }
+
+  public ChainDataPruner(
+      final BlockchainStorage blockchainStorage,
+      final ChainDataPrunerStorage prunerStorage,
+      final long blocksToRetain,
+      final long pruningFrequency,
+      final long pruningWindowSize,
+      final long pruningBytesBudget,
+      final ExecutorService pruningExecutor,
+      final MetricsSystem metricsSystem) {
     this.blockchainStorage = blockchainStorage;
     this.prunerStorage = prunerStorage;
     this.blocksToRetain = blocksToRetain;
     this.pruningFrequency = pruningFrequency;
+    this.pruningWindowSize = pruningWindowSize;
+    this.pruningBytesBudget = pruningBytesBudget;
     this.pruningExecutor = pruningExecutor;
+    this.prunedBlocksCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER, "chain_data_pruned_blocks", "chain data pruned blocks");
+    this.prunedBytesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "chain_data_pruned_bytes",
+            "stored size of the pruned block headers, bodies and receipts");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.PRUNER,
+        "chain_data_pruning_backlog",
+        "number of blocks waiting to be pruned",
+        pruningBacklog::get);
   }
 
   @Override
   public void onBlockAdded(final BlockAddedEvent event) {
     final long blockNumber = event.getBlock().getHeader().getNumber();
-    final long storedPruningMark = prunerStorage.getPruningMark().orElse(blockNumber);
+    final Optional<Long> maybeStoredPruningMark = prunerStorage.getPruningMark();
+    final long storedPruningMark = maybeStoredPruningMark.orElse(blockNumber);
     if (blockNumber < storedPruningMark) {
       LOG.warn(
           "Block added event: "
@@ -65,46 +123,72 @@ public class ChainDataPruner implements BlockAddedObserver {
     final Collection<Hash> forkBlocks = prunerStorage.getForkBlocks(blockNumber);
     forkBlocks.add(event.getBlock().getHash());
     prunerStorage.setForkBlocks(recordBlockHashesTransaction, blockNumber, forkBlocks);
+    if (maybeStoredPruningMark.isEmpty()) {
+      prunerStorage.setPruningMark(recordBlockHashesTransaction, storedPruningMark);
+    }
     recordBlockHashesTransaction.commit();
 
-    pruningExecutor.submit(
-        () -> {
-          final KeyValueStorageTransaction pruningTransaction = prunerStorage.startTransaction();
-          long currentPruningMark = storedPruningMark;
-          final long newPruningMark = blockNumber - blocksToRetain;
-          final long blocksToBePruned = newPruningMark - currentPruningMark;
-          if (event.isNewCanonicalHead() && blocksToBePruned >= pruningFrequency) {
-            long currentRetainedBlock = blockNumber - currentPruningMark + 1;
-            while (currentRetainedBlock > blocksToRetain) {
-              LOG.debug("Pruning chain data with block height of {}", currentPruningMark);
-              pruneChainDataAtBlock(pruningTransaction, currentPruningMark);
-              currentPruningMark++;
-              currentRetainedBlock = blockNumber - currentPruningMark;
+    final long blocksToBePruned = blockNumber - blocksToRetain - storedPruningMark;
+    // a backlog left by the window size or the bytes budget is pruned without waiting for the
+    // pruning frequency
+    if (event.isNewCanonicalHead()
+        && (blocksToBePruned >= pruningFrequency || pruningBacklog.get() > 0)
+        && isPruning.compareAndSet(false, true)) {
+      pruningExecutor.submit(
+          () -> {
+            try {
+              prune(blockNumber);
+            } finally {
+              isPruning.set(false);
             }
-          }
-          prunerStorage.setPruningMark(pruningTransaction, currentPruningMark);
-          pruningTransaction.commit();
-        });
+          });
+    }
   }
 
-  private void pruneChainDataAtBlock(final KeyValueStorageTransaction tx, final long blockNumber) {
-    final Collection<Hash> oldForkBlocks = prunerStorage.getForkBlocks(blockNumber);
+  private void prune(final long blockNumber) {
+    // the pruning mark may have moved since the event was received
+    long currentPruningMark = prunerStorage.getPruningMark().orElse(blockNumber);
+    final long newPruningMark = blockNumber - blocksToRetain + 1;
+    final long pruningLimit = Math.min(newPruningMark, currentPruningMark + pruningWindowSize);
+    final KeyValueStorageTransaction pruningTransaction = prunerStorage.startTransaction();
     final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    long prunedBytes = 0;
+    while (currentPruningMark < pruningLimit && prunedBytes < pruningBytesBudget) {
+      LOG.debug("Pruning chain data with block height of {}", currentPruningMark);
+      prunedBytes += pruneChainDataAtBlock(updater, pruningTransaction, currentPruningMark);
+      prunedBlocksCounter.inc();
+      currentPruningMark++;
+    }
+    prunedBytesCounter.inc(prunedBytes);
+    // the chain data is removed before the pruning mark moves, a crash in between only leads to
+    // the removal of already removed keys
+    updater.commit();
+    prunerStorage.setPruningMark(pruningTransaction, currentPruningMark);
+    pruningTransaction.commit();
+    pruningBacklog.set(Math.max(0, newPruningMark - currentPruningMark));
+  }
+
+  private long pruneChainDataAtBlock(
+      final BlockchainStorage.Updater updater,
+      final KeyValueStorageTransaction tx,
+      final long blockNumber) {
+    final Collection<Hash> oldForkBlocks = prunerStorage.getForkBlocks(blockNumber);
+    long prunedBytes = 0;
     for (final Hash toPrune : oldForkBlocks) {
+      prunedBytes += blockchainStorage.getBlockDataSize(toPrune);
+      final Optional<BlockBody> maybeBlockBody = blockchainStorage.getBlockBody(toPrune);
+      maybeBlockBody.ifPresent(
+          blockBody ->
+              blockBody
+                  .getTransactions()
+                  .forEach(t -> updater.removeTransactionLocation(t.getHash())));
       updater.removeBlockHeader(toPrune);
       updater.removeBlockBody(toPrune);
       updater.removeTransactionReceipts(toPrune);
       updater.removeTotalDifficulty(toPrune);
-      blockchainStorage
-          .getBlockBody(toPrune)
-          .ifPresent(
-              blockBody ->
-                  blockBody
-                      .getTransactions()
-                      .forEach(t -> updater.removeTransactionLocation(t.getHash())));
     }
     updater.removeBlockHash(blockNumber);
-    updater.commit();
     prunerStorage.removeForkBlocks(tx, blockNumber);
+    return prunedBytes;
   }
 }
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.mainnet;
 
 import org.hyperledger.besu.config.GenesisConfigOptions;
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.HardforkId;
 import org.hyperledger.besu.datatypes.HardforkId.MainnetHardforkId;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
@@ -22,6 +23,9 @@ import org.hyperledger.besu.ethereum.core.MiningConfiguration;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionValidator;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.precompile.CachingPrecompiledContract;
+import org.hyperledger.besu.evm.precompile.PrecompiledContract.PrecompileContractResult;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.math.BigInteger;
@@ -36,6 +40,8 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.cache.Cache;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +58,7 @@ public class ProtocolScheduleBuilder {
   private final boolean isParallelTxProcessingEnabled;
   private final MetricsSystem metricsSystem;
   private final MiningConfiguration miningConfiguration;
+  private final Map<Address, Cache<Bytes, PrecompileContractResult>> precompileResultCaches;
 
   public ProtocolScheduleBuilder(
       final GenesisConfigOptions config,
@@ -74,6 +81,25 @@ public class ProtocolScheduleBuilder {
     this.isParallelTxProcessingEnabled = isParallelTxProcessingEnabled;
     this.metricsSystem = metricsSystem;
     this.miningConfiguration = miningConfiguration;
+    this.precompileResultCaches = createPrecompileResultCaches();
+  }
+
+  // the result caches are shared by the protocol specs of the schedule, so that the results are
+  // reused across forks
+  private Map<Address, Cache<Bytes, PrecompileContractResult>> createPrecompileResultCaches() {
+    final Map<Address, Cache<Bytes, PrecompileContractResult>> caches =
+        evmConfiguration.cachedPrecompiles().stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    Function.identity(),
+                    address ->
+                        CachingPrecompiledContract.createResultCache(
+                            evmConfiguration.getPrecompileCacheWeightBytes())));
+    caches.forEach(
+        (address, cache) ->
+            metricsSystem.createGuavaCacheCollector(
+                BesuMetricCategory.BLOCK_PROCESSING, "precompile_" + address.toHexString(), cache));
+    return caches;
   }
 
   public ProtocolSchedule createProtocolSchedule() {
@@ -504,6 +530,7 @@ public class ProtocolScheduleBuilder {
       final Function<ProtocolSpecBuilder, ProtocolSpecBuilder> modifier) {
     definition
         .badBlocksManager(badBlockManager)
+        .precompileResultCaches(precompileResultCaches)
         .privacyParameters(privacyParameters)
         .privateTransactionValidatorBuilder(
             () -> new PrivateTransactionValidator(protocolSchedule.getChainId()));
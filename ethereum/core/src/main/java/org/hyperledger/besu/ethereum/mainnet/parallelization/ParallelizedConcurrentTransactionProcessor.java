@@ -83,13 +83,14 @@ public class ParallelizedConcurrentTransactionProcessor {
 
   /**
    * Initiates the parallel and optimistic execution of transactions within a block by creating a
-   * copy of the world state for each transaction. This method processes transactions in a
-   * non-blocking manner. Transactions are executed against their respective copies of the world
-   * state, ensuring that the original world state passed as a parameter remains unmodified during
-   * this process.
+   * fork of the world state for each transaction. This method processes transactions in a
+   * non-blocking manner. Transactions are executed against their respective forks of a frozen copy
+   * of the world state, ensuring that the original world state passed as a parameter remains
+   * unmodified during this process. The forks share the reads made by each other through the
+   * frozen copy, which is closed once all the transactions are executed.
    *
    * @param worldState Mutable world state intended for applying transaction results. This world
-   *     state is not modified directly; instead, copies are made for transaction execution.
+   *     state is not modified directly; instead, forks are made for transaction execution.
    * @param blockHeader Header of the current block containing the transactions.
    * @param transactions List of transactions to be processed.
    * @param miningBeneficiary Address of the beneficiary to receive mining rewards.
@@ -105,25 +106,29 @@ public class ParallelizedConcurrentTransactionProcessor {
       final BlockHashLookup blockHashLookup,
       final Wei blobGasPrice,
       final PrivateMetadataUpdater privateMetadataUpdater) {
+    final DiffBasedWorldState blockWorldState = createFrozenCopy(worldState);
+    final CompletableFuture<?>[] transactionFutures = new CompletableFuture<?>[transactions.size()];
     for (int i = 0; i < transactions.size(); i++) {
       final Transaction transaction = transactions.get(i);
       final int transactionLocation = i;
       /*
-       * All transactions are executed in the background by copying the world state of the block on which the transactions need to be executed, ensuring that each one has its own accumulator.
+       * All transactions are executed in the background by forking the accumulator of the frozen copy of the world state, ensuring that each one has its own accumulator.
        */
-      CompletableFuture.runAsync(
-          () ->
-              runTransaction(
-                  worldState,
-                  blockHeader,
-                  transactionLocation,
-                  transaction,
-                  miningBeneficiary,
-                  blockHashLookup,
-                  blobGasPrice,
-                  privateMetadataUpdater),
-          executor);
+      transactionFutures[i] =
+          CompletableFuture.runAsync(
+              () ->
+                  runTransaction(
+                      blockWorldState.getAccumulator(),
+                      blockHeader,
+                      transactionLocation,
+                      transaction,
+                      miningBeneficiary,
+                      blockHashLookup,
+                      blobGasPrice,
+                      privateMetadataUpdater),
+              executor);
     }
+    CompletableFuture.allOf(transactionFutures).whenComplete((__, ___) -> blockWorldState.close());
   }
 
   @VisibleForTesting
@@ -136,66 +141,89 @@ public class ParallelizedConcurrentTransactionProcessor {
       final BlockHashLookup blockHashLookup,
       final Wei blobGasPrice,
       final PrivateMetadataUpdater privateMetadataUpdater) {
-    try (final DiffBasedWorldState roundWorldState =
-        new BonsaiWorldState(
-            (BonsaiWorldState) worldState, new NoopBonsaiCachedMerkleTrieLoader())) {
-      roundWorldState.freezeStorage(); // make the clone frozen
-      final ParallelizedTransactionContext.Builder contextBuilder =
-          new ParallelizedTransactionContext.Builder();
-      final DiffBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater =
-          (DiffBasedWorldStateUpdateAccumulator<?>) roundWorldState.updater();
-      final TransactionProcessingResult result =
-          transactionProcessor.processTransaction(
-              roundWorldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              new OperationTracer() {
-                @Override
-                public void traceBeforeRewardTransaction(
-                    final WorldView worldView,
-                    final org.hyperledger.besu.datatypes.Transaction tx,
-                    final Wei miningReward) {
-                  /*
-                   * This part checks if the mining beneficiary's account was accessed before increasing its balance for rewards.
-                   * Indeed, if the transaction has interacted with the address to read or modify it,
-                   * it means that the value is necessary for the proper execution of the transaction and will therefore be considered in collision detection.
-                   * If this is not the case, we can ignore this address during conflict detection.
-                   */
-                  if (transactionCollisionDetector
-                      .getAddressesTouchedByTransaction(
-                          transaction, Optional.of(roundWorldStateUpdater))
-                      .contains(miningBeneficiary)) {
-                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
-                  }
-                  contextBuilder.miningBeneficiaryReward(miningReward);
+    try (final DiffBasedWorldState blockWorldState = createFrozenCopy(worldState)) {
+      runTransaction(
+          blockWorldState.getAccumulator(),
+          blockHeader,
+          transactionLocation,
+          transaction,
+          miningBeneficiary,
+          blockHashLookup,
+          blobGasPrice,
+          privateMetadataUpdater);
+    }
+  }
+
+  private void runTransaction(
+      final DiffBasedWorldStateUpdateAccumulator<?> blockAccumulator,
+      final BlockHeader blockHeader,
+      final int transactionLocation,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final PrivateMetadataUpdater privateMetadataUpdater) {
+    final ParallelizedTransactionContext.Builder contextBuilder =
+        new ParallelizedTransactionContext.Builder();
+    final DiffBasedWorldStateUpdateAccumulator<?> roundWorldStateUpdater = blockAccumulator.fork();
+    final TransactionProcessingResult result =
+        transactionProcessor.processTransaction(
+            roundWorldStateUpdater,
+            blockHeader,
+            transaction,
+            miningBeneficiary,
+            new OperationTracer() {
+              @Override
+              public void traceBeforeRewardTransaction(
+                  final WorldView worldView,
+                  final org.hyperledger.besu.datatypes.Transaction tx,
+                  final Wei miningReward) {
+                /*
+                 * This part checks if the mining beneficiary's account was accessed before increasing its balance for rewards.
+                 * Indeed, if the transaction has interacted with the address to read or modify it,
+                 * it means that the value is necessary for the proper execution of the transaction and will therefore be considered in collision detection.
+                 * If this is not the case, we can ignore this address during conflict detection.
+                 */
+                if (transactionCollisionDetector
+                    .getAddressesTouchedByTransaction(
+                        transaction, Optional.of(roundWorldStateUpdater))
+                    .contains(miningBeneficiary)) {
+                  contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
                 }
-              },
-              blockHashLookup,
-              true,
-              TransactionValidationParams.processingBlock(),
-              privateMetadataUpdater,
-              blobGasPrice);
+                contextBuilder.miningBeneficiaryReward(miningReward);
+              }
+            },
+            blockHashLookup,
+            true,
+            TransactionValidationParams.processingBlock(),
+            privateMetadataUpdater,
+            blobGasPrice);
 
-      // commit the accumulator in order to apply all the modifications
-      roundWorldState.getAccumulator().commit();
+    // commit the accumulator in order to apply all the modifications
+    roundWorldStateUpdater.commit();
 
-      contextBuilder
-          .transactionAccumulator(roundWorldState.getAccumulator())
-          .transactionProcessingResult(result);
+    contextBuilder
+        .transactionAccumulator(roundWorldStateUpdater)
+        .transactionProcessingResult(result);
 
-      final ParallelizedTransactionContext parallelizedTransactionContext = contextBuilder.build();
-      if (!parallelizedTransactionContext.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
-        /*
-         * If the address of the mining beneficiary has been touched only for adding rewards,
-         * we remove it from the accumulator to avoid a false positive collision.
-         * The balance will be increased during the sequential processing.
-         */
-        roundWorldStateUpdater.getAccountsToUpdate().remove(miningBeneficiary);
-      }
-      parallelizedTransactionContextByLocation.put(
-          transactionLocation, parallelizedTransactionContext);
+    final ParallelizedTransactionContext parallelizedTransactionContext = contextBuilder.build();
+    if (!parallelizedTransactionContext.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+      /*
+       * If the address of the mining beneficiary has been touched only for adding rewards,
+       * we remove it from the accumulator to avoid a false positive collision.
+       * The balance will be increased during the sequential processing.
+       */
+      roundWorldStateUpdater.getAccountsToUpdate().remove(miningBeneficiary);
     }
+    parallelizedTransactionContextByLocation.put(
+        transactionLocation, parallelizedTransactionContext);
+  }
+
+  private static DiffBasedWorldState createFrozenCopy(final MutableWorldState worldState) {
+    final DiffBasedWorldState frozenWorldState =
+        new BonsaiWorldState((BonsaiWorldState) worldState, new NoopBonsaiCachedMerkleTrieLoader());
+    frozenWorldState.freezeStorage(); // make the clone frozen
+    return frozenWorldState;
   }
 
   /**
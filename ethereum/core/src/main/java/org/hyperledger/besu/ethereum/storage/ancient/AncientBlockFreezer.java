@@ -0,0 +1,177 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves the bodies and receipts of the canonical blocks that are both finalized, when the chain
+ * has a finalized block, and older than the retained blocks, from the key value storage to the
+ * {@link AncientBlockStore}. The genesis block is never frozen.
+ */
+public class AncientBlockFreezer implements BlockAddedObserver {
+  public static final int MAX_FREEZING_THREAD_QUEUE_SIZE = 1;
+  private static final Logger LOG = LoggerFactory.getLogger(AncientBlockFreezer.class);
+  static final int BLOCKS_PER_BATCH = 1_000;
+
+  private final Blockchain blockchain;
+  private final AncientBlockchainStorage ancientBlockchainStorage;
+  private final long blocksRetained;
+  private final ExecutorService freezingExecutor;
+  private final AtomicBoolean isFreezing = new AtomicBoolean(false);
+
+  public AncientBlockFreezer(
+      final Blockchain blockchain,
+      final AncientBlockchainStorage ancientBlockchainStorage,
+      final long blocksRetained,
+      final ExecutorService freezingExecutor) {
+    this.blockchain = blockchain;
+    this.ancientBlockchainStorage = ancientBlockchainStorage;
+    this.blocksRetained = blocksRetained;
+    this.freezingExecutor = freezingExecutor;
+  }
+
+  /**
+   * Removes from the key value storage the bodies and receipts of the blocks that are already in
+   * the ancient block store, left there when the node stopped between appending them to the store
+   * and removing them. Called on startup, before the freezer observes the chain.
+   */
+  public void removeLeftoverFrozenBlocks() {
+    final BlockchainStorage blockchainStorage = ancientBlockchainStorage.getBlockchainStorage();
+    final AncientBlockStore ancientBlockStore = ancientBlockchainStorage.getAncientBlockStore();
+    final Optional<Long> nextBlockNumber = ancientBlockStore.getNextBlockNumber();
+    if (nextBlockNumber.isEmpty()) {
+      return;
+    }
+    // blocks are removed in order, so the leftovers are the last ones of the ancient block store
+    final List<Hash> leftoverBlocks = new ArrayList<>();
+    long blockNumber = nextBlockNumber.get() - 1;
+    while (blockNumber >= ancientBlockStore.getFirstBlockNumber()) {
+      final Optional<Hash> blockHash = blockchainStorage.getBlockHash(blockNumber);
+      if (blockHash.isEmpty()
+          || (blockchainStorage.getBlockBody(blockHash.get()).isEmpty()
+              && blockchainStorage.getTransactionReceipts(blockHash.get()).isEmpty())) {
+        break;
+      }
+      leftoverBlocks.add(blockHash.get());
+      blockNumber--;
+    }
+    if (!leftoverBlocks.isEmpty()) {
+      ancientBlockchainStorage.removeFrozenBlocks(leftoverBlocks);
+      LOG.info(
+          "Removed {} already frozen blocks from the key value storage", leftoverBlocks.size());
+    }
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead() || !isFreezing.compareAndSet(false, true)) {
+      return;
+    }
+    final long headNumber = event.getBlock().getHeader().getNumber();
+    freezingExecutor.submit(
+        () -> {
+          try {
+            freezeUpTo(getFreezingLimit(headNumber));
+          } catch (final RuntimeException e) {
+            LOG.warn("Unable to freeze ancient blocks", e);
+          } finally {
+            isFreezing.set(false);
+          }
+        });
+  }
+
+  @VisibleForTesting
+  long getFreezingLimit(final long headNumber) {
+    final long limit = headNumber - blocksRetained;
+    return blockchain
+        .getFinalized()
+        .flatMap(blockchain::getBlockHeader)
+        .map(finalized -> Math.min(limit, finalized.getNumber()))
+        .orElse(limit);
+  }
+
+  @VisibleForTesting
+  void freezeUpTo(final long limit) {
+    final BlockchainStorage blockchainStorage = ancientBlockchainStorage.getBlockchainStorage();
+    final AncientBlockStore ancientBlockStore = ancientBlockchainStorage.getAncientBlockStore();
+    long blockNumber =
+        ancientBlockStore.getNextBlockNumber().orElseGet(() -> findFirstBlockToFreeze(limit));
+    final List<Hash> frozenBlocks = new ArrayList<>();
+    while (blockNumber <= limit) {
+      final Optional<Hash> blockHash = blockchainStorage.getBlockHash(blockNumber);
+      final Optional<BlockBody> body = blockHash.flatMap(blockchainStorage::getBlockBody);
+      final Optional<List<TransactionReceipt>> receipts =
+          blockHash.flatMap(blockchainStorage::getTransactionReceipts);
+      if (body.isEmpty() || receipts.isEmpty()) {
+        LOG.warn("Unable to freeze block {}, its body or receipts are missing", blockNumber);
+        break;
+      }
+      ancientBlockchainStorage.freezeBlock(blockNumber, body.get(), receipts.get());
+      frozenBlocks.add(blockHash.get());
+      if (frozenBlocks.size() == BLOCKS_PER_BATCH) {
+        ancientBlockchainStorage.removeFrozenBlocks(frozenBlocks);
+        frozenBlocks.clear();
+        LOG.debug("Frozen ancient blocks up to {}", blockNumber);
+      }
+      blockNumber++;
+    }
+    if (!frozenBlocks.isEmpty()) {
+      ancientBlockchainStorage.removeFrozenBlocks(frozenBlocks);
+      LOG.debug("Frozen ancient blocks up to {}", blockNumber - 1);
+    }
+  }
+
+  /**
+   * Finds the first block whose body and receipts are stored, assuming that blocks are stored
+   * from some block up to the head, like after a checkpoint sync.
+   */
+  private long findFirstBlockToFreeze(final long limit) {
+    long low = 1;
+    long high = limit + 1;
+    while (low < high) {
+      final long middle = low + (high - low) / 2;
+      if (isStored(middle)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  private boolean isStored(final long blockNumber) {
+    final BlockchainStorage blockchainStorage = ancientBlockchainStorage.getBlockchainStorage();
+    final Optional<Hash> blockHash = blockchainStorage.getBlockHash(blockNumber);
+    return blockHash.flatMap(blockchainStorage::getBlockBody).isPresent()
+        && blockHash.flatMap(blockchainStorage::getTransactionReceipts).isPresent();
+  }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Append-only store of the bodies and receipts of a contiguous range of canonical blocks, indexed
+ * by block number.
+ *
+ * <p>The compressed bodies and receipts are appended to data files that are sealed once they reach
+ * {@link #MAX_DATA_FILE_SIZE}, and sealed data files are then read through memory mapping. The
+ * index file starts with the number of the first stored block, followed by one fixed size entry
+ * per block giving the data file, the offset and the compressed sizes of its body and receipts.
+ * A block partially written before a crash is dropped when the store is opened again.
+ */
+public class AncientBlockStore implements Closeable {
+
+  static final long MAX_DATA_FILE_SIZE = 1L << 30;
+  private static final String INDEX_FILE_NAME = "ancient.idx";
+  private static final String DATA_FILE_NAME_FORMAT = "ancient-%05d.dat";
+  private static final int HEADER_SIZE = Long.BYTES;
+  // data file number, offset in the data file, body size and receipts size
+  private static final int ENTRY_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+  private final Path directory;
+  private final long maxDataFileSize;
+  private final FileChannel indexChannel;
+  private final List<FileChannel> dataChannels = new CopyOnWriteArrayList<>();
+  private final List<MappedByteBuffer> sealedDataFiles = new CopyOnWriteArrayList<>();
+
+  private volatile long firstBlockNumber;
+  private volatile long blockCount;
+
+  public AncientBlockStore(final Path directory) {
+    this(directory, MAX_DATA_FILE_SIZE);
+  }
+
+  @VisibleForTesting
+  AncientBlockStore(final Path directory, final long maxDataFileSize) {
+    this.directory = directory;
+    this.maxDataFileSize = maxDataFileSize;
+    try {
+      Files.createDirectories(directory);
+      indexChannel =
+          FileChannel.open(
+              directory.resolve(INDEX_FILE_NAME),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      load();
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to open the ancient block store in " + directory, e);
+    }
+  }
+
+  private void load() throws IOException {
+    final long indexSize = indexChannel.size();
+    if (indexSize < HEADER_SIZE) {
+      indexChannel.truncate(0);
+      firstBlockNumber = 0;
+      blockCount = 0;
+    } else {
+      firstBlockNumber = readIndexLong(0);
+      blockCount = (indexSize - HEADER_SIZE) / ENTRY_SIZE;
+      // drop a partially written entry, and the entries whose data did not reach the disk
+      while (blockCount > 0 && !isPersisted(readEntry(blockCount - 1))) {
+        blockCount--;
+      }
+      indexChannel.truncate(HEADER_SIZE + blockCount * ENTRY_SIZE);
+    }
+    int lastDataFile = 0;
+    long lastDataFileSize = 0;
+    if (blockCount > 0) {
+      final Entry lastEntry = readEntry(blockCount - 1);
+      lastDataFile = lastEntry.dataFile();
+      lastDataFileSize = lastEntry.offset() + lastEntry.bodySize() + lastEntry.receiptsSize();
+    }
+    for (int dataFile = 0; dataFile <= lastDataFile; dataFile++) {
+      final FileChannel dataChannel = openDataFile(dataFile);
+      dataChannels.add(dataChannel);
+      if (dataFile < lastDataFile) {
+        sealedDataFiles.add(dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, dataChannel.size()));
+      }
+    }
+    // drop the data appended after the last indexed block
+    dataChannels.get(lastDataFile).truncate(lastDataFileSize);
+  }
+
+  public boolean isEmpty() {
+    return blockCount == 0;
+  }
+
+  public long getFirstBlockNumber() {
+    return firstBlockNumber;
+  }
+
+  /**
+   * Returns the number of the block that must be appended next, if the store is not empty.
+   *
+   * @return the number of the block following the last stored one
+   */
+  public Optional<Long> getNextBlockNumber() {
+    return isEmpty() ? Optional.empty() : Optional.of(firstBlockNumber + blockCount);
+  }
+
+  public boolean contains(final long blockNumber) {
+    return blockCount > 0
+        && blockNumber >= firstBlockNumber
+        && blockNumber < firstBlockNumber + blockCount;
+  }
+
+  public Optional<Bytes> getBody(final long blockNumber) {
+    return get(blockNumber, true);
+  }
+
+  public Optional<Bytes> getReceipts(final long blockNumber) {
+    return get(blockNumber, false);
+  }
+
+  /**
+   * Appends the RLP encoded body and receipts of a block. Appended blocks are only guaranteed to
+   * survive a crash once {@link #flush()} returned.
+   *
+   * @param blockNumber the number of the block, which must follow the last stored block
+   * @param body the RLP encoded body
+   * @param receipts the RLP encoded receipts
+   */
+  public synchronized void append(final long blockNumber, final Bytes body, final Bytes receipts) {
+    if (isEmpty()) {
+      writeIndexLong(0, blockNumber);
+      firstBlockNumber = blockNumber;
+    } else if (blockNumber != firstBlockNumber + blockCount) {
+      throw new IllegalArgumentException(
+          "Expected block "
+              + (firstBlockNumber + blockCount)
+              + " to be appended to the ancient block store but got "
+              + blockNumber);
+    }
+    final byte[] compressedBody = compress(body);
+    final byte[] compressedReceipts = compress(receipts);
+    try {
+      FileChannel dataChannel = dataChannels.get(dataChannels.size() - 1);
+      if (dataChannel.size() > 0
+          && dataChannel.size() + compressedBody.length + compressedReceipts.length
+              > maxDataFileSize) {
+        dataChannel.force(false);
+        sealedDataFiles.add(dataChannel.map(FileChannel.MapMode.READ_ONLY, 0, dataChannel.size()));
+        dataChannel = openDataFile(dataChannels.size());
+        dataChannels.add(dataChannel);
+      }
+      final long offset = dataChannel.size();
+      dataChannel.write(ByteBuffer.wrap(compressedBody), offset);
+      dataChannel.write(ByteBuffer.wrap(compressedReceipts), offset + compressedBody.length);
+
+      final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+      entry.putInt(dataChannels.size() - 1);
+      entry.putLong(offset);
+      entry.putInt(compressedBody.length);
+      entry.putInt(compressedReceipts.length);
+      entry.flip();
+      indexChannel.write(entry, HEADER_SIZE + blockCount * ENTRY_SIZE);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to append block " + blockNumber, e);
+    }
+    blockCount++;
+  }
+
+  /** Forces the appended blocks to disk, data files first so that the index never gets ahead. */
+  public synchronized void flush() {
+    try {
+      dataChannels.get(dataChannels.size() - 1).force(false);
+      indexChannel.force(false);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to flush the ancient block store", e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    indexChannel.close();
+    for (final FileChannel dataChannel : dataChannels) {
+      dataChannel.close();
+    }
+  }
+
+  private Optional<Bytes> get(final long blockNumber, final boolean body) {
+    if (!contains(blockNumber)) {
+      return Optional.empty();
+    }
+    try {
+      final Entry entry = readEntry(blockNumber - firstBlockNumber);
+      final long offset = body ? entry.offset() : entry.offset() + entry.bodySize();
+      final byte[] compressed = new byte[body ? entry.bodySize() : entry.receiptsSize()];
+      if (entry.dataFile() < sealedDataFiles.size()) {
+        sealedDataFiles.get(entry.dataFile()).get((int) offset, compressed);
+      } else {
+        readFully(dataChannels.get(entry.dataFile()), ByteBuffer.wrap(compressed), offset);
+      }
+      return Optional.of(decompress(compressed));
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to read block " + blockNumber, e);
+    }
+  }
+
+  private Entry readEntry(final long index) throws IOException {
+    final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+    readFully(indexChannel, entry, HEADER_SIZE + index * ENTRY_SIZE);
+    entry.flip();
+    return new Entry(entry.getInt(), entry.getLong(), entry.getInt(), entry.getInt());
+  }
+
+  private long readIndexLong(final long position) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+    readFully(indexChannel, buffer, position);
+    return buffer.flip().getLong();
+  }
+
+  private void writeIndexLong(final long position, final long value) {
+    try {
+      indexChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(value).flip(), position);
+    } catch (final IOException e) {
+      throw new UncheckedIOException("Unable to write the ancient block store index", e);
+    }
+  }
+
+  private boolean isPersisted(final Entry entry) throws IOException {
+    final Path dataFile = dataFilePath(entry.dataFile());
+    return Files.exists(dataFile)
+        && Files.size(dataFile) >= entry.offset() + entry.bodySize() + entry.receiptsSize();
+  }
+
+  private Path dataFilePath(final int dataFile) {
+    return directory.resolve(String.format(Locale.ROOT, DATA_FILE_NAME_FORMAT, dataFile));
+  }
+
+  private FileChannel openDataFile(final int dataFile) throws IOException {
+    return FileChannel.open(
+        dataFilePath(dataFile),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+  }
+
+  private static void readFully(
+      final FileChannel channel, final ByteBuffer buffer, final long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of file");
+      }
+    }
+  }
+
+  private static byte[] compress(final Bytes value) {
+    final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(value.toArrayUnsafe());
+      deflater.finish();
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(value.size());
+      final byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static Bytes decompress(final byte[] compressed) {
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+      final byte[] buffer = new byte[8192];
+      while (!inflater.finished()) {
+        final int inflated = inflater.inflate(buffer);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalStateException("Truncated ancient block store entry");
+        }
+        out.write(buffer, 0, inflated);
+      }
+      return Bytes.wrap(out.toByteArray());
+    } catch (final DataFormatException e) {
+      throw new IllegalStateException("Corrupted ancient block store entry", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private record Entry(int dataFile, long offset, int bodySize, int receiptsSize) {}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Blockchain storage reading the bodies and receipts of ancient canonical blocks from an {@link
+ * AncientBlockStore} once the {@link AncientBlockFreezer} moved them out of the key value storage.
+ * Headers, block hashes, total difficulties and transaction locations always stay in the key value
+ * storage, the headers providing the block number used to look up the ancient block store.
+ */
+public class AncientBlockchainStorage implements BlockchainStorage {
+
+  private final BlockchainStorage blockchainStorage;
+  private final AncientBlockStore ancientBlockStore;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  private final boolean receiptCompaction;
+
+  public AncientBlockchainStorage(
+      final BlockchainStorage blockchainStorage,
+      final AncientBlockStore ancientBlockStore,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final boolean receiptCompaction) {
+    this.blockchainStorage = blockchainStorage;
+    this.ancientBlockStore = ancientBlockStore;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+    this.receiptCompaction = receiptCompaction;
+  }
+
+  public BlockchainStorage getBlockchainStorage() {
+    return blockchainStorage;
+  }
+
+  public AncientBlockStore getAncientBlockStore() {
+    return ancientBlockStore;
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return blockchainStorage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return blockchainStorage.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return blockchainStorage.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return blockchainStorage.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return blockchainStorage.getBlockHeader(blockHash);
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    return blockchainStorage
+        .getBlockBody(blockHash)
+        .or(
+            () ->
+                getAncientBlockNumber(blockHash)
+                    .flatMap(ancientBlockStore::getBody)
+                    .map(
+                        bytes ->
+                            BlockBody.readWrappedBodyFrom(RLP.input(bytes), blockHeaderFunctions)));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    return blockchainStorage
+        .getTransactionReceipts(blockHash)
+        .or(
+            () ->
+                getAncientBlockNumber(blockHash)
+                    .flatMap(ancientBlockStore::getReceipts)
+                    .map(bytes -> RLP.input(bytes).readList(TransactionReceipt::readFrom)));
+  }
+
+  @Override
+  public long getBlockDataSize(final Hash blockHash) {
+    return blockchainStorage.getBlockDataSize(blockHash);
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return blockchainStorage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return blockchainStorage.getTotalDifficulty(blockHash);
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return blockchainStorage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public Updater updater() {
+    return blockchainStorage.updater();
+  }
+
+  /**
+   * Moves the body and receipts of a canonical block to the ancient block store. The block must
+   * follow the last ancient block, and its data is only removed from the key value storage by
+   * {@link #removeFrozenBlocks}, once the ancient block store has been flushed.
+   *
+   * @param blockNumber the number of the block
+   * @param body the body of the block
+   * @param receipts the receipts of the block
+   */
+  void freezeBlock(
+      final long blockNumber, final BlockBody body, final List<TransactionReceipt> receipts) {
+    ancientBlockStore.append(
+        blockNumber,
+        RLP.encode(body::writeWrappedBodyTo),
+        RLP.encode(
+            out ->
+                out.writeList(
+                    receipts,
+                    (receipt, rlpOutput) ->
+                        receipt.writeToForStorage(rlpOutput, receiptCompaction))));
+  }
+
+  /**
+   * Flushes the ancient block store, then removes the bodies and receipts of the given blocks
+   * from the key value storage.
+   *
+   * @param blockHashes the hashes of the frozen blocks
+   */
+  void removeFrozenBlocks(final List<Hash> blockHashes) {
+    ancientBlockStore.flush();
+    final Updater updater = blockchainStorage.updater();
+    blockHashes.forEach(
+        blockHash -> {
+          updater.removeBlockBody(blockHash);
+          updater.removeTransactionReceipts(blockHash);
+        });
+    updater.commit();
+  }
+
+  private Optional<Long> getAncientBlockNumber(final Hash blockHash) {
+    return blockchainStorage
+        .getBlockHeader(blockHash)
+        .map(BlockHeader::getNumber)
+        .filter(ancientBlockStore::contains)
+        // only the canonical blocks are frozen
+        .filter(
+            number -> blockchainStorage.getBlockHash(number).filter(blockHash::equals).isPresent());
+  }
+}
@@ -17,24 +17,41 @@ package org.hyperledger.besu.ethereum.storage.keyvalue;
 import static org.hyperledger.besu.plugin.services.storage.DataStorageFormat.BONSAI;
 import static org.hyperledger.besu.plugin.services.storage.DataStorageFormat.FOREST;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentWorkload;
 
 import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
 
 public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
   DEFAULT("default".getBytes(StandardCharsets.UTF_8)),
-  BLOCKCHAIN(new byte[] {1}, true, true),
-  WORLD_STATE(new byte[] {2}, EnumSet.of(FOREST), false, true, false),
+  BLOCKCHAIN(
+      new byte[] {1},
+      EnumSet.allOf(DataStorageFormat.class),
+      true,
+      true,
+      false,
+      SegmentWorkload.BLOCKCHAIN),
+  WORLD_STATE(new byte[] {2}, EnumSet.of(FOREST), false, true, false, SegmentWorkload.TRIE),
   PRIVATE_TRANSACTIONS(new byte[] {3}),
   PRIVATE_STATE(new byte[] {4}),
   PRUNING_STATE(new byte[] {5}, EnumSet.of(FOREST)),
-  ACCOUNT_INFO_STATE(new byte[] {6}, EnumSet.of(BONSAI), false, true, false),
-  CODE_STORAGE(new byte[] {7}, EnumSet.of(BONSAI)),
-  ACCOUNT_STORAGE_STORAGE(new byte[] {8}, EnumSet.of(BONSAI), false, true, false),
-  TRIE_BRANCH_STORAGE(new byte[] {9}, EnumSet.of(BONSAI), false, true, false),
-  TRIE_LOG_STORAGE(new byte[] {10}, EnumSet.of(BONSAI), true, false, true),
+  ACCOUNT_INFO_STATE(
+      new byte[] {6}, EnumSet.of(BONSAI), false, true, false, SegmentWorkload.FLAT_STATE),
+  CODE_STORAGE(new byte[] {7}, EnumSet.of(BONSAI), false, false, false, SegmentWorkload.FLAT_STATE),
+  ACCOUNT_STORAGE_STORAGE(
+      new byte[] {8},
+      EnumSet.of(BONSAI),
+      false,
+      true,
+      false,
+      Hash.SIZE,
+      SegmentWorkload.FLAT_STATE),
+  TRIE_BRANCH_STORAGE(new byte[] {9}, EnumSet.of(BONSAI), false, true, false, SegmentWorkload.TRIE),
+  TRIE_LOG_STORAGE(
+      new byte[] {10}, EnumSet.of(BONSAI), true, false, true, SegmentWorkload.BLOCKCHAIN),
   VARIABLES(new byte[] {11}), // formerly GOQUORUM_PRIVATE_WORLD_STATE
 
   // previously supported GoQuorum private states
@@ -46,30 +63,65 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
   BACKWARD_SYNC_CHAIN(new byte[] {15}),
   SNAPSYNC_MISSING_ACCOUNT_RANGE(new byte[] {16}),
   SNAPSYNC_ACCOUNT_TO_FIX(new byte[] {17}),
-  CHAIN_PRUNER_STATE(new byte[] {18});
+  CHAIN_PRUNER_STATE(new byte[] {18}),
+  ACCOUNT_INFO_STATE_ARCHIVE(
+      new byte[] {19}, EnumSet.of(BONSAI), false, true, false, SegmentWorkload.FLAT_STATE),
+  ACCOUNT_STORAGE_ARCHIVE(
+      new byte[] {20},
+      EnumSet.of(BONSAI),
+      false,
+      true,
+      false,
+      Hash.SIZE,
+      SegmentWorkload.FLAT_STATE),
+  CODE_ANALYSIS(new byte[] {21});
 
   private final byte[] id;
   private final EnumSet<DataStorageFormat> formats;
   private final boolean containsStaticData;
   private final boolean eligibleToHighSpecFlag;
   private final boolean staticDataGarbageCollectionEnabled;
+  private final int keyPrefixLength;
+  private final SegmentWorkload workload;
 
   KeyValueSegmentIdentifier(final byte[] id) {
     this(id, EnumSet.allOf(DataStorageFormat.class));
   }
 
+  KeyValueSegmentIdentifier(final byte[] id, final EnumSet<DataStorageFormat> formats) {
+    this(id, formats, false, false, false);
+  }
+
   KeyValueSegmentIdentifier(
-      final byte[] id, final boolean containsStaticData, final boolean eligibleToHighSpecFlag) {
+      final byte[] id,
+      final EnumSet<DataStorageFormat> formats,
+      final boolean containsStaticData,
+      final boolean eligibleToHighSpecFlag,
+      final boolean staticDataGarbageCollectionEnabled) {
     this(
         id,
-        EnumSet.allOf(DataStorageFormat.class),
+        formats,
         containsStaticData,
         eligibleToHighSpecFlag,
-        false);
+        staticDataGarbageCollectionEnabled,
+        SegmentWorkload.OTHER);
   }
 
-  KeyValueSegmentIdentifier(final byte[] id, final EnumSet<DataStorageFormat> formats) {
-    this(id, formats, false, false, false);
+  KeyValueSegmentIdentifier(
+      final byte[] id,
+      final EnumSet<DataStorageFormat> formats,
+      final boolean containsStaticData,
+      final boolean eligibleToHighSpecFlag,
+      final boolean staticDataGarbageCollectionEnabled,
+      final SegmentWorkload workload) {
+    this(
+        id,
+        formats,
+        containsStaticData,
+        eligibleToHighSpecFlag,
+        staticDataGarbageCollectionEnabled,
+        0,
+        workload);
   }
 
   KeyValueSegmentIdentifier(
@@ -77,12 +129,16 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
       final EnumSet<DataStorageFormat> formats,
       final boolean containsStaticData,
       final boolean eligibleToHighSpecFlag,
-      final boolean staticDataGarbageCollectionEnabled) {
+      final boolean staticDataGarbageCollectionEnabled,
+      final int keyPrefixLength,
+      final SegmentWorkload workload) {
     this.id = id;
     this.formats = formats;
     this.containsStaticData = containsStaticData;
     this.eligibleToHighSpecFlag = eligibleToHighSpecFlag;
     this.staticDataGarbageCollectionEnabled = staticDataGarbageCollectionEnabled;
+    this.keyPrefixLength = keyPrefixLength;
+    this.workload = workload;
   }
 
   @Override
@@ -110,6 +166,16 @@ public enum KeyValueSegmentIdentifier implements SegmentIdentifier {
     return staticDataGarbageCollectionEnabled;
   }
 
+  @Override
+  public int getKeyPrefixLength() {
+    return keyPrefixLength;
+  }
+
+  @Override
+  public SegmentWorkload getWorkload() {
+    return workload;
+  }
+
   @Override
   public boolean includeInDatabaseFormat(final DataStorageFormat format) {
     return formats.contains(format);
@@ -36,6 +36,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -110,6 +111,13 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
   }
 
+  @Override
+  public long getBlockDataSize(final Hash blockHash) {
+    return Stream.of(BLOCK_HEADER_PREFIX, BLOCK_BODY_PREFIX, TRANSACTION_RECEIPTS_PREFIX)
+        .mapToLong(prefix -> get(prefix, blockHash).map(Bytes::size).orElse(0))
+        .sum();
+  }
+
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
     return get(BLOCK_HASH_PREFIX, UInt256.valueOf(blockNumber)).map(this::bytesToHash);
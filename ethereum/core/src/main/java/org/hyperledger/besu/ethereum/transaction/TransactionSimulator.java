@@ -48,7 +48,10 @@ import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 
@@ -180,6 +183,200 @@ public class TransactionSimulator {
     }
   }
 
+  /**
+   * Runs several simulations against a single view of the world state at the given block, so that
+   * accounts, code and storage read by one simulation are served from memory to the next ones.
+   * Each simulation runs in its own child updater, which is discarded once it completes.
+   *
+   * @param header The block header.
+   * @param simulations The function running the simulations.
+   * @return An Optional containing the result of the simulations.
+   */
+  public <U> Optional<U> processWithSharedWorldState(
+      final BlockHeader header,
+      final Function<SharedWorldStateSimulator, Optional<U>> simulations) {
+    if (header == null) {
+      return Optional.empty();
+    }
+
+    try (final MutableWorldState ws = getWorldState(header)) {
+      final Address miningBeneficiary =
+          protocolSchedule
+              .getByBlockHeader(header)
+              .getMiningBeneficiaryCalculator()
+              .calculateBeneficiary(header);
+      return simulations.apply(
+          sharedWorldStateSimulator(getEffectiveWorldStateUpdater(ws), header, miningBeneficiary));
+    } catch (final Exception e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Runs several simulations on top of the pending block, sharing a single view of the world state
+   * at its parent as {@link #processWithSharedWorldState(BlockHeader, Function)} does.
+   *
+   * @param pendingBlockHeader The pending block header.
+   * @param simulations The function running the simulations.
+   * @return An Optional containing the result of the simulations.
+   */
+  public <U> Optional<U> processOnPendingWithSharedWorldState(
+      final ProcessableBlockHeader pendingBlockHeader,
+      final Function<SharedWorldStateSimulator, Optional<U>> simulations) {
+
+    try (final MutableWorldState disposableWorldState =
+        duplicateWorldStateAtParent(pendingBlockHeader.getParentHash())) {
+      return simulations.apply(
+          sharedWorldStateSimulator(
+              getEffectiveWorldStateUpdater(disposableWorldState),
+              pendingBlockHeader,
+              pendingBlockHeader.getCoinbase()));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private SharedWorldStateSimulator sharedWorldStateSimulator(
+      final WorldUpdater sharedUpdater,
+      final ProcessableBlockHeader header,
+      final Address miningBeneficiary) {
+    return (callParams, maybeStateOverrides, transactionValidationParams, operationTracer) ->
+        processWithWorldUpdater(
+            callParams,
+            maybeStateOverrides,
+            transactionValidationParams,
+            operationTracer,
+            header,
+            sharedUpdater.updater(),
+            miningBeneficiary);
+  }
+
+  /**
+   * Simulates a batch of calls against a single view of the world state at the given block. The
+   * state overrides are applied once, before the first call. In {@link BatchExecution#SEQUENTIAL}
+   * mode every valid call sees the state changes of the calls preceding it, as transactions of a
+   * block would, while in {@link BatchExecution#INDEPENDENT} mode each call only sees the block
+   * state and the overrides. The gas cap applies to the batch as a whole: each call is limited to
+   * the gas left by the calls preceding it.
+   *
+   * @param calls The call parameters, in execution order.
+   * @param maybeStateOverrides The map of state overrides to apply before the first call.
+   * @param transactionValidationParams The validation parameters of each call.
+   * @param batchExecution Whether calls see the effects of the preceding ones.
+   * @param operationTracer The tracer for capturing operations during processing.
+   * @param header The block header.
+   * @return An Optional containing one result per call, in the order of the calls.
+   */
+  public <C extends CallParameter>
+      Optional<List<Optional<TransactionSimulatorResult>>> processBatch(
+          final List<C> calls,
+          final Optional<StateOverrideMap> maybeStateOverrides,
+          final Function<? super C, TransactionValidationParams> transactionValidationParams,
+          final BatchExecution batchExecution,
+          final OperationTracer operationTracer,
+          final BlockHeader header) {
+    if (header == null) {
+      return Optional.empty();
+    }
+
+    try (final MutableWorldState ws = getWorldState(header)) {
+      final Address miningBeneficiary =
+          protocolSchedule
+              .getByBlockHeader(header)
+              .getMiningBeneficiaryCalculator()
+              .calculateBeneficiary(header);
+      return Optional.of(
+          simulateBatch(
+              calls,
+              maybeStateOverrides,
+              transactionValidationParams,
+              batchExecution,
+              operationTracer,
+              header,
+              getEffectiveWorldStateUpdater(ws),
+              miningBeneficiary));
+    } catch (final Exception e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Simulates a batch of calls on top of the pending block, as {@link #processBatch(List,
+   * Optional, Function, BatchExecution, OperationTracer, BlockHeader)} does.
+   *
+   * @param calls The call parameters, in execution order.
+   * @param maybeStateOverrides The map of state overrides to apply before the first call.
+   * @param transactionValidationParams The validation parameters of each call.
+   * @param batchExecution Whether calls see the effects of the preceding ones.
+   * @param operationTracer The tracer for capturing operations during processing.
+   * @param pendingBlockHeader The pending block header.
+   * @return One result per call, in the order of the calls.
+   */
+  public <C extends CallParameter> List<Optional<TransactionSimulatorResult>> processBatchOnPending(
+      final List<C> calls,
+      final Optional<StateOverrideMap> maybeStateOverrides,
+      final Function<? super C, TransactionValidationParams> transactionValidationParams,
+      final BatchExecution batchExecution,
+      final OperationTracer operationTracer,
+      final ProcessableBlockHeader pendingBlockHeader) {
+
+    try (final MutableWorldState disposableWorldState =
+        duplicateWorldStateAtParent(pendingBlockHeader.getParentHash())) {
+      return simulateBatch(
+          calls,
+          maybeStateOverrides,
+          transactionValidationParams,
+          batchExecution,
+          operationTracer,
+          pendingBlockHeader,
+          getEffectiveWorldStateUpdater(disposableWorldState),
+          pendingBlockHeader.getCoinbase());
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private <C extends CallParameter> List<Optional<TransactionSimulatorResult>> simulateBatch(
+      final List<C> calls,
+      final Optional<StateOverrideMap> maybeStateOverrides,
+      final Function<? super C, TransactionValidationParams> transactionValidationParams,
+      final BatchExecution batchExecution,
+      final OperationTracer operationTracer,
+      final ProcessableBlockHeader processableHeader,
+      final WorldUpdater batchUpdater,
+      final Address miningBeneficiary) {
+    final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(processableHeader);
+    maybeStateOverrides.ifPresent(
+        stateOverrides -> applyStateOverrides(batchUpdater, stateOverrides));
+
+    long remainingBatchGas = rpcGasCap > 0 ? rpcGasCap : processableHeader.getGasLimit();
+    final List<Optional<TransactionSimulatorResult>> results = new ArrayList<>(calls.size());
+    for (final C callParams : calls) {
+      final TransactionValidationParams callValidationParams =
+          transactionValidationParams.apply(callParams);
+      final WorldUpdater callUpdater = batchUpdater.updater();
+      final Optional<TransactionSimulatorResult> result =
+          simulateWithWorldUpdater(
+              callParams,
+              maybeStateOverrides,
+              callValidationParams,
+              operationTracer,
+              protocolSpec,
+              processableHeader,
+              blockHeaderToProcess(processableHeader, protocolSpec, callValidationParams),
+              callUpdater,
+              miningBeneficiary,
+              remainingBatchGas);
+      final Optional<TransactionSimulatorResult> validResult = result.filter(r -> !r.isInvalid());
+      if (batchExecution == BatchExecution.SEQUENTIAL && validResult.isPresent()) {
+        callUpdater.commit();
+      }
+      remainingBatchGas -= validResult.map(TransactionSimulatorResult::getGasEstimate).orElse(0L);
+      results.add(result);
+    }
+    return results;
+  }
+
   public ProcessableBlockHeader simulatePendingBlockHeader() {
     final long timestamp = MILLISECONDS.toSeconds(System.currentTimeMillis());
     final var chainHeadHeader = blockchain.getChainHeadHeader();
@@ -377,29 +574,36 @@ public class TransactionSimulator {
       final WorldUpdater updater,
       final Address miningBeneficiary) {
     final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(processableHeader);
+    final ProcessableBlockHeader blockHeaderToProcess =
+        blockHeaderToProcess(processableHeader, protocolSpec, transactionValidationParams);
+    maybeStateOverrides.ifPresent(stateOverrides -> applyStateOverrides(updater, stateOverrides));
+    return simulateWithWorldUpdater(
+        callParams,
+        maybeStateOverrides,
+        transactionValidationParams,
+        operationTracer,
+        protocolSpec,
+        processableHeader,
+        blockHeaderToProcess,
+        updater,
+        miningBeneficiary,
+        Long.MAX_VALUE);
+  }
 
+  private Optional<TransactionSimulatorResult> simulateWithWorldUpdater(
+      final CallParameter callParams,
+      final Optional<StateOverrideMap> maybeStateOverrides,
+      final TransactionValidationParams transactionValidationParams,
+      final OperationTracer operationTracer,
+      final ProtocolSpec protocolSpec,
+      final ProcessableBlockHeader processableHeader,
+      final ProcessableBlockHeader blockHeaderToProcess,
+      final WorldUpdater updater,
+      final Address miningBeneficiary,
+      final long maxSimulationGas) {
     final Address senderAddress =
         callParams.getFrom() != null ? callParams.getFrom() : DEFAULT_FROM;
 
-    final ProcessableBlockHeader blockHeaderToProcess;
-    if (transactionValidationParams.isAllowExceedingBalance()
-        && processableHeader.getBaseFee().isPresent()) {
-      blockHeaderToProcess =
-          new BlockHeaderBuilder()
-              .populateFrom(processableHeader)
-              .baseFee(Wei.ZERO)
-              .blockHeaderFunctions(protocolSpec.getBlockHeaderFunctions())
-              .buildProcessableBlockHeader();
-    } else {
-      blockHeaderToProcess = processableHeader;
-    }
-    if (maybeStateOverrides.isPresent()) {
-      for (Address accountToOverride : maybeStateOverrides.get().keySet()) {
-        final StateOverride overrides = maybeStateOverrides.get().get(accountToOverride);
-        applyOverrides(updater.getOrCreate(accountToOverride), overrides);
-      }
-    }
-
     final long nonce =
         callParams
             .getNonce()
@@ -410,7 +614,9 @@ public class TransactionSimulator {
                         .orElse(0L));
 
     final long simulationGasCap =
-        calculateSimulationGasCap(callParams.getGasLimit(), blockHeaderToProcess.getGasLimit());
+        Math.min(
+            calculateSimulationGasCap(callParams.getGasLimit(), blockHeaderToProcess.getGasLimit()),
+            maxSimulationGas);
 
     MainnetTransactionProcessor transactionProcessor =
         simulationTransactionProcessorFactory.getTransactionProcessor(
@@ -459,6 +665,29 @@ public class TransactionSimulator {
     return Optional.of(new TransactionSimulatorResult(transaction, result));
   }
 
+  private ProcessableBlockHeader blockHeaderToProcess(
+      final ProcessableBlockHeader processableHeader,
+      final ProtocolSpec protocolSpec,
+      final TransactionValidationParams transactionValidationParams) {
+    if (transactionValidationParams.isAllowExceedingBalance()
+        && processableHeader.getBaseFee().isPresent()) {
+      return new BlockHeaderBuilder()
+          .populateFrom(processableHeader)
+          .baseFee(Wei.ZERO)
+          .blockHeaderFunctions(protocolSpec.getBlockHeaderFunctions())
+          .buildProcessableBlockHeader();
+    }
+    return processableHeader;
+  }
+
+  private static void applyStateOverrides(
+      final WorldUpdater updater, final StateOverrideMap stateOverrides) {
+    for (Address accountToOverride : stateOverrides.keySet()) {
+      final StateOverride overrides = stateOverrides.get(accountToOverride);
+      applyOverrides(updater.getOrCreate(accountToOverride), overrides);
+    }
+  }
+
   @VisibleForTesting
   protected static void applyOverrides(final MutableAccount account, final StateOverride override) {
     LOG.debug("applying overrides to state for account {}", account.getAddress());
@@ -654,4 +883,32 @@ public class TransactionSimulator {
   public WorldStateArchive getWorldStateArchive() {
     return worldStateArchive;
   }
+
+  /** Simulates transactions against a world state shared with other simulations. */
+  @FunctionalInterface
+  public interface SharedWorldStateSimulator {
+    /**
+     * Simulates a transaction in a child updater of the shared world state.
+     *
+     * @param callParams The call parameters for the transaction.
+     * @param maybeStateOverrides The map of state overrides to apply to the state for this
+     *     transaction.
+     * @param transactionValidationParams The validation parameters for the transaction.
+     * @param operationTracer The tracer for capturing operations during processing.
+     * @return An Optional containing the result of the processing.
+     */
+    Optional<TransactionSimulatorResult> simulate(
+        CallParameter callParams,
+        Optional<StateOverrideMap> maybeStateOverrides,
+        TransactionValidationParams transactionValidationParams,
+        OperationTracer operationTracer);
+  }
+
+  /** How the calls of a batch relate to each other. */
+  public enum BatchExecution {
+    /** Each call sees the state changes of the valid calls preceding it. */
+    SEQUENTIAL,
+    /** Each call sees only the state of the block and the overrides. */
+    INDEPENDENT
+  }
 }
@@ -17,8 +17,11 @@ package org.hyperledger.besu.ethereum.trie.diffbased.bonsai;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.common.PmtStateTrieAccountValue;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive.BonsaiArchiveStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive.BonsaiArchiveWorldStateView;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiCachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
@@ -27,6 +30,7 @@ import org.hyperledger.besu.ethereum.trie.diffbased.common.provider.DiffBasedWor
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.worldstate.WorldState;
 import org.hyperledger.besu.plugin.ServiceManager;
 
 import java.util.HashSet;
@@ -45,6 +49,7 @@ public class BonsaiWorldStateProvider extends DiffBasedWorldStateProvider {
   private static final Logger LOG = LoggerFactory.getLogger(BonsaiWorldStateProvider.class);
   private final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader;
   private final Supplier<WorldStateHealer> worldStateHealerSupplier;
+  private Optional<BonsaiArchiveStorage> maybeArchiveStorage = Optional.empty();
 
   public BonsaiWorldStateProvider(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
@@ -84,6 +89,40 @@ public class BonsaiWorldStateProvider extends DiffBasedWorldStateProvider {
     return bonsaiCachedMerkleTrieLoader;
   }
 
+  /**
+   * Serves the read-only queries of canonical blocks that are no longer cached from the given
+   * archive, instead of rolling the trie logs back to them.
+   *
+   * @param archiveStorage the archive of the flat state
+   */
+  public void provideArchiveStorage(final BonsaiArchiveStorage archiveStorage) {
+    this.maybeArchiveStorage = Optional.of(archiveStorage);
+  }
+
+  @Override
+  public <U> Optional<U> mapReadOnlyWorldState(
+      final BlockHeader blockHeader,
+      final Function<? super WorldState, ? extends Optional<U>> mapper) {
+    final Optional<BonsaiArchiveStorage> archiveStorage =
+        maybeArchiveStorage.filter(archive -> isServedByArchive(archive, blockHeader));
+    if (archiveStorage.isPresent()) {
+      return mapper.apply(new BonsaiArchiveWorldStateView(archiveStorage.get(), blockHeader));
+    }
+    return super.mapReadOnlyWorldState(blockHeader, mapper);
+  }
+
+  private boolean isServedByArchive(
+      final BonsaiArchiveStorage archiveStorage, final BlockHeader blockHeader) {
+    final Hash blockHash = blockHeader.getHash();
+    return !blockHash.equals(headWorldState.blockHash())
+        && !cachedWorldStorageManager.contains(blockHash)
+        && archiveStorage.isArchived(blockHeader.getNumber())
+        && blockchain
+            .getBlockHashByNumber(blockHeader.getNumber())
+            .filter(blockHash::equals)
+            .isPresent();
+  }
+
   private BonsaiWorldStateKeyValueStorage getBonsaiWorldStateKeyValueStorage() {
     return (BonsaiWorldStateKeyValueStorage) worldStateKeyValueStorage;
   }
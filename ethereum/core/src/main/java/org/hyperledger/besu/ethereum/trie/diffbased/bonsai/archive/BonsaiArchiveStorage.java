@@ -0,0 +1,269 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive;
+
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE_ARCHIVE;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_STORAGE_ARCHIVE;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Block-number-versioned copy of the Bonsai flat state, written from the trie logs of the
+ * canonical chain.
+ *
+ * <p>Every change of an account or a storage slot is stored under its flat key suffixed with the
+ * number of the block that made it, and an empty value marks a deletion. The first time a key is
+ * archived, its value before that change is also stored at version 0. The value of a key at a
+ * given block is therefore the nearest version at or before that block, found with a single
+ * {@link SegmentedKeyValueStorage#getNearestBefore} seek, or the current flat value when the key
+ * never changed since the archive started.
+ */
+public class BonsaiArchiveStorage {
+
+  public static final byte[] ARCHIVE_START_BLOCK_KEY =
+      "archiveStartBlock".getBytes(StandardCharsets.UTF_8);
+  public static final byte[] ARCHIVED_BLOCK_NUMBER_KEY =
+      "archivedBlockNumber".getBytes(StandardCharsets.UTF_8);
+  public static final byte[] ARCHIVED_BLOCK_HASH_KEY =
+      "archivedBlockHash".getBytes(StandardCharsets.UTF_8);
+
+  private static final Bytes INITIAL_VERSION = Bytes.ofUnsignedLong(0L);
+
+  private final SegmentedKeyValueStorage archiveStorage;
+  private final BonsaiWorldStateKeyValueStorage worldStateStorage;
+
+  public BonsaiArchiveStorage(
+      final SegmentedKeyValueStorage archiveStorage,
+      final BonsaiWorldStateKeyValueStorage worldStateStorage) {
+    this.archiveStorage = archiveStorage;
+    this.worldStateStorage = worldStateStorage;
+  }
+
+  public BonsaiWorldStateKeyValueStorage getWorldStateStorage() {
+    return worldStateStorage;
+  }
+
+  public Optional<Long> getArchiveStartBlock() {
+    return getBlockNumber(ARCHIVE_START_BLOCK_KEY);
+  }
+
+  public Optional<Long> getArchivedBlockNumber() {
+    return getBlockNumber(ARCHIVED_BLOCK_NUMBER_KEY);
+  }
+
+  public Optional<Hash> getArchivedBlockHash() {
+    return archiveStorage
+        .get(ACCOUNT_INFO_STATE_ARCHIVE, ARCHIVED_BLOCK_HASH_KEY)
+        .map(Bytes::wrap)
+        .map(Hash::wrap);
+  }
+
+  /**
+   * Whether the state at the given block number of the canonical chain can be read from the
+   * archive.
+   *
+   * @param blockNumber the block number
+   * @return true if the block is between the archive start and the last archived block
+   */
+  public boolean isArchived(final long blockNumber) {
+    return getArchiveStartBlock().filter(start -> start <= blockNumber).isPresent()
+        && getArchivedBlockNumber().filter(archived -> archived >= blockNumber).isPresent();
+  }
+
+  public Optional<Bytes> getAccount(final Hash accountHash, final long blockNumber) {
+    final Optional<Bytes> archived =
+        getArchivedValue(ACCOUNT_INFO_STATE_ARCHIVE, accountHash, blockNumber);
+    if (archived.isPresent()) {
+      return archived.filter(value -> !value.isEmpty());
+    }
+    return worldStateStorage.getAccount(accountHash);
+  }
+
+  public Optional<Bytes> getStorageValueByStorageSlotKey(
+      final Hash accountHash, final StorageSlotKey storageSlotKey, final long blockNumber) {
+    final Optional<Bytes> archived =
+        getArchivedValue(
+            ACCOUNT_STORAGE_ARCHIVE,
+            Bytes.concatenate(accountHash, storageSlotKey.getSlotHash()),
+            blockNumber);
+    if (archived.isPresent()) {
+      return archived.filter(value -> !value.isEmpty());
+    }
+    return worldStateStorage.getStorageValueByStorageSlotKey(accountHash, storageSlotKey);
+  }
+
+  /**
+   * Archives the changes of a block of the canonical chain, which must be the child of the last
+   * archived block, or the first block archived.
+   *
+   * @param blockHeader the header of the block
+   * @param trieLog the trie log of the block
+   */
+  public void archiveBlock(final BlockHeader blockHeader, final TrieLog trieLog) {
+    final long blockNumber = blockHeader.getNumber();
+    final SegmentedKeyValueStorageTransaction tx = archiveStorage.startTransaction();
+
+    trieLog
+        .<TrieLog.LogTuple<AccountValue>>getAccountChanges()
+        .forEach(
+            (address, change) -> {
+              if (!change.isUnchanged()) {
+                putVersion(
+                    tx,
+                    ACCOUNT_INFO_STATE_ARCHIVE,
+                    address.addressHash(),
+                    blockNumber,
+                    encodeAccount(change.getPrior()),
+                    encodeAccount(change.getUpdated()));
+              }
+            });
+
+    trieLog
+        .<TrieLog.LogTuple<UInt256>>getStorageChanges()
+        .forEach(
+            (address, slots) ->
+                slots.forEach(
+                    (slotKey, change) -> {
+                      if (!change.isUnchanged()) {
+                        putVersion(
+                            tx,
+                            ACCOUNT_STORAGE_ARCHIVE,
+                            storageKey(address, slotKey),
+                            blockNumber,
+                            encodeStorageValue(change.getPrior()),
+                            encodeStorageValue(change.getUpdated()));
+                      }
+                    }));
+
+    if (getArchiveStartBlock().isEmpty()) {
+      tx.put(
+          ACCOUNT_INFO_STATE_ARCHIVE,
+          ARCHIVE_START_BLOCK_KEY,
+          Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+    }
+    putArchivedBlock(tx, blockNumber, blockHeader.getHash());
+    tx.commit();
+  }
+
+  /**
+   * Removes the changes of the last archived block, typically because it is no longer part of
+   * the canonical chain, making its parent the last archived block.
+   *
+   * @param blockHeader the header of the last archived block
+   * @param trieLog the trie log of the block
+   */
+  public void rollBackBlock(final BlockHeader blockHeader, final TrieLog trieLog) {
+    final Bytes version = Bytes.ofUnsignedLong(blockHeader.getNumber());
+    final SegmentedKeyValueStorageTransaction tx = archiveStorage.startTransaction();
+
+    trieLog
+        .getAccountChanges()
+        .keySet()
+        .forEach(
+            address ->
+                tx.remove(
+                    ACCOUNT_INFO_STATE_ARCHIVE,
+                    Bytes.concatenate(address.addressHash(), version).toArrayUnsafe()));
+
+    trieLog
+        .<TrieLog.LogTuple<UInt256>>getStorageChanges()
+        .forEach(
+            (address, slots) ->
+                slots
+                    .keySet()
+                    .forEach(
+                        slotKey ->
+                            tx.remove(
+                                ACCOUNT_STORAGE_ARCHIVE,
+                                Bytes.concatenate(storageKey(address, slotKey), version)
+                                    .toArrayUnsafe())));
+
+    putArchivedBlock(tx, blockHeader.getNumber() - 1, blockHeader.getParentHash());
+    tx.commit();
+  }
+
+  private void putVersion(
+      final SegmentedKeyValueStorageTransaction tx,
+      final SegmentIdentifier segment,
+      final Bytes key,
+      final long blockNumber,
+      final Bytes prior,
+      final Bytes updated) {
+    if (getArchivedValue(segment, key, blockNumber).isEmpty()) {
+      // first change of this key since the archive started, keep the value it had until then
+      tx.put(
+          segment, Bytes.concatenate(key, INITIAL_VERSION).toArrayUnsafe(), prior.toArrayUnsafe());
+    }
+    tx.put(
+        segment,
+        Bytes.concatenate(key, Bytes.ofUnsignedLong(blockNumber)).toArrayUnsafe(),
+        updated.toArrayUnsafe());
+  }
+
+  private void putArchivedBlock(
+      final SegmentedKeyValueStorageTransaction tx, final long blockNumber, final Hash blockHash) {
+    tx.put(
+        ACCOUNT_INFO_STATE_ARCHIVE,
+        ARCHIVED_BLOCK_NUMBER_KEY,
+        Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+    tx.put(ACCOUNT_INFO_STATE_ARCHIVE, ARCHIVED_BLOCK_HASH_KEY, blockHash.toArrayUnsafe());
+  }
+
+  private Optional<Bytes> getArchivedValue(
+      final SegmentIdentifier segment, final Bytes key, final long blockNumber) {
+    return archiveStorage
+        .getNearestBefore(segment, Bytes.concatenate(key, Bytes.ofUnsignedLong(blockNumber)))
+        .filter(
+            nearest ->
+                nearest.key().size() == key.size() + Long.BYTES
+                    && nearest.key().commonPrefixLength(key) == key.size())
+        .map(nearest -> nearest.value().map(Bytes::wrap).orElse(Bytes.EMPTY));
+  }
+
+  private Optional<Long> getBlockNumber(final byte[] key) {
+    return archiveStorage
+        .get(ACCOUNT_INFO_STATE_ARCHIVE, key)
+        .map(Bytes::wrap)
+        .map(Bytes::toLong);
+  }
+
+  private static Bytes storageKey(final Address address, final StorageSlotKey slotKey) {
+    return Bytes.concatenate(address.addressHash(), slotKey.getSlotHash());
+  }
+
+  private static Bytes encodeAccount(final AccountValue account) {
+    return account == null ? Bytes.EMPTY : RLP.encode(account::writeTo);
+  }
+
+  private static Bytes encodeStorageValue(final UInt256 value) {
+    return value == null ? Bytes.EMPTY : value.trimLeadingZeros();
+  }
+}
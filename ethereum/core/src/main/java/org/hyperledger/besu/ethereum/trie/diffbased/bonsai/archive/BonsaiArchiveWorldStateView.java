@@ -0,0 +1,117 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.DiffBasedWorldView;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.worldstate.WorldState;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Read-only view of the state at a block of the canonical chain, served from the {@link
+ * BonsaiArchiveStorage} without rolling any trie log.
+ */
+public class BonsaiArchiveWorldStateView implements WorldState, DiffBasedWorldView {
+
+  private final BonsaiArchiveStorage archiveStorage;
+  private final BlockHeader blockHeader;
+
+  public BonsaiArchiveWorldStateView(
+      final BonsaiArchiveStorage archiveStorage, final BlockHeader blockHeader) {
+    this.archiveStorage = archiveStorage;
+    this.blockHeader = blockHeader;
+  }
+
+  @Override
+  public Account get(final Address address) {
+    return archiveStorage
+        .getAccount(address.addressHash(), blockHeader.getNumber())
+        .map(bytes -> BonsaiAccount.fromRLP(this, address, bytes, false))
+        .orElse(null);
+  }
+
+  @Override
+  public Optional<Bytes> getCode(final Address address, final Hash codeHash) {
+    return archiveStorage.getWorldStateStorage().getCode(codeHash, address.addressHash());
+  }
+
+  @Override
+  public UInt256 getStorageValue(final Address address, final UInt256 key) {
+    return getStorageValueByStorageSlotKey(address, new StorageSlotKey(key)).orElse(UInt256.ZERO);
+  }
+
+  @Override
+  public Optional<UInt256> getStorageValueByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    return archiveStorage
+        .getStorageValueByStorageSlotKey(
+            address.addressHash(), storageSlotKey, blockHeader.getNumber())
+        .map(UInt256::fromBytes);
+  }
+
+  @Override
+  public UInt256 getPriorStorageValue(final Address address, final UInt256 key) {
+    return getStorageValue(address, key);
+  }
+
+  @Override
+  public Map<Bytes32, Bytes> getAllAccountStorage(final Address address, final Hash rootHash) {
+    throw new UnsupportedOperationException("archived state does not provide storage streaming.");
+  }
+
+  @Override
+  public boolean isModifyingHeadWorldState() {
+    return false;
+  }
+
+  @Override
+  public DiffBasedWorldStateKeyValueStorage getWorldStateStorage() {
+    return archiveStorage.getWorldStateStorage();
+  }
+
+  @Override
+  public WorldUpdater updater() {
+    throw new UnsupportedOperationException("archived state is read-only.");
+  }
+
+  @Override
+  public Hash rootHash() {
+    return blockHeader.getStateRoot();
+  }
+
+  @Override
+  public Hash frontierRootHash() {
+    return rootHash();
+  }
+
+  @Override
+  public Stream<StreamableAccount> streamAccounts(final Bytes32 startKeyHash, final int limit) {
+    throw new UnsupportedOperationException("archived state does not provide account streaming.");
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link BonsaiArchiveStorage} in line with the canonical chain, archiving the trie log
+ * of every new head and rolling back the archived blocks that a reorg removed from the chain.
+ */
+public class BonsaiArchiver implements BlockAddedObserver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BonsaiArchiver.class);
+
+  private final BonsaiArchiveStorage archiveStorage;
+  private final Blockchain blockchain;
+  private final TrieLogManager trieLogManager;
+
+  public BonsaiArchiver(
+      final BonsaiArchiveStorage archiveStorage,
+      final Blockchain blockchain,
+      final TrieLogManager trieLogManager) {
+    this.archiveStorage = archiveStorage;
+    this.blockchain = blockchain;
+    this.trieLogManager = trieLogManager;
+  }
+
+  @Override
+  public synchronized void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+    if (event.getEventType() == BlockAddedEvent.EventType.CHAIN_REORG) {
+      rollBackTo(event.getCommonAncestorHash());
+    }
+    archiveUpTo(event.getBlock().getHeader());
+  }
+
+  private void rollBackTo(final Hash commonAncestorHash) {
+    final Optional<BlockHeader> maybeAncestor = blockchain.getBlockHeader(commonAncestorHash);
+    if (maybeAncestor.isEmpty()) {
+      return;
+    }
+    final long ancestorNumber = maybeAncestor.get().getNumber();
+    Optional<BlockHeader> maybeArchived =
+        archiveStorage.getArchivedBlockHash().flatMap(blockchain::getBlockHeader);
+    while (maybeArchived.isPresent() && maybeArchived.get().getNumber() > ancestorNumber) {
+      final BlockHeader archived = maybeArchived.get();
+      final Optional<TrieLog> trieLog = trieLogManager.getTrieLogLayer(archived.getHash());
+      if (trieLog.isEmpty()) {
+        LOG.warn("Unable to roll back archived block {}, trie log missing", archived.toLogString());
+        return;
+      }
+      archiveStorage.rollBackBlock(archived, trieLog.get());
+      maybeArchived = blockchain.getBlockHeader(archived.getParentHash());
+    }
+  }
+
+  private void archiveUpTo(final BlockHeader head) {
+    final long from =
+        archiveStorage.getArchivedBlockNumber().map(n -> n + 1).orElse(head.getNumber());
+    for (long blockNumber = from; blockNumber <= head.getNumber(); blockNumber++) {
+      final Optional<BlockHeader> header =
+          blockNumber == head.getNumber()
+              ? Optional.of(head)
+              : blockchain.getBlockHeader(blockNumber);
+      final Optional<TrieLog> trieLog =
+          header.map(BlockHeader::getHash).flatMap(trieLogManager::getTrieLogLayer);
+      if (header.isEmpty() || trieLog.isEmpty()) {
+        // before the archive started, e.g. while syncing, blocks without trie logs are expected
+        if (archiveStorage.getArchiveStartBlock().isPresent()) {
+          LOG.warn("Unable to archive block {}, trie log missing", blockNumber);
+        }
+        return;
+      }
+      archiveStorage.archiveBlock(header.get(), trieLog.get());
+    }
+  }
+}
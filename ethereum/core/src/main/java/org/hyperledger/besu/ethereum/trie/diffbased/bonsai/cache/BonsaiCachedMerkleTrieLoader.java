@@ -18,6 +18,7 @@ import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.HashCache;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
@@ -48,6 +49,24 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
   public BonsaiCachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
     metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "accountsNodes", accountNodes);
     metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "storageNodes", storageNodes);
+    createHashCacheMetrics(metricsSystem, "address", HashCache.ADDRESS_HASHES);
+    createHashCacheMetrics(metricsSystem, "storage_slot", HashCache.SLOT_HASHES);
+  }
+
+  private static void createHashCacheMetrics(
+      final ObservableMetricsSystem metricsSystem,
+      final String cacheName,
+      final HashCache<?> hashCache) {
+    metricsSystem.createCounter(
+        BLOCKCHAIN,
+        cacheName + "_hash_cache_hits",
+        "Number of " + cacheName + " hashes served from the hash cache",
+        hashCache::hitCount);
+    metricsSystem.createCounter(
+        BLOCKCHAIN,
+        cacheName + "_hash_cache_misses",
+        "Number of " + cacheName + " hashes computed on a hash cache miss",
+        hashCache::missCount);
   }
 
   public void preLoadAccount(
@@ -0,0 +1,189 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache;
+
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_STORAGE_STORAGE;
+import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.StorageSubscriber;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Inter-block cache of the flat accounts and storage values of the head world state, including
+ * the missing ones. The cache is bounded in bytes and admits the entries by frequency (W-TinyLFU),
+ * so the state of the contracts read in every block stays in memory.
+ *
+ * <p>The cache is updated in place with the changes of the committed world state transactions, the
+ * changes of rolled back transactions being dropped. A value loaded while a transaction is being
+ * committed may be stale, so it is returned but not cached.
+ */
+public class BonsaiFlatDbCache implements StorageSubscriber {
+
+  // rough size of a cache entry besides its key and value
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private final Cache<Bytes, Optional<Bytes>> cache;
+  private final AtomicInteger pendingCommits = new AtomicInteger();
+  private final AtomicLong commits = new AtomicLong();
+
+  public BonsaiFlatDbCache(final long maxSizeInBytes, final MetricsSystem metricsSystem) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maxSizeInBytes)
+            .<Bytes, Optional<Bytes>>weigher(
+                (key, value) -> ENTRY_OVERHEAD + key.size() + value.map(Bytes::size).orElse(0))
+            .recordStats()
+            .build();
+    metricsSystem.createCounter(
+        BLOCKCHAIN,
+        "flat_db_cache_hits",
+        "Number of flat accounts and storage values read from the flat database cache",
+        () -> cache.stats().hitCount());
+    metricsSystem.createCounter(
+        BLOCKCHAIN,
+        "flat_db_cache_misses",
+        "Number of flat accounts and storage values missing from the flat database cache",
+        () -> cache.stats().missCount());
+  }
+
+  public Optional<Bytes> getAccount(
+      final Hash accountHash, final Supplier<Optional<Bytes>> flatAccountLoader) {
+    return get(accountHash, flatAccountLoader);
+  }
+
+  public Optional<Bytes> getStorageValue(
+      final Hash accountHash,
+      final Hash slotHash,
+      final Supplier<Optional<Bytes>> flatStorageValueLoader) {
+    return get(Bytes.concatenate(accountHash, slotHash), flatStorageValueLoader);
+  }
+
+  private Optional<Bytes> get(final Bytes key, final Supplier<Optional<Bytes>> loader) {
+    final Optional<Bytes> cachedValue = cache.getIfPresent(key);
+    if (cachedValue != null) {
+      return cachedValue;
+    }
+    final long commitsBeforeLoading = commits.get();
+    final boolean cacheable = pendingCommits.get() == 0;
+    final Optional<Bytes> value = loader.get();
+    if (cacheable) {
+      cache
+          .asMap()
+          .compute(
+              key,
+              (__, current) ->
+                  current != null || commits.get() != commitsBeforeLoading ? current : value);
+    }
+    return value;
+  }
+
+  /**
+   * Wraps a world state transaction so that the flat accounts and storage values it writes update
+   * the cache once committed.
+   *
+   * @param transaction the world state transaction
+   * @return the wrapped transaction
+   */
+  public SegmentedKeyValueStorageTransaction wrap(
+      final SegmentedKeyValueStorageTransaction transaction) {
+    return new CachingTransaction(transaction);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public void onClearStorage() {
+    invalidateAll();
+  }
+
+  @Override
+  public void onClearFlatDatabaseStorage() {
+    invalidateAll();
+  }
+
+  private class CachingTransaction implements SegmentedKeyValueStorageTransaction {
+
+    private final SegmentedKeyValueStorageTransaction transaction;
+    private final Map<Bytes, Optional<Bytes>> updates = new ConcurrentHashMap<>();
+
+    CachingTransaction(final SegmentedKeyValueStorageTransaction transaction) {
+      this.transaction = transaction;
+    }
+
+    @Override
+    public void put(final SegmentIdentifier segmentId, final byte[] key, final byte[] value) {
+      transaction.put(segmentId, key, value);
+      if (isCached(segmentId)) {
+        updates.put(Bytes.wrap(key), Optional.of(Bytes.wrap(value)));
+      }
+    }
+
+    @Override
+    public void remove(final SegmentIdentifier segmentId, final byte[] key) {
+      transaction.remove(segmentId, key);
+      if (isCached(segmentId)) {
+        updates.put(Bytes.wrap(key), Optional.empty());
+      }
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      if (updates.isEmpty()) {
+        transaction.commit();
+        return;
+      }
+      pendingCommits.incrementAndGet();
+      commits.incrementAndGet();
+      try {
+        transaction.commit();
+        cache.putAll(updates);
+      } catch (final RuntimeException e) {
+        cache.invalidateAll(updates.keySet());
+        throw e;
+      } finally {
+        pendingCommits.decrementAndGet();
+        updates.clear();
+      }
+    }
+
+    @Override
+    public void rollback() {
+      updates.clear();
+      transaction.rollback();
+    }
+
+    private boolean isCached(final SegmentIdentifier segmentId) {
+      return segmentId == ACCOUNT_INFO_STATE || segmentId == ACCOUNT_STORAGE_STORAGE;
+    }
+  }
+}
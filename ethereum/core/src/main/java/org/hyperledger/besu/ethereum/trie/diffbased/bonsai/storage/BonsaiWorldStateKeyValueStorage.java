@@ -25,6 +25,7 @@ import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.common.PmtStateTrieAccountValue;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.BonsaiFlatDbCache;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.flat.BonsaiFlatDbStrategy;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.flat.BonsaiFlatDbStrategyProvider;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage;
@@ -39,6 +40,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.WriteBehindKeyValueStorage;
 
 import java.util.List;
 import java.util.NavigableMap;
@@ -51,19 +53,48 @@ import org.apache.tuweni.bytes.Bytes32;
 public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValueStorage
     implements WorldStateKeyValueStorage {
   protected final BonsaiFlatDbStrategyProvider flatDbStrategyProvider;
+  private final Optional<BonsaiFlatDbCache> flatDbCache;
 
   public BonsaiWorldStateKeyValueStorage(
       final StorageProvider provider,
       final MetricsSystem metricsSystem,
       final DataStorageConfiguration dataStorageConfiguration) {
     super(
-        provider.getStorageBySegmentIdentifiers(
-            List.of(
-                ACCOUNT_INFO_STATE, CODE_STORAGE, ACCOUNT_STORAGE_STORAGE, TRIE_BRANCH_STORAGE)),
+        createComposedWorldStateStorage(provider, dataStorageConfiguration),
         provider.getStorageBySegmentIdentifier(KeyValueSegmentIdentifier.TRIE_LOG_STORAGE));
     this.flatDbStrategyProvider =
         new BonsaiFlatDbStrategyProvider(metricsSystem, dataStorageConfiguration);
     flatDbStrategyProvider.loadFlatDbStrategy(composedWorldStateStorage);
+    final long flatDbCacheSize =
+        dataStorageConfiguration
+            .getDiffBasedSubStorageConfiguration()
+            .getUnstable()
+            .getFlatDbCacheSize();
+    this.flatDbCache =
+        flatDbCacheSize > 0
+            ? Optional.of(new BonsaiFlatDbCache(flatDbCacheSize, metricsSystem))
+            : Optional.empty();
+    flatDbCache.ifPresent(this::subscribe);
+  }
+
+  /**
+   * Only the world state is written behind, the trie logs are still written with each block so
+   * that the blocks lost by a crash are rolled forward from the last written world state.
+   */
+  private static SegmentedKeyValueStorage createComposedWorldStateStorage(
+      final StorageProvider provider, final DataStorageConfiguration dataStorageConfiguration) {
+    final SegmentedKeyValueStorage composedWorldStateStorage =
+        provider.getStorageBySegmentIdentifiers(
+            List.of(
+                ACCOUNT_INFO_STATE, CODE_STORAGE, ACCOUNT_STORAGE_STORAGE, TRIE_BRANCH_STORAGE));
+    final int writeBehindBlocks =
+        dataStorageConfiguration
+            .getDiffBasedSubStorageConfiguration()
+            .getUnstable()
+            .getWriteBehindBlocks();
+    return writeBehindBlocks > 0
+        ? new WriteBehindKeyValueStorage(composedWorldStateStorage, writeBehindBlocks)
+        : composedWorldStateStorage;
   }
 
   public BonsaiWorldStateKeyValueStorage(
@@ -72,6 +103,7 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
       final KeyValueStorage trieLogStorage) {
     super(composedWorldStateStorage, trieLogStorage);
     this.flatDbStrategyProvider = flatDbStrategyProvider;
+    this.flatDbCache = Optional.empty();
   }
 
   @Override
@@ -93,6 +125,13 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
   }
 
   public Optional<Bytes> getAccount(final Hash accountHash) {
+    if (flatDbCache.isPresent()) {
+      return flatDbCache.get().getAccount(accountHash, () -> getFlatAccount(accountHash));
+    }
+    return getFlatAccount(accountHash);
+  }
+
+  private Optional<Bytes> getFlatAccount(final Hash accountHash) {
     return getFlatDbStrategy()
         .getFlatAccount(
             this::getWorldStateRootHash,
@@ -146,6 +185,21 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
       final Supplier<Optional<Hash>> storageRootSupplier,
       final Hash accountHash,
       final StorageSlotKey storageSlotKey) {
+    if (flatDbCache.isPresent()) {
+      return flatDbCache
+          .get()
+          .getStorageValue(
+              accountHash,
+              storageSlotKey.getSlotHash(),
+              () -> getFlatStorageValue(storageRootSupplier, accountHash, storageSlotKey));
+    }
+    return getFlatStorageValue(storageRootSupplier, accountHash, storageSlotKey);
+  }
+
+  private Optional<Bytes> getFlatStorageValue(
+      final Supplier<Optional<Hash>> storageRootSupplier,
+      final Hash accountHash,
+      final StorageSlotKey storageSlotKey) {
     return getFlatDbStrategy()
         .getFlatStorageValueByStorageSlotKey(
             this::getWorldStateRootHash,
@@ -163,10 +217,13 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
 
   public void upgradeToFullFlatDbMode() {
     flatDbStrategyProvider.upgradeToFullFlatDbMode(composedWorldStateStorage);
+    // the values missing from a partial flat database were read from the trie
+    flatDbCache.ifPresent(BonsaiFlatDbCache::invalidateAll);
   }
 
   public void downgradeToPartialFlatDbMode() {
     flatDbStrategyProvider.downgradeToPartialFlatDbMode(composedWorldStateStorage);
+    flatDbCache.ifPresent(BonsaiFlatDbCache::invalidateAll);
   }
 
   @Override
@@ -185,11 +242,16 @@ public class BonsaiWorldStateKeyValueStorage extends DiffBasedWorldStateKeyValue
   @Override
   public Updater updater() {
     return new Updater(
-        composedWorldStateStorage.startTransaction(),
+        withFlatDbCache(composedWorldStateStorage.startTransaction()),
         trieLogStorage.startTransaction(),
         getFlatDbStrategy());
   }
 
+  private SegmentedKeyValueStorageTransaction withFlatDbCache(
+      final SegmentedKeyValueStorageTransaction transaction) {
+    return flatDbCache.map(cache -> cache.wrap(transaction)).orElse(transaction);
+  }
+
   public static class Updater implements DiffBasedWorldStateKeyValueStorage.Updater {
 
     private final SegmentedKeyValueStorageTransaction composedWorldStateTransaction;
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.flat;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_STORAGE_STORAGE;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.CODE_STORAGE;
+import static org.hyperledger.besu.ethereum.trie.RangeManager.MAX_RANGE;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
@@ -123,16 +124,8 @@ public abstract class BonsaiFlatDbStrategy extends FlatDbStrategy {
       final Hash accountHash,
       final Bytes startKeyHash,
       final Function<Bytes, Bytes> valueMapper) {
-
-    return storage
-        .streamFromKey(
-            ACCOUNT_STORAGE_STORAGE, Bytes.concatenate(accountHash, startKeyHash).toArrayUnsafe())
-        .takeWhile(pair -> Bytes.wrap(pair.getKey()).slice(0, Hash.SIZE).equals(accountHash))
-        .map(
-            pair ->
-                new Pair<>(
-                    Bytes32.wrap(Bytes.wrap(pair.getKey()).slice(Hash.SIZE)),
-                    valueMapper.apply(Bytes.wrap(pair.getValue()).trimLeadingZeros())));
+    // bounding the range to the account lets the storage only look at the slots of this account
+    return storageToPairStream(storage, accountHash, startKeyHash, MAX_RANGE, valueMapper);
   }
 
   @Override
@@ -49,6 +49,13 @@ public class BonsaiWorldStateUpdateAccumulator
     return copy;
   }
 
+  @Override
+  public DiffBasedWorldStateUpdateAccumulator<BonsaiAccount> fork() {
+    // the values read by the fork are preloaded by this accumulator
+    return new BonsaiWorldStateUpdateAccumulator(
+        this, (address, value) -> {}, (address, value) -> {}, getEvmConfiguration());
+  }
+
   @Override
   protected BonsaiAccount copyAccount(final BonsaiAccount account) {
     return new BonsaiAccount(account);
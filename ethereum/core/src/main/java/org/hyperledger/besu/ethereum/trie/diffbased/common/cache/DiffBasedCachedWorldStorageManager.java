@@ -58,6 +58,8 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
 
   private final DiffBasedWorldStateKeyValueStorage rootWorldStateStorage;
   private final Map<Bytes32, DiffBasedCachedWorldView> cachedWorldStatesByHash;
+  private final DiffBasedWorldStateViewPool readOnlyViewPool =
+      new DiffBasedWorldStateViewPool(DiffBasedWorldStateViewPool.DEFAULT_MAX_VIEWS);
 
   private DiffBasedCachedWorldStorageManager(
       final DiffBasedWorldStateProvider archive,
@@ -89,6 +91,10 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
       final BlockHeader blockHeader,
       final Hash worldStateRootHash,
       final DiffBasedWorldState forWorldState) {
+    if (forWorldState.isModifyingHeadWorldState()) {
+      // the head moved, and the layers the pooled views are built on may be replaced
+      readOnlyViewPool.invalidateAll();
+    }
     final Optional<DiffBasedCachedWorldView> cachedDiffBasedWorldView =
         Optional.ofNullable(this.cachedWorldStatesByHash.get(blockHeader.getBlockHash()));
     if (cachedDiffBasedWorldView.isPresent()) {
@@ -135,14 +141,18 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
   private synchronized void scrubCachedLayers(final long newMaxHeight) {
     if (cachedWorldStatesByHash.size() > RETAINED_LAYERS) {
       final long waterline = newMaxHeight - RETAINED_LAYERS;
-      cachedWorldStatesByHash.values().stream()
-          .filter(layer -> layer.getBlockNumber() < waterline)
-          .toList()
-          .forEach(
-              layer -> {
-                cachedWorldStatesByHash.remove(layer.getBlockHash());
-                layer.close();
-              });
+      final List<DiffBasedCachedWorldView> scrubbedLayers =
+          cachedWorldStatesByHash.values().stream()
+              .filter(layer -> layer.getBlockNumber() < waterline)
+              .toList();
+      if (!scrubbedLayers.isEmpty()) {
+        readOnlyViewPool.invalidateAll();
+      }
+      scrubbedLayers.forEach(
+          layer -> {
+            cachedWorldStatesByHash.remove(layer.getBlockHash());
+            layer.close();
+          });
     }
   }
 
@@ -216,12 +226,23 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
             });
   }
 
+  /**
+   * Returns the pool of read-only views shared by concurrent read-only queries. The pool is
+   * invalidated whenever the head world state moves or the cached layers are dropped.
+   *
+   * @return the pool of read-only world state views
+   */
+  public DiffBasedWorldStateViewPool getReadOnlyViewPool() {
+    return readOnlyViewPool;
+  }
+
   public boolean contains(final Hash blockHash) {
     return cachedWorldStatesByHash.containsKey(blockHash);
   }
 
   public void reset() {
     this.cachedWorldStatesByHash.clear();
+    readOnlyViewPool.invalidateAll();
   }
 
   public void primeRootToBlockHashCache(final Blockchain blockchain, final int numEntries) {
@@ -265,26 +286,31 @@ public abstract class DiffBasedCachedWorldStorageManager implements StorageSubsc
   @Override
   public void onClearStorage() {
     this.cachedWorldStatesByHash.clear();
+    readOnlyViewPool.invalidateAll();
   }
 
   @Override
   public void onClearFlatDatabaseStorage() {
     this.cachedWorldStatesByHash.clear();
+    readOnlyViewPool.invalidateAll();
   }
 
   @Override
   public void onClearTrieLog() {
     this.cachedWorldStatesByHash.clear();
+    readOnlyViewPool.invalidateAll();
   }
 
   @Override
   public void onClearTrie() {
     this.cachedWorldStatesByHash.clear();
+    readOnlyViewPool.invalidateAll();
   }
 
   @Override
   public void onCloseStorage() {
     this.cachedWorldStatesByHash.clear();
+    readOnlyViewPool.invalidateAll();
   }
 
   public abstract DiffBasedWorldState createWorldState(
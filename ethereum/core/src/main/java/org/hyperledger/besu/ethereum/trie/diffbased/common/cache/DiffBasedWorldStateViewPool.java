@@ -0,0 +1,165 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.common.cache;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.evm.worldstate.WorldState;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of read-only world state views, keyed by state root, shared by concurrent read-only
+ * queries of the same state.
+ *
+ * <p>Each view is reference counted: the pool holds one reference while the view is pooled and
+ * every query holds one while it runs, the view being closed once the last reference is released.
+ * Invalidating the pool drops its references, so views are closed as soon as the queries still
+ * running on them complete. The accumulator of a pooled view caches the storage and code read
+ * through it, which serves later queries on the same state from memory.
+ */
+public class DiffBasedWorldStateViewPool {
+  public static final int DEFAULT_MAX_VIEWS = 8;
+  private static final Logger LOG = LoggerFactory.getLogger(DiffBasedWorldStateViewPool.class);
+
+  private final Map<Hash, PooledView> viewsByStateRoot = new ConcurrentHashMap<>();
+  private final AtomicLong epoch = new AtomicLong();
+  private final int maxViews;
+
+  public DiffBasedWorldStateViewPool(final int maxViews) {
+    this.maxViews = maxViews;
+  }
+
+  /**
+   * Applies a read-only operation to the pooled view of the state of the given block, loading the
+   * view if it is not pooled yet. Once the pool is full, views of other states are loaded for the
+   * operation only and closed right after it.
+   *
+   * @param blockHeader the header of the block whose state is queried
+   * @param loader loads a world state for a block header
+   * @param mapper the read-only operation, which must not keep a reference to the world state
+   * @param <U> the result type of the operation
+   * @return the result of the operation, or empty if the world state is not available
+   */
+  public <U> Optional<U> mapView(
+      final BlockHeader blockHeader,
+      final Function<BlockHeader, ? extends Optional<? extends WorldState>> loader,
+      final Function<? super WorldState, ? extends Optional<U>> mapper) {
+    final PooledView view = acquire(blockHeader, loader);
+    if (view == null) {
+      return Optional.empty();
+    }
+    try {
+      return mapper.apply(view.worldState);
+    } finally {
+      view.release();
+    }
+  }
+
+  /** Drops all the pooled views, closing each one once the queries running on it complete. */
+  public void invalidateAll() {
+    epoch.incrementAndGet();
+    viewsByStateRoot.forEach(this::invalidate);
+  }
+
+  @VisibleForTesting
+  int size() {
+    return viewsByStateRoot.size();
+  }
+
+  private PooledView acquire(
+      final BlockHeader blockHeader,
+      final Function<BlockHeader, ? extends Optional<? extends WorldState>> loader) {
+    final Hash stateRoot = blockHeader.getStateRoot();
+    while (true) {
+      final PooledView pooled = viewsByStateRoot.get(stateRoot);
+      if (pooled != null) {
+        if (pooled.retain()) {
+          return pooled;
+        }
+        // closed concurrently by an invalidation, drop it and look again
+        viewsByStateRoot.remove(stateRoot, pooled);
+        continue;
+      }
+
+      final long loadEpoch = epoch.get();
+      final Optional<? extends WorldState> maybeWorldState = loader.apply(blockHeader);
+      if (maybeWorldState.isEmpty()) {
+        return null;
+      }
+      final PooledView view = new PooledView(maybeWorldState.get());
+      if (viewsByStateRoot.size() >= maxViews) {
+        return view;
+      }
+      view.retain();
+      if (viewsByStateRoot.putIfAbsent(stateRoot, view) != null) {
+        // another query pooled a view of this state first, use that one instead
+        view.release();
+        view.release();
+        continue;
+      }
+      if (epoch.get() != loadEpoch) {
+        // the pool was invalidated while loading, do not keep this view around
+        invalidate(stateRoot, view);
+      }
+      return view;
+    }
+  }
+
+  private void invalidate(final Hash stateRoot, final PooledView view) {
+    if (viewsByStateRoot.remove(stateRoot, view)) {
+      view.release();
+    }
+  }
+
+  private static final class PooledView {
+    private final WorldState worldState;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private PooledView(final WorldState worldState) {
+      this.worldState = worldState;
+    }
+
+    private boolean retain() {
+      int current;
+      do {
+        current = references.get();
+        if (current == 0) {
+          return false;
+        }
+      } while (!references.compareAndSet(current, current + 1));
+      return true;
+    }
+
+    private void release() {
+      if (references.decrementAndGet() == 0) {
+        try {
+          worldState.close();
+        } catch (final Exception e) {
+          LOG.warn("Failed to close pooled world state", e);
+        }
+      }
+    }
+  }
+}
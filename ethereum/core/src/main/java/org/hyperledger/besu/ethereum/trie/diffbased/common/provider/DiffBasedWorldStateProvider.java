@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.proof.WorldStateProofProvider;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.cache.DiffBasedCachedWorldStorageManager;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.DiffBasedWorldState;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.WorldStateConfig;
@@ -147,6 +148,28 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
     }
   }
 
+  /**
+   * Applies a read-only operation to the world state at the given block. Concurrent operations on
+   * the same state share a single pooled view, so that they do not each create their own world
+   * state and layered storage, and share the storage and code read through that view.
+   *
+   * @param blockHeader the header of the block whose state is queried
+   * @param mapper the read-only operation
+   * @param <U> the result type of the operation
+   * @return the result of the operation, or empty if the world state is not available
+   */
+  @Override
+  public <U> Optional<U> mapReadOnlyWorldState(
+      final BlockHeader blockHeader,
+      final Function<? super WorldState, ? extends Optional<U>> mapper) {
+    return cachedWorldStorageManager
+        .getReadOnlyViewPool()
+        .mapView(
+            blockHeader,
+            header -> getWorldState(withBlockHeaderAndNoUpdateNodeHead(header)),
+            mapper);
+  }
+
   /**
    * Gets the head world state.
    *
@@ -285,15 +308,18 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
         final DiffBasedWorldStateUpdateAccumulator<?> diffBasedUpdater =
             (DiffBasedWorldStateUpdateAccumulator<?>) mutableState.updater();
         try {
+          // squash all the layers into one, so each account and slot is rolled only once
+          final TrieLogLayer squashedTrieLog = new TrieLogLayer();
           for (final TrieLog rollBack : rollBacks) {
-            LOG.debug("Attempting Rollback of {}", rollBack.getBlockHash());
-            diffBasedUpdater.rollBack(rollBack);
+            LOG.debug("Squashing Rollback of {}", rollBack.getBlockHash());
+            squashedTrieLog.squashRollBack(rollBack);
           }
           for (int i = rollForwards.size() - 1; i >= 0; i--) {
             final var forward = rollForwards.get(i);
-            LOG.debug("Attempting Rollforward of {}", rollForwards.get(i).getBlockHash());
-            diffBasedUpdater.rollForward(forward);
+            LOG.debug("Squashing Rollforward of {}", forward.getBlockHash());
+            squashedTrieLog.squashRollForward(forward);
           }
+          diffBasedUpdater.rollForward(squashedTrieLog);
           diffBasedUpdater.commit();
 
           mutableState.persist(blockchain.getBlockHeader(blockHash).get());
@@ -330,6 +356,43 @@ public abstract class DiffBasedWorldStateProvider implements WorldStateArchive {
     }
   }
 
+  /**
+   * Moves the head world state onto a child block that has already been executed, for example by
+   * a non-persisting validation, by applying the trie log of that execution instead of executing
+   * the block again. The block does not need to be part of the chain yet.
+   *
+   * @param blockHeader the header of the block already executed on top of the head world state
+   * @param trieLog the trie log produced by the execution of the block
+   * @return the head world state at the given block, or empty if the head is not the parent of the
+   *     block or the resulting state root does not match
+   */
+  public synchronized Optional<MutableWorldState> rollHeadForward(
+      final BlockHeader blockHeader, final TrieLog trieLog) {
+    if (!blockHeader.getParentHash().equals(headWorldState.blockHash())) {
+      return Optional.empty();
+    }
+    final DiffBasedWorldStateUpdateAccumulator<?> diffBasedUpdater =
+        (DiffBasedWorldStateUpdateAccumulator<?>) headWorldState.updater();
+    try {
+      diffBasedUpdater.rollForward(trieLog);
+      diffBasedUpdater.commit();
+      headWorldState.persist(blockHeader);
+      return Optional.of(headWorldState);
+    } catch (final MerkleTrieException re) {
+      // need to throw to trigger the heal
+      throw re;
+    } catch (final Exception e) {
+      // if we fail we must clean up the updater
+      diffBasedUpdater.reset();
+      LOG.atDebug()
+          .setMessage("Head roll forward failed for block {}")
+          .addArgument(blockHeader::toLogString)
+          .addArgument(e)
+          .log();
+      return Optional.empty();
+    }
+  }
+
   public WorldStateConfig getWorldStateSharedSpec() {
     return worldStateConfig;
   }
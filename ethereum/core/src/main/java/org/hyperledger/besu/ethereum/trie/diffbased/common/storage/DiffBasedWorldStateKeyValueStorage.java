@@ -34,6 +34,7 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTran
 import org.hyperledger.besu.util.Subscribers;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
@@ -57,6 +58,9 @@ public abstract class DiffBasedWorldStateKeyValueStorage
   // 0x776f726c64426c6f636b48617368
   public static final byte[] WORLD_BLOCK_HASH_KEY =
       "worldBlockHash".getBytes(StandardCharsets.UTF_8);
+  // 0x747269654c6f675072756e696e67437572736f72
+  public static final byte[] TRIE_LOG_PRUNING_CURSOR_KEY =
+      "trieLogPruningCursor".getBytes(StandardCharsets.UTF_8);
 
   private final AtomicBoolean shouldClose = new AtomicBoolean(false);
 
@@ -105,6 +109,18 @@ public abstract class DiffBasedWorldStateKeyValueStorage
     return trieLogStorage.streamKeys().limit(limit);
   }
 
+  /**
+   * Streams the keys of the trie logs in key order, starting from the given key included.
+   *
+   * @param startKey the key to start from
+   * @return the stream of trie log keys, to be closed
+   */
+  public Stream<Bytes> streamTrieLogKeysFrom(final Bytes startKey) {
+    return trieLogStorage
+        .streamFromKey(startKey.toArrayUnsafe())
+        .map(pair -> Bytes.wrap(pair.getKey()));
+  }
+
   public Optional<Bytes> getStateTrieNode(final Bytes location) {
     return composedWorldStateStorage
         .get(TRIE_BRANCH_STORAGE, location.toArrayUnsafe())
@@ -192,6 +208,30 @@ public abstract class DiffBasedWorldStateKeyValueStorage
     }
   }
 
+  /**
+   * Removes the trie logs of the given blocks in a single transaction.
+   *
+   * @param blockHashes the hashes of the blocks whose trie logs are removed
+   */
+  public void pruneTrieLogs(final Collection<Hash> blockHashes) {
+    final KeyValueStorageTransaction transaction = trieLogStorage.startTransaction();
+    blockHashes.forEach(blockHash -> transaction.remove(blockHash.toArrayUnsafe()));
+    transaction.commit();
+  }
+
+  public Optional<Bytes> getTrieLogPruningCursor() {
+    return composedWorldStateStorage
+        .get(TRIE_BRANCH_STORAGE, TRIE_LOG_PRUNING_CURSOR_KEY)
+        .map(Bytes::wrap);
+  }
+
+  public void setTrieLogPruningCursor(final Bytes trieLogKey) {
+    final SegmentedKeyValueStorageTransaction transaction =
+        composedWorldStateStorage.startTransaction();
+    transaction.put(TRIE_BRANCH_STORAGE, TRIE_LOG_PRUNING_CURSOR_KEY, trieLogKey.toArrayUnsafe());
+    transaction.commit();
+  }
+
   @Override
   public synchronized void close() throws Exception {
     // when the storage clears, close
@@ -125,6 +125,63 @@ public class TrieLogLayer implements TrieLog {
     return this;
   }
 
+  /**
+   * Squashes the changes of a layer rolled forward after the changes of this one, so that every
+   * key keeps the prior value of its first change and takes the updated value of its last change.
+   * Rolling the squashed layer touches each account and slot once, however many layers it covers.
+   *
+   * @param layer the layer rolled forward next
+   * @return this layer
+   */
+  public TrieLogLayer squashRollForward(final TrieLog layer) {
+    return squash(layer, false);
+  }
+
+  /**
+   * Squashes the changes of a layer rolled back after the changes of this one, i.e. from its
+   * updated values back to its prior values.
+   *
+   * @param layer the layer rolled back next
+   * @return this layer
+   */
+  public TrieLogLayer squashRollBack(final TrieLog layer) {
+    return squash(layer, true);
+  }
+
+  private TrieLogLayer squash(final TrieLog layer, final boolean reverse) {
+    checkState(!frozen, "Layer is Frozen");
+    layer
+        .getAccountChanges()
+        .forEach((address, change) -> squashChange(accounts, address, change, reverse));
+    layer
+        .getCodeChanges()
+        .forEach((address, change) -> squashChange(code, address, change, reverse));
+    layer
+        .getStorageChanges()
+        .forEach(
+            (address, slots) -> {
+              final Map<StorageSlotKey, DiffBasedValue<UInt256>> squashedSlots =
+                  storage.computeIfAbsent(address, a -> new TreeMap<>());
+              slots.forEach((slot, change) -> squashChange(squashedSlots, slot, change, reverse));
+            });
+    return this;
+  }
+
+  private static <K, T> void squashChange(
+      final Map<K, DiffBasedValue<T>> changes,
+      final K key,
+      final TrieLog.LogTuple<T> change,
+      final boolean reverse) {
+    final T prior = reverse ? change.getUpdated() : change.getPrior();
+    final T updated = reverse ? change.getPrior() : change.getUpdated();
+    final DiffBasedValue<T> squashed = changes.get(key);
+    if (squashed == null) {
+      changes.put(key, new DiffBasedValue<>(prior, updated));
+    } else {
+      squashed.setUpdated(updated);
+    }
+  }
+
   @Override
   public Map<Address, DiffBasedValue<AccountValue>> getAccountChanges() {
     return accounts;
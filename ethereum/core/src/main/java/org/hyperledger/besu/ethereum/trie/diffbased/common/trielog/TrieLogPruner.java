@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.trie.diffbased.common.trielog;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
@@ -24,33 +23,42 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLogEvent;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
-import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.TreeMultimap;
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Prunes the trie logs of the blocks older than the retained blocks.
+ *
+ * <p>The trie logs added while the node runs, forks included, are queued in memory and pruned once
+ * they leave the retention window. The trie logs left by previous runs are swept in key order from
+ * a cursor persisted in the world state storage, at most {@code pruningLimit} trie logs at a time,
+ * so that a large backlog is caught up online with bounded memory. The sweep prunes the orphan trie
+ * logs and the trie logs of the blocks, canonical or not, below the retention window, and queues
+ * the others. It wraps around once to the cursor it started from, then stops for this run.
+ *
+ * <p>A trie log is saved before its block is appended to the chain, so a trie log without a block
+ * header is only an orphan if it was not added during this run.
+ */
 public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
 
   private static final Logger LOG = LoggerFactory.getLogger(TrieLogPruner.class);
-  private static final int PRELOAD_TIMEOUT_IN_SECONDS = 30;
 
   private final int pruningLimit;
-  private final int loadingLimit;
   private final DiffBasedWorldStateKeyValueStorage rootWorldStateStorage;
   private final Blockchain blockchain;
   private final Consumer<Runnable> executeAsync;
@@ -58,8 +66,17 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
   private final boolean requireFinalizedBlock;
   private final Counter addedToPruneQueueCounter;
   private final Counter prunedFromQueueCounter;
+  private final Counter prunedFromBacklogCounter;
   private final Counter prunedOrphanCounter;
 
+  // key order sweep of the trie logs left by previous runs, guarded by this
+  private Bytes sweepStartKey;
+  private Bytes sweepCursor;
+  private boolean sweepWrapped = false;
+  private volatile boolean sweepComplete = false;
+  // trie logs added during this run while the sweep is running, whose block may not be appended yet
+  private final Set<Hash> trieLogsAddedWhileSweeping = ConcurrentHashMap.newKeySet();
+
   private final Multimap<Long, Hash> trieLogBlocksAndForksByDescendingBlockNumber =
       TreeMultimap.create(Comparator.reverseOrder(), Comparator.naturalOrder());
 
@@ -76,7 +93,6 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
     this.executeAsync = executeAsync;
     this.numBlocksToRetain = numBlocksToRetain;
     this.pruningLimit = pruningLimit;
-    this.loadingLimit = pruningLimit; // same as pruningLimit for now
     this.requireFinalizedBlock = requireFinalizedBlock;
     this.addedToPruneQueueCounter =
         metricsSystem.createCounter(
@@ -86,91 +102,19 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
     this.prunedFromQueueCounter =
         metricsSystem.createCounter(
             BesuMetricCategory.PRUNER, "trie_log_pruned_from_queue", "trie log pruned from queue");
+    this.prunedFromBacklogCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "trie_log_pruned_from_backlog",
+            "trie log pruned from backlog");
     this.prunedOrphanCounter =
         metricsSystem.createCounter(
             BesuMetricCategory.PRUNER, "trie_log_pruned_orphan", "trie log pruned orphan");
   }
 
   public void initialize() {
-    preloadQueueWithTimeout(PRELOAD_TIMEOUT_IN_SECONDS);
-  }
-
-  @VisibleForTesting
-  void preloadQueueWithTimeout(final int timeoutInSeconds) {
-
-    LOG.info("Trie log pruner queue preload starting...");
-    LOG.atInfo()
-        .setMessage("Attempting to load first {} trie logs from database...")
-        .addArgument(loadingLimit)
-        .log();
-
-    try (final ExecutorService preloadExecutor = Executors.newSingleThreadExecutor()) {
-      final Future<?> future = preloadExecutor.submit(this::preloadQueue);
-
-      LOG.atInfo()
-          .setMessage(
-              "Trie log pruning will timeout after {} seconds. If this is timing out, consider using `besu storage trie-log prune` subcommand, see https://besu.hyperledger.org/public-networks/how-to/bonsai-limit-trie-logs")
-          .addArgument(timeoutInSeconds)
-          .log();
-
-      try {
-        future.get(timeoutInSeconds, TimeUnit.SECONDS);
-      } catch (InterruptedException | ExecutionException e) {
-        LOG.error("Error loading trie logs from database", e);
-        future.cancel(true);
-      } catch (TimeoutException e) {
-        future.cancel(true);
-        LOG.atWarn()
-            .setMessage("Timeout occurred while loading and processing {} trie logs from database")
-            .addArgument(loadingLimit)
-            .log();
-      }
-    }
-    LOG.info("Trie log pruner queue preload complete.");
-  }
-
-  private void preloadQueue() {
-
-    try (final Stream<byte[]> trieLogKeys = rootWorldStateStorage.streamTrieLogKeys(loadingLimit)) {
-
-      final AtomicLong addToPruneQueueCount = new AtomicLong();
-      final AtomicLong orphansPruned = new AtomicLong();
-      trieLogKeys.forEach(
-          blockHashAsBytes -> {
-            if (Thread.currentThread().isInterrupted()) {
-              throw new RuntimeException(
-                  new InterruptedException("Thread interrupted during trie log processing."));
-            }
-            final Hash blockHash = Hash.wrap(Bytes32.wrap(blockHashAsBytes));
-            final Optional<BlockHeader> header = blockchain.getBlockHeader(blockHash);
-            if (header.isPresent()) {
-              addToPruneQueue(header.get().getNumber(), blockHash);
-              addToPruneQueueCount.getAndIncrement();
-            } else {
-              // prune orphaned blocks (sometimes created during block production)
-              rootWorldStateStorage.pruneTrieLog(blockHash);
-              orphansPruned.getAndIncrement();
-              prunedOrphanCounter.inc();
-            }
-          });
-
-      LOG.atDebug().log("Pruned {} orphaned trie logs from database...", orphansPruned.intValue());
-      LOG.atInfo().log(
-          "Added {} trie logs to prune queue. Commencing pruning of eligible trie logs...",
-          addToPruneQueueCount.intValue());
-      int prunedCount = pruneFromQueue();
-      LOG.atInfo().log("Pruned {} trie logs", prunedCount);
-    } catch (Exception e) {
-      if (e instanceof InterruptedException
-          || (e.getCause() != null && e.getCause() instanceof InterruptedException)) {
-        LOG.info("Operation interrupted, but will attempt to prune what's in the queue so far...");
-        int prunedCount = pruneFromQueue();
-        LOG.atInfo().log("...pruned {} trie logs", prunedCount);
-        Thread.currentThread().interrupt(); // Preserve interrupt status
-      } else {
-        LOG.error("Error loading trie logs from database, nothing pruned", e);
-      }
-    }
+    LOG.info("Trie log pruning of the blocks left by previous runs starting in the background");
+    executeAsync.accept(this::pruneBacklog);
   }
 
   public synchronized void addToPruneQueue(final long blockNumber, final Hash blockHash) {
@@ -184,34 +128,11 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
   }
 
   public synchronized int pruneFromQueue() {
-    final long retainAboveThisBlock = blockchain.getChainHeadBlockNumber() - numBlocksToRetain;
-    final Optional<Hash> finalized = blockchain.getFinalized();
-    if (requireFinalizedBlock && finalized.isEmpty()) {
-      LOG.debug("No finalized block present, skipping pruning");
+    final Optional<Long> maybeRetainAboveThisBlock = getRetainAboveThisBlock();
+    if (maybeRetainAboveThisBlock.isEmpty()) {
       return 0;
     }
-
-    final long retainAboveThisBlockOrFinalized =
-        finalized
-            .flatMap(blockchain::getBlockHeader)
-            .map(ProcessableBlockHeader::getNumber)
-            .map(finalizedBlock -> Math.min(finalizedBlock, retainAboveThisBlock))
-            .orElse(retainAboveThisBlock);
-
-    LOG.atTrace()
-        .setMessage(
-            "min((chainHeadNumber: {} - numBlocksToRetain: {}) = {}, finalized: {})) = retainAboveThisBlockOrFinalized: {}")
-        .addArgument(blockchain::getChainHeadBlockNumber)
-        .addArgument(numBlocksToRetain)
-        .addArgument(retainAboveThisBlock)
-        .addArgument(
-            () ->
-                finalized
-                    .flatMap(blockchain::getBlockHeader)
-                    .map(ProcessableBlockHeader::getNumber)
-                    .orElse(null))
-        .addArgument(retainAboveThisBlockOrFinalized)
-        .log();
+    final long retainAboveThisBlockOrFinalized = maybeRetainAboveThisBlock.get();
 
     final var pruneWindowEntries =
         trieLogBlocksAndForksByDescendingBlockNumber.asMap().entrySet().stream()
@@ -225,6 +146,7 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
           for (Hash blockHash : e.getValue()) {
             if (rootWorldStateStorage.pruneTrieLog(blockHash)) {
               wasPruned.put(e.getKey(), blockHash);
+              trieLogsAddedWhileSweeping.remove(blockHash);
             }
           }
         });
@@ -246,17 +168,141 @@ public class TrieLogPruner implements TrieLogEvent.TrieLogObserver {
     return wasPruned.size();
   }
 
+  /**
+   * Sweeps the next trie logs following the persisted pruning cursor in key order, up to {@code
+   * pruningLimit} trie logs, pruning the orphan ones and the ones below the retention window with a
+   * single storage transaction, and queuing the others.
+   *
+   * @return the number of pruned trie logs
+   */
+  public synchronized int pruneBacklog() {
+    if (sweepComplete) {
+      return 0;
+    }
+    final Optional<Long> maybeRetainAboveThisBlock = getRetainAboveThisBlock();
+    if (maybeRetainAboveThisBlock.isEmpty()) {
+      return 0;
+    }
+    final long retainAboveThisBlock = maybeRetainAboveThisBlock.get();
+    if (sweepCursor == null) {
+      sweepStartKey = rootWorldStateStorage.getTrieLogPruningCursor().orElse(Bytes.EMPTY);
+      sweepCursor = sweepStartKey;
+    }
+
+    // one more key than swept is read, it is where the next sweep starts from
+    final List<Bytes> keys;
+    try (final Stream<Bytes> trieLogKeys =
+        rootWorldStateStorage.streamTrieLogKeysFrom(sweepCursor)) {
+      keys =
+          trieLogKeys
+              .takeWhile(key -> !sweepWrapped || isBefore(key, sweepStartKey))
+              .limit(pruningLimit + 1L)
+              .toList();
+    }
+    final List<Hash> toPrune = new ArrayList<>();
+    int orphans = 0;
+    for (final Bytes key : keys.subList(0, Math.min(keys.size(), pruningLimit))) {
+      final Hash blockHash = Hash.wrap(Bytes32.wrap(key));
+      final Optional<Long> blockNumber =
+          blockchain.getBlockHeader(blockHash).map(ProcessableBlockHeader::getNumber);
+      if (blockNumber.isEmpty()) {
+        if (!trieLogsAddedWhileSweeping.contains(blockHash)) {
+          // orphaned trie logs are sometimes created during block production
+          toPrune.add(blockHash);
+          orphans++;
+        }
+        // otherwise its block is being imported, it is queued once added
+      } else if (blockNumber.get() <= retainAboveThisBlock) {
+        toPrune.add(blockHash);
+      } else {
+        addToPruneQueue(blockNumber.get(), blockHash);
+      }
+    }
+    if (!toPrune.isEmpty()) {
+      rootWorldStateStorage.pruneTrieLogs(toPrune);
+    }
+
+    if (keys.size() > pruningLimit) {
+      sweepCursor = keys.get(pruningLimit);
+    } else if (!sweepWrapped && !sweepStartKey.isEmpty()) {
+      sweepWrapped = true;
+      sweepCursor = Bytes.EMPTY;
+    } else {
+      sweepComplete = true;
+      sweepCursor = Bytes.EMPTY;
+      trieLogsAddedWhileSweeping.clear();
+      LOG.info("Trie log pruning of the blocks left by previous runs complete");
+    }
+    // the trie logs are removed before the cursor moves, a crash in between only leads to the
+    // removal of already removed trie logs
+    rootWorldStateStorage.setTrieLogPruningCursor(sweepCursor);
+    prunedFromBacklogCounter.inc(toPrune.size());
+    prunedOrphanCounter.inc(orphans);
+
+    LOG.atDebug()
+        .setMessage("pruned {} trie logs, {} of them orphaned, from the {} swept backlog trie logs")
+        .addArgument(toPrune::size)
+        .addArgument(orphans)
+        .addArgument(() -> Math.min(keys.size(), pruningLimit))
+        .log();
+
+    return toPrune.size();
+  }
+
+  private static boolean isBefore(final Bytes key, final Bytes otherKey) {
+    // the storage orders the keys by unsigned lexicographic order
+    return Arrays.compareUnsigned(key.toArrayUnsafe(), otherKey.toArrayUnsafe()) < 0;
+  }
+
+  private Optional<Long> getRetainAboveThisBlock() {
+    final long retainAboveThisBlock = blockchain.getChainHeadBlockNumber() - numBlocksToRetain;
+    final Optional<Hash> finalized = blockchain.getFinalized();
+    if (requireFinalizedBlock && finalized.isEmpty()) {
+      LOG.debug("No finalized block present, skipping pruning");
+      return Optional.empty();
+    }
+
+    final long retainAboveThisBlockOrFinalized =
+        finalized
+            .flatMap(blockchain::getBlockHeader)
+            .map(ProcessableBlockHeader::getNumber)
+            .map(finalizedBlock -> Math.min(finalizedBlock, retainAboveThisBlock))
+            .orElse(retainAboveThisBlock);
+
+    LOG.atTrace()
+        .setMessage(
+            "min((chainHeadNumber: {} - numBlocksToRetain: {}) = {}, finalized: {})) = retainAboveThisBlockOrFinalized: {}")
+        .addArgument(blockchain::getChainHeadBlockNumber)
+        .addArgument(numBlocksToRetain)
+        .addArgument(retainAboveThisBlock)
+        .addArgument(
+            () ->
+                finalized
+                    .flatMap(blockchain::getBlockHeader)
+                    .map(ProcessableBlockHeader::getNumber)
+                    .orElse(null))
+        .addArgument(retainAboveThisBlockOrFinalized)
+        .log();
+
+    return Optional.of(retainAboveThisBlockOrFinalized);
+  }
+
   @Override
   public void onTrieLogAdded(final TrieLogEvent event) {
     if (TrieLogEvent.Type.ADDED.equals(event.getType())) {
       final Hash blockHash = event.layer().getBlockHash();
       final Optional<Long> blockNumber = event.layer().getBlockNumber();
+      // recorded synchronously, before the trie log is committed and can be swept
+      if (!sweepComplete) {
+        trieLogsAddedWhileSweeping.add(blockHash);
+      }
       blockNumber.ifPresent(
           blockNum ->
               executeAsync.accept(
                   () -> {
                     addToPruneQueue(blockNum, blockHash);
                     pruneFromQueue();
+                    pruneBacklog();
                   }));
     }
   }
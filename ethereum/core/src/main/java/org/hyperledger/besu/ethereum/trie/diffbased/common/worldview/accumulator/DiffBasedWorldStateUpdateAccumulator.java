@@ -922,6 +922,16 @@ public abstract class DiffBasedWorldStateUpdateAccumulator<ACCOUNT extends DiffB
 
   public abstract DiffBasedWorldStateUpdateAccumulator<ACCOUNT> copy();
 
+  /**
+   * Creates a copy-on-write fork of this accumulator in constant time, where {@link #copy()} copies
+   * every tracked change. The fork keeps its own changes and reads everything else through this
+   * accumulator, which caches these reads so that concurrent forks share them. This accumulator
+   * must not be modified while its forks are in use.
+   *
+   * @return the fork of this accumulator
+   */
+  public abstract DiffBasedWorldStateUpdateAccumulator<ACCOUNT> fork();
+
   protected abstract ACCOUNT copyAccount(final ACCOUNT account);
 
   protected abstract ACCOUNT copyAccount(
@@ -0,0 +1,211 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.internal.CodeAnalysisStore;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Code analysis store persisting the valid jump destinations of the legacy contracts in a key value
+ * storage, keyed by code hash. The storage is only accessed in the background, the lookups being
+ * served from a memory cache of the recently used bitmaps, with its own budget, smaller than the
+ * one of the code caches as a bitmap is 64 times smaller than its code. The code hashes of the most
+ * frequently used bitmaps are saved on close, so that {@link #warmup()} loads them back in memory
+ * at the next start.
+ */
+public class KeyValueCodeAnalysisStore implements CodeAnalysisStore, Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(KeyValueCodeAnalysisStore.class);
+  static final int MAX_HOT_CODE_HASHES = 10_000;
+  public static final long DEFAULT_CACHE_WEIGHT_BYTES = 4 * 1024 * 1024;
+  private static final byte[] HOT_CODE_HASHES_KEY = "hotCodeHashes".getBytes(UTF_8);
+
+  private final Supplier<KeyValueStorage> storage;
+  private final Cache<Hash, long[]> cache;
+  private final ExecutorService writeExecutor;
+
+  public KeyValueCodeAnalysisStore(final Supplier<KeyValueStorage> storage) {
+    this(
+        storage,
+        DEFAULT_CACHE_WEIGHT_BYTES,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("code-analysis-store-%d")
+                .setDaemon(true)
+                .build()));
+  }
+
+  @VisibleForTesting
+  KeyValueCodeAnalysisStore(
+      final Supplier<KeyValueStorage> storage,
+      final long cacheWeightBytes,
+      final ExecutorService writeExecutor) {
+    // the storage is opened by the first background task
+    this.storage = Suppliers.memoize(storage::get);
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(cacheWeightBytes)
+            .<Hash, long[]>weigher(
+                (codeHash, jumpDestinations) -> codeHash.size() + jumpDestinations.length * 8)
+            .build();
+    this.writeExecutor = writeExecutor;
+  }
+
+  @Override
+  public Optional<long[]> getJumpDestinations(final Hash codeHash) {
+    return Optional.ofNullable(cache.getIfPresent(codeHash));
+  }
+
+  @Override
+  public void putJumpDestinations(final Hash codeHash, final long[] jumpDestinations) {
+    cache.put(codeHash, jumpDestinations);
+    execute(() -> writeIfAbsent(codeHash.toArrayUnsafe(), jumpDestinations));
+  }
+
+  /**
+   * Loads in the background the jump destinations of the code hashes that were the most frequently
+   * used before the last close, so that the first blocks after a restart do not wait for them.
+   */
+  public void warmup() {
+    execute(
+        () -> {
+          try {
+            final List<Hash> hotCodeHashes =
+                storage
+                    .get()
+                    .get(HOT_CODE_HASHES_KEY)
+                    .map(KeyValueCodeAnalysisStore::decodeCodeHashes)
+                    .orElse(List.of());
+            hotCodeHashes.forEach(
+                codeHash -> {
+                  if (cache.getIfPresent(codeHash) == null) {
+                    load(codeHash).ifPresent(bitmap -> cache.put(codeHash, bitmap));
+                  }
+                });
+            LOG.debug("Loaded the jump destinations of {} hot contracts", hotCodeHashes.size());
+          } catch (final StorageException e) {
+            LOG.warn("Unable to load the jump destinations of the hot contracts", e);
+          }
+        });
+  }
+
+  @Override
+  public void close() {
+    execute(
+        () -> {
+          final Collection<Hash> hotCodeHashes =
+              cache
+                  .policy()
+                  .eviction()
+                  .map(eviction -> eviction.hottest(MAX_HOT_CODE_HASHES))
+                  .map(Map::keySet)
+                  .orElseGet(() -> cache.asMap().keySet());
+          write(HOT_CODE_HASHES_KEY, encodeCodeHashes(hotCodeHashes));
+        });
+    writeExecutor.shutdown();
+    try {
+      if (!writeExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOG.warn("Timed out waiting for the code analysis store writes");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void execute(final Runnable task) {
+    try {
+      writeExecutor.execute(task);
+    } catch (final RejectedExecutionException e) {
+      // the store is closed, the code analysis results are simply not persisted
+    }
+  }
+
+  private Optional<long[]> load(final Hash codeHash) {
+    return storage.get().get(codeHash.toArrayUnsafe()).map(KeyValueCodeAnalysisStore::decode);
+  }
+
+  private void write(final byte[] key, final byte[] value) {
+    try {
+      final KeyValueStorageTransaction transaction = storage.get().startTransaction();
+      transaction.put(key, value);
+      transaction.commit();
+    } catch (final StorageException e) {
+      LOG.warn("Unable to write to the code analysis store", e);
+    }
+  }
+
+  private void writeIfAbsent(final byte[] key, final long[] jumpDestinations) {
+    try {
+      // the bitmap of a code never changes, an already stored one is not written again
+      if (!storage.get().containsKey(key)) {
+        write(key, encode(jumpDestinations));
+      }
+    } catch (final StorageException e) {
+      LOG.warn("Unable to read from the code analysis store", e);
+    }
+  }
+
+  private static byte[] encodeCodeHashes(final Collection<Hash> codeHashes) {
+    return Bytes.concatenate(codeHashes.toArray(Bytes[]::new)).toArrayUnsafe();
+  }
+
+  private static List<Hash> decodeCodeHashes(final byte[] value) {
+    final Bytes codeHashes = Bytes.wrap(value);
+    return IntStream.range(0, codeHashes.size() / Hash.SIZE)
+        .mapToObj(i -> Hash.wrap(Bytes32.wrap(codeHashes.slice(i * Hash.SIZE, Hash.SIZE))))
+        .toList();
+  }
+
+  @VisibleForTesting
+  static byte[] encode(final long[] jumpDestinations) {
+    final ByteBuffer buffer = ByteBuffer.allocate(jumpDestinations.length * Long.BYTES);
+    buffer.asLongBuffer().put(jumpDestinations);
+    return buffer.array();
+  }
+
+  @VisibleForTesting
+  static long[] decode(final byte[] value) {
+    final long[] jumpDestinations = new long[value.length / Long.BYTES];
+    ByteBuffer.wrap(value).asLongBuffer().get(jumpDestinations);
+    return jumpDestinations;
+  }
+}
@@ -24,6 +24,8 @@ import org.immutables.value.Value;
 public interface DataStorageConfiguration {
 
   boolean DEFAULT_RECEIPT_COMPACTION_ENABLED = true;
+  boolean DEFAULT_ANCIENT_BLOCK_FREEZER_ENABLED = false;
+  long DEFAULT_ANCIENT_BLOCK_FREEZER_BLOCKS_RETAINED = 90_000L;
 
   DataStorageConfiguration DEFAULT_CONFIG =
       ImmutableDataStorageConfiguration.builder()
@@ -59,4 +61,14 @@ public interface DataStorageConfiguration {
   default boolean getReceiptCompactionEnabled() {
     return DEFAULT_RECEIPT_COMPACTION_ENABLED;
   }
+
+  @Value.Default
+  default boolean getAncientBlockFreezerEnabled() {
+    return DEFAULT_ANCIENT_BLOCK_FREEZER_ENABLED;
+  }
+
+  @Value.Default
+  default long getAncientBlockFreezerBlocksRetained() {
+    return DEFAULT_ANCIENT_BLOCK_FREEZER_BLOCKS_RETAINED;
+  }
 }
@@ -77,6 +77,12 @@ public interface DiffBasedSubStorageConfiguration {
 
     boolean DEFAULT_PARALLEL_TRX_ENABLED = false;
 
+    boolean DEFAULT_ARCHIVE_ENABLED = false;
+
+    int DEFAULT_WRITE_BEHIND_BLOCKS = 0;
+
+    long DEFAULT_FLAT_DB_CACHE_SIZE = 0;
+
     @Value.Default
     default boolean getFullFlatDbEnabled() {
       return DEFAULT_FULL_FLAT_DB_ENABLED;
@@ -91,5 +97,22 @@ public interface DiffBasedSubStorageConfiguration {
     default boolean isParallelTxProcessingEnabled() {
       return DEFAULT_PARALLEL_TRX_ENABLED;
     }
+
+    @Value.Default
+    default boolean getArchiveEnabled() {
+      return DEFAULT_ARCHIVE_ENABLED;
+    }
+
+    // number of blocks whose world state is written to the database in one commit, 0 to disable
+    @Value.Default
+    default int getWriteBehindBlocks() {
+      return DEFAULT_WRITE_BEHIND_BLOCKS;
+    }
+
+    // size in bytes of the flat accounts and storage values cache, 0 to disable
+    @Value.Default
+    default long getFlatDbCacheSize() {
+      return DEFAULT_FLAT_DB_CACHE_SIZE;
+    }
   }
 }
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.worldstate;
 
+import static org.hyperledger.besu.ethereum.trie.diffbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -47,6 +49,34 @@ public interface WorldStateArchive extends Closeable {
    */
   Optional<MutableWorldState> getWorldState(WorldStateQueryParams worldStateQueryParams);
 
+  /**
+   * Applies a read-only operation to the world state at the given block.
+   *
+   * <p>Implementations may run concurrent operations on the same state against a single shared
+   * view, so the mapper must neither mutate the world state nor keep a reference to it once it
+   * returns.
+   *
+   * @param blockHeader the header of the block whose state is queried
+   * @param mapper the read-only operation
+   * @param <U> the result type of the operation
+   * @return the result of the operation, or empty if the world state is not available
+   */
+  default <U> Optional<U> mapReadOnlyWorldState(
+      final BlockHeader blockHeader,
+      final Function<? super WorldState, ? extends Optional<U>> mapper) {
+    return getWorldState(withBlockHeaderAndNoUpdateNodeHead(blockHeader))
+        .flatMap(
+            worldState -> {
+              try (worldState) {
+                return mapper.apply(worldState);
+              } catch (final RuntimeException e) {
+                throw e;
+              } catch (final Exception e) {
+                throw new IllegalStateException("Failed to close world state", e);
+              }
+            });
+  }
+
   /**
    * Gets the head world state.
    *
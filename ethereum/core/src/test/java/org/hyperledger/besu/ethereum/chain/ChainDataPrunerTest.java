@@ -48,8 +48,10 @@ public class ChainDataPrunerTest {
             new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
             512,
             0,
+            1024,
             // completed
-            new BlockingExecutor());
+            new BlockingExecutor(),
+            new NoOpMetricsSystem());
     Block genesisBlock = gen.genesisBlock();
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
@@ -88,8 +90,10 @@ public class ChainDataPrunerTest {
             new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
             512,
             0,
+            1024,
             // completed
-            new BlockingExecutor());
+            new BlockingExecutor(),
+            new NoOpMetricsSystem());
     Block genesisBlock = gen.genesisBlock();
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
@@ -120,6 +124,81 @@ public class ChainDataPrunerTest {
     }
   }
 
+  @Test
+  public void pruningIsLimitedByTheWindowSize() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions(),
+            false);
+    final ChainDataPrunerStorage prunerStorage =
+        new ChainDataPrunerStorage(new InMemoryKeyValueStorage());
+    final ChainDataPruner chainDataPruner =
+        new ChainDataPruner(
+            blockchainStorage,
+            prunerStorage,
+            512,
+            64,
+            16,
+            // completed
+            new BlockingExecutor(),
+            new NoOpMetricsSystem());
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
+    blockchain.observeBlockAdded(chainDataPruner);
+
+    final List<Block> blocks = gen.blockSequence(genesisBlock, 600);
+    blocks.forEach(blk -> blockchain.appendBlock(blk, gen.receipts(blk)));
+
+    // pruning starts at block 577 once 65 blocks can be pruned, then prunes at most 16 blocks
+    // per added block until it catches up with block 581 - 512
+    assertThat(prunerStorage.getPruningMark()).contains(70L);
+    assertThat(blockchain.getBlockHeader(69)).isEmpty();
+    assertThat(blockchain.getBlockHeader(70)).isPresent();
+  }
+
+  @Test
+  public void pruningIsLimitedByTheBytesBudget() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions(),
+            false);
+    final ChainDataPrunerStorage prunerStorage =
+        new ChainDataPrunerStorage(new InMemoryKeyValueStorage());
+    final ChainDataPruner chainDataPruner =
+        new ChainDataPruner(
+            blockchainStorage,
+            prunerStorage,
+            512,
+            64,
+            16,
+            1,
+            // completed
+            new BlockingExecutor(),
+            new NoOpMetricsSystem());
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
+    blockchain.observeBlockAdded(chainDataPruner);
+
+    final List<Block> blocks = gen.blockSequence(genesisBlock, 600);
+    blocks.forEach(blk -> blockchain.appendBlock(blk, gen.receipts(blk)));
+
+    // pruning starts at block 577, then the first block pruned exhausts the bytes budget, so a
+    // single block is pruned per added block and the rest is carried over
+    assertThat(prunerStorage.getPruningMark()).contains(25L);
+    assertThat(blockchain.getBlockHeader(24)).isEmpty();
+    assertThat(blockchain.getBlockHeader(25)).isPresent();
+  }
+
   protected static class BlockingExecutor extends AbstractExecutorService {
     @Override
     public void shutdown() {}
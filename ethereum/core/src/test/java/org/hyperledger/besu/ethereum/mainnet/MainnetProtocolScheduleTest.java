@@ -14,15 +14,24 @@
  */
 package org.hyperledger.besu.ethereum.mainnet;
 
+import static org.mockito.Mockito.mock;
+
 import org.hyperledger.besu.config.GenesisConfig;
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
 import org.hyperledger.besu.ethereum.core.ProtocolScheduleFixture;
+import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.precompile.CachingPrecompiledContract;
+import org.hyperledger.besu.evm.precompile.PrecompiledContract;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.util.Set;
+
+import org.apache.tuweni.bytes.Bytes;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -130,6 +139,50 @@ public class MainnetProtocolScheduleTest {
                     new NoOpMetricsSystem()));
   }
 
+  @Test
+  public void specsOfAScheduleShareThePrecompileResultCaches() {
+    final EvmConfiguration evmConfiguration =
+        new EvmConfiguration(
+            32_000L,
+            EvmConfiguration.WorldUpdaterMode.STACKED,
+            Set.of(Address.ALTBN128_PAIRING),
+            EvmConfiguration.DEFAULT_PRECOMPILE_CACHE_WEIGHT_KB);
+    final String json =
+        "{\"config\": {\"berlinBlock\": 0, \"londonBlock\": 10, \"chainId\":1234}}";
+    final ProtocolSchedule schedule = createSchedule(json, evmConfiguration);
+    final PrecompiledContract berlin =
+        schedule
+            .getByBlockHeader(blockHeader(1L))
+            .getPrecompileContractRegistry()
+            .get(Address.ALTBN128_PAIRING);
+    final PrecompiledContract london =
+        schedule
+            .getByBlockHeader(blockHeader(10L))
+            .getPrecompileContractRegistry()
+            .get(Address.ALTBN128_PAIRING);
+
+    Assertions.assertThat(berlin).isInstanceOf(CachingPrecompiledContract.class);
+    Assertions.assertThat(london)
+        .isInstanceOf(CachingPrecompiledContract.class)
+        .isNotSameAs(berlin);
+    // the london precompile is given the result computed by the berlin one
+    final PrecompiledContract.PrecompileContractResult result =
+        berlin.computePrecompile(Bytes.EMPTY, mock(MessageFrame.class));
+    Assertions.assertThat(london.computePrecompile(Bytes.EMPTY, mock(MessageFrame.class)))
+        .isSameAs(result);
+  }
+
+  private ProtocolSchedule createSchedule(
+      final String json, final EvmConfiguration evmConfiguration) {
+    return MainnetProtocolSchedule.fromConfig(
+        GenesisConfig.fromConfig(json).getConfigOptions(),
+        evmConfiguration,
+        MiningConfiguration.MINING_DISABLED,
+        new BadBlockManager(),
+        false,
+        new NoOpMetricsSystem());
+  }
+
   private BlockHeader blockHeader(final long number) {
     return new BlockHeaderTestFixture().number(number).buildHeader();
   }
@@ -0,0 +1,136 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.VariablesKeyValueStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AncientBlockFreezerTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final BlockchainStorage keyValueStorage =
+      new KeyValueStoragePrefixedKeyBlockchainStorage(
+          new InMemoryKeyValueStorage(),
+          new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+          new MainnetBlockHeaderFunctions(),
+          false);
+  private final Map<Block, List<TransactionReceipt>> receipts = new HashMap<>();
+
+  @TempDir private Path directory;
+  private AncientBlockStore ancientBlockStore;
+  private AncientBlockchainStorage ancientBlockchainStorage;
+  private MutableBlockchain blockchain;
+
+  @BeforeEach
+  void setup() {
+    ancientBlockStore = new AncientBlockStore(directory);
+    ancientBlockchainStorage =
+        new AncientBlockchainStorage(
+            keyValueStorage, ancientBlockStore, new MainnetBlockHeaderFunctions(), false);
+    final Block genesisBlock = gen.genesisBlock();
+    blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, ancientBlockchainStorage, new NoOpMetricsSystem(), 0);
+    blockchain.observeBlockAdded(
+        new AncientBlockFreezer(
+            blockchain, ancientBlockchainStorage, 5, MoreExecutors.newDirectExecutorService()));
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    ancientBlockStore.close();
+  }
+
+  @Test
+  void oldBlocksAreMovedToTheAncientBlockStore() {
+    final List<Block> blocks = gen.blockSequence(blockchain.getGenesisBlock(), 20);
+    blocks.forEach(this::appendBlock);
+
+    assertThat(ancientBlockStore.getFirstBlockNumber()).isEqualTo(1);
+    assertThat(ancientBlockStore.getNextBlockNumber()).contains(16L);
+    for (final Block block : blocks) {
+      final boolean frozen = block.getHeader().getNumber() <= 15;
+      assertThat(keyValueStorage.getBlockBody(block.getHash()).isEmpty()).isEqualTo(frozen);
+      assertThat(keyValueStorage.getTransactionReceipts(block.getHash()).isEmpty())
+          .isEqualTo(frozen);
+      assertThat(blockchain.getBlockBody(block.getHash())).contains(block.getBody());
+      assertThat(blockchain.getTxReceipts(block.getHash())).contains(receipts.get(block));
+    }
+    assertThat(keyValueStorage.getBlockBody(blockchain.getGenesisBlock().getHash())).isPresent();
+  }
+
+  @Test
+  void freezingStopsAtTheFinalizedBlock() {
+    final List<Block> blocks = gen.blockSequence(blockchain.getGenesisBlock(), 20);
+    blocks.subList(0, 3).forEach(this::appendBlock);
+    blockchain.setFinalized(blocks.get(2).getHash());
+    blocks.subList(3, 20).forEach(this::appendBlock);
+
+    assertThat(ancientBlockStore.getNextBlockNumber()).contains(4L);
+    assertThat(keyValueStorage.getBlockBody(blocks.get(3).getHash())).isPresent();
+  }
+
+  @Test
+  void leftoverFrozenBlocksAreRemovedFromTheKeyValueStorage() {
+    final List<Block> blocks = gen.blockSequence(blockchain.getGenesisBlock(), 3);
+    blocks.forEach(this::appendBlock);
+    // the node stopped after appending the first two blocks to the ancient block store
+    for (final Block block : blocks.subList(0, 2)) {
+      ancientBlockchainStorage.freezeBlock(
+          block.getHeader().getNumber(), block.getBody(), receipts.get(block));
+    }
+
+    new AncientBlockFreezer(
+            blockchain, ancientBlockchainStorage, 5, MoreExecutors.newDirectExecutorService())
+        .removeLeftoverFrozenBlocks();
+
+    for (final Block block : blocks) {
+      final boolean frozen = block.getHeader().getNumber() <= 2;
+      assertThat(keyValueStorage.getBlockBody(block.getHash()).isEmpty()).isEqualTo(frozen);
+      assertThat(keyValueStorage.getTransactionReceipts(block.getHash()).isEmpty())
+          .isEqualTo(frozen);
+      assertThat(blockchain.getBlockBody(block.getHash())).contains(block.getBody());
+    }
+  }
+
+  private void appendBlock(final Block block) {
+    final List<TransactionReceipt> blockReceipts = gen.receipts(block);
+    receipts.put(block, blockReceipts);
+    blockchain.appendBlock(block, blockReceipts);
+  }
+}
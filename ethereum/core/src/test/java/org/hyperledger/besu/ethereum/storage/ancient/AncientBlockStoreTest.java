@@ -0,0 +1,124 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AncientBlockStoreTest {
+
+  @TempDir private Path directory;
+
+  @Test
+  void appendedBlocksCanBeRead() throws IOException {
+    try (final AncientBlockStore store = new AncientBlockStore(directory)) {
+      assertThat(store.isEmpty()).isTrue();
+      assertThat(store.getNextBlockNumber()).isEmpty();
+
+      store.append(10, body(10), receipts(10));
+      store.append(11, body(11), receipts(11));
+
+      assertThat(store.getFirstBlockNumber()).isEqualTo(10);
+      assertThat(store.getNextBlockNumber()).contains(12L);
+      assertThat(store.contains(9)).isFalse();
+      assertThat(store.contains(11)).isTrue();
+      assertThat(store.getBody(11)).contains(body(11));
+      assertThat(store.getReceipts(10)).contains(receipts(10));
+      assertThat(store.getBody(12)).isEmpty();
+    }
+  }
+
+  @Test
+  void blocksMustBeAppendedInOrder() throws IOException {
+    try (final AncientBlockStore store = new AncientBlockStore(directory)) {
+      store.append(1, body(1), receipts(1));
+
+      assertThatThrownBy(() -> store.append(3, body(3), receipts(3)))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThat(store.getNextBlockNumber()).contains(2L);
+    }
+  }
+
+  @Test
+  void flushedBlocksSurviveReopening() throws IOException {
+    try (final AncientBlockStore store = new AncientBlockStore(directory, 64)) {
+      for (long blockNumber = 1; blockNumber <= 20; blockNumber++) {
+        store.append(blockNumber, body(blockNumber), receipts(blockNumber));
+      }
+      store.flush();
+    }
+
+    try (final AncientBlockStore store = new AncientBlockStore(directory, 64)) {
+      assertThat(store.getFirstBlockNumber()).isEqualTo(1);
+      assertThat(store.getNextBlockNumber()).contains(21L);
+      for (long blockNumber = 1; blockNumber <= 20; blockNumber++) {
+        assertThat(store.getBody(blockNumber)).contains(body(blockNumber));
+        assertThat(store.getReceipts(blockNumber)).contains(receipts(blockNumber));
+      }
+      store.append(21, body(21), receipts(21));
+      assertThat(store.getBody(21)).contains(body(21));
+    }
+  }
+
+  @Test
+  void dataFilesAreSealedOnceFull() throws IOException {
+    try (final AncientBlockStore store = new AncientBlockStore(directory, 64)) {
+      for (long blockNumber = 1; blockNumber <= 20; blockNumber++) {
+        store.append(blockNumber, body(blockNumber), receipts(blockNumber));
+      }
+      assertThat(Files.exists(directory.resolve("ancient-00001.dat"))).isTrue();
+      assertThat(store.getBody(1)).contains(body(1));
+      assertThat(store.getBody(20)).contains(body(20));
+    }
+  }
+
+  @Test
+  void blockWithMissingDataIsDroppedOnReopening() throws IOException {
+    try (final AncientBlockStore store = new AncientBlockStore(directory)) {
+      store.append(1, body(1), receipts(1));
+      store.append(2, body(2), receipts(2));
+      store.flush();
+    }
+    final Path dataFile = directory.resolve("ancient-00000.dat");
+    try (final FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 1);
+    }
+
+    try (final AncientBlockStore store = new AncientBlockStore(directory)) {
+      assertThat(store.getNextBlockNumber()).contains(2L);
+      assertThat(store.getBody(1)).contains(body(1));
+      store.append(2, body(2), receipts(2));
+      assertThat(store.getReceipts(2)).contains(receipts(2));
+    }
+  }
+
+  private static Bytes body(final long blockNumber) {
+    return Bytes.repeat((byte) blockNumber, 32);
+  }
+
+  private static Bytes receipts(final long blockNumber) {
+    return Bytes.concatenate(Bytes.ofUnsignedLong(blockNumber), Bytes.repeat((byte) 0xff, 16));
+  }
+}
@@ -22,6 +22,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -33,6 +35,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.BlobsWithCommitments;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StateOverride;
+import org.hyperledger.besu.datatypes.StateOverrideMap;
 import org.hyperledger.besu.datatypes.TransactionType;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.datatypes.parameters.UnsignedLongParameter;
@@ -56,6 +59,7 @@ import org.hyperledger.besu.ethereum.mainnet.blockhash.BlockHashProcessor;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult.Status;
+import org.hyperledger.besu.ethereum.transaction.TransactionSimulator.BatchExecution;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
@@ -63,8 +67,10 @@ import org.hyperledger.besu.evm.gascalculator.FrontierGasCalculator;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -803,6 +809,203 @@ public class TransactionSimulatorTest {
     verifyTransactionWasProcessed(expectedTransaction);
   }
 
+  @Test
+  public void shouldShareOneWorldStateAcrossSimulationsInChildUpdaters() {
+    final CallParameter callParameter = legacyTransactionCallParameterBuilder().build();
+
+    final BlockHeader blockHeader = mockBlockHeader(Hash.ZERO, 1L, Wei.ONE);
+    mockBlockchainForBlockHeader(blockHeader);
+    mockWorldStateForAccount(blockHeader, callParameter.getFrom(), 1L);
+    final WorldUpdater sharedUpdater = worldState.updater();
+    final WorldUpdater childUpdater = mock(WorldUpdater.class);
+    final Account account = sharedUpdater.get(callParameter.getFrom());
+    when(childUpdater.get(callParameter.getFrom())).thenReturn(account);
+    when(sharedUpdater.updater()).thenReturn(childUpdater);
+
+    final Transaction expectedTransaction =
+        Transaction.builder()
+            .type(TransactionType.FRONTIER)
+            .nonce(1L)
+            .gasPrice(callParameter.getGasPrice())
+            .gasLimit(blockHeader.getGasLimit())
+            .to(callParameter.getTo())
+            .sender(callParameter.getFrom())
+            .value(callParameter.getValue())
+            .payload(callParameter.getPayload())
+            .signature(FAKE_SIGNATURE)
+            .build();
+    mockProcessorStatusForTransaction(expectedTransaction, Status.SUCCESSFUL);
+
+    final Optional<Integer> successfulSimulations =
+        transactionSimulator.processWithSharedWorldState(
+            blockHeader,
+            simulator ->
+                Optional.of(
+                    (int)
+                        IntStream.range(0, 3)
+                            .mapToObj(
+                                i ->
+                                    simulator.simulate(
+                                        callParameter,
+                                        Optional.empty(),
+                                        TransactionValidationParams.transactionSimulator(),
+                                        NO_TRACING))
+                            .filter(result -> result.get().isSuccessful())
+                            .count()));
+
+    assertThat(successfulSimulations).contains(3);
+    verify(worldStateArchive, times(1))
+        .getWorldState(withBlockHeaderAndNoUpdateNodeHead(blockHeader));
+    verify(sharedUpdater, times(3)).updater();
+    verify(transactionProcessor, times(3))
+        .processTransaction(
+            eq(childUpdater),
+            any(),
+            eq(expectedTransaction),
+            any(),
+            any(),
+            anyBoolean(),
+            any(),
+            any(),
+            any(Wei.class));
+    verify(sharedUpdater, never()).commit();
+  }
+
+  @Test
+  public void shouldApplyOverridesOnceAndCommitEachCallOfSequentialBatch() {
+    final CallParameter callParameter = legacyTransactionCallParameterBuilder().build();
+    final BlockHeader blockHeader = mockBlockHeader(Hash.ZERO, 1L, Wei.ONE);
+    final WorldUpdater childUpdater = mockBatchWorldState(blockHeader, callParameter);
+    final WorldUpdater batchUpdater = worldState.updater();
+    final Address overriddenAddress = Address.fromHexString("0x2");
+    final MutableAccount overriddenAccount = mock(MutableAccount.class);
+    when(batchUpdater.getOrCreate(overriddenAddress)).thenReturn(overriddenAccount);
+    final StateOverrideMap stateOverrides = new StateOverrideMap();
+    stateOverrides.put(
+        overriddenAddress, new StateOverride.Builder().withBalance(Wei.of(99)).build());
+
+    final Optional<List<Optional<TransactionSimulatorResult>>> results =
+        transactionSimulator.processBatch(
+            List.of(callParameter, callParameter, callParameter),
+            Optional.of(stateOverrides),
+            call -> TransactionValidationParams.transactionSimulator(),
+            BatchExecution.SEQUENTIAL,
+            NO_TRACING,
+            blockHeader);
+
+    assertThat(results).isPresent();
+    assertThat(results.get()).hasSize(3).allMatch(result -> result.get().isSuccessful());
+    verify(worldStateArchive, times(1))
+        .getWorldState(withBlockHeaderAndNoUpdateNodeHead(blockHeader));
+    verify(batchUpdater, times(1)).getOrCreate(overriddenAddress);
+    verify(overriddenAccount, times(1)).setBalance(Wei.of(99));
+    verify(batchUpdater, times(3)).updater();
+    verify(childUpdater, times(3)).commit();
+    verify(batchUpdater, never()).commit();
+  }
+
+  @Test
+  public void shouldNotCommitCallsOfIndependentBatch() {
+    final CallParameter callParameter = legacyTransactionCallParameterBuilder().build();
+    final BlockHeader blockHeader = mockBlockHeader(Hash.ZERO, 1L, Wei.ONE);
+    final WorldUpdater childUpdater = mockBatchWorldState(blockHeader, callParameter);
+
+    final Optional<List<Optional<TransactionSimulatorResult>>> results =
+        transactionSimulator.processBatch(
+            List.of(callParameter, callParameter),
+            Optional.empty(),
+            call -> TransactionValidationParams.transactionSimulator(),
+            BatchExecution.INDEPENDENT,
+            NO_TRACING,
+            blockHeader);
+
+    assertThat(results).isPresent();
+    assertThat(results.get()).hasSize(2).allMatch(result -> result.get().isSuccessful());
+    verify(worldState.updater(), times(2)).updater();
+    verify(childUpdater, never()).commit();
+  }
+
+  @Test
+  public void shouldCapGasOfBatchAsAWhole() {
+    final CallParameter callParameter =
+        eip1559TransactionCallParameterBuilder().withGas(GAS_CAP).build();
+    final BlockHeader blockHeader = mockBlockHeader(Hash.ZERO, 1L, Wei.ONE);
+    mockBlockchainForBlockHeader(blockHeader);
+    mockWorldStateForAccount(blockHeader, callParameter.getFrom(), 1L);
+    final WorldUpdater batchUpdater = worldState.updater();
+    final WorldUpdater childUpdater = mock(WorldUpdater.class);
+    final Account account = batchUpdater.get(callParameter.getFrom());
+    when(childUpdater.get(callParameter.getFrom())).thenReturn(account);
+    when(batchUpdater.updater()).thenReturn(childUpdater);
+
+    final Transaction firstTransaction = eip1559Transaction(callParameter, GAS_CAP);
+    final Transaction secondTransaction = eip1559Transaction(callParameter, GAS_CAP / 4);
+    final TransactionProcessingResult firstResult =
+        mockProcessorStatusForTransaction(firstTransaction, Status.SUCCESSFUL);
+    // the first call uses three quarters of the gas cap, leaving a quarter to the second one
+    when(firstResult.getGasRemaining()).thenReturn(GAS_CAP / 4);
+    mockProcessorStatusForTransaction(secondTransaction, Status.SUCCESSFUL);
+
+    final Optional<List<Optional<TransactionSimulatorResult>>> results =
+        cappedTransactionSimulator.processBatch(
+            List.of(callParameter, callParameter),
+            Optional.empty(),
+            call -> TransactionValidationParams.transactionSimulator(),
+            BatchExecution.SEQUENTIAL,
+            NO_TRACING,
+            blockHeader);
+
+    assertThat(results).isPresent();
+    assertThat(results.get()).hasSize(2).allMatch(result -> result.get().isSuccessful());
+    verifyTransactionWasProcessed(firstTransaction);
+    verifyTransactionWasProcessed(secondTransaction);
+  }
+
+  private Transaction eip1559Transaction(final CallParameter callParameter, final long gasLimit) {
+    return Transaction.builder()
+        .type(TransactionType.EIP1559)
+        .chainId(BigInteger.ONE)
+        .nonce(1L)
+        .gasLimit(gasLimit)
+        .maxFeePerGas(callParameter.getMaxFeePerGas().orElseThrow())
+        .maxPriorityFeePerGas(callParameter.getMaxPriorityFeePerGas().orElseThrow())
+        .to(callParameter.getTo())
+        .sender(callParameter.getFrom())
+        .value(callParameter.getValue())
+        .payload(callParameter.getPayload())
+        .signature(FAKE_SIGNATURE)
+        .build();
+  }
+
+  private WorldUpdater mockBatchWorldState(
+      final BlockHeader blockHeader, final CallParameter callParameter) {
+    mockBlockchainForBlockHeader(blockHeader);
+    mockWorldStateForAccount(blockHeader, callParameter.getFrom(), 1L);
+    final WorldUpdater batchUpdater = worldState.updater();
+    final WorldUpdater childUpdater = mock(WorldUpdater.class);
+    final Account account = batchUpdater.get(callParameter.getFrom());
+    when(childUpdater.get(callParameter.getFrom())).thenReturn(account);
+    when(batchUpdater.updater()).thenReturn(childUpdater);
+
+    final Transaction expectedTransaction =
+        Transaction.builder()
+            .type(TransactionType.FRONTIER)
+            .nonce(1L)
+            .gasPrice(callParameter.getGasPrice())
+            .gasLimit(blockHeader.getGasLimit())
+            .to(callParameter.getTo())
+            .sender(callParameter.getFrom())
+            .value(callParameter.getValue())
+            .payload(callParameter.getPayload())
+            .signature(FAKE_SIGNATURE)
+            .build();
+    final TransactionProcessingResult result =
+        mockProcessorStatusForTransaction(expectedTransaction, Status.SUCCESSFUL);
+    // the calls use no gas, so that every call of the batch gets the full block gas limit
+    when(result.getGasRemaining()).thenReturn(expectedTransaction.getGasLimit());
+    return childUpdater;
+  }
+
   private void mockBlockchainAndWorldState(final CallParameter callParameter) {
     final BlockHeader blockHeader = mockBlockHeader(Hash.ZERO, 1L, Wei.ONE);
     mockBlockchainForBlockHeader(blockHeader);
@@ -880,7 +1083,7 @@ public class TransactionSimulatorTest {
     when(protocolSpec.getDifficultyCalculator()).thenReturn((time, parent) -> BigInteger.TEN);
   }
 
-  private void mockProcessorStatusForTransaction(
+  private TransactionProcessingResult mockProcessorStatusForTransaction(
       final Transaction transaction, final Status status) {
     mockProtocolSpecForProcessWithWorldUpdater();
     final TransactionProcessingResult result = mock(TransactionProcessingResult.class);
@@ -905,6 +1108,7 @@ public class TransactionSimulatorTest {
             any(),
             any(Wei.class)))
         .thenReturn(result);
+    return result;
   }
 
   private void verifyTransactionWasProcessed(final Transaction expectedTransaction) {
@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
@@ -265,6 +266,66 @@ class LogRollingTests {
     assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
   }
 
+  @Test
+  void rollForwardSquashedLayers() {
+    final BonsaiWorldState worldState =
+        new BonsaiWorldState(
+            archive,
+            new BonsaiWorldStateKeyValueStorage(
+                provider, new NoOpMetricsSystem(), DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie());
+
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount mutableAccount = updater.createAccount(addressOne, 1, Wei.of(1L));
+    mutableAccount.setCode(Bytes.of(0, 1, 2));
+    mutableAccount.setStorageValue(UInt256.ONE, UInt256.ONE);
+    updater.commit();
+
+    worldState.persist(headerOne);
+
+    final WorldUpdater updater2 = worldState.updater();
+    final MutableAccount mutableAccount2 = updater2.getAccount(addressOne);
+    mutableAccount2.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+    updater2.commit();
+
+    worldState.persist(headerTwo);
+
+    final BonsaiWorldState secondWorldState =
+        new BonsaiWorldState(
+            secondArchive,
+            new BonsaiWorldStateKeyValueStorage(
+                secondProvider,
+                new NoOpMetricsSystem(),
+                DataStorageConfiguration.DEFAULT_BONSAI_CONFIG),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie());
+    final BonsaiWorldStateUpdateAccumulator secondUpdater =
+        (BonsaiWorldStateUpdateAccumulator) secondWorldState.updater();
+
+    final TrieLogLayer squashedLayer =
+        new TrieLogLayer()
+            .squashRollForward(getTrieLogLayer(trieLogStorage, headerOne.getHash()))
+            .squashRollForward(getTrieLogLayer(trieLogStorage, headerTwo.getHash()));
+    assertThat(
+            squashedLayer.getStorageByStorageSlotKey(addressOne, new StorageSlotKey(UInt256.ONE)))
+        .contains(UInt256.valueOf(2));
+    secondUpdater.rollForward(squashedLayer);
+    secondUpdater.commit();
+    secondWorldState.persist(null);
+
+    assertKeyValueStorageEqual(accountStorage, secondAccountStorage);
+    assertKeyValueStorageEqual(codeStorage, secondCodeStorage);
+    assertKeyValueStorageEqual(storageStorage, secondStorageStorage);
+    final KeyValueStorageTransaction tx = trieBranchStorage.startTransaction();
+    tx.remove(BonsaiWorldStateKeyValueStorage.WORLD_BLOCK_HASH_KEY);
+    tx.commit();
+    assertKeyValueStorageEqual(trieBranchStorage, secondTrieBranchStorage);
+    // trie logs won't be the same, we shouldn't generate logs on rolls.
+    assertKeyValueSubset(trieLogStorage, secondTrieLogStorage);
+    assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
+  }
+
   @Test
   void rollBackOnce() {
     final BonsaiWorldState worldState =
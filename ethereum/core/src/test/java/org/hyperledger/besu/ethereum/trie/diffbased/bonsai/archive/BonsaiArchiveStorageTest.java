@@ -0,0 +1,217 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.trie.common.PmtStateTrieAccountValue;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BonsaiArchiveStorageTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x56");
+  private static final StorageSlotKey SLOT = new StorageSlotKey(UInt256.ONE);
+
+  private final InMemoryKeyValueStorageProvider storageProvider =
+      new InMemoryKeyValueStorageProvider();
+  private BonsaiWorldStateKeyValueStorage worldStateStorage;
+  private BonsaiArchiveStorage archiveStorage;
+
+  @BeforeEach
+  void setup() {
+    worldStateStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            storageProvider,
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    archiveStorage =
+        new BonsaiArchiveStorage(
+            storageProvider.getStorageBySegmentIdentifiers(
+                List.of(
+                    KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE_ARCHIVE,
+                    KeyValueSegmentIdentifier.ACCOUNT_STORAGE_ARCHIVE)),
+            worldStateStorage);
+  }
+
+  @Test
+  void readsTheVersionOfEachArchivedBlock() {
+    final BlockHeader block10 = header(10, Hash.ZERO);
+    final BlockHeader block11 = header(11, block10.getHash());
+    archiveStorage.archiveBlock(
+        block10,
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(1), account(2))
+            .addStorageChange(ADDRESS, SLOT, UInt256.valueOf(1), UInt256.valueOf(2)));
+    archiveStorage.archiveBlock(
+        block11,
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(2), account(3))
+            .addStorageChange(ADDRESS, SLOT, UInt256.valueOf(2), null));
+
+    assertThat(archiveStorage.getArchiveStartBlock()).contains(10L);
+    assertThat(archiveStorage.getArchivedBlockNumber()).contains(11L);
+    assertThat(archiveStorage.getArchivedBlockHash()).contains(block11.getHash());
+    assertThat(archiveStorage.isArchived(9)).isFalse();
+    assertThat(archiveStorage.isArchived(10)).isTrue();
+    assertThat(archiveStorage.isArchived(12)).isFalse();
+
+    // the value before the first archived change is kept for the blocks before it
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 9)).contains(encoded(1));
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 10)).contains(encoded(2));
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 11)).contains(encoded(3));
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 1_000)).contains(encoded(3));
+
+    assertThat(storageValue(10)).contains(UInt256.valueOf(2));
+    assertThat(storageValue(11)).isEmpty();
+  }
+
+  @Test
+  void readsDeletedAccountAsEmpty() {
+    archiveStorage.archiveBlock(
+        header(10, Hash.ZERO), new TrieLogLayer().addAccountChange(ADDRESS, account(1), null));
+
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 9)).contains(encoded(1));
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 10)).isEmpty();
+  }
+
+  @Test
+  void fallsBackToFlatStateForKeysNeverArchived() {
+    final BonsaiWorldStateKeyValueStorage.Updater updater = worldStateStorage.updater();
+    updater.putAccountInfoState(ADDRESS.addressHash(), encoded(7));
+    updater.commit();
+    archiveStorage.archiveBlock(header(10, Hash.ZERO), new TrieLogLayer());
+
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 10)).contains(encoded(7));
+    assertThat(archiveStorage.getAccount(Address.ZERO.addressHash(), 10)).isEmpty();
+  }
+
+  @Test
+  void rollBackRemovesTheVersionsOfTheBlock() {
+    final BlockHeader block10 = header(10, Hash.ZERO);
+    final BlockHeader block11 = header(11, block10.getHash());
+    final TrieLogLayer trieLog11 =
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(2), account(3))
+            .addStorageChange(ADDRESS, SLOT, UInt256.valueOf(1), UInt256.valueOf(3));
+    archiveStorage.archiveBlock(
+        block10, new TrieLogLayer().addAccountChange(ADDRESS, account(1), account(2)));
+    archiveStorage.archiveBlock(block11, trieLog11);
+
+    archiveStorage.rollBackBlock(block11, trieLog11);
+
+    assertThat(archiveStorage.getArchivedBlockNumber()).contains(10L);
+    assertThat(archiveStorage.getArchivedBlockHash()).contains(block10.getHash());
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 11)).contains(encoded(2));
+    assertThat(storageValue(11)).contains(UInt256.valueOf(1));
+  }
+
+  @Test
+  void archiverRollsBackReorgedBlocksBeforeArchivingTheNewHead() {
+    final Blockchain blockchain = mock(Blockchain.class);
+    final TrieLogManager trieLogManager = mock(TrieLogManager.class);
+    final BonsaiArchiver archiver = new BonsaiArchiver(archiveStorage, blockchain, trieLogManager);
+
+    final BlockHeader block10 = header(10, Hash.ZERO);
+    final BlockHeader block11 = header(11, block10.getHash());
+    final BlockHeader forkBlock11 =
+        new BlockHeaderTestFixture()
+            .number(11)
+            .parentHash(block10.getHash())
+            .gasLimit(1)
+            .buildHeader();
+    mockBlock(blockchain, trieLogManager, block10, account(1), account(2));
+    mockBlock(blockchain, trieLogManager, block11, account(2), account(3));
+    mockBlock(blockchain, trieLogManager, forkBlock11, account(2), account(4));
+
+    archiver.onBlockAdded(headAdvanced(block10));
+    archiver.onBlockAdded(headAdvanced(block11));
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 11)).contains(encoded(3));
+
+    archiver.onBlockAdded(
+        BlockAddedEvent.createForChainReorg(
+            new Block(forkBlock11, BlockBody.empty()),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            Collections.emptyList(),
+            block10.getHash()));
+
+    assertThat(archiveStorage.getArchivedBlockHash()).contains(forkBlock11.getHash());
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 10)).contains(encoded(2));
+    assertThat(archiveStorage.getAccount(ADDRESS.addressHash(), 11)).contains(encoded(4));
+  }
+
+  private Optional<UInt256> storageValue(final long blockNumber) {
+    return archiveStorage
+        .getStorageValueByStorageSlotKey(ADDRESS.addressHash(), SLOT, blockNumber)
+        .map(UInt256::fromBytes);
+  }
+
+  private static void mockBlock(
+      final Blockchain blockchain,
+      final TrieLogManager trieLogManager,
+      final BlockHeader header,
+      final PmtStateTrieAccountValue prior,
+      final PmtStateTrieAccountValue updated) {
+    when(blockchain.getBlockHeader(header.getHash())).thenReturn(Optional.of(header));
+    when(trieLogManager.getTrieLogLayer(header.getHash()))
+        .thenReturn(Optional.of(new TrieLogLayer().addAccountChange(ADDRESS, prior, updated)));
+  }
+
+  private static BlockAddedEvent headAdvanced(final BlockHeader header) {
+    return BlockAddedEvent.createForHeadAdvancement(
+        new Block(header, BlockBody.empty()), Collections.emptyList(), Collections.emptyList());
+  }
+
+  private static BlockHeader header(final long number, final Hash parentHash) {
+    return new BlockHeaderTestFixture().number(number).parentHash(parentHash).buildHeader();
+  }
+
+  private static PmtStateTrieAccountValue account(final long nonce) {
+    return new PmtStateTrieAccountValue(nonce, Wei.ONE, Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+  }
+
+  private static Bytes encoded(final long nonce) {
+    return RLP.encode(account(nonce)::writeTo);
+  }
+}
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.ACCOUNT_INFO_STATE;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.TRIE_BRANCH_STORAGE;
 import static org.hyperledger.besu.ethereum.trie.diffbased.common.storage.DiffBasedWorldStateKeyValueStorage.WORLD_ROOT_HASH_KEY;
 import static org.hyperledger.besu.ethereum.worldstate.DiffBasedSubStorageConfiguration.DEFAULT_MAX_LAYERS_TO_LOAD;
@@ -46,6 +47,7 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
 
 import java.util.Arrays;
 import java.util.Collection;
@@ -460,6 +462,67 @@ public class BonsaiWorldStateKeyValueStorageTest {
     assertThat(storage.isWorldStateAvailable(Bytes32.wrap(nodeHashKey), Hash.EMPTY)).isTrue();
   }
 
+  @Test
+  void flatDbCacheServesTheReadsAndIsUpdatedOnCommit() {
+    final BonsaiWorldStateKeyValueStorage storage = cachedStorage();
+    final Hash accountHash = Hash.hash(Bytes.of(1));
+    final StorageSlotKey slotKey = new StorageSlotKey(UInt256.ONE);
+    storage
+        .updater()
+        .putAccountInfoState(accountHash, Bytes.of(1))
+        .putStorageValueBySlotHash(accountHash, slotKey.getSlotHash(), Bytes.of(1))
+        .commit();
+    assertThat(storage.getAccount(accountHash)).contains(Bytes.of(1));
+    assertThat(storage.getStorageValueByStorageSlotKey(accountHash, slotKey))
+        .contains(Bytes.of(1));
+
+    // a write bypassing the updaters is not seen once the values are cached
+    final SegmentedKeyValueStorageTransaction transaction =
+        storage.getComposedWorldStateStorage().startTransaction();
+    transaction.put(ACCOUNT_INFO_STATE, accountHash.toArrayUnsafe(), Bytes.of(2).toArrayUnsafe());
+    transaction.commit();
+    assertThat(storage.getAccount(accountHash)).contains(Bytes.of(1));
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater.putAccountInfoState(accountHash, Bytes.of(3));
+    updater.removeStorageValueBySlotHash(accountHash, slotKey.getSlotHash());
+    updater.commit();
+    assertThat(storage.getAccount(accountHash)).contains(Bytes.of(3));
+    assertThat(storage.getStorageValueByStorageSlotKey(accountHash, slotKey)).isEmpty();
+  }
+
+  @Test
+  void flatDbCacheIgnoresRolledBackChanges() {
+    final BonsaiWorldStateKeyValueStorage storage = cachedStorage();
+    final Hash accountHash = Hash.hash(Bytes.of(1));
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+
+    final BonsaiWorldStateKeyValueStorage.Updater updater = storage.updater();
+    updater.putAccountInfoState(accountHash, Bytes.of(1));
+    updater.rollback();
+
+    assertThat(storage.getAccount(accountHash)).isEmpty();
+  }
+
+  private BonsaiWorldStateKeyValueStorage cachedStorage() {
+    final BonsaiWorldStateKeyValueStorage storage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            ImmutableDataStorageConfiguration.builder()
+                .dataStorageFormat(DataStorageFormat.BONSAI)
+                .diffBasedSubStorageConfiguration(
+                    ImmutableDiffBasedSubStorageConfiguration.builder()
+                        .unstable(
+                            ImmutableDiffBasedSubStorageConfiguration.DiffBasedUnstable.builder()
+                                .flatDbCacheSize(1_000_000L)
+                                .build())
+                        .build())
+                .build());
+    storage.upgradeToFullFlatDbMode();
+    return storage;
+  }
+
   private BonsaiWorldStateKeyValueStorage emptyStorage() {
     return new BonsaiWorldStateKeyValueStorage(
         new InMemoryKeyValueStorageProvider(),
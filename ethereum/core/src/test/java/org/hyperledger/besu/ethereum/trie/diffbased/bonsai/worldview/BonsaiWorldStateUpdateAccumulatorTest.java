@@ -0,0 +1,100 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.bonsai.worldview;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.WorldStateConfig.createStatefulConfigWithTrie;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.NoOpBonsaiCachedWorldStorageManager;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.cache.NoopBonsaiCachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.DiffBasedValue;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.trielog.NoOpTrieLogManager;
+import org.hyperledger.besu.ethereum.trie.diffbased.common.worldview.accumulator.DiffBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BonsaiWorldStateUpdateAccumulatorTest {
+
+  private static final Address ACCOUNT = Address.fromHexString("0x56");
+
+  private BonsaiWorldState worldState;
+
+  @BeforeEach
+  void setup() {
+    final BonsaiWorldStateKeyValueStorage worldStateStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    worldState =
+        new BonsaiWorldState(
+            worldStateStorage,
+            new NoopBonsaiCachedMerkleTrieLoader(),
+            new NoOpBonsaiCachedWorldStorageManager(worldStateStorage),
+            new NoOpTrieLogManager(),
+            EvmConfiguration.DEFAULT,
+            createStatefulConfigWithTrie());
+    final MutableAccount account = worldState.updater().createAccount(ACCOUNT, 1, Wei.ONE);
+    account.setStorageValue(UInt256.ONE, UInt256.ONE);
+    worldState.getAccumulator().commit();
+    worldState.persist(null);
+  }
+
+  @Test
+  void forkReadsThroughItsParentWithoutChangingIt() {
+    final DiffBasedWorldStateUpdateAccumulator<?> parent = worldState.getAccumulator();
+    final DiffBasedWorldStateUpdateAccumulator<?> fork = parent.fork();
+
+    final MutableAccount account = fork.getAccount(ACCOUNT);
+    assertThat(account.getBalance()).isEqualTo(Wei.ONE);
+    assertThat(account.getStorageValue(UInt256.ONE)).isEqualTo(UInt256.ONE);
+    account.setBalance(Wei.of(2));
+    account.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+    fork.commit();
+
+    assertThat(fork.get(ACCOUNT).getBalance()).isEqualTo(Wei.of(2));
+    assertThat(fork.getStorageValue(ACCOUNT, UInt256.ONE)).isEqualTo(UInt256.valueOf(2));
+    assertThat(parent.get(ACCOUNT).getBalance()).isEqualTo(Wei.ONE);
+    assertThat(parent.getStorageValue(ACCOUNT, UInt256.ONE)).isEqualTo(UInt256.ONE);
+    assertThat(parent.fork().get(ACCOUNT).getBalance()).isEqualTo(Wei.ONE);
+  }
+
+  @Test
+  void forkTracksItsChangesFromTheValuesOfItsParent() {
+    final BonsaiWorldStateUpdateAccumulator parent =
+        (BonsaiWorldStateUpdateAccumulator) worldState.getAccumulator();
+    final DiffBasedWorldStateUpdateAccumulator<BonsaiAccount> fork = parent.fork();
+
+    fork.getAccount(ACCOUNT).incrementBalance(Wei.ONE);
+    fork.commit();
+
+    final DiffBasedValue<BonsaiAccount> accountChange = fork.getAccountsToUpdate().get(ACCOUNT);
+    assertThat(accountChange.getPrior().getBalance()).isEqualTo(Wei.ONE);
+    assertThat(accountChange.getUpdated().getBalance()).isEqualTo(Wei.of(2));
+    // the read made by the fork is cached by its parent for the other forks
+    assertThat(parent.getAccountsToUpdate()).containsKey(ACCOUNT);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.diffbased.common.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+public class DiffBasedWorldStateViewPoolTest {
+
+  private final DiffBasedWorldStateViewPool pool = new DiffBasedWorldStateViewPool(2);
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @Test
+  public void shouldShareOneViewAcrossQueriesOfTheSameState() throws Exception {
+    final BlockHeader header = header(1);
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+
+    final Optional<MutableWorldState> first = pool.mapView(header, loader(worldState), viewOf());
+    final Optional<MutableWorldState> second = pool.mapView(header, loader(worldState), viewOf());
+
+    assertThat(first).containsSame(worldState);
+    assertThat(second).containsSame(worldState);
+    assertThat(loads).hasValue(1);
+    assertThat(pool.size()).isEqualTo(1);
+    verify(worldState, never()).close();
+  }
+
+  @Test
+  public void shouldCloseInvalidatedViewOnceTheLastQueryCompletes() throws Exception {
+    final BlockHeader header = header(1);
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+
+    pool.mapView(
+        header,
+        loader(worldState),
+        view -> {
+          pool.invalidateAll();
+          assertThat(pool.size()).isZero();
+          return Optional.of(view);
+        });
+    verify(worldState, times(1)).close();
+
+    final MutableWorldState reloaded = mock(MutableWorldState.class);
+    assertThat(pool.mapView(header, loader(reloaded), viewOf())).containsSame(reloaded);
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  public void shouldNotPoolViewsBeyondCapacity() throws Exception {
+    final MutableWorldState first = mock(MutableWorldState.class);
+    final MutableWorldState second = mock(MutableWorldState.class);
+    final MutableWorldState unpooled = mock(MutableWorldState.class);
+
+    pool.mapView(header(1), loader(first), viewOf());
+    pool.mapView(header(2), loader(second), viewOf());
+    pool.mapView(header(3), loader(unpooled), viewOf());
+
+    assertThat(pool.size()).isEqualTo(2);
+    verify(first, never()).close();
+    verify(second, never()).close();
+    verify(unpooled, times(1)).close();
+  }
+
+  @Test
+  public void shouldReturnEmptyWhenWorldStateIsNotAvailable() {
+    assertThat(pool.mapView(header(1), header -> Optional.empty(), viewOf())).isEmpty();
+    assertThat(pool.size()).isZero();
+  }
+
+  private Function<BlockHeader, Optional<MutableWorldState>> loader(
+      final MutableWorldState worldState) {
+    return header -> {
+      loads.incrementAndGet();
+      return Optional.of(worldState);
+    };
+  }
+
+  private static Function<Object, Optional<MutableWorldState>> viewOf() {
+    return view -> Optional.of((MutableWorldState) view);
+  }
+
+  private static BlockHeader header(final long number) {
+    return new BlockHeaderTestFixture()
+        .number(number)
+        .stateRoot(Hash.wrap(Bytes32.leftPad(Bytes.ofUnsignedLong(number))))
+        .buildHeader();
+  }
+}
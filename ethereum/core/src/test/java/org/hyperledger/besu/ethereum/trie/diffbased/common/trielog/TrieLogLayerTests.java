@@ -132,4 +132,41 @@ public class TrieLogLayerTests {
     Assertions.assertThat(updatedStorageValue).isPresent();
     Assertions.assertThat(updatedStorageValue.get()).isEqualTo(newValue);
   }
+
+  @Test
+  public void testSquashKeepsFirstPriorAndLastUpdatedValues() {
+    Address address = Address.fromHexString("0x00");
+    StorageSlotKey storageSlotKey = new StorageSlotKey(UInt256.ONE);
+    PmtStateTrieAccountValue firstValue =
+        new PmtStateTrieAccountValue(0, Wei.ZERO, Hash.EMPTY, Hash.EMPTY);
+    PmtStateTrieAccountValue secondValue =
+        new PmtStateTrieAccountValue(1, Wei.fromEth(1), Hash.EMPTY, Hash.EMPTY);
+    PmtStateTrieAccountValue thirdValue =
+        new PmtStateTrieAccountValue(2, Wei.fromEth(2), Hash.EMPTY, Hash.EMPTY);
+
+    trieLogLayer
+        .addAccountChange(address, firstValue, secondValue)
+        .addStorageChange(address, storageSlotKey, null, UInt256.ONE);
+    otherTrieLogLayer
+        .addAccountChange(address, secondValue, thirdValue)
+        .addStorageChange(address, storageSlotKey, UInt256.ONE, UInt256.valueOf(2));
+
+    TrieLogLayer squashedForward =
+        new TrieLogLayer().squashRollForward(trieLogLayer).squashRollForward(otherTrieLogLayer);
+    Assertions.assertThat(squashedForward.getPriorAccount(address)).contains(firstValue);
+    Assertions.assertThat(squashedForward.getAccount(address)).contains(thirdValue);
+    Assertions.assertThat(squashedForward.getPriorStorageByStorageSlotKey(address, storageSlotKey))
+        .isEmpty();
+    Assertions.assertThat(squashedForward.getStorageByStorageSlotKey(address, storageSlotKey))
+        .contains(UInt256.valueOf(2));
+
+    TrieLogLayer squashedBack =
+        new TrieLogLayer().squashRollBack(otherTrieLogLayer).squashRollBack(trieLogLayer);
+    Assertions.assertThat(squashedBack.getPriorAccount(address)).contains(thirdValue);
+    Assertions.assertThat(squashedBack.getAccount(address)).contains(firstValue);
+    Assertions.assertThat(squashedBack.getPriorStorageByStorageSlotKey(address, storageSlotKey))
+        .contains(UInt256.valueOf(2));
+    Assertions.assertThat(squashedBack.getStorageByStorageSlotKey(address, storageSlotKey))
+        .isEmpty();
+  }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.trie.diffbased.common.trielog;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -28,19 +29,21 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.trie.diffbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
-import org.mockito.internal.stubbing.answers.AnswersWithDelay;
 
 public class TrieLogPrunerTest {
 
@@ -58,73 +61,86 @@ public class TrieLogPrunerTest {
   }
 
   @Test
-  public void initialize_preloads_queue_and_prunes_orphaned_blocks() {
+  public void initialize_prunes_backlog_in_the_background() {
     // Given
-    int loadingLimit = 2;
-    final BlockDataGenerator generator = new BlockDataGenerator();
-    final BlockHeader header1 = generator.header(1);
-    final BlockHeader header2 = generator.header(2);
-    when(worldState.streamTrieLogKeys(loadingLimit))
-        .thenReturn(Stream.of(header1.getBlockHash().toArray(), header2.getBlockHash().toArray()));
-    when(blockchain.getBlockHeader(header1.getBlockHash())).thenReturn(Optional.of(header1));
-    when(blockchain.getBlockHeader(header2.getBlockHash())).thenReturn(Optional.empty());
-
-    // When
+    final TriggerableConsumer triggerableConsumer = new TriggerableConsumer();
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(10L);
+    when(worldState.getTrieLogPruningCursor()).thenReturn(Optional.empty());
+    final List<Bytes> trieLogKeys = mockTrieLogs(1, 2, 3);
     TrieLogPruner trieLogPruner =
         new TrieLogPruner(
-            worldState, blockchain, executeAsync, 3, loadingLimit, false, new NoOpMetricsSystem());
+            worldState, blockchain, triggerableConsumer, 5, 3, false, new NoOpMetricsSystem());
+
+    // When
     trieLogPruner.initialize();
+    verify(worldState, never()).pruneTrieLogs(anyList());
+    triggerableConsumer.run();
 
     // Then
-    verify(worldState, times(1)).streamTrieLogKeys(2);
-    verify(worldState, times(1)).pruneTrieLog(header2.getBlockHash());
+    verify(worldState, times(1)).pruneTrieLogs(hashes(sorted(trieLogKeys)));
+    verify(worldState, times(1)).setTrieLogPruningCursor(Bytes.EMPTY);
   }
 
   @Test
-  public void preloadQueueWithTimeout_handles_timeout_during_streamTrieLogKeys() {
+  public void pruneBacklog_sweeps_from_cursor_pruning_orphans_and_forks_and_queuing_retained() {
     // Given
-    final int timeoutInSeconds = 1;
-    final long timeoutInMillis = timeoutInSeconds * 1000;
-    final int loadingLimit = 2;
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(10L);
+    final List<Bytes> trieLogKeys = mockTrieLogs(2, 4, 7, 9);
+    final List<Bytes> retainedKeys = trieLogKeys.subList(2, 4);
+    final Bytes orphanKey = key(100);
+    final Bytes forkKey = key(101);
+    final List<Bytes> allKeys = sorted(trieLogKeys, orphanKey, forkKey);
+    final BlockHeader forkHeader = new BlockDataGenerator().header(3);
+    when(blockchain.getBlockHeader(Hash.wrap(Bytes32.wrap(forkKey))))
+        .thenReturn(Optional.of(forkHeader));
+    mockTrieLogKeys(allKeys);
+    when(worldState.getTrieLogPruningCursor()).thenReturn(Optional.of(allKeys.get(0)));
     TrieLogPruner trieLogPruner =
         new TrieLogPruner(
-            worldState, blockchain, executeAsync, 3, loadingLimit, false, new NoOpMetricsSystem());
-
-    // Simulate a long-running operation
-    when(worldState.streamTrieLogKeys(loadingLimit))
-        .thenAnswer(new AnswersWithDelay(timeoutInMillis * 2, invocation -> Stream.empty()));
+            worldState, blockchain, executeAsync, 5, 100, false, new NoOpMetricsSystem());
 
     // When
-    long startTime = System.currentTimeMillis();
-    trieLogPruner.preloadQueueWithTimeout(timeoutInSeconds);
-    long elapsedTime = System.currentTimeMillis() - startTime;
+    final int wasPruned = trieLogPruner.pruneBacklog();
 
     // Then
-    assertThat(elapsedTime).isLessThan(timeoutInMillis * 2);
+    assertThat(wasPruned).isEqualTo(4);
+    verify(worldState, times(1))
+        .pruneTrieLogs(hashes(allKeys.stream().filter(k -> !retainedKeys.contains(k)).toList()));
+    verify(worldState, times(1)).setTrieLogPruningCursor(Bytes.EMPTY);
+
+    // the retained trie logs are pruned from the queue once they leave the retention window
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(15L);
+    assertThat(trieLogPruner.pruneFromQueue()).isEqualTo(2);
+    assertThat(trieLogPruner.pruneBacklog()).isEqualTo(0);
   }
 
   @Test
-  public void preloadQueueWithTimeout_handles_timeout_during_getBlockHeader() {
+  public void pruneBacklog_sweeps_pruningLimit_trieLogs_at_a_time_and_wraps_around_once() {
     // Given
-    final int timeoutInSeconds = 1;
-    final long timeoutInMillis = timeoutInSeconds * 1000;
-    TrieLogPruner trieLogPruner = setupPrunerAndFinalizedBlock(3, 1);
-
-    // Simulate a long-running operation
-    when(blockchain.getBlockHeader(any(Hash.class)))
-        // delay on first invocation, then return empty
-        .thenAnswer(new AnswersWithDelay(timeoutInMillis * 2, invocation -> Optional.empty()))
-        .thenReturn(Optional.empty());
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(100L);
+    final List<Bytes> trieLogKeys = sorted(mockTrieLogs(1, 2, 3, 4, 5));
+    mockTrieLogKeys(trieLogKeys);
+    when(worldState.getTrieLogPruningCursor()).thenReturn(Optional.of(trieLogKeys.get(2)));
+    TrieLogPruner trieLogPruner =
+        new TrieLogPruner(
+            worldState, blockchain, executeAsync, 50, 2, false, new NoOpMetricsSystem());
 
     // When
-    long startTime = System.currentTimeMillis();
-    trieLogPruner.preloadQueueWithTimeout(timeoutInSeconds);
-    long elapsedTime = System.currentTimeMillis() - startTime;
+    final int firstPruned = trieLogPruner.pruneBacklog();
+    final int secondPruned = trieLogPruner.pruneBacklog();
+    final int thirdPruned = trieLogPruner.pruneBacklog();
+    final int fourthPruned = trieLogPruner.pruneBacklog();
 
     // Then
-    assertThat(elapsedTime).isLessThan(timeoutInMillis * 2);
-    verify(worldState, times(1)).pruneTrieLog(key(1));
-    verify(worldState, times(1)).pruneTrieLog(key(2));
+    assertThat(List.of(firstPruned, secondPruned, thirdPruned, fourthPruned))
+        .containsExactly(2, 1, 2, 0);
+    final InOrder inOrder = Mockito.inOrder(worldState);
+    inOrder.verify(worldState).pruneTrieLogs(hashes(trieLogKeys.subList(2, 4)));
+    inOrder.verify(worldState).setTrieLogPruningCursor(trieLogKeys.get(4));
+    inOrder.verify(worldState).pruneTrieLogs(hashes(trieLogKeys.subList(4, 5)));
+    inOrder.verify(worldState).setTrieLogPruningCursor(Bytes.EMPTY);
+    inOrder.verify(worldState).pruneTrieLogs(hashes(trieLogKeys.subList(0, 2)));
+    inOrder.verify(worldState).setTrieLogPruningCursor(Bytes.EMPTY);
   }
 
   @Test
@@ -317,6 +333,37 @@ public class TrieLogPrunerTest {
     verify(worldState, times(1)).pruneTrieLog(key(1));
   }
 
+  @Test
+  public void onTrieLogAdded_before_block_is_appended_is_not_pruned_as_orphan_by_the_sweep() {
+    // Given
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(10L);
+    final List<Bytes> backlogKeys = mockTrieLogs(1, 2);
+    final Bytes orphanKey = key(100);
+    final Hash importedBlockHash = key(11);
+    mockTrieLogKeys(sorted(backlogKeys, orphanKey, importedBlockHash));
+    when(worldState.getTrieLogPruningCursor()).thenReturn(Optional.empty());
+    final TrieLogPruner trieLogPruner =
+        new TrieLogPruner(
+            worldState, blockchain, executeAsync, 5, 100, false, new NoOpMetricsSystem());
+
+    // the trie log of block 11 is saved, but the block is not appended to the chain yet
+    final TrieLogLayer layer = new TrieLogLayer();
+    layer.setBlockNumber(11L);
+    layer.setBlockHash(importedBlockHash);
+
+    // When
+    trieLogPruner.onTrieLogAdded(new TrieLogAddedEvent(layer));
+
+    // Then
+    verify(worldState, times(1)).pruneTrieLogs(hashes(sorted(backlogKeys, orphanKey)));
+    verify(worldState, never()).pruneTrieLog(importedBlockHash);
+
+    // it is pruned from the queue once it leaves the retention window
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(16L);
+    assertThat(trieLogPruner.pruneFromQueue()).isEqualTo(1);
+    verify(worldState, times(1)).pruneTrieLog(importedBlockHash);
+  }
+
   @Test
   public void onTrieLogAdded_should_not_prune_when_no_blockNumber() {
     // Given
@@ -367,6 +414,42 @@ public class TrieLogPrunerTest {
     return trieLogPruner;
   }
 
+  /** Mocks canonical trie logs for the given blocks, returning their keys in block order. */
+  private List<Bytes> mockTrieLogs(final int... blockNumbers) {
+    final List<Bytes> trieLogKeys = new ArrayList<>();
+    for (final int blockNumber : blockNumbers) {
+      final BlockHeader header = new BlockDataGenerator().header(blockNumber);
+      when(blockchain.getBlockHeader(header.getBlockHash())).thenReturn(Optional.of(header));
+      trieLogKeys.add(header.getBlockHash());
+    }
+    mockTrieLogKeys(sorted(trieLogKeys));
+    return trieLogKeys;
+  }
+
+  private void mockTrieLogKeys(final List<Bytes> sortedKeys) {
+    when(worldState.streamTrieLogKeysFrom(any(Bytes.class)))
+        .thenAnswer(
+            invocation -> {
+              final Bytes startKey = invocation.getArgument(0);
+              return sortedKeys.stream()
+                  .filter(
+                      key ->
+                          Arrays.compareUnsigned(key.toArrayUnsafe(), startKey.toArrayUnsafe())
+                              >= 0);
+            });
+  }
+
+  private static List<Bytes> sorted(final List<Bytes> keys, final Bytes... moreKeys) {
+    final List<Bytes> sortedKeys = new ArrayList<>(keys);
+    sortedKeys.addAll(List.of(moreKeys));
+    sortedKeys.sort((a, b) -> Arrays.compareUnsigned(a.toArrayUnsafe(), b.toArrayUnsafe()));
+    return sortedKeys;
+  }
+
+  private static List<Hash> hashes(final List<Bytes> keys) {
+    return keys.stream().map(key -> Hash.wrap(Bytes32.wrap(key))).toList();
+  }
+
   private Hash key(final int k) {
     return Hash.hash(Bytes.of(k));
   }
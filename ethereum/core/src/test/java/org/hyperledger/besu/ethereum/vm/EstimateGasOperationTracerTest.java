@@ -16,11 +16,14 @@ package org.hyperledger.besu.ethereum.vm;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.datatypes.Transaction;
 import org.hyperledger.besu.ethereum.core.MessageFrameTestFixture;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.operation.CallCodeOperation;
+import org.hyperledger.besu.evm.operation.GasOperation;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
 import org.hyperledger.besu.evm.operation.SStoreOperation;
 import org.hyperledger.besu.evm.tracing.EstimateGasOperationTracer;
@@ -95,4 +98,37 @@ public class EstimateGasOperationTracerTest {
     operationTracer.tracePostExecution(secondFrame, testResult);
     assertThat(operationTracer.getStipendNeeded()).isEqualTo(minimumGasRemaining);
   }
+
+  @Test
+  public void shouldDeriveExactGasLimitFromSStoreStipendCheck() {
+    final Transaction transaction = mock(Transaction.class);
+    when(transaction.getGasLimit()).thenReturn(100_000L);
+    operationTracer.traceStartTransaction(null, transaction);
+
+    final MessageFrame frame = messageFrameTestFixture.initialGas(70_000L).build();
+    frame.setCurrentOperation(new SStoreOperation(mock(GasCalculator.class), 2300L));
+    operationTracer.tracePreExecution(frame);
+
+    // 30_000 gas consumed before the SSTORE, which needs more than 2_300 remaining
+    assertThat(operationTracer.getExactGasLimitNeeded(25_000L)).contains(32_301L);
+    assertThat(operationTracer.getExactGasLimitNeeded(40_000L)).contains(40_000L);
+  }
+
+  @Test
+  public void shouldNotDeriveExactGasLimitWhenExecutionDependsOnRemainingGas() {
+    final MessageFrame frame = messageFrameTestFixture.build();
+    frame.setCurrentOperation(new GasOperation(mock(GasCalculator.class)));
+    operationTracer.tracePreExecution(frame);
+
+    assertThat(operationTracer.getExactGasLimitNeeded(21_000L)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotDeriveExactGasLimitWhenExecutionMakesSubCalls() {
+    final MessageFrame firstFrame = messageFrameTestFixture.build();
+    firstFrame.setCurrentOperation(mock(CallCodeOperation.class));
+    operationTracer.tracePreExecution(firstFrame);
+
+    assertThat(operationTracer.getExactGasLimitNeeded(21_000L)).isEmpty();
+  }
 }
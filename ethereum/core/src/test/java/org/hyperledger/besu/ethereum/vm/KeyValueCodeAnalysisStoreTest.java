@@ -0,0 +1,79 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class KeyValueCodeAnalysisStoreTest {
+
+  private static final long CACHE_WEIGHT_BYTES = 1024 * 1024;
+
+  private final InMemoryKeyValueStorage storage = new InMemoryKeyValueStorage();
+
+  @Test
+  void jumpDestinationsArePersisted() {
+    final Hash codeHash = Hash.hash(Bytes.of(1));
+    final long[] jumpDestinations = {1L, -1L, Long.MIN_VALUE};
+    createStore().putJumpDestinations(codeHash, jumpDestinations);
+
+    assertThat(storage.get(codeHash.toArrayUnsafe()))
+        .hasValueSatisfying(
+            value ->
+                assertThat(KeyValueCodeAnalysisStore.decode(value))
+                    .containsExactly(jumpDestinations));
+    // the lookups never wait for the storage
+    assertThat(createStore().getJumpDestinations(codeHash)).isEmpty();
+  }
+
+  @Test
+  void storedJumpDestinationsAreNotWrittenAgain() {
+    final Hash codeHash = Hash.hash(Bytes.of(1));
+    createStore().putJumpDestinations(codeHash, new long[] {8L});
+    createStore().putJumpDestinations(codeHash, new long[] {16L});
+
+    assertThat(storage.get(codeHash.toArrayUnsafe()))
+        .hasValueSatisfying(
+            value -> assertThat(KeyValueCodeAnalysisStore.decode(value)).containsExactly(8L));
+  }
+
+  @Test
+  void hotJumpDestinationsAreLoadedByTheWarmupAfterARestart() {
+    final Hash codeHash = Hash.hash(Bytes.of(1));
+    final KeyValueCodeAnalysisStore store = createStore();
+    store.putJumpDestinations(codeHash, new long[] {8L});
+    store.getJumpDestinations(codeHash);
+    store.close();
+
+    final KeyValueCodeAnalysisStore restartedStore = createStore();
+    restartedStore.warmup();
+    // the warmed up jump destinations are served from memory
+    storage.clear();
+
+    assertThat(restartedStore.getJumpDestinations(codeHash))
+        .hasValueSatisfying(value -> assertThat(value).containsExactly(8L));
+  }
+
+  private KeyValueCodeAnalysisStore createStore() {
+    return new KeyValueCodeAnalysisStore(
+        () -> storage, CACHE_WEIGHT_BYTES, MoreExecutors.newDirectExecutorService());
+  }
+}
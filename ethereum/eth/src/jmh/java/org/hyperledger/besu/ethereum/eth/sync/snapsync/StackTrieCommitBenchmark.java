@@ -0,0 +1,81 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.trie.RangeManager;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class StackTrieCommitBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int rangeSize;
+
+  @Param({"true", "false"})
+  public boolean parallelCommit;
+
+  private TreeMap<Bytes32, Bytes> keys;
+  private StackTrie stackTrie;
+
+  @Setup(Level.Trial)
+  public void generateRange() {
+    final Random random = new Random(42);
+    keys = new TreeMap<>();
+    while (keys.size() < rangeSize) {
+      final byte[] key = new byte[Bytes32.SIZE];
+      final byte[] value = new byte[70];
+      random.nextBytes(key);
+      random.nextBytes(value);
+      keys.put(Bytes32.wrap(key), Bytes.wrap(value));
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void setUpStackTrie() {
+    stackTrie =
+        new StackTrie(
+            Hash.EMPTY_TRIE_HASH,
+            1,
+            1,
+            RangeManager.MIN_RANGE,
+            parallelCommit ? 1 : Integer.MAX_VALUE);
+    stackTrie.addElement(Bytes32.ZERO, new ArrayList<>(), keys);
+  }
+
+  @Benchmark
+  public long commitRange() {
+    final AtomicLong storedNodes = new AtomicLong();
+    stackTrie.commit(
+        StackTrie.FlatDatabaseUpdater.noop(),
+        (location, hash, value) -> storedNodes.incrementAndGet(),
+        ForkJoinPool.commonPool());
+    return storedNodes.get();
+  }
+}
@@ -21,6 +21,8 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.SnapProtocol;
+import org.hyperledger.besu.ethereum.eth.manager.peertask.AdaptiveRequestController;
+import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerRequestStats;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV65;
@@ -42,6 +44,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.plugin.services.permissioning.NodeMessagePermissioningProvider;
 
+import java.math.BigInteger;
 import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
@@ -67,6 +70,7 @@ public class EthPeer implements Comparable<EthPeer> {
   private static final Logger LOG = LoggerFactory.getLogger(EthPeer.class);
 
   private static final int MAX_OUTSTANDING_REQUESTS = 5;
+  private static final int SLOW_PEER_MAX_OUTSTANDING_REQUESTS = 1;
 
   private PeerConnection connection;
 
@@ -100,6 +104,7 @@ public class EthPeer implements Comparable<EthPeer> {
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
+  private final PeerRequestStats requestStats = new PeerRequestStats();
   private final Map<PeerValidator, Boolean> validationStatus = new ConcurrentHashMap<>();
   private final Bytes id;
   private boolean isServingSnap = false;
@@ -356,10 +361,14 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public RequestManager.ResponseStream getSnapAccountRange(
-      final Hash stateRoot, final Bytes32 startKeyHash, final Bytes32 endKeyHash)
+      final Hash stateRoot,
+      final Bytes32 startKeyHash,
+      final Bytes32 endKeyHash,
+      final int responseBytes)
       throws PeerNotConnected {
     final GetAccountRangeMessage getAccountRangeMessage =
-        GetAccountRangeMessage.create(stateRoot, startKeyHash, endKeyHash);
+        GetAccountRangeMessage.create(
+            stateRoot, startKeyHash, endKeyHash, BigInteger.valueOf(responseBytes));
     getAccountRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_ACCOUNT_RANGE),
@@ -370,10 +379,17 @@ public class EthPeer implements Comparable<EthPeer> {
       final Hash stateRoot,
       final List<Bytes32> accountHashes,
       final Bytes32 startKeyHash,
-      final Bytes32 endKeyHash)
+      final Bytes32 endKeyHash,
+      final int responseBytes)
       throws PeerNotConnected {
     final GetStorageRangeMessage getStorageRangeMessage =
-        GetStorageRangeMessage.create(stateRoot, accountHashes, startKeyHash, endKeyHash);
+        GetStorageRangeMessage.create(
+            Optional.empty(),
+            stateRoot,
+            accountHashes,
+            startKeyHash,
+            endKeyHash,
+            BigInteger.valueOf(responseBytes));
     getStorageRangeMessage.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_STORAGE_RANGE),
@@ -389,8 +405,11 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public RequestManager.ResponseStream getSnapTrieNode(
-      final Hash stateRoot, final List<List<Bytes>> paths) throws PeerNotConnected {
-    final GetTrieNodesMessage getTrieNodes = GetTrieNodesMessage.create(stateRoot, paths);
+      final Hash stateRoot, final List<List<Bytes>> paths, final int responseBytes)
+      throws PeerNotConnected {
+    final GetTrieNodesMessage getTrieNodes =
+        GetTrieNodesMessage.create(
+            Optional.empty(), stateRoot, paths, BigInteger.valueOf(responseBytes));
     getTrieNodes.setRootHash(Optional.of(stateRoot));
     return sendRequest(
         requestManagers.get(SnapProtocol.NAME).get(SnapV1.GET_TRIE_NODES), getTrieNodes);
@@ -494,6 +513,10 @@ public class EthPeer implements Comparable<EthPeer> {
     return reputation;
   }
 
+  public PeerRequestStats getRequestStats() {
+    return requestStats;
+  }
+
   void handleDisconnect() {
     LOG.trace("handleDisconnect - EthPeer {}", this);
 
@@ -613,7 +636,21 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public boolean hasAvailableRequestCapacity() {
-    return outstandingRequests() < MAX_OUTSTANDING_REQUESTS;
+    return outstandingRequests() < getMaxOutstandingRequests();
+  }
+
+  /**
+   * Gets the number of requests that may be outstanding at the same time with this peer, which is
+   * lowered for peers whose round trips exceed the target response time of the {@link
+   * AdaptiveRequestController}
+   *
+   * @return the maximum number of outstanding requests for this peer
+   */
+  public int getMaxOutstandingRequests() {
+    final double roundTripMillis = requestStats.getRoundTripMillis().orElse(0);
+    return roundTripMillis > AdaptiveRequestController.DEFAULT_TARGET_RESPONSE_TIME_MILLIS
+        ? SLOW_PEER_MAX_OUTSTANDING_REQUESTS
+        : MAX_OUTSTANDING_REQUESTS;
   }
 
   public Set<Capability> getAgreedCapabilities() {
@@ -18,6 +18,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.SnapProtocol;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer.DisconnectCallback;
+import org.hyperledger.besu.ethereum.eth.manager.peertask.AdaptiveRequestController;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.PeerSelector;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
 import org.hyperledger.besu.ethereum.eth.sync.ChainHeadTracker;
@@ -96,6 +97,7 @@ public class EthPeers implements PeerSelector {
   private final Clock clock;
   private final List<NodeMessagePermissioningProvider> permissioningProviders;
   private final int maxMessageSize;
+  private final AdaptiveRequestController adaptiveRequestController;
   private final Subscribers<ConnectCallback> connectCallbacks = Subscribers.create();
   private final Subscribers<DisconnectCallback> disconnectCallbacks = Subscribers.create();
   private final Collection<PendingPeerRequest> pendingRequests = new CopyOnWriteArrayList<>();
@@ -133,6 +135,34 @@ public class EthPeers implements PeerSelector {
       final Boolean randomPeerPriority,
       final SyncMode syncMode,
       final ForkIdManager forkIdManager) {
+    this(
+        currentProtocolSpecSupplier,
+        clock,
+        metricsSystem,
+        maxMessageSize,
+        permissioningProviders,
+        localNodeId,
+        peerUpperBound,
+        maxRemotelyInitiatedConnections,
+        randomPeerPriority,
+        syncMode,
+        forkIdManager,
+        new AdaptiveRequestController());
+  }
+
+  public EthPeers(
+      final Supplier<ProtocolSpec> currentProtocolSpecSupplier,
+      final Clock clock,
+      final MetricsSystem metricsSystem,
+      final int maxMessageSize,
+      final List<NodeMessagePermissioningProvider> permissioningProviders,
+      final Bytes localNodeId,
+      final int peerUpperBound,
+      final int maxRemotelyInitiatedConnections,
+      final Boolean randomPeerPriority,
+      final SyncMode syncMode,
+      final ForkIdManager forkIdManager,
+      final AdaptiveRequestController adaptiveRequestController) {
     this.currentProtocolSpecSupplier = currentProtocolSpecSupplier;
     this.clock = clock;
     this.permissioningProviders = permissioningProviders;
@@ -148,6 +178,7 @@ public class EthPeers implements PeerSelector {
     this.snapServerTargetNumber =
         peerUpperBound / 2; // 50% of peers should be snap servers while snap syncing
     this.shouldLimitRemoteConnections = maxRemotelyInitiatedConnections < peerUpperBound;
+    this.adaptiveRequestController = adaptiveRequestController;
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.ETHEREUM,
@@ -325,6 +356,10 @@ public class EthPeers implements PeerSelector {
     return activeConnections.size();
   }
 
+  public AdaptiveRequestController getAdaptiveRequestController() {
+    return adaptiveRequestController;
+  }
+
   public int getMaxPeers() {
     return peerUpperBound;
   }
@@ -471,7 +506,7 @@ public class EthPeers implements PeerSelector {
         .filter(filter)
         .filter(EthPeer::hasAvailableRequestCapacity)
         .filter(EthPeer::isFullyValidated)
-        .min(LEAST_TO_MOST_BUSY);
+        .min(adaptiveRequestController.fastestToSlowest());
   }
 
   // Part of the PeerSelector interface, to be split apart later
@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.peertask;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
+
+import java.util.Comparator;
+import java.util.OptionalDouble;
+
+/**
+ * Adapts the requests sent to each peer to its observed performance, using the {@link
+ * PeerRequestStats} recorded by the {@link PeerTaskExecutor}. Requests are sized so that a peer is
+ * expected to answer within a target response time, and peers are selected by the time they are
+ * expected to complete a new request. Peers without any recorded response are treated as before,
+ * with the default request size. The number of requests in flight with a peer is limited by {@link
+ * EthPeer#hasAvailableRequestCapacity()}.
+ *
+ * <p>Requests bounded by the size of their response rather than by a number of items, such as the
+ * snap range and trie node requests, are sized the same way in units of {@link
+ * #RESPONSE_BYTES_UNIT} bytes.
+ */
+public class AdaptiveRequestController {
+  public static final long DEFAULT_TARGET_RESPONSE_TIME_MILLIS = 1_000;
+  public static final int RESPONSE_BYTES_UNIT = 1024;
+
+  private final long targetResponseTimeMillis;
+
+  public AdaptiveRequestController() {
+    this(DEFAULT_TARGET_RESPONSE_TIME_MILLIS);
+  }
+
+  public AdaptiveRequestController(final long targetResponseTimeMillis) {
+    this.targetResponseTimeMillis = targetResponseTimeMillis;
+  }
+
+  /**
+   * Gets the number of items to request from the peer so that it answers within the target
+   * response time, that is the number of items it can transfer in the time left once its latency
+   * is accounted for
+   *
+   * @param peer the peer the request will be sent to
+   * @param taskName the name of the PeerTask
+   * @param requestedItemCount the number of items the caller wants
+   * @return a request size between 1 and requestedItemCount
+   */
+  public int getRequestSize(
+      final EthPeer peer, final String taskName, final int requestedItemCount) {
+    final PeerRequestStats requestStats = peer.getRequestStats();
+    final OptionalDouble millisPerItem = requestStats.getMillisPerItem(taskName);
+    if (millisPerItem.isEmpty() || millisPerItem.getAsDouble() <= 0) {
+      return requestedItemCount;
+    }
+    // a peer whose latency alone exceeds the target still gets half of the target to transfer
+    // items, rather than requests shrinking down to a single item that it answers no faster
+    final long transferMillis =
+        Math.max(
+            targetResponseTimeMillis - requestStats.getLatencyMillis().orElse(0),
+            targetResponseTimeMillis / 2);
+    final long targetItemCount = (long) (transferMillis / millisPerItem.getAsDouble());
+    return (int) Math.max(1, Math.min(requestedItemCount, targetItemCount));
+  }
+
+  /**
+   * Gets the response size limit to request from the peer so that it answers within the target
+   * response time
+   *
+   * @param peer the peer the request will be sent to
+   * @param taskName the name of the task sending the request
+   * @param maxResponseBytes the largest response size limit the caller wants
+   * @return a response size limit between {@link #RESPONSE_BYTES_UNIT} and maxResponseBytes
+   */
+  public int getResponseBytes(
+      final EthPeer peer, final String taskName, final int maxResponseBytes) {
+    return getRequestSize(peer, taskName, maxResponseBytes / RESPONSE_BYTES_UNIT)
+        * RESPONSE_BYTES_UNIT;
+  }
+
+  /**
+   * Records a response received from the peer to a request sized with {@link
+   * #getResponseBytes(EthPeer, String, int)}
+   *
+   * @param peer the peer that answered
+   * @param taskName the name of the task that sent the request
+   * @param responseBytes the size of the response
+   * @param durationMillis the time elapsed between sending the request and receiving the response
+   */
+  public void recordResponseBytes(
+      final EthPeer peer,
+      final String taskName,
+      final int responseBytes,
+      final long durationMillis) {
+    peer.getRequestStats()
+        .recordResponse(taskName, responseBytes / RESPONSE_BYTES_UNIT, durationMillis);
+  }
+
+  /**
+   * Estimates when a new request sent to the peer would complete, given the requests it already
+   * has in flight
+   *
+   * @param peer the peer
+   * @return the expected completion time of a new request in milliseconds
+   */
+  public long getExpectedCompletionMillis(final EthPeer peer) {
+    final double roundTripMillis =
+        peer.getRequestStats().getRoundTripMillis().orElse(targetResponseTimeMillis);
+    return (long) ((peer.outstandingRequests() + 1) * roundTripMillis);
+  }
+
+  /**
+   * Gets a comparator ordering peers from the one expected to answer a new request first to the one
+   * expected to answer it last
+   *
+   * @return a comparator ordering peers from fastest to slowest
+   */
+  public Comparator<EthPeer> fastestToSlowest() {
+    return Comparator.<EthPeer>comparingLong(this::getExpectedCompletionMillis)
+        .thenComparing(EthPeers.LEAST_TO_MOST_BUSY);
+  }
+}
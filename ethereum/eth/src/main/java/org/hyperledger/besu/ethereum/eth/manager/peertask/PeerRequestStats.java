@@ -0,0 +1,130 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.peertask;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks exponentially weighted moving averages of the round-trip time of the requests sent to a
+ * single peer, and of the time the peer takes to transfer each item for each kind of PeerTask. The
+ * transfer time excludes the latency of the peer, estimated as its shortest observed round trip, so
+ * that it does not depend on the size of the requests it was measured with.
+ */
+public class PeerRequestStats {
+  // weight given to the latest sample in the moving averages
+  private static final double SMOOTHING_FACTOR = 0.2;
+
+  private final Map<String, MovingAverage> millisPerItemByTaskName = new ConcurrentHashMap<>();
+  private final MovingAverage roundTripMillis = new MovingAverage();
+  private final AtomicLong latencyMillis = new AtomicLong(Long.MAX_VALUE);
+
+  /**
+   * Records a response received from the peer
+   *
+   * @param taskName the name of the PeerTask the response belongs to
+   * @param itemCount the number of items contained in the response
+   * @param durationMillis the time elapsed between sending the request and receiving the response
+   */
+  public void recordResponse(
+      final String taskName, final int itemCount, final long durationMillis) {
+    final long duration = Math.max(1, durationMillis);
+    // the first response cannot tell latency and transfer apart, so it only measures the latency
+    final OptionalLong latency = getLatencyMillis();
+    roundTripMillis.add(duration);
+    latencyMillis.accumulateAndGet(duration, Math::min);
+    if (latency.isPresent() && itemCount > 0) {
+      final long transferMillis = Math.max(0, duration - latency.getAsLong());
+      millisPerItemByTaskName
+          .computeIfAbsent(taskName, k -> new MovingAverage())
+          .add((double) transferMillis / itemCount);
+    }
+  }
+
+  /**
+   * Records a request that timed out, which counts as a round trip lasting the whole timeout. The
+   * expected throughput of the peer for this kind of PeerTask is at least halved, and lowered
+   * further if the requested items could not be transferred within the timeout at that throughput.
+   *
+   * @param taskName the name of the PeerTask that timed out
+   * @param requestedItemCount the number of items requested
+   * @param durationMillis the time elapsed before the request was considered timed out
+   */
+  public void recordTimeout(
+      final String taskName, final int requestedItemCount, final long durationMillis) {
+    final long duration = Math.max(1, durationMillis);
+    final double minMillisPerItem =
+        (double) Math.max(0, duration - getLatencyMillis().orElse(0))
+            / Math.max(1, requestedItemCount);
+    roundTripMillis.add(duration);
+    millisPerItemByTaskName
+        .computeIfAbsent(taskName, k -> new MovingAverage())
+        .increase(2, minMillisPerItem);
+  }
+
+  /**
+   * Gets the average round-trip time of the requests sent to the peer
+   *
+   * @return the average round-trip time in milliseconds, or empty if no request completed yet
+   */
+  public OptionalDouble getRoundTripMillis() {
+    return roundTripMillis.get();
+  }
+
+  /**
+   * Gets the latency of the peer, that is the shortest round-trip time of its responses
+   *
+   * @return the latency in milliseconds, or empty if no response was received yet
+   */
+  public OptionalLong getLatencyMillis() {
+    final long latency = latencyMillis.get();
+    return latency == Long.MAX_VALUE ? OptionalLong.empty() : OptionalLong.of(latency);
+  }
+
+  /**
+   * Gets the average time the peer takes to transfer one item for the given kind of PeerTask, not
+   * counting its latency
+   *
+   * @param taskName the name of the PeerTask
+   * @return the average transfer time per item in milliseconds, or empty if no response of this
+   *     kind contained any item
+   */
+  public OptionalDouble getMillisPerItem(final String taskName) {
+    final MovingAverage millisPerItem = millisPerItemByTaskName.get(taskName);
+    return millisPerItem == null ? OptionalDouble.empty() : millisPerItem.get();
+  }
+
+  private static class MovingAverage {
+    private double value;
+    private boolean hasSamples = false;
+
+    synchronized void add(final double sample) {
+      value = hasSamples ? value + SMOOTHING_FACTOR * (sample - value) : sample;
+      hasSamples = true;
+    }
+
+    synchronized void increase(final double factor, final double minValue) {
+      value = hasSamples ? Math.max(value * factor, minValue) : minValue;
+      hasSamples = true;
+    }
+
+    synchronized OptionalDouble get() {
+      return hasSamples ? OptionalDouble.of(value) : OptionalDouble.empty();
+    }
+  }
+}
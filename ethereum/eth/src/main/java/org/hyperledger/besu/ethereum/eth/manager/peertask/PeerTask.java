@@ -84,4 +84,36 @@ public interface PeerTask<T> {
   PeerTaskValidationResponse validateResult(T result);
 
   default void postProcessResult(final PeerTaskExecutorResult<T> result) {}
+
+  /**
+   * Gets the number of items requested by this PeerTask, used to measure and adapt to the
+   * throughput of each peer
+   *
+   * @return the number of items requested by this PeerTask
+   */
+  default int getRequestedItemCount() {
+    return 1;
+  }
+
+  /**
+   * Gets the number of items contained in the results of this PeerTask
+   *
+   * @param result The results of the PeerTask, as returned by processResponse
+   * @return the number of items contained in the results
+   */
+  default int getResultItemCount(final T result) {
+    return getRequestedItemCount();
+  }
+
+  /**
+   * Gets a PeerTask requesting at most the supplied number of items, so the request can be sized to
+   * the throughput of the selected peer. PeerTasks whose callers cannot handle partial results
+   * return themselves.
+   *
+   * @param maxItemCount the maximum number of items to request
+   * @return a PeerTask requesting at most maxItemCount items
+   */
+  default PeerTask<T> limitedTo(final int maxItemCount) {
+    return this;
+  }
 }
@@ -29,6 +29,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -41,6 +42,7 @@ public class PeerTaskExecutor {
 
   private final PeerSelector peerSelector;
   private final PeerTaskRequestSender requestSender;
+  private final AdaptiveRequestController adaptiveRequestController;
 
   private final LabelledMetric<OperationTimer> requestTimer;
   private final LabelledMetric<Counter> timeoutCounter;
@@ -52,9 +54,11 @@ public class PeerTaskExecutor {
   public PeerTaskExecutor(
       final PeerSelector peerSelector,
       final PeerTaskRequestSender requestSender,
+      final AdaptiveRequestController adaptiveRequestController,
       final MetricsSystem metricsSystem) {
     this.peerSelector = peerSelector;
     this.requestSender = requestSender;
+    this.adaptiveRequestController = adaptiveRequestController;
     requestTimer =
         metricsSystem.createLabelledTimer(
             BesuMetricCategory.PEERS,
@@ -105,7 +109,7 @@ public class PeerTaskExecutor {
         break;
       }
       usedEthPeers.add(peer.get());
-      executorResult = executeAgainstPeer(peerTask, peer.get());
+      executorResult = executeAgainstPeer(sizeForPeer(peerTask, peer.get()), peer.get());
     } while (retriesRemaining-- > 0
         && executorResult.responseCode() != PeerTaskExecutorResponseCode.SUCCESS);
 
@@ -127,6 +131,7 @@ public class PeerTaskExecutor {
     PeerTaskExecutorResult<T> executorResult;
     int retriesRemaining = peerTask.getRetriesWithSamePeer();
     do {
+      final long startTimeNanos = System.nanoTime();
       try {
         T result;
         try (final OperationTimer.TimingContext ignored =
@@ -148,6 +153,11 @@ public class PeerTaskExecutor {
         PeerTaskValidationResponse validationResponse = peerTask.validateResult(result);
         if (validationResponse == PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD) {
           peer.recordUsefulResponse();
+          peer.getRequestStats()
+              .recordResponse(
+                  taskClassName,
+                  peerTask.getResultItemCount(result),
+                  elapsedMillisSince(startTimeNanos));
           executorResult =
               new PeerTaskExecutorResult<>(
                   Optional.ofNullable(result),
@@ -176,6 +186,11 @@ public class PeerTaskExecutor {
 
       } catch (InterruptedException | TimeoutException e) {
         peer.recordRequestTimeout(requestMessageData.getCode());
+        peer.getRequestStats()
+            .recordTimeout(
+                taskClassName,
+                peerTask.getRequestedItemCount(),
+                elapsedMillisSince(startTimeNanos));
         timeoutCounter.labels(taskClassName).inc();
         executorResult =
             new PeerTaskExecutorResult<>(
@@ -207,6 +222,18 @@ public class PeerTaskExecutor {
     return executorResult;
   }
 
+  private <T> PeerTask<T> sizeForPeer(final PeerTask<T> peerTask, final EthPeer peer) {
+    final int requestedItemCount = peerTask.getRequestedItemCount();
+    final int requestSize =
+        adaptiveRequestController.getRequestSize(
+            peer, peerTask.getClass().getSimpleName(), requestedItemCount);
+    return requestSize < requestedItemCount ? peerTask.limitedTo(requestSize) : peerTask;
+  }
+
+  private static long elapsedMillisSince(final long startTimeNanos) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTimeNanos);
+  }
+
   private boolean sleepBetweenRetries() {
     try {
       // sleep for 1 second to match implemented wait between retries in AbstractRetryingPeerTask
@@ -157,6 +157,27 @@ public class GetBodiesFromPeerTask implements PeerTask<List<Block>> {
     return PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD;
   }
 
+  @Override
+  public int getRequestedItemCount() {
+    return blockHeaders.size();
+  }
+
+  @Override
+  public int getResultItemCount(final List<Block> result) {
+    return result.size();
+  }
+
+  @Override
+  public PeerTask<List<Block>> limitedTo(final int maxItemCount) {
+    // bodies are completed in order, so callers already handle a response covering only the first
+    // headers
+    if (maxItemCount >= blockHeaders.size()) {
+      return this;
+    }
+    return new GetBodiesFromPeerTask(
+        blockHeaders.subList(0, maxItemCount), protocolSchedule, allowedRetriesAgainstOtherPeers);
+  }
+
   public List<BlockHeader> getBlockHeaders() {
     return blockHeaders;
   }
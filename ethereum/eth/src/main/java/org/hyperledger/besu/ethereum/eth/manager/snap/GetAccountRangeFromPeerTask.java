@@ -24,10 +24,12 @@ import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerRequestTask;
 import org.hyperledger.besu.ethereum.eth.messages.snap.AccountRangeMessage;
 import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
@@ -37,10 +39,12 @@ public class GetAccountRangeFromPeerTask
     extends AbstractPeerRequestTask<AccountRangeMessage.AccountRangeData> {
 
   private static final Logger LOG = LoggerFactory.getLogger(GetAccountRangeFromPeerTask.class);
+  private static final String TASK_NAME = GetAccountRangeFromPeerTask.class.getSimpleName();
 
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private volatile long requestStartNanos;
 
   private GetAccountRangeFromPeerTask(
       final EthContext ethContext,
@@ -88,7 +92,8 @@ public class GetAccountRangeFromPeerTask
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
-            return peer.getSnapAccountRange(blockHeader.getStateRoot(), startKeyHash, endKeyHash);
+            return peer.getSnapAccountRange(
+                blockHeader.getStateRoot(), startKeyHash, endKeyHash, responseBytes(peer));
           }
 
           @Override
@@ -108,9 +113,29 @@ public class GetAccountRangeFromPeerTask
       // the data we're requesting.
       return Optional.empty();
     }
+    recordResponseBytes(peer, message);
     final AccountRangeMessage accountRangeMessage = AccountRangeMessage.readFrom(message);
     final AccountRangeMessage.AccountRangeData accountRangeData =
         accountRangeMessage.accountData(true);
     return Optional.of(accountRangeData);
   }
+
+  private int responseBytes(final EthPeer peer) {
+    requestStartNanos = System.nanoTime();
+    return ethContext
+        .getEthPeers()
+        .getAdaptiveRequestController()
+        .getResponseBytes(peer, TASK_NAME, AbstractSnapMessageData.SIZE_REQUEST.intValue());
+  }
+
+  private void recordResponseBytes(final EthPeer peer, final MessageData message) {
+    ethContext
+        .getEthPeers()
+        .getAdaptiveRequestController()
+        .recordResponseBytes(
+            peer,
+            TASK_NAME,
+            message.getSize(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartNanos));
+  }
 }
@@ -24,11 +24,13 @@ import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerRequestTask;
 import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.messages.snap.StorageRangeMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
@@ -38,11 +40,13 @@ public class GetStorageRangeFromPeerTask
     extends AbstractPeerRequestTask<StorageRangeMessage.SlotRangeData> {
 
   private static final Logger LOG = LoggerFactory.getLogger(GetStorageRangeFromPeerTask.class);
+  private static final String TASK_NAME = GetStorageRangeFromPeerTask.class.getSimpleName();
 
   private final List<Bytes32> accountHashes;
   private final Bytes32 startKeyHash;
   private final Bytes32 endKeyHash;
   private final BlockHeader blockHeader;
+  private volatile long requestStartNanos;
 
   private GetStorageRangeFromPeerTask(
       final EthContext ethContext,
@@ -94,7 +98,11 @@ public class GetStorageRangeFromPeerTask
                       + GetAccountRangeFromPeerTask.class);
             }
             return peer.getSnapStorageRange(
-                blockHeader.getStateRoot(), accountHashes, startKeyHash, endKeyHash);
+                blockHeader.getStateRoot(),
+                accountHashes,
+                startKeyHash,
+                endKeyHash,
+                responseBytes(peer));
           }
 
           @Override
@@ -115,6 +123,26 @@ public class GetStorageRangeFromPeerTask
       return Optional.empty();
     }
 
+    recordResponseBytes(peer, message);
     return Optional.of(StorageRangeMessage.readFrom(message).slotsData(true));
   }
+
+  private int responseBytes(final EthPeer peer) {
+    requestStartNanos = System.nanoTime();
+    return ethContext
+        .getEthPeers()
+        .getAdaptiveRequestController()
+        .getResponseBytes(peer, TASK_NAME, AbstractSnapMessageData.SIZE_REQUEST.intValue());
+  }
+
+  private void recordResponseBytes(final EthPeer peer, final MessageData message) {
+    ethContext
+        .getEthPeers()
+        .getAdaptiveRequestController()
+        .recordResponseBytes(
+            peer,
+            TASK_NAME,
+            message.getSize(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartNanos));
+  }
 }
@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.eth.manager.task.AbstractPeerRequestTask;
 import org.hyperledger.besu.ethereum.eth.messages.snap.SnapV1;
 import org.hyperledger.besu.ethereum.eth.messages.snap.TrieNodesMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractSnapMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
@@ -34,6 +35,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
@@ -44,9 +46,11 @@ import org.slf4j.Logger;
 public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes, Bytes>> {
 
   private static final Logger LOG = getLogger(GetTrieNodeFromPeerTask.class);
+  private static final String TASK_NAME = GetTrieNodeFromPeerTask.class.getSimpleName();
 
   private final List<List<Bytes>> paths;
   private final BlockHeader blockHeader;
+  private volatile long requestStartNanos;
 
   private GetTrieNodeFromPeerTask(
       final EthContext ethContext,
@@ -93,7 +97,7 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
                   "EthPeer that is not serving snap called in "
                       + GetAccountRangeFromPeerTask.class);
             }
-            return peer.getSnapTrieNode(blockHeader.getStateRoot(), paths);
+            return peer.getSnapTrieNode(blockHeader.getStateRoot(), paths, responseBytes(peer));
           }
 
           @Override
@@ -112,6 +116,7 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
       // the data we're requesting.
       return Optional.of(emptyMap());
     }
+    recordResponseBytes(peer, message);
     final TrieNodesMessage trieNodes = TrieNodesMessage.readFrom(message);
     final ArrayDeque<Bytes> nodes = trieNodes.nodes(true);
     return mapNodeDataByPath(nodes);
@@ -135,4 +140,23 @@ public class GetTrieNodeFromPeerTask extends AbstractPeerRequestTask<Map<Bytes,
         });
     return Optional.of(nodeDataByPath);
   }
+
+  private int responseBytes(final EthPeer peer) {
+    requestStartNanos = System.nanoTime();
+    return ethContext
+        .getEthPeers()
+        .getAdaptiveRequestController()
+        .getResponseBytes(peer, TASK_NAME, AbstractSnapMessageData.SIZE_REQUEST.intValue());
+  }
+
+  private void recordResponseBytes(final EthPeer peer, final MessageData message) {
+    ethContext
+        .getEthPeers()
+        .getAdaptiveRequestController()
+        .recordResponseBytes(
+            peer,
+            TASK_NAME,
+            message.getSize(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - requestStartNanos));
+  }
 }
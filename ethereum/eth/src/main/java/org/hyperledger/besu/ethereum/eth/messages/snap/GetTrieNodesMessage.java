@@ -56,6 +56,14 @@ public final class GetTrieNodesMessage extends AbstractSnapMessageData {
       final Optional<BigInteger> requestId,
       final Hash worldStateRootHash,
       final List<List<Bytes>> paths) {
+    return create(requestId, worldStateRootHash, paths, SIZE_REQUEST);
+  }
+
+  public static GetTrieNodesMessage create(
+      final Optional<BigInteger> requestId,
+      final Hash worldStateRootHash,
+      final List<List<Bytes>> paths,
+      final BigInteger sizeRequest) {
     final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
     tmp.startList();
     requestId.ifPresent(tmp::writeBigIntegerScalar);
@@ -64,7 +72,7 @@ public final class GetTrieNodesMessage extends AbstractSnapMessageData {
         paths,
         (path, rlpOutput) ->
             rlpOutput.writeList(path, (b, subRlpOutput) -> subRlpOutput.writeBytes(b)));
-    tmp.writeBigIntegerScalar(SIZE_REQUEST);
+    tmp.writeBigIntegerScalar(sizeRequest);
     tmp.endList();
     return new GetTrieNodesMessage(tmp.encoded());
   }
@@ -72,7 +80,12 @@ public final class GetTrieNodesMessage extends AbstractSnapMessageData {
   @Override
   protected Bytes wrap(final BigInteger requestId) {
     final TrieNodesPaths paths = paths(false);
-    return create(Optional.of(requestId), paths.worldStateRootHash(), paths.paths()).getData();
+    return create(
+            Optional.of(requestId),
+            paths.worldStateRootHash(),
+            paths.paths(),
+            paths.responseBytes())
+        .getData();
   }
 
   @Override
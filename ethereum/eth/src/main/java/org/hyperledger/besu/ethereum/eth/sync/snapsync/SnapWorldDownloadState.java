@@ -50,6 +50,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -90,6 +91,7 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
   private final Blockchain blockchain;
   private final Long blockObserverId;
   private final EthContext ethContext;
+  private final Executor stackTrieCommitExecutor;
 
   // metrics around the snapsync
   private final SnapSyncMetricsManager metricsManager;
@@ -107,6 +109,7 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
       final SnapSyncMetricsManager metricsManager,
       final Clock clock,
       final EthContext ethContext,
+      final Executor stackTrieCommitExecutor,
       final SyncDurationMetrics syncDurationMetrics) {
     super(
         worldStateStorageCoordinator,
@@ -121,6 +124,7 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
     this.metricsManager = metricsManager;
     this.blockObserverId = blockchain.observeBlockAdded(createBlockchainObserver());
     this.ethContext = ethContext;
+    this.stackTrieCommitExecutor = stackTrieCommitExecutor;
 
     final MetricsSystem metricsSystem = metricsManager.getMetricsSystem();
     metricsSystem.createLongGauge(
@@ -423,6 +427,10 @@ public class SnapWorldDownloadState extends WorldDownloadState<SnapDataRequest>
         __ -> {});
   }
 
+  public Executor getStackTrieCommitExecutor() {
+    return stackTrieCommitExecutor;
+  }
+
   public SnapSyncMetricsManager getMetricsManager() {
     return metricsManager;
   }
@@ -21,6 +21,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.ethereum.eth.sync.fastsync.FastSyncActions;
 import org.hyperledger.besu.ethereum.eth.sync.fastsync.FastSyncState;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.context.SnapSyncStatePersistenceManager;
@@ -42,6 +43,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
@@ -54,6 +56,9 @@ import org.slf4j.LoggerFactory;
 public class SnapWorldStateDownloader implements WorldStateDownloader {
 
   private static final Logger LOG = LoggerFactory.getLogger(SnapWorldStateDownloader.class);
+  // a branch node has at most 16 subtrees to commit, for each of the few persisting pipelines
+  private static final int MAX_STACK_TRIE_COMMIT_THREADS = 16;
+  private static final int STACK_TRIE_COMMIT_QUEUE_SIZE = 256;
   private final long minMillisBeforeStalling;
   private final Clock clock;
   private final MetricsSystem metricsSystem;
@@ -66,6 +71,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
   private final int maxNodeRequestsWithoutProgress;
   private final ProtocolContext protocolContext;
   private final WorldStateStorageCoordinator worldStateStorageCoordinator;
+  private final ExecutorService stackTrieCommitExecutor;
 
   private final AtomicReference<SnapWorldDownloadState> downloadState = new AtomicReference<>();
   private final SyncDurationMetrics syncDurationMetrics;
@@ -96,6 +102,16 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
     this.metricsSystem = metricsSystem;
     this.syncDurationMetrics = syncDurationMetrics;
 
+    final int stackTrieCommitThreads =
+        Math.min(MAX_STACK_TRIE_COMMIT_THREADS, Runtime.getRuntime().availableProcessors());
+    this.stackTrieCommitExecutor =
+        MonitoredExecutors.newBoundedThreadPool(
+            "SnapStackTrieCommit",
+            stackTrieCommitThreads,
+            stackTrieCommitThreads,
+            STACK_TRIE_COMMIT_QUEUE_SIZE,
+            metricsSystem);
+
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.SYNCHRONIZER,
         "snap_world_state_node_requests_since_last_progress_current",
@@ -153,6 +169,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
               snapsyncMetricsManager,
               clock,
               ethContext,
+              stackTrieCommitExecutor,
               syncDurationMetrics);
 
       final Map<Bytes32, Bytes32> ranges = RangeManager.generateAllRanges(16);
@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.NodeUpdater;
 import org.hyperledger.besu.ethereum.trie.RangeManager;
 import org.hyperledger.besu.ethereum.trie.SnapCommitVisitor;
+import org.hyperledger.besu.ethereum.trie.patricia.BranchNode;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 
 import java.util.ArrayList;
@@ -31,9 +32,13 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -48,10 +53,14 @@ import org.immutables.value.Value;
  */
 public class StackTrie {
 
+  // below this number of keys, committing subtrees in parallel costs more than it saves
+  public static final int DEFAULT_PARALLEL_COMMIT_THRESHOLD = 1024;
+
   private final Bytes32 rootHash;
   private final AtomicInteger nbSegments;
   private final int maxSegments;
   private final Bytes32 startKeyHash;
+  private final int parallelCommitThreshold;
   private Map<Bytes32, TaskElement> elements;
   private AtomicLong elementsCount;
 
@@ -64,10 +73,20 @@ public class StackTrie {
       final int nbSegments,
       final int maxSegments,
       final Bytes32 startKeyHash) {
+    this(rootHash, nbSegments, maxSegments, startKeyHash, DEFAULT_PARALLEL_COMMIT_THRESHOLD);
+  }
+
+  public StackTrie(
+      final Hash rootHash,
+      final int nbSegments,
+      final int maxSegments,
+      final Bytes32 startKeyHash,
+      final int parallelCommitThreshold) {
     this.rootHash = rootHash;
     this.nbSegments = new AtomicInteger(nbSegments);
     this.maxSegments = maxSegments;
     this.startKeyHash = startKeyHash;
+    this.parallelCommitThreshold = parallelCommitThreshold;
     this.elements = new LinkedHashMap<>();
     this.elementsCount = new AtomicLong();
   }
@@ -100,6 +119,28 @@ public class StackTrie {
   }
 
   public void commit(final FlatDatabaseUpdater flatDatabaseUpdater, final NodeUpdater nodeUpdater) {
+    commit(flatDatabaseUpdater, nodeUpdater, Optional.empty());
+  }
+
+  /**
+   * Commits the trie, the subtrees of the ranges with at least the parallel commit threshold keys
+   * being committed in parallel on the given executor.
+   *
+   * @param flatDatabaseUpdater the updater of the flat database
+   * @param nodeUpdater the updater of the trie nodes
+   * @param commitExecutor the executor committing the subtrees
+   */
+  public void commit(
+      final FlatDatabaseUpdater flatDatabaseUpdater,
+      final NodeUpdater nodeUpdater,
+      final Executor commitExecutor) {
+    commit(flatDatabaseUpdater, nodeUpdater, Optional.of(commitExecutor));
+  }
+
+  private void commit(
+      final FlatDatabaseUpdater flatDatabaseUpdater,
+      final NodeUpdater nodeUpdater,
+      final Optional<Executor> commitExecutor) {
 
     if (nbSegments.decrementAndGet() <= 0 && !elements.isEmpty()) {
 
@@ -144,19 +185,17 @@ public class StackTrie {
 
         keys.forEach(flatDatabaseUpdater::update);
 
+        final Bytes32 endKeyHash = proofs.isEmpty() ? RangeManager.MAX_RANGE : keys.lastKey();
         trie.commit(
             nodeUpdater,
-            (new SnapCommitVisitor<>(
-                nodeUpdater,
-                startKeyHash,
-                proofs.isEmpty() ? RangeManager.MAX_RANGE : keys.lastKey()) {
-              @Override
-              public void maybeStoreNode(final Bytes location, final Node<Bytes> node) {
-                if (!node.isHealNeeded()) {
-                  super.maybeStoreNode(location, node);
-                }
-              }
-            }));
+            commitExecutor
+                .filter(executor -> keys.size() >= parallelCommitThreshold)
+                .<StackTrieCommitVisitor>map(
+                    executor ->
+                        new ParallelStackTrieCommitVisitor(
+                            nodeUpdater, startKeyHash, endKeyHash, executor))
+                .orElseGet(
+                    () -> new StackTrieCommitVisitor(nodeUpdater, startKeyHash, endKeyHash)));
       }
     }
   }
@@ -184,6 +223,103 @@ public class StackTrie {
     void update(final Bytes32 key, final Bytes value);
   }
 
+  /** Commit visitor that never persists nodes which still need to be healed. */
+  private static class StackTrieCommitVisitor extends SnapCommitVisitor<Bytes> {
+
+    private StackTrieCommitVisitor(
+        final NodeUpdater nodeUpdater, final Bytes32 startKeyHash, final Bytes32 endKeyHash) {
+      super(nodeUpdater, startKeyHash, endKeyHash);
+    }
+
+    @Override
+    public void maybeStoreNode(final Bytes location, final Node<Bytes> node) {
+      if (!node.isHealNeeded()) {
+        super.maybeStoreNode(location, node);
+      }
+    }
+  }
+
+  /**
+   * Commit visitor that commits the subtrees of the topmost dirty branch node in parallel. Subtrees
+   * under distinct nibbles share no node, so each one is visited by its own visitor on the commit
+   * executor of the snap sync, buffering the nodes to store. The buffers are then written to the
+   * node updater in key order from the calling thread, as updaters are not thread safe.
+   */
+  private static class ParallelStackTrieCommitVisitor extends StackTrieCommitVisitor {
+
+    private final Bytes32 startKeyHash;
+    private final Bytes32 endKeyHash;
+    private final Executor commitExecutor;
+    private Node<Bytes> forkedBranchNode;
+
+    private ParallelStackTrieCommitVisitor(
+        final NodeUpdater nodeUpdater,
+        final Bytes32 startKeyHash,
+        final Bytes32 endKeyHash,
+        final Executor commitExecutor) {
+      super(nodeUpdater, startKeyHash, endKeyHash);
+      this.startKeyHash = startKeyHash;
+      this.endKeyHash = endKeyHash;
+      this.commitExecutor = commitExecutor;
+    }
+
+    @Override
+    public void visit(final Bytes location, final BranchNode<Bytes> branchNode) {
+      if (forkedBranchNode == null && branchNode.isDirty()) {
+        forkedBranchNode = branchNode;
+        commitSubtreesInParallel(location, branchNode);
+      }
+      super.visit(location, branchNode);
+    }
+
+    @Override
+    protected void visitChild(
+        final Node<Bytes> parent, final Bytes childLocation, final Node<Bytes> child) {
+      if (parent != forkedBranchNode) {
+        super.visitChild(parent, childLocation, child);
+      }
+    }
+
+    private void commitSubtreesInParallel(
+        final Bytes location, final BranchNode<Bytes> branchNode) {
+      final List<CompletableFuture<List<PendingNode>>> subtreeCommits = new ArrayList<>();
+      for (int i = 0; i < branchNode.maxChild(); ++i) {
+        final Node<Bytes> child = branchNode.child((byte) i);
+        if (child.isDirty()) {
+          final Bytes childLocation = Bytes.concatenate(location, Bytes.of(i));
+          final Supplier<List<PendingNode>> subtreeCommit =
+              () -> {
+                final List<PendingNode> pendingNodes = new ArrayList<>();
+                child.accept(
+                    childLocation,
+                    new StackTrieCommitVisitor(
+                        (nodeLocation, hash, value) ->
+                            pendingNodes.add(new PendingNode(nodeLocation, hash, value)),
+                        startKeyHash,
+                        endKeyHash));
+                return pendingNodes;
+              };
+          try {
+            subtreeCommits.add(CompletableFuture.supplyAsync(subtreeCommit, commitExecutor));
+          } catch (final RejectedExecutionException e) {
+            // the bounded commit executor is full, commit this subtree from the calling thread
+            subtreeCommits.add(CompletableFuture.completedFuture(subtreeCommit.get()));
+          }
+        }
+      }
+      subtreeCommits.stream()
+          .map(CompletableFuture::join)
+          .forEach(
+              pendingNodes ->
+                  pendingNodes.forEach(
+                      pendingNode ->
+                          nodeUpdater.store(
+                              pendingNode.location(), pendingNode.hash(), pendingNode.value())));
+    }
+  }
+
+  private record PendingNode(Bytes location, Bytes32 hash, Bytes value) {}
+
   @Value.Immutable
   public abstract static class TaskElement {
 
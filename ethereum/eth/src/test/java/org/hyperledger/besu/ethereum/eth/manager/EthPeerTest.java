@@ -136,6 +136,17 @@ public class EthPeerTest {
     assertThat(peer.outstandingRequests()).isEqualTo(4);
   }
 
+  @Test
+  public void shouldLimitSlowPeersToASingleOutstandingRequest() throws PeerNotConnected {
+    final EthPeer peer = createPeer();
+    peer.getRequestStats().recordTimeout("GetBodiesFromPeerTask", 128, 5_000);
+    assertThat(peer.hasAvailableRequestCapacity()).isTrue();
+
+    peer.getBodies(asList(gen.hash(), gen.hash()));
+    assertThat(peer.hasAvailableRequestCapacity()).isFalse();
+    assertThat(peer.outstandingRequests()).isEqualTo(1);
+  }
+
   @Test
   public void shouldTrackLastRequestTime() throws PeerNotConnected {
     final EthPeer peer = createPeer();
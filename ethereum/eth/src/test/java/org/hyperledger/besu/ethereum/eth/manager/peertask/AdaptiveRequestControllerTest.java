@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager.peertask;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveRequestControllerTest {
+  private static final String TASK_NAME = "GetBodiesFromPeerTask";
+
+  private final AdaptiveRequestController controller = new AdaptiveRequestController(1_000);
+  private final PeerRequestStats requestStats = new PeerRequestStats();
+  private EthPeer peer;
+
+  @BeforeEach
+  public void setUp() {
+    peer = mock(EthPeer.class);
+    when(peer.getRequestStats()).thenReturn(requestStats);
+  }
+
+  @Test
+  public void shouldKeepRequestedSizeWithoutSamples() {
+    assertThat(controller.getRequestSize(peer, TASK_NAME, 128)).isEqualTo(128);
+  }
+
+  @Test
+  public void shouldSizeRequestToTargetResponseTime() {
+    // 100ms of latency, then 10ms per item
+    requestStats.recordResponse(TASK_NAME, 1, 100);
+    requestStats.recordResponse(TASK_NAME, 32, 420);
+
+    // 90 items can be transferred in the 900ms left once the latency is accounted for
+    assertThat(controller.getRequestSize(peer, TASK_NAME, 128)).isEqualTo(90);
+    assertThat(controller.getRequestSize(peer, TASK_NAME, 8)).isEqualTo(8);
+  }
+
+  @Test
+  public void shouldSizeResponseBytesToTargetResponseTime() {
+    final int maxResponseBytes = 512 * 1024;
+    assertThat(controller.getResponseBytes(peer, TASK_NAME, maxResponseBytes))
+        .isEqualTo(maxResponseBytes);
+
+    // 100ms of latency, then 10ms per KiB
+    controller.recordResponseBytes(peer, TASK_NAME, 1024, 100);
+    controller.recordResponseBytes(peer, TASK_NAME, 32 * 1024, 420);
+
+    assertThat(controller.getResponseBytes(peer, TASK_NAME, maxResponseBytes))
+        .isEqualTo(90 * 1024);
+  }
+
+  @Test
+  public void shouldNotShrinkRequestsOfPeersWithHighLatency() {
+    // 1500ms of latency, then 10ms per item
+    requestStats.recordResponse(TASK_NAME, 1, 1_500);
+    requestStats.recordResponse(TASK_NAME, 50, 2_000);
+    final int requestSize = controller.getRequestSize(peer, TASK_NAME, 128);
+    assertThat(requestSize).isEqualTo(50);
+
+    // a response of the requested size keeps the request size unchanged
+    requestStats.recordResponse(TASK_NAME, requestSize, 1_500 + 10 * requestSize);
+    assertThat(controller.getRequestSize(peer, TASK_NAME, 128)).isEqualTo(requestSize);
+  }
+
+  @Test
+  public void shouldAtLeastHalveRequestSizeAfterTimeout() {
+    // 100ms of latency, then 10ms per item
+    requestStats.recordResponse(TASK_NAME, 1, 100);
+    requestStats.recordResponse(TASK_NAME, 32, 420);
+
+    requestStats.recordTimeout(TASK_NAME, 20, 150);
+    assertThat(controller.getRequestSize(peer, TASK_NAME, 128)).isEqualTo(45);
+
+    requestStats.recordTimeout(TASK_NAME, 40, 5_100);
+    assertThat(controller.getRequestSize(peer, TASK_NAME, 128)).isEqualTo(7);
+  }
+
+  @Test
+  public void shouldSizeFirstRequestAfterTimeoutToTheTimeout() {
+    requestStats.recordTimeout(TASK_NAME, 128, 5_000);
+
+    assertThat(controller.getRequestSize(peer, TASK_NAME, 128)).isEqualTo(25);
+  }
+
+  @Test
+  public void shouldPreferPeerExpectedToCompleteFirst() {
+    final PeerRequestStats slowPeerStats = new PeerRequestStats();
+    final EthPeer slowPeer = mock(EthPeer.class);
+    when(slowPeer.getRequestStats()).thenReturn(slowPeerStats);
+    slowPeerStats.recordResponse(TASK_NAME, 128, 800);
+    requestStats.recordResponse(TASK_NAME, 128, 100);
+    // the fast peer is still expected to answer first with 3 requests in flight
+    when(peer.outstandingRequests()).thenReturn(3);
+
+    assertThat(controller.fastestToSlowest().compare(peer, slowPeer)).isNegative();
+  }
+}
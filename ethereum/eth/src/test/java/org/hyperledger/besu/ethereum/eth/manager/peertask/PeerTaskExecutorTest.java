@@ -49,7 +49,10 @@ public class PeerTaskExecutorTest {
   @BeforeEach
   public void beforeTest() {
     mockCloser = MockitoAnnotations.openMocks(this);
-    peerTaskExecutor = new PeerTaskExecutor(peerSelector, requestSender, new NoOpMetricsSystem());
+    Mockito.when(ethPeer.getRequestStats()).thenReturn(new PeerRequestStats());
+    peerTaskExecutor =
+        new PeerTaskExecutor(
+            peerSelector, requestSender, new AdaptiveRequestController(), new NoOpMetricsSystem());
   }
 
   @AfterEach
@@ -296,6 +299,7 @@ public class PeerTaskExecutorTest {
     Object responseObject = new Object();
     int requestMessageDataCode = 123;
     EthPeer peer2 = Mockito.mock(EthPeer.class);
+    Mockito.when(peer2.getRequestStats()).thenReturn(new PeerRequestStats());
 
     Mockito.when(peerSelector.getPeer(Mockito.any(Predicate.class)))
         .thenReturn(Optional.of(ethPeer))
@@ -324,4 +328,47 @@ public class PeerTaskExecutorTest {
     Assertions.assertSame(responseObject, result.result().get());
     Assertions.assertEquals(PeerTaskExecutorResponseCode.SUCCESS, result.responseCode());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testExecuteLimitsRequestSizeToPeerThroughput()
+      throws PeerConnection.PeerNotConnected,
+          ExecutionException,
+          InterruptedException,
+          TimeoutException,
+          InvalidPeerTaskResponseException {
+    Object responseObject = new Object();
+    PeerTask<Object> limitedPeerTask = Mockito.mock(PeerTask.class);
+    PeerRequestStats requestStats = new PeerRequestStats();
+    // 100ms of latency, then 10ms per item, so 90 items can be answered within the default target
+    // response time
+    requestStats.recordResponse(peerTask.getClass().getSimpleName(), 1, 100);
+    requestStats.recordResponse(peerTask.getClass().getSimpleName(), 10, 200);
+
+    Mockito.when(ethPeer.getRequestStats()).thenReturn(requestStats);
+    Mockito.when(peerSelector.getPeer(Mockito.any(Predicate.class)))
+        .thenReturn(Optional.of(ethPeer));
+
+    Mockito.when(peerTask.getRetriesWithOtherPeer()).thenReturn(0);
+    Mockito.when(peerTask.getRequestedItemCount()).thenReturn(100);
+    Mockito.when(peerTask.limitedTo(90)).thenReturn(limitedPeerTask);
+    Mockito.when(limitedPeerTask.getRequestMessage()).thenReturn(requestMessageData);
+    Mockito.when(limitedPeerTask.getRetriesWithSamePeer()).thenReturn(0);
+    Mockito.when(limitedPeerTask.getSubProtocol()).thenReturn(subprotocol);
+    Mockito.when(requestSender.sendRequest(subprotocol, requestMessageData, ethPeer))
+        .thenReturn(responseMessageData);
+    Mockito.when(limitedPeerTask.processResponse(responseMessageData)).thenReturn(responseObject);
+    Mockito.when(limitedPeerTask.validateResult(responseObject))
+        .thenReturn(PeerTaskValidationResponse.RESULTS_VALID_AND_GOOD);
+
+    PeerTaskExecutorResult<Object> result = peerTaskExecutor.execute(peerTask);
+
+    Mockito.verify(peerTask).limitedTo(90);
+    Mockito.verify(ethPeer).recordUsefulResponse();
+
+    Assertions.assertNotNull(result);
+    Assertions.assertTrue(result.result().isPresent());
+    Assertions.assertSame(responseObject, result.result().get());
+    Assertions.assertEquals(PeerTaskExecutorResponseCode.SUCCESS, result.responseCode());
+  }
 }
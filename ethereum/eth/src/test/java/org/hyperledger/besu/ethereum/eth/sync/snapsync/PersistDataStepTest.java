@@ -39,6 +39,7 @@ import org.hyperledger.besu.services.tasks.Task;
 import java.util.Collections;
 import java.util.List;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -64,6 +65,7 @@ public class PersistDataStepTest {
   @BeforeEach
   public void setUp() {
     when(downloadState.getMetricsManager()).thenReturn(mock(SnapSyncMetricsManager.class));
+    when(downloadState.getStackTrieCommitExecutor()).thenReturn(MoreExecutors.directExecutor());
   }
 
   @Test
@@ -60,6 +60,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
+import com.google.common.util.concurrent.MoreExecutors;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.junit.jupiter.api.Assumptions;
@@ -139,6 +140,7 @@ public class SnapWorldDownloadStateTest {
             metricsManager,
             clock,
             ethContext,
+            MoreExecutors.directExecutor(),
             SyncDurationMetrics.NO_OP_SYNC_DURATION_METRICS);
     final DynamicPivotBlockSelector dynamicPivotBlockManager =
         mock(DynamicPivotBlockSelector.class);
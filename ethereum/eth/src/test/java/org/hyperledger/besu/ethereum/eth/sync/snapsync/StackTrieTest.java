@@ -27,8 +27,11 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateStorageCoordinator;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -269,4 +272,59 @@ public class StackTrieTest {
     Assertions.assertThat(recreatedWorldStateStorage.getAccountStateTrieNode(trie.getRootHash()))
         .isPresent();
   }
+
+  @Test
+  public void shouldStoreSameNodesWithParallelCommit() {
+
+    final int nbAccounts = 200;
+
+    final ForestWorldStateKeyValueStorage worldStateKeyValueStorage =
+        new ForestWorldStateKeyValueStorage(new InMemoryKeyValueStorage());
+    final WorldStateStorageCoordinator worldStateStorageCoordinator =
+        new WorldStateStorageCoordinator(worldStateKeyValueStorage);
+
+    final MerkleTrie<Bytes, Bytes> accountStateTrie =
+        TrieGenerator.generateTrie(worldStateStorageCoordinator, nbAccounts);
+
+    final RangeStorageEntriesCollector collector =
+        RangeStorageEntriesCollector.createCollector(
+            lastAccount, RangeManager.MAX_RANGE, 150, Integer.MAX_VALUE);
+    final TrieIterator<Bytes> visitor = RangeStorageEntriesCollector.createVisitor(collector);
+    final TreeMap<Bytes32, Bytes> accounts =
+        (TreeMap<Bytes32, Bytes>)
+            accountStateTrie.entriesFrom(
+                root ->
+                    RangeStorageEntriesCollector.collectEntries(
+                        collector, visitor, root, lastAccount));
+
+    final WorldStateProofProvider worldStateProofProvider =
+        new WorldStateProofProvider(worldStateStorageCoordinator);
+
+    // generate the proof
+    final List<Bytes> proofs =
+        worldStateProofProvider.getAccountProofRelatedNodes(
+            Hash.wrap(accountStateTrie.getRootHash()), lastAccount);
+    proofs.addAll(
+        worldStateProofProvider.getAccountProofRelatedNodes(
+            Hash.wrap(accountStateTrie.getRootHash()), accounts.lastKey()));
+
+    final Map<Bytes32, Bytes> sequentialNodes = new HashMap<>();
+    final StackTrie sequentialStackTrie =
+        new StackTrie(
+            Hash.wrap(accountStateTrie.getRootHash()), 1, 256, lastAccount, Integer.MAX_VALUE);
+    sequentialStackTrie.addElement(Bytes32.random(), proofs, accounts);
+    sequentialStackTrie.commit((location, hash, value) -> sequentialNodes.put(hash, value));
+
+    final Map<Bytes32, Bytes> parallelNodes = new HashMap<>();
+    final StackTrie parallelStackTrie =
+        new StackTrie(Hash.wrap(accountStateTrie.getRootHash()), 1, 256, lastAccount, 1);
+    parallelStackTrie.addElement(Bytes32.random(), proofs, accounts);
+    parallelStackTrie.commit(
+        StackTrie.FlatDatabaseUpdater.noop(),
+        (location, hash, value) -> parallelNodes.put(hash, value),
+        ForkJoinPool.commonPool());
+
+    Assertions.assertThat(parallelNodes).isNotEmpty();
+    Assertions.assertThat(parallelNodes).isEqualTo(sequentialNodes);
+  }
 }
@@ -76,7 +76,7 @@ public class SnapCommitVisitor<V> extends CommitVisitor<V> implements LocationNo
 
     final Node<V> child = extensionNode.getChild();
     if (child.isDirty()) {
-      child.accept(Bytes.concatenate(location, extensionNode.getPath()), this);
+      visitChild(extensionNode, Bytes.concatenate(location, extensionNode.getPath()), child);
     }
     if (child.isHealNeeded()
         || !isInRange(
@@ -117,7 +117,7 @@ public class SnapCommitVisitor<V> extends CommitVisitor<V> implements LocationNo
       Bytes index = Bytes.of(i);
       final Node<V> child = branchNode.child((byte) i);
       if (child.isDirty()) {
-        child.accept(Bytes.concatenate(location, index), this);
+        visitChild(branchNode, Bytes.concatenate(location, index), child);
       }
       if (child.isHealNeeded()
           || !isInRange(Bytes.concatenate(location, index), startKeyPath, endKeyPath)) {
@@ -128,6 +128,19 @@ public class SnapCommitVisitor<V> extends CommitVisitor<V> implements LocationNo
     maybeStoreNode(location, branchNode);
   }
 
+  /**
+   * Visits a dirty child node of the given parent node. Subclasses may override this method to
+   * change how child subtrees are committed, for example when they have already been committed by
+   * another visitor.
+   *
+   * @param parent The parent node of the child being visited.
+   * @param childLocation The location of the child node represented as {@link Bytes}.
+   * @param child The dirty child node to visit.
+   */
+  protected void visitChild(final Node<V> parent, final Bytes childLocation, final Node<V> child) {
+    child.accept(childLocation, this);
+  }
+
   private boolean isInRange(
       final Bytes location, final Bytes startKeyPath, final Bytes endKeyPath) {
     final MutableBytes path = MutableBytes.create(Bytes32.SIZE * 2);
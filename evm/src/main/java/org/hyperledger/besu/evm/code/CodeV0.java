@@ -130,6 +130,27 @@ public class CodeV0 implements Code {
     return true;
   }
 
+  /**
+   * Gets the valid jump destinations bitmap, calculating it if needed.
+   *
+   * @return the valid jump destinations bitmap
+   */
+  public long[] getValidJumpDestinations() {
+    if (validJumpDestinations == null || validJumpDestinations.length == 0) {
+      validJumpDestinations = calculateJumpDests();
+    }
+    return validJumpDestinations;
+  }
+
+  /**
+   * Sets the valid jump destinations bitmap of this code, calculated beforehand.
+   *
+   * @param validJumpDestinations the valid jump destinations bitmap
+   */
+  public void setValidJumpDestinations(final long[] validJumpDestinations) {
+    this.validJumpDestinations = validJumpDestinations;
+  }
+
   @Override
   public CodeSection getCodeSection(final int section) {
     if (section == 0) {
@@ -0,0 +1,56 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import java.util.Optional;
+
+/**
+ * A store of the results of the code analysis, keyed by code hash, outliving the code cache so
+ * that the analysis of a contract is not repeated after an eviction or a restart.
+ */
+public interface CodeAnalysisStore {
+
+  /** The store keeping nothing. */
+  CodeAnalysisStore NONE =
+      new CodeAnalysisStore() {
+        @Override
+        public Optional<long[]> getJumpDestinations(final Hash codeHash) {
+          return Optional.empty();
+        }
+
+        @Override
+        public void putJumpDestinations(final Hash codeHash, final long[] jumpDestinations) {}
+      };
+
+  /**
+   * Gets the valid jump destinations bitmap of a legacy code. It is called on every code cache
+   * miss, so it must not block on I/O, a result not available in memory being reported as not
+   * stored.
+   *
+   * @param codeHash the code hash
+   * @return the valid jump destinations bitmap, if stored
+   */
+  Optional<long[]> getJumpDestinations(Hash codeHash);
+
+  /**
+   * Stores the valid jump destinations bitmap of a legacy code.
+   *
+   * @param codeHash the code hash
+   * @param jumpDestinations the valid jump destinations bitmap
+   */
+  void putJumpDestinations(Hash codeHash, long[] jumpDestinations);
+}
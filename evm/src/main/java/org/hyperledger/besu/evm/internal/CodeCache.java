@@ -16,6 +16,7 @@ package org.hyperledger.besu.evm.internal;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.code.CodeV0;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -25,6 +26,7 @@ public class CodeCache {
 
   private final Cache<Hash, Code> cache;
   private final long weightLimit;
+  private final CodeAnalysisStore codeAnalysisStore;
 
   /**
    * Instantiates a new Code cache.
@@ -32,11 +34,12 @@ public class CodeCache {
    * @param config the config
    */
   public CodeCache(final EvmConfiguration config) {
-    this(config.getJumpDestCacheWeightBytes());
+    this(config.getJumpDestCacheWeightBytes(), config.codeAnalysisStore());
   }
 
-  private CodeCache(final long maxWeightBytes) {
+  private CodeCache(final long maxWeightBytes, final CodeAnalysisStore codeAnalysisStore) {
     this.weightLimit = maxWeightBytes;
+    this.codeAnalysisStore = codeAnalysisStore;
     this.cache =
         Caffeine.newBuilder().maximumWeight(maxWeightBytes).weigher(new CodeScale()).build();
   }
@@ -72,9 +75,24 @@ public class CodeCache {
    * @param value the value
    */
   public void put(final Hash key, final Code value) {
+    if (value instanceof CodeV0 legacyCode && legacyCode.getSize() > 0) {
+      restoreOrStoreJumpDestinations(key, legacyCode);
+    }
     cache.put(key, value);
   }
 
+  private void restoreOrStoreJumpDestinations(final Hash key, final CodeV0 code) {
+    if (codeAnalysisStore == CodeAnalysisStore.NONE) {
+      return;
+    }
+    codeAnalysisStore
+        .getJumpDestinations(key)
+        .filter(jumpDestinations -> jumpDestinations.length == (code.getSize() >> 6) + 1)
+        .ifPresentOrElse(
+            code::setValidJumpDestinations,
+            () -> codeAnalysisStore.putJumpDestinations(key, code.getValidJumpDestinations()));
+  }
+
   /**
    * Size of cache.
    *
@@ -14,10 +14,12 @@
  */
 package org.hyperledger.besu.evm.internal;
 
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.Set;
 
 /**
  * The type Evm configuration.
@@ -28,13 +30,19 @@ import java.util.OptionalInt;
  * @param maxCodeSizeOverride An optional override of the maximum code size set by the EVM fork
  * @param maxInitcodeSizeOverride An optional override of the maximum initcode size set by the EVM
  *     fork
+ * @param cachedPrecompiles the addresses of the precompiles whose results are cached
+ * @param precompileCacheWeightKB the result cache weight of each cached precompile in kb
+ * @param codeAnalysisStore the store of the code analysis results of the code caches
  */
 public record EvmConfiguration(
     long jumpDestCacheWeightKB,
     WorldUpdaterMode worldUpdaterMode,
     Integer evmStackSize,
     Optional<Integer> maxCodeSizeOverride,
-    Optional<Integer> maxInitcodeSizeOverride) {
+    Optional<Integer> maxInitcodeSizeOverride,
+    Set<Address> cachedPrecompiles,
+    long precompileCacheWeightKB,
+    CodeAnalysisStore codeAnalysisStore) {
 
   /** How should the world state update be handled within transactions? */
   public enum WorldUpdaterMode {
@@ -46,6 +54,9 @@ public record EvmConfiguration(
     JOURNALED
   }
 
+  /** The default precompile result cache weight in kb. */
+  public static final long DEFAULT_PRECOMPILE_CACHE_WEIGHT_KB = 4_096L;
+
   /** The constant DEFAULT. */
   public static final EvmConfiguration DEFAULT =
       new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED);
@@ -63,7 +74,35 @@ public record EvmConfiguration(
         worldstateUpdateMode,
         MessageFrame.DEFAULT_MAX_STACK_SIZE,
         Optional.empty(),
-        Optional.empty());
+        Optional.empty(),
+        Set.of(),
+        DEFAULT_PRECOMPILE_CACHE_WEIGHT_KB,
+        CodeAnalysisStore.NONE);
+  }
+
+  /**
+   * Create an EVM Configuration caching the results of some precompiles, without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the workd update mode
+   * @param cachedPrecompiles the addresses of the precompiles whose results are cached
+   * @param precompileCacheWeightKilobytes the result cache weight of each cached precompile (in
+   *     kibibytes)
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final Set<Address> cachedPrecompiles,
+      final long precompileCacheWeightKilobytes) {
+    this(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        MessageFrame.DEFAULT_MAX_STACK_SIZE,
+        Optional.empty(),
+        Optional.empty(),
+        Set.copyOf(cachedPrecompiles),
+        precompileCacheWeightKilobytes,
+        CodeAnalysisStore.NONE);
   }
 
   /**
@@ -75,6 +114,15 @@ public record EvmConfiguration(
     return jumpDestCacheWeightKB * 1024L;
   }
 
+  /**
+   * Gets the result cache weight bytes of each cached precompile.
+   *
+   * @return the precompile result cache weight bytes
+   */
+  public long getPrecompileCacheWeightBytes() {
+    return precompileCacheWeightKB * 1024L;
+  }
+
   /**
    * Update the configuration with new overrides, or clearing the overrides with {@link
    * Optional#empty}
@@ -95,6 +143,28 @@ public record EvmConfiguration(
         newMaxCodeSize.isPresent() ? Optional.of(newMaxCodeSize.getAsInt()) : Optional.empty(),
         newMaxInitcodeSize.isPresent()
             ? Optional.of(newMaxInitcodeSize.getAsInt())
-            : Optional.empty());
+            : Optional.empty(),
+        cachedPrecompiles,
+        precompileCacheWeightKB,
+        codeAnalysisStore);
+  }
+
+  /**
+   * Update the configuration with the store the code caches restore the code analysis results
+   * from, and save them to
+   *
+   * @param newCodeAnalysisStore the code analysis store
+   * @return the updated EVM configuration
+   */
+  public EvmConfiguration withCodeAnalysisStore(final CodeAnalysisStore newCodeAnalysisStore) {
+    return new EvmConfiguration(
+        jumpDestCacheWeightKB,
+        worldUpdaterMode,
+        evmStackSize,
+        maxCodeSizeOverride,
+        maxInitcodeSizeOverride,
+        cachedPrecompiles,
+        precompileCacheWeightKB,
+        newCodeAnalysisStore);
   }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Wraps a deterministic {@link PrecompiledContract} with a bounded cache of its successful results,
+ * keyed by input.
+ *
+ * <p>The cache is created with {@link #createResultCache(long)} by the owner of the precompile
+ * registries and given to the wrappers of the same precompile address, so the same result is reused
+ * across forks, block building attempts and RPC calls. Only successful results are cached, failing
+ * inputs are always recomputed so that any side effect on the message frame is kept.
+ */
+public class CachingPrecompiledContract implements PrecompiledContract {
+
+  private final PrecompiledContract delegate;
+  private final Cache<Bytes, PrecompileContractResult> resultCache;
+
+  /**
+   * Instantiates a new caching precompiled contract.
+   *
+   * @param delegate the precompiled contract computing results on a cache miss
+   * @param resultCache the result cache of the precompile
+   */
+  public CachingPrecompiledContract(
+      final PrecompiledContract delegate,
+      final Cache<Bytes, PrecompileContractResult> resultCache) {
+    this.delegate = delegate;
+    this.resultCache = resultCache;
+  }
+
+  /**
+   * Creates a result cache, bounded by the total size of the cached inputs and outputs.
+   *
+   * @param maxWeightBytes the maximum total size of the cached inputs and outputs
+   * @return the result cache
+   */
+  public static Cache<Bytes, PrecompileContractResult> createResultCache(
+      final long maxWeightBytes) {
+    return CacheBuilder.newBuilder()
+        .recordStats()
+        .maximumWeight(maxWeightBytes)
+        .weigher(
+            (Bytes input, PrecompileContractResult result) ->
+                input.size() + result.getOutput().size())
+        .build();
+  }
+
+  /**
+   * Gets the wrapped precompiled contract.
+   *
+   * @return the wrapped precompiled contract
+   */
+  public PrecompiledContract getDelegate() {
+    return delegate;
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public long gasRequirement(final Bytes input) {
+    return delegate.gasRequirement(input);
+  }
+
+  @Nonnull
+  @Override
+  public PrecompileContractResult computePrecompile(
+      final Bytes input, @Nonnull final MessageFrame messageFrame) {
+    final PrecompileContractResult cached = resultCache.getIfPresent(input);
+    if (cached != null) {
+      return cached;
+    }
+    final PrecompileContractResult result = delegate.computePrecompile(input, messageFrame);
+    if (result.getState() == MessageFrame.State.COMPLETED_SUCCESS
+        && result.getOutput() != null) {
+      resultCache.put(input.copy(), result);
+    }
+    return result;
+  }
+}
@@ -21,6 +21,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.cache.Cache;
+import org.apache.tuweni.bytes.Bytes;
+
 /** Encapsulates a group of {@link PrecompiledContract}s used together. */
 public class PrecompileContractRegistry {
 
@@ -51,6 +54,25 @@ public class PrecompileContractRegistry {
     precompiles.put(address, precompile);
   }
 
+  /**
+   * Caches the successful results of the precompiled contract at the given address, if one is
+   * registered. Only deterministic precompiles whose output depends on nothing but their input
+   * should be cached.
+   *
+   * @param address the address of the precompiled contract
+   * @param resultCache the result cache of the precompiled contract
+   */
+  public void enableResultCaching(
+      final Address address,
+      final Cache<Bytes, PrecompiledContract.PrecompileContractResult> resultCache) {
+    precompiles.computeIfPresent(
+        address,
+        (key, precompile) ->
+            precompile instanceof CachingPrecompiledContract
+                ? precompile
+                : new CachingPrecompiledContract(precompile, resultCache));
+  }
+
   /**
    * Gets the addresses of the precompiled contracts.
    *
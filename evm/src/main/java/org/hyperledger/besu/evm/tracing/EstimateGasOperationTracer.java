@@ -14,9 +14,18 @@
  */
 package org.hyperledger.besu.evm.tracing;
 
+import org.hyperledger.besu.datatypes.Transaction;
 import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.AbstractCallOperation;
+import org.hyperledger.besu.evm.operation.AbstractCreateOperation;
+import org.hyperledger.besu.evm.operation.AbstractExtCallOperation;
+import org.hyperledger.besu.evm.operation.GasOperation;
+import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.operation.Operation.OperationResult;
 import org.hyperledger.besu.evm.operation.SStoreOperation;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+
+import java.util.Optional;
 
 /** The Estimate gas operation tracer. */
 public class EstimateGasOperationTracer implements OperationTracer {
@@ -25,9 +34,41 @@ public class EstimateGasOperationTracer implements OperationTracer {
 
   private long sStoreStipendNeeded = 0L;
 
+  private long transactionGasLimit = 0L;
+
+  private long gasLimitNeededBySStore = 0L;
+
+  private boolean gasDependentExecution = false;
+
   /** Default constructor. */
   public EstimateGasOperationTracer() {}
 
+  @Override
+  public void traceStartTransaction(final WorldView worldView, final Transaction transaction) {
+    transactionGasLimit = transaction.getGasLimit();
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    final Operation operation = frame.getCurrentOperation();
+    if (operation instanceof SStoreOperation sStoreOperation) {
+      // SSTORE halts unless more than the stipend remains, so the gas limit must cover the gas
+      // consumed so far plus the stipend
+      gasLimitNeededBySStore =
+          Math.max(
+              gasLimitNeededBySStore,
+              transactionGasLimit
+                  - frame.getRemainingGas()
+                  + sStoreOperation.getMinimumGasRemaining()
+                  + 1);
+    } else if (operation instanceof GasOperation
+        || operation instanceof AbstractCallOperation
+        || operation instanceof AbstractExtCallOperation
+        || operation instanceof AbstractCreateOperation) {
+      gasDependentExecution = true;
+    }
+  }
+
   @Override
   public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
     if (frame.getCurrentOperation() instanceof SStoreOperation sStoreOperation
@@ -56,4 +97,20 @@ public class EstimateGasOperationTracer implements OperationTracer {
   public long getStipendNeeded() {
     return sStoreStipendNeeded;
   }
+
+  /**
+   * Gets the exact gas limit needed by the traced transaction, when it can be derived from the
+   * trace alone. That is the case when execution never depended on the remaining gas: no sub
+   * calls, no contract creations and no GAS opcode, so the only gas checks are running out of gas
+   * and the SSTORE stipend check.
+   *
+   * @param gasUsedByTransaction the gas used by the traced transaction, before refunds
+   * @return the gas limit needed, or empty if it depends on the remaining gas
+   */
+  public Optional<Long> getExactGasLimitNeeded(final long gasUsedByTransaction) {
+    if (gasDependentExecution || maxDepth > 0) {
+      return Optional.empty();
+    }
+    return Optional.of(Math.max(gasUsedByTransaction, gasLimitNeededBySStore));
+  }
 }
@@ -16,11 +16,16 @@ package org.hyperledger.besu.evm.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.EVM;
 import org.hyperledger.besu.evm.MainnetEVMs;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
 import org.apache.tuweni.bytes.Bytes;
 import org.junit.jupiter.api.Test;
 
@@ -39,4 +44,37 @@ class CodeCacheTest {
     assertThat(weight)
         .isEqualTo(contractCode.getCodeHash().size() + (contractBytes.size() * 9 + 7) / 8);
   }
+
+  @Test
+  void jumpDestinationsAreStoredThenRestored() {
+    final Map<Hash, long[]> storedJumpDestinations = new HashMap<>();
+    final CodeAnalysisStore codeAnalysisStore =
+        new CodeAnalysisStore() {
+          @Override
+          public Optional<long[]> getJumpDestinations(final Hash codeHash) {
+            return Optional.ofNullable(storedJumpDestinations.get(codeHash));
+          }
+
+          @Override
+          public void putJumpDestinations(final Hash codeHash, final long[] jumpDestinations) {
+            storedJumpDestinations.put(codeHash, jumpDestinations);
+          }
+        };
+    final EvmConfiguration evmConfiguration =
+        EvmConfiguration.DEFAULT.withCodeAnalysisStore(codeAnalysisStore);
+    final EVM evm = MainnetEVMs.osaka(evmConfiguration);
+    final Bytes contractBytes = Bytes.fromHexString("0x6003565b00");
+    final Hash codeHash = Hash.hash(contractBytes);
+
+    evm.getCode(codeHash, contractBytes);
+    assertThat(storedJumpDestinations).containsOnlyKeys(codeHash);
+    assertThat(storedJumpDestinations.get(codeHash)).containsExactly(1L << 3);
+
+    // a jump destination restored from the store, but not present in the code
+    storedJumpDestinations.put(codeHash, new long[] {1L << 4});
+    final Code restoredCode =
+        MainnetEVMs.osaka(evmConfiguration).getCode(codeHash, contractBytes);
+    assertThat(restoredCode.isJumpDestInvalid(4)).isFalse();
+    assertThat(restoredCode.isJumpDestInvalid(3)).isTrue();
+  }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.precompile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.precompile.PrecompiledContract.PrecompileContractResult;
+
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingPrecompiledContractTest {
+
+  private static final Bytes INPUT = Bytes.fromHexString("0x0102030405");
+  private static final Bytes OUTPUT = Bytes.fromHexString("0x01");
+
+  @Mock PrecompiledContract delegate;
+  @Mock MessageFrame messageFrame;
+
+  private final Cache<Bytes, PrecompileContractResult> resultCache =
+      CachingPrecompiledContract.createResultCache(1024);
+
+  @Test
+  void successfulResultIsComputedOnce() {
+    when(delegate.computePrecompile(any(), any()))
+        .thenReturn(PrecompileContractResult.success(OUTPUT));
+    final CachingPrecompiledContract contract =
+        new CachingPrecompiledContract(delegate, resultCache);
+
+    assertThat(contract.computePrecompile(INPUT, messageFrame).getOutput()).isEqualTo(OUTPUT);
+    assertThat(contract.computePrecompile(INPUT.copy(), messageFrame).getOutput())
+        .isEqualTo(OUTPUT);
+
+    verify(delegate, times(1)).computePrecompile(any(), any());
+    assertThat(resultCache.stats().hitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void failedResultIsNotCached() {
+    when(delegate.computePrecompile(any(), any()))
+        .thenReturn(
+            PrecompileContractResult.halt(
+                null, Optional.of(ExceptionalHaltReason.PRECOMPILE_ERROR)));
+    final CachingPrecompiledContract contract =
+        new CachingPrecompiledContract(delegate, resultCache);
+
+    contract.computePrecompile(INPUT, messageFrame);
+    contract.computePrecompile(INPUT, messageFrame);
+
+    verify(delegate, times(2)).computePrecompile(any(), any());
+  }
+
+  @Test
+  void cacheIsSharedByContractsGivenTheSameCache() {
+    when(delegate.computePrecompile(any(), any()))
+        .thenReturn(PrecompileContractResult.success(OUTPUT));
+
+    new CachingPrecompiledContract(delegate, resultCache).computePrecompile(INPUT, messageFrame);
+    new CachingPrecompiledContract(delegate, resultCache).computePrecompile(INPUT, messageFrame);
+
+    verify(delegate, times(1)).computePrecompile(any(), any());
+  }
+
+  @Test
+  void registryWrapsOnlyRegisteredPrecompilesOnce() {
+    final PrecompileContractRegistry registry = new PrecompileContractRegistry();
+    registry.put(Address.ALTBN128_PAIRING, delegate);
+
+    registry.enableResultCaching(Address.ALTBN128_PAIRING, resultCache);
+    final PrecompiledContract cached = registry.get(Address.ALTBN128_PAIRING);
+    registry.enableResultCaching(Address.ALTBN128_PAIRING, resultCache);
+    registry.enableResultCaching(Address.KZG_POINT_EVAL, resultCache);
+
+    assertThat(cached).isInstanceOf(CachingPrecompiledContract.class);
+    assertThat(((CachingPrecompiledContract) cached).getDelegate()).isSameAs(delegate);
+    assertThat(registry.get(Address.ALTBN128_PAIRING)).isSameAs(cached);
+    assertThat(registry.get(Address.KZG_POINT_EVAL)).isNull();
+  }
+}
@@ -20,7 +20,9 @@ import org.hyperledger.besu.plugin.Unstable;
 import org.hyperledger.besu.plugin.data.BlockTraceResult;
 import org.hyperledger.besu.plugin.services.tracer.BlockAwareOperationTracer;
 
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /** The Trace service interface */
 @Unstable
@@ -58,4 +60,34 @@ public interface TraceService extends BesuService {
       final Consumer<WorldUpdater> beforeTracing,
       final Consumer<WorldUpdater> afterTracing,
       final BlockAwareOperationTracer tracer);
+
+  /**
+   * Traces range of blocks using several workers. The range is split into at most {@code
+   * parallelism} contiguous segments, each traced on the historical world state of its first
+   * block's parent with its own tracer. The tracers are returned in block order, so results can be
+   * merged afterwards as if the range had been traced sequentially. The default implementation
+   * traces the whole range with a single tracer.
+   *
+   * @param fromBlockNumber the beginning of the range (inclusive)
+   * @param toBlockNumber the end of the range (inclusive)
+   * @param parallelism the maximum number of segments traced concurrently
+   * @param beforeTracing Function which performs an operation on the world state of each segment
+   *     before tracing
+   * @param afterTracing Function which performs an operation on the world state of each segment
+   *     after tracing
+   * @param tracerFactory creates the tracer of each segment
+   * @param <T> the type of the tracer
+   * @return the tracers of the segments, ordered by block number
+   */
+  default <T extends BlockAwareOperationTracer> List<T> trace(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final int parallelism,
+      final Consumer<WorldUpdater> beforeTracing,
+      final Consumer<WorldUpdater> afterTracing,
+      final Supplier<T> tracerFactory) {
+    final T tracer = tracerFactory.get();
+    trace(fromBlockNumber, toBlockNumber, beforeTracing, afterTracing, tracer);
+    return List.of(tracer);
+  }
 }
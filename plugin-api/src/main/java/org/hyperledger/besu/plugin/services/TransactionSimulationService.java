@@ -22,6 +22,7 @@ import org.hyperledger.besu.plugin.Unstable;
 import org.hyperledger.besu.plugin.data.ProcessableBlockHeader;
 import org.hyperledger.besu.plugin.data.TransactionSimulationResult;
 
+import java.util.List;
 import java.util.Optional;
 
 /** Transaction simulation service interface */
@@ -73,4 +74,49 @@ public interface TransactionSimulationService extends BesuService {
       OperationTracer operationTracer,
       boolean isAllowExceedingBalance,
       boolean isAllowFutureNonce);
+
+  /**
+   * Simulate the execution of a batch of transactions at the block identified by the hash, with
+   * optional state overrides applied once before the first transaction. All the transactions are
+   * executed against the same view of the world state, either sequentially, each one seeing the
+   * state changes of the preceding valid ones, or independently of each other.
+   *
+   * @param transactions the transactions, in execution order
+   * @param stateOverrides state overrides to apply before the first transaction
+   * @param blockHash hash of the block
+   * @param operationTracer the tracer
+   * @param isAllowExceedingBalance should ignore the sender balance during the simulation?
+   * @param isSequential should each transaction see the state changes of the preceding ones?
+   * @return one result per transaction, in the same order, or empty if the state of the block is
+   *     not available
+   */
+  Optional<List<TransactionSimulationResult>> simulateBatch(
+      List<? extends Transaction> transactions,
+      Optional<StateOverrideMap> stateOverrides,
+      Hash blockHash,
+      OperationTracer operationTracer,
+      boolean isAllowExceedingBalance,
+      boolean isSequential);
+
+  /**
+   * Simulate the execution of a batch of transactions on the pending block, as {@link
+   * #simulateBatch(List, Optional, Hash, OperationTracer, boolean, boolean)} does.
+   *
+   * @param transactions the transactions, in execution order
+   * @param stateOverrides state overrides to apply before the first transaction
+   * @param processableBlockHeader block header to simulate on pending block
+   * @param operationTracer the tracer
+   * @param isAllowExceedingBalance should ignore the sender balance during the simulation?
+   * @param isAllowFutureNonce should skip strict check on sequential nonce?
+   * @param isSequential should each transaction see the state changes of the preceding ones?
+   * @return one result per transaction, in the same order
+   */
+  List<TransactionSimulationResult> simulateBatch(
+      List<? extends Transaction> transactions,
+      Optional<StateOverrideMap> stateOverrides,
+      ProcessableBlockHeader processableBlockHeader,
+      OperationTracer operationTracer,
+      boolean isAllowExceedingBalance,
+      boolean isAllowFutureNonce,
+      boolean isSequential);
 }
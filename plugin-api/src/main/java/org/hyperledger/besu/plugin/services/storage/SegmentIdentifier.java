@@ -74,4 +74,26 @@ public interface SegmentIdentifier {
   default boolean isStaticDataGarbageCollectionEnabled() {
     return false;
   }
+
+  /**
+   * Length of the prefix shared by keys that are usually read together, for example all the
+   * storage slots of an account. The underlying implementation can use it to build prefix filters
+   * and restrict range scans that stay under a single prefix.
+   *
+   * @return the length of the key prefix, or 0 if keys have no meaningful prefix
+   */
+  default int getKeyPrefixLength() {
+    return 0;
+  }
+
+  /**
+   * Kind of data stored in the segment. The underlying implementation can use it to tune the
+   * segment for the way its data is written and read.
+   *
+   * @return the workload of the segment, or {@link SegmentWorkload#OTHER} if it has none in
+   *     particular
+   */
+  default SegmentWorkload getWorkload() {
+    return SegmentWorkload.OTHER;
+  }
 }
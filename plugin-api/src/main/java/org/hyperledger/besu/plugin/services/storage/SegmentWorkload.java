@@ -0,0 +1,27 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage;
+
+/** The kind of data stored in a segment, which storage implementations can use to tune it. */
+public enum SegmentWorkload {
+  /** Trie nodes, read randomly by hash or location. */
+  TRIE,
+  /** Flat accounts, storage slots and code, read randomly by key, and their archived versions. */
+  FLAT_STATE,
+  /** Blocks, receipts and trie logs, appended once and mostly read near the head. */
+  BLOCKCHAIN,
+  /** Any other segment. */
+  OTHER;
+}
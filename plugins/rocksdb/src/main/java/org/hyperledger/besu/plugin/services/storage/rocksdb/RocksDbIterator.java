@@ -21,6 +21,7 @@ import java.util.NoSuchElementException;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -35,10 +36,13 @@ public class RocksDbIterator implements Iterator<Pair<byte[], byte[]>>, AutoClos
   private static final Logger LOG = LoggerFactory.getLogger(RocksDbIterator.class);
 
   private final RocksIterator rocksIterator;
+  private final Consumer<RocksIterator> releaser;
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
-  private RocksDbIterator(final RocksIterator rocksIterator) {
+  private RocksDbIterator(
+      final RocksIterator rocksIterator, final Consumer<RocksIterator> releaser) {
     this.rocksIterator = rocksIterator;
+    this.releaser = releaser;
   }
 
   /**
@@ -48,7 +52,20 @@ public class RocksDbIterator implements Iterator<Pair<byte[], byte[]>>, AutoClos
    * @return the rocks db iterator
    */
   public static RocksDbIterator create(final RocksIterator rocksIterator) {
-    return new RocksDbIterator(rocksIterator);
+    return new RocksDbIterator(rocksIterator, RocksIterator::close);
+  }
+
+  /**
+   * Create RocksDb iterator that hands the rocks iterator over to a releaser when closed instead of
+   * closing it, so that it can be reused.
+   *
+   * @param rocksIterator the rocks iterator
+   * @param releaser called with the rocks iterator when this iterator is closed
+   * @return the rocks db iterator
+   */
+  public static RocksDbIterator create(
+      final RocksIterator rocksIterator, final Consumer<RocksIterator> releaser) {
+    return new RocksDbIterator(rocksIterator, releaser);
   }
 
   @Override
@@ -155,7 +172,7 @@ public class RocksDbIterator implements Iterator<Pair<byte[], byte[]>>, AutoClos
   @Override
   public void close() {
     if (closed.compareAndSet(false, true)) {
-      rocksIterator.close();
+      releaser.accept(rocksIterator);
     }
   }
 }
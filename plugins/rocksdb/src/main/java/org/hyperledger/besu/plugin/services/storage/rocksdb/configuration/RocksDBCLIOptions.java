@@ -32,6 +32,9 @@ public class RocksDBCLIOptions {
   /** The constant DEFAULT_IS_HIGH_SPEC. */
   public static final boolean DEFAULT_IS_HIGH_SPEC = false;
 
+  /** The constant DEFAULT_PROFILE. */
+  public static final RocksDBProfile DEFAULT_PROFILE = RocksDBProfile.DEFAULT;
+
   /** The constant MAX_OPEN_FILES_FLAG. */
   public static final String MAX_OPEN_FILES_FLAG = "--Xplugin-rocksdb-max-open-files";
 
@@ -45,6 +48,9 @@ public class RocksDBCLIOptions {
   /** The constant IS_HIGH_SPEC. */
   public static final String IS_HIGH_SPEC = "--Xplugin-rocksdb-high-spec-enabled";
 
+  /** The constant PROFILE_FLAG. */
+  public static final String PROFILE_FLAG = "--Xplugin-rocksdb-profile";
+
   /** The Max open files. */
   @CommandLine.Option(
       names = {MAX_OPEN_FILES_FLAG},
@@ -81,6 +87,17 @@ public class RocksDBCLIOptions {
           "Use this flag to boost Besu performance if you have a 16 GiB RAM hardware or more (default: ${DEFAULT-VALUE})")
   boolean isHighSpec;
 
+  /** The profile. */
+  @CommandLine.Option(
+      names = {PROFILE_FLAG},
+      hidden = true,
+      defaultValue = "default",
+      paramLabel = "<PROFILE>",
+      converter = ProfileConverter.class,
+      description =
+          "Column family tuning profile of RocksDB, one of default, rpc-heavy, validator or archive (default: ${DEFAULT-VALUE})")
+  RocksDBProfile profile;
+
   private RocksDBCLIOptions() {}
 
   /**
@@ -104,6 +121,7 @@ public class RocksDBCLIOptions {
     options.cacheCapacity = config.getCacheCapacity();
     options.backgroundThreadCount = config.getBackgroundThreadCount();
     options.isHighSpec = config.isHighSpec();
+    options.profile = config.getProfile();
     return options;
   }
 
@@ -114,7 +132,7 @@ public class RocksDBCLIOptions {
    */
   public RocksDBFactoryConfiguration toDomainObject() {
     return new RocksDBFactoryConfiguration(
-        maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec);
+        maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec, profile);
   }
 
   /**
@@ -133,6 +151,15 @@ public class RocksDBCLIOptions {
         .add("cacheCapacity", cacheCapacity)
         .add("backgroundThreadCount", backgroundThreadCount)
         .add("isHighSpec", isHighSpec)
+        .add("profile", profile)
         .toString();
   }
+
+  /** Converts a profile name given on the command line to its profile. */
+  static class ProfileConverter implements CommandLine.ITypeConverter<RocksDBProfile> {
+    @Override
+    public RocksDBProfile convert(final String value) {
+      return RocksDBProfile.fromName(value);
+    }
+  }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
+
+import java.util.List;
+
+import org.rocksdb.CompressionType;
+
+/**
+ * Column family tuning applied to a segment.
+ *
+ * @param blockSize the size of the data blocks
+ * @param bloomBitsPerKey the number of bits per key of the bloom filter
+ * @param partitionedIndexAndFilters whether index and filters are partitioned, so that only the
+ *     top level index needs to stay in memory
+ * @param cacheIndexAndFilterBlocks whether index and filter blocks are loaded into the block cache
+ *     instead of being held in memory outside of it
+ * @param highPriorityIndexAndFilterBlocks whether index and filter blocks are kept in the high
+ *     priority pool of the block cache, so that data blocks are evicted first
+ * @param compressionPerLevel the compression of each level starting from L0, the last one applying
+ *     to the deeper levels, so that the recent and often rewritten data of the upper levels can be
+ *     left uncompressed
+ * @param bottommostCompression the compression of the last level, which holds most of the data
+ */
+public record RocksDBColumnFamilyTuning(
+    long blockSize,
+    double bloomBitsPerKey,
+    boolean partitionedIndexAndFilters,
+    boolean cacheIndexAndFilterBlocks,
+    boolean highPriorityIndexAndFilterBlocks,
+    List<CompressionType> compressionPerLevel,
+    CompressionType bottommostCompression) {
+
+  /** The tuning applied to every segment by default. */
+  public static final RocksDBColumnFamilyTuning DEFAULT =
+      new RocksDBColumnFamilyTuning(
+          32768,
+          10,
+          false,
+          false,
+          false,
+          List.of(CompressionType.LZ4_COMPRESSION),
+          CompressionType.LZ4_COMPRESSION);
+}
@@ -25,9 +25,10 @@ public class RocksDBConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final RocksDBProfile profile;
 
   /**
-   * Instantiates a new RocksDb configuration.
+   * Instantiates a new RocksDb configuration with the default profile.
    *
    * @param databaseDir the database dir
    * @param maxOpenFiles the max open files
@@ -43,12 +44,42 @@ public class RocksDBConfiguration {
       final long cacheCapacity,
       final String label,
       final boolean isHighSpec) {
+    this(
+        databaseDir,
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        label,
+        isHighSpec,
+        RocksDBProfile.DEFAULT);
+  }
+
+  /**
+   * Instantiates a new RocksDb configuration.
+   *
+   * @param databaseDir the database dir
+   * @param maxOpenFiles the max open files
+   * @param backgroundThreadCount the background thread count
+   * @param cacheCapacity the cache capacity
+   * @param label the label
+   * @param isHighSpec the is high spec
+   * @param profile the profile tuning the column families
+   */
+  public RocksDBConfiguration(
+      final Path databaseDir,
+      final int maxOpenFiles,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final String label,
+      final boolean isHighSpec,
+      final RocksDBProfile profile) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.databaseDir = databaseDir;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.label = label;
     this.isHighSpec = isHighSpec;
+    this.profile = profile;
   }
 
   /**
@@ -104,4 +135,13 @@ public class RocksDBConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Gets the profile tuning the column families.
+   *
+   * @return the profile
+   */
+  public RocksDBProfile getProfile() {
+    return profile;
+  }
 }
@@ -30,6 +30,7 @@ public class RocksDBConfigurationBuilder {
   private long cacheCapacity = DEFAULT_CACHE_CAPACITY;
   private int backgroundThreadCount = DEFAULT_BACKGROUND_THREAD_COUNT;
   private boolean isHighSpec = DEFAULT_IS_HIGH_SPEC;
+  private RocksDBProfile profile = RocksDBProfile.DEFAULT;
 
   /** Instantiates a new Rocks db configuration builder. */
   public RocksDBConfigurationBuilder() {}
@@ -100,6 +101,17 @@ public class RocksDBConfigurationBuilder {
     return this;
   }
 
+  /**
+   * Profile.
+   *
+   * @param profile the profile tuning the column families
+   * @return the rocks db configuration builder
+   */
+  public RocksDBConfigurationBuilder profile(final RocksDBProfile profile) {
+    this.profile = profile;
+    return this;
+  }
+
   /**
    * From.
    *
@@ -111,7 +123,8 @@ public class RocksDBConfigurationBuilder {
         .backgroundThreadCount(configuration.getBackgroundThreadCount())
         .cacheCapacity(configuration.getCacheCapacity())
         .maxOpenFiles(configuration.getMaxOpenFiles())
-        .isHighSpec(configuration.isHighSpec());
+        .isHighSpec(configuration.isHighSpec())
+        .profile(configuration.getProfile());
   }
 
   /**
@@ -121,6 +134,12 @@ public class RocksDBConfigurationBuilder {
    */
   public RocksDBConfiguration build() {
     return new RocksDBConfiguration(
-        databaseDir, maxOpenFiles, backgroundThreadCount, cacheCapacity, label, isHighSpec);
+        databaseDir,
+        maxOpenFiles,
+        backgroundThreadCount,
+        cacheCapacity,
+        label,
+        isHighSpec,
+        profile);
   }
 }
@@ -21,9 +21,10 @@ public class RocksDBFactoryConfiguration {
   private final int backgroundThreadCount;
   private final long cacheCapacity;
   private final boolean isHighSpec;
+  private final RocksDBProfile profile;
 
   /**
-   * Instantiates a new RocksDb factory configuration.
+   * Instantiates a new RocksDb factory configuration with the default profile.
    *
    * @param maxOpenFiles the max open files
    * @param backgroundThreadCount the background thread count
@@ -35,10 +36,29 @@ public class RocksDBFactoryConfiguration {
       final int backgroundThreadCount,
       final long cacheCapacity,
       final boolean isHighSpec) {
+    this(maxOpenFiles, backgroundThreadCount, cacheCapacity, isHighSpec, RocksDBProfile.DEFAULT);
+  }
+
+  /**
+   * Instantiates a new RocksDb factory configuration.
+   *
+   * @param maxOpenFiles the max open files
+   * @param backgroundThreadCount the background thread count
+   * @param cacheCapacity the cache capacity
+   * @param isHighSpec the is high spec
+   * @param profile the profile tuning the column families
+   */
+  public RocksDBFactoryConfiguration(
+      final int maxOpenFiles,
+      final int backgroundThreadCount,
+      final long cacheCapacity,
+      final boolean isHighSpec,
+      final RocksDBProfile profile) {
     this.backgroundThreadCount = backgroundThreadCount;
     this.maxOpenFiles = maxOpenFiles;
     this.cacheCapacity = cacheCapacity;
     this.isHighSpec = isHighSpec;
+    this.profile = profile;
   }
 
   /**
@@ -76,4 +96,13 @@ public class RocksDBFactoryConfiguration {
   public boolean isHighSpec() {
     return isHighSpec;
   }
+
+  /**
+   * Gets the profile tuning the column families.
+   *
+   * @return the profile
+   */
+  public RocksDBProfile getProfile() {
+    return profile;
+  }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.plugin.services.storage.rocksdb.configuration;
+
+import org.hyperledger.besu.plugin.services.storage.SegmentWorkload;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.rocksdb.CompressionType;
+
+/** Named RocksDB profiles, tuning each column family for the workload of the node. */
+public enum RocksDBProfile {
+  /** The same tuning for every segment. */
+  DEFAULT("default"),
+  /**
+   * For nodes serving many RPC reads: smaller blocks and stronger filters for point lookups on the
+   * state, with index and filters cached at high priority to bound memory.
+   */
+  RPC_HEAVY("rpc-heavy"),
+  /**
+   * For validators, importing blocks as fast as possible: state index and filters always held in
+   * memory with its upper levels left uncompressed, and the chain data, rarely read, compressed
+   * harder with partitioned index and filters.
+   */
+  VALIDATOR("validator"),
+  /**
+   * For archive nodes, whose data set is much larger than the memory: partitioned index and
+   * filters everywhere and a stronger compression of the last level.
+   */
+  ARCHIVE("archive");
+
+  private static final long SMALL_BLOCK_SIZE = 16384;
+  private static final long LARGE_BLOCK_SIZE = 65536;
+
+  // L0 and L1 are rewritten by every compaction, leaving them uncompressed saves the CPU of
+  // compressing data that does not stay there for long
+  private static final List<CompressionType> UNCOMPRESSED_UPPER_LEVELS =
+      List.of(
+          CompressionType.NO_COMPRESSION,
+          CompressionType.NO_COMPRESSION,
+          CompressionType.LZ4_COMPRESSION);
+
+  private static final RocksDBColumnFamilyTuning RPC_HEAVY_TRIE =
+      new RocksDBColumnFamilyTuning(
+          SMALL_BLOCK_SIZE,
+          10,
+          true,
+          true,
+          true,
+          UNCOMPRESSED_UPPER_LEVELS,
+          CompressionType.LZ4_COMPRESSION);
+
+  private static final RocksDBColumnFamilyTuning RPC_HEAVY_FLAT_STATE =
+      new RocksDBColumnFamilyTuning(
+          SMALL_BLOCK_SIZE,
+          16,
+          true,
+          true,
+          true,
+          UNCOMPRESSED_UPPER_LEVELS,
+          CompressionType.LZ4_COMPRESSION);
+
+  private static final RocksDBColumnFamilyTuning VALIDATOR_STATE =
+      new RocksDBColumnFamilyTuning(
+          RocksDBColumnFamilyTuning.DEFAULT.blockSize(),
+          10,
+          false,
+          false,
+          false,
+          UNCOMPRESSED_UPPER_LEVELS,
+          CompressionType.LZ4_COMPRESSION);
+
+  private static final RocksDBColumnFamilyTuning COLD_BLOCKCHAIN =
+      new RocksDBColumnFamilyTuning(
+          LARGE_BLOCK_SIZE,
+          10,
+          true,
+          true,
+          false,
+          List.of(
+              CompressionType.LZ4_COMPRESSION,
+              CompressionType.LZ4_COMPRESSION,
+              CompressionType.ZSTD_COMPRESSION),
+          CompressionType.ZSTD_COMPRESSION);
+
+  private static final RocksDBColumnFamilyTuning ARCHIVE_STATE =
+      new RocksDBColumnFamilyTuning(
+          RocksDBColumnFamilyTuning.DEFAULT.blockSize(),
+          10,
+          true,
+          true,
+          true,
+          UNCOMPRESSED_UPPER_LEVELS,
+          CompressionType.ZSTD_COMPRESSION);
+
+  private final String name;
+
+  RocksDBProfile(final String name) {
+    this.name = name;
+  }
+
+  /**
+   * Gets the name of the profile, as used on the command line.
+   *
+   * @return the name of the profile
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Gets the column family tuning of a segment workload for this profile.
+   *
+   * @param workload the workload of the segment
+   * @return the column family tuning
+   */
+  public RocksDBColumnFamilyTuning getTuning(final SegmentWorkload workload) {
+    return switch (this) {
+      case DEFAULT -> RocksDBColumnFamilyTuning.DEFAULT;
+      case RPC_HEAVY ->
+          switch (workload) {
+            case TRIE -> RPC_HEAVY_TRIE;
+            case FLAT_STATE -> RPC_HEAVY_FLAT_STATE;
+            case BLOCKCHAIN, OTHER -> RocksDBColumnFamilyTuning.DEFAULT;
+          };
+      case VALIDATOR ->
+          switch (workload) {
+            case TRIE, FLAT_STATE -> VALIDATOR_STATE;
+            case BLOCKCHAIN -> COLD_BLOCKCHAIN;
+            case OTHER -> RocksDBColumnFamilyTuning.DEFAULT;
+          };
+      case ARCHIVE ->
+          switch (workload) {
+            case TRIE, FLAT_STATE -> ARCHIVE_STATE;
+            case BLOCKCHAIN -> COLD_BLOCKCHAIN;
+            case OTHER -> RocksDBColumnFamilyTuning.DEFAULT;
+          };
+    };
+  }
+
+  /**
+   * Get a profile from its name.
+   *
+   * @param name the name of the profile
+   * @return the profile
+   * @throws IllegalArgumentException if no profile has this name
+   */
+  public static RocksDBProfile fromName(final String name) {
+    final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+    return Arrays.stream(values())
+        .filter(profile -> profile.name.equals(lowerCaseName))
+        .findFirst()
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    "Unknown RocksDB profile "
+                        + name
+                        + ", expected one of "
+                        + Arrays.toString(
+                            Arrays.stream(values()).map(RocksDBProfile::getName).toArray())));
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -26,6 +26,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactor
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbSegmentIdentifier;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbUtil;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBColumnFamilyTuning;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfiguration;
 
 import java.nio.charset.StandardCharsets;
@@ -54,6 +55,7 @@ import org.rocksdb.CompressionType;
 import org.rocksdb.ConfigOptions;
 import org.rocksdb.DBOptions;
 import org.rocksdb.Env;
+import org.rocksdb.IndexType;
 import org.rocksdb.LRUCache;
 import org.rocksdb.Options;
 import org.rocksdb.OptionsUtil;
@@ -61,6 +63,7 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Slice;
 import org.rocksdb.Statistics;
 import org.rocksdb.Status;
 import org.rocksdb.TransactionDBOptions;
@@ -73,7 +76,9 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
 
   private static final Logger LOG = LoggerFactory.getLogger(RocksDBColumnarKeyValueStorage.class);
   private static final int ROCKSDB_FORMAT_VERSION = 5;
-  private static final long ROCKSDB_BLOCK_SIZE = 32768;
+
+  /** Share of the block cache reserved to index and filter blocks cached with high priority */
+  private static final double ROCKSDB_HIGH_PRIORITY_POOL_RATIO = 0.5;
 
   /** RocksDb blockcache size when using the high spec option */
   protected static final long ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC = 1_073_741_824L;
@@ -100,6 +105,8 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   private final WriteOptions tryDeleteOptions =
       new WriteOptions().setNoSlowdown(true).setIgnoreMissingColumnFamilies(true);
   private final ReadOptions readOptions = new ReadOptions().setVerifyChecksums(false);
+  // segments with a key prefix have a prefix extractor, iterators must opt in to prefix seeks
+  private final ReadOptions iteratorReadOptions = new ReadOptions().setTotalOrderSeek(true);
   private final MetricsSystem metricsSystem;
   private final RocksDBMetricsFactory rocksDBMetricsFactory;
   private final RocksDBConfiguration configuration;
@@ -218,14 +225,21 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
     } catch (RocksDBException ex) {
       // Options file is not found in the database
     }
-    BlockBasedTableConfig basedTableConfig = createBlockBasedTableConfig(segment, configuration);
+    final RocksDBColumnFamilyTuning tuning =
+        configuration.getProfile().getTuning(segment.getWorkload());
+    BlockBasedTableConfig basedTableConfig =
+        createBlockBasedTableConfig(segment, configuration, tuning);
 
     final var options =
         new ColumnFamilyOptions()
             .setTtl(0)
-            .setCompressionType(CompressionType.LZ4_COMPRESSION)
+            .setCompressionPerLevel(tuning.compressionPerLevel())
+            .setBottommostCompressionType(tuning.bottommostCompression())
             .setTableFormatConfig(basedTableConfig)
             .setLevelCompactionDynamicLevelBytes(dynamicLevelBytes);
+    if (segment.getKeyPrefixLength() > 0) {
+      options.useFixedLengthPrefixExtractor(segment.getKeyPrefixLength());
+    }
     if (segment.containsStaticData()) {
       options
           .setEnableBlobFiles(true)
@@ -243,22 +257,38 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
    *
    * @param segment The segment related to the column family
    * @param config RocksDB configuration
+   * @param tuning the tuning of the column family, from the configured profile
    * @return Block Base Table configuration
    */
   private BlockBasedTableConfig createBlockBasedTableConfig(
-      final SegmentIdentifier segment, final RocksDBConfiguration config) {
+      final SegmentIdentifier segment,
+      final RocksDBConfiguration config,
+      final RocksDBColumnFamilyTuning tuning) {
+    final long cacheCapacity =
+        config.isHighSpec() && segment.isEligibleToHighSpecFlag()
+            ? ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC
+            : config.getCacheCapacity();
     final LRUCache cache =
-        new LRUCache(
-            config.isHighSpec() && segment.isEligibleToHighSpecFlag()
-                ? ROCKSDB_BLOCKCACHE_SIZE_HIGH_SPEC
-                : config.getCacheCapacity());
-    return new BlockBasedTableConfig()
-        .setFormatVersion(ROCKSDB_FORMAT_VERSION)
-        .setBlockCache(cache)
-        .setFilterPolicy(new BloomFilter(10, false))
-        .setPartitionFilters(true)
-        .setCacheIndexAndFilterBlocks(false)
-        .setBlockSize(ROCKSDB_BLOCK_SIZE);
+        tuning.highPriorityIndexAndFilterBlocks()
+            ? new LRUCache(cacheCapacity, -1, false, ROCKSDB_HIGH_PRIORITY_POOL_RATIO)
+            : new LRUCache(cacheCapacity);
+    final BlockBasedTableConfig tableConfig =
+        new BlockBasedTableConfig()
+            .setFormatVersion(ROCKSDB_FORMAT_VERSION)
+            .setBlockCache(cache)
+            .setFilterPolicy(new BloomFilter(tuning.bloomBitsPerKey(), false))
+            .setPartitionFilters(true)
+            .setCacheIndexAndFilterBlocks(tuning.cacheIndexAndFilterBlocks())
+            .setCacheIndexAndFilterBlocksWithHighPriority(
+                tuning.highPriorityIndexAndFilterBlocks())
+            .setBlockSize(tuning.blockSize());
+    if (tuning.partitionedIndexAndFilters()) {
+      // only the top level index stays pinned, partitions are loaded on demand
+      tableConfig
+          .setIndexType(IndexType.kTwoLevelIndexSearch)
+          .setPinTopLevelIndexAndFilter(true);
+    }
+    return tableConfig;
   }
 
   /***
@@ -389,7 +419,7 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
 
     try (final RocksIterator rocksIterator =
-        getDB().newIterator(safeColumnHandle(segmentIdentifier))) {
+        getDB().newIterator(safeColumnHandle(segmentIdentifier), iteratorReadOptions)) {
       rocksIterator.seekForPrev(key.toArrayUnsafe());
       return Optional.of(rocksIterator)
           .filter(AbstractRocksIterator::isValid)
@@ -402,7 +432,7 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
 
     try (final RocksIterator rocksIterator =
-        getDB().newIterator(safeColumnHandle(segmentIdentifier))) {
+        getDB().newIterator(safeColumnHandle(segmentIdentifier), iteratorReadOptions)) {
       rocksIterator.seek(key.toArrayUnsafe());
       return Optional.of(rocksIterator)
           .filter(AbstractRocksIterator::isValid)
@@ -412,7 +442,8 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
 
   @Override
   public Stream<Pair<byte[], byte[]>> stream(final SegmentIdentifier segmentIdentifier) {
-    final RocksIterator rocksIterator = getDB().newIterator(safeColumnHandle(segmentIdentifier));
+    final RocksIterator rocksIterator =
+        getDB().newIterator(safeColumnHandle(segmentIdentifier), iteratorReadOptions);
     rocksIterator.seekToFirst();
     return RocksDbIterator.create(rocksIterator).toStream();
   }
@@ -420,7 +451,8 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   @Override
   public Stream<Pair<byte[], byte[]>> streamFromKey(
       final SegmentIdentifier segmentIdentifier, final byte[] startKey) {
-    final RocksIterator rocksIterator = getDB().newIterator(safeColumnHandle(segmentIdentifier));
+    final RocksIterator rocksIterator =
+        getDB().newIterator(safeColumnHandle(segmentIdentifier), iteratorReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator).toStream();
   }
@@ -428,17 +460,65 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
   @Override
   public Stream<Pair<byte[], byte[]>> streamFromKey(
       final SegmentIdentifier segmentIdentifier, final byte[] startKey, final byte[] endKey) {
-    final Bytes endKeyBytes = Bytes.wrap(endKey);
-    final RocksIterator rocksIterator = getDB().newIterator(safeColumnHandle(segmentIdentifier));
+    return streamRange(
+        getDB(),
+        safeColumnHandle(segmentIdentifier),
+        iteratorReadOptions,
+        segmentIdentifier.getKeyPrefixLength(),
+        startKey,
+        endKey);
+  }
+
+  /**
+   * Stream the keys between a start key and an end key, both inclusive. The iterator is bounded by
+   * the end key so that RocksDB does not read files past the range, and when the whole range shares
+   * the key prefix of the segment, prefix filters are used to skip files without this prefix.
+   *
+   * @param db the database
+   * @param columnFamilyHandle the column family to iterate over
+   * @param baseReadOptions the read options to derive the range read options from
+   * @param keyPrefixLength the key prefix length of the segment, 0 if it has no prefix extractor
+   * @param startKey the first key of the range
+   * @param endKey the last key of the range
+   * @return the stream of key-value pairs in the range
+   */
+  static Stream<Pair<byte[], byte[]>> streamRange(
+      final RocksDB db,
+      final ColumnFamilyHandle columnFamilyHandle,
+      final ReadOptions baseReadOptions,
+      final int keyPrefixLength,
+      final byte[] startKey,
+      final byte[] endKey) {
+    // the upper bound is exclusive, the end key followed by a zero byte is the next possible key
+    final Slice upperBound = new Slice(Arrays.copyOf(endKey, endKey.length + 1));
+    final ReadOptions rangeReadOptions =
+        new ReadOptions(baseReadOptions).setIterateUpperBound(upperBound);
+    if (sharePrefix(keyPrefixLength, startKey, endKey)) {
+      rangeReadOptions.setTotalOrderSeek(false).setPrefixSameAsStart(true);
+    }
+    final RocksIterator rocksIterator = db.newIterator(columnFamilyHandle, rangeReadOptions);
     rocksIterator.seek(startKey);
     return RocksDbIterator.create(rocksIterator)
         .toStream()
-        .takeWhile(e -> endKeyBytes.compareTo(Bytes.wrap(e.getKey())) >= 0);
+        .onClose(
+            () -> {
+              rangeReadOptions.close();
+              upperBound.close();
+            });
+  }
+
+  private static boolean sharePrefix(
+      final int keyPrefixLength, final byte[] startKey, final byte[] endKey) {
+    return keyPrefixLength > 0
+        && startKey.length >= keyPrefixLength
+        && endKey.length >= keyPrefixLength
+        && Arrays.equals(startKey, 0, keyPrefixLength, endKey, 0, keyPrefixLength);
   }
 
   @Override
   public Stream<byte[]> streamKeys(final SegmentIdentifier segmentIdentifier) {
-    final RocksIterator rocksIterator = getDB().newIterator(safeColumnHandle(segmentIdentifier));
+    final RocksIterator rocksIterator =
+        getDB().newIterator(safeColumnHandle(segmentIdentifier), iteratorReadOptions);
     rocksIterator.seekToFirst();
     return RocksDbIterator.create(rocksIterator).toStreamKeys();
   }
@@ -487,6 +567,7 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
       txOptions.close();
       options.close();
       tryDeleteOptions.close();
+      iteratorReadOptions.close();
       columnHandlesBySegmentIdentifier.values().stream()
           .map(RocksDbSegmentIdentifier::get)
           .forEach(ColumnFamilyHandle::close);
@@ -21,13 +21,16 @@ import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTran
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.tuple.Pair;
-import org.apache.tuweni.bytes.Bytes;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.ReadOptions;
@@ -43,6 +46,7 @@ public class RocksDBSnapshotTransaction
     implements SegmentedKeyValueStorageTransaction, AutoCloseable {
   private static final Logger LOG = LoggerFactory.getLogger(RocksDBSnapshotTransaction.class);
   private static final String NO_SPACE_LEFT_ON_DEVICE = "No space left on device";
+  private static final int MAX_POOLED_ITERATORS_PER_SEGMENT = 4;
   private final RocksDBMetrics metrics;
   private final OptimisticTransactionDB db;
   private final Function<SegmentIdentifier, ColumnFamilyHandle> columnFamilyMapper;
@@ -51,6 +55,8 @@ public class RocksDBSnapshotTransaction
   private final WriteOptions writeOptions;
   private final ReadOptions readOptions;
   private final AtomicBoolean isClosed = new AtomicBoolean(false);
+  // the snapshot never changes, so iterators over it can be seeked again instead of recreated
+  private final Map<SegmentIdentifier, Deque<RocksIterator>> iteratorPool = new HashMap<>();
 
   /**
    * Instantiates a new RocksDb snapshot transaction.
@@ -70,7 +76,10 @@ public class RocksDBSnapshotTransaction
     this.writeOptions = new WriteOptions();
     this.snapTx = db.beginTransaction(writeOptions);
     this.readOptions =
-        new ReadOptions().setVerifyChecksums(false).setSnapshot(snapshot.markAndUseSnapshot());
+        new ReadOptions()
+            .setVerifyChecksums(false)
+            .setTotalOrderSeek(true)
+            .setSnapshot(snapshot.markAndUseSnapshot());
   }
 
   private RocksDBSnapshotTransaction(
@@ -158,10 +167,9 @@ public class RocksDBSnapshotTransaction
   public Stream<Pair<byte[], byte[]>> stream(final SegmentIdentifier segmentId) {
     throwIfClosed();
 
-    final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segmentId), readOptions);
+    final RocksIterator rocksIterator = acquireIterator(segmentId);
     rocksIterator.seekToFirst();
-    return RocksDbIterator.create(rocksIterator).toStream();
+    return RocksDbIterator.create(rocksIterator, it -> releaseIterator(segmentId, it)).toStream();
   }
 
   /**
@@ -173,10 +181,10 @@ public class RocksDBSnapshotTransaction
   public Stream<byte[]> streamKeys(final SegmentIdentifier segmentId) {
     throwIfClosed();
 
-    final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segmentId), readOptions);
+    final RocksIterator rocksIterator = acquireIterator(segmentId);
     rocksIterator.seekToFirst();
-    return RocksDbIterator.create(rocksIterator).toStreamKeys();
+    return RocksDbIterator.create(rocksIterator, it -> releaseIterator(segmentId, it))
+        .toStreamKeys();
   }
 
   /**
@@ -192,10 +200,9 @@ public class RocksDBSnapshotTransaction
       final SegmentIdentifier segment, final byte[] startKey) {
     throwIfClosed();
 
-    final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segment), readOptions);
+    final RocksIterator rocksIterator = acquireIterator(segment);
     rocksIterator.seek(startKey);
-    return RocksDbIterator.create(rocksIterator).toStream();
+    return RocksDbIterator.create(rocksIterator, it -> releaseIterator(segment, it)).toStream();
   }
 
   /**
@@ -212,14 +219,39 @@ public class RocksDBSnapshotTransaction
   public Stream<Pair<byte[], byte[]>> streamFromKey(
       final SegmentIdentifier segment, final byte[] startKey, final byte[] endKey) {
     throwIfClosed();
-    final Bytes endKeyBytes = Bytes.wrap(endKey);
 
-    final RocksIterator rocksIterator =
-        db.newIterator(columnFamilyMapper.apply(segment), readOptions);
-    rocksIterator.seek(startKey);
-    return RocksDbIterator.create(rocksIterator)
-        .toStream()
-        .takeWhile(e -> endKeyBytes.compareTo(Bytes.wrap(e.getKey())) >= 0);
+    return RocksDBColumnarKeyValueStorage.streamRange(
+        db,
+        columnFamilyMapper.apply(segment),
+        readOptions,
+        segment.getKeyPrefixLength(),
+        startKey,
+        endKey);
+  }
+
+  private RocksIterator acquireIterator(final SegmentIdentifier segmentId) {
+    final RocksIterator pooledIterator;
+    synchronized (iteratorPool) {
+      pooledIterator =
+          Optional.ofNullable(iteratorPool.get(segmentId)).map(Deque::pollFirst).orElse(null);
+    }
+    return pooledIterator != null
+        ? pooledIterator
+        : db.newIterator(columnFamilyMapper.apply(segmentId), readOptions);
+  }
+
+  private void releaseIterator(final SegmentIdentifier segmentId, final RocksIterator iterator) {
+    synchronized (iteratorPool) {
+      final Deque<RocksIterator> pooledIterators =
+          iteratorPool.computeIfAbsent(segmentId, k -> new ArrayDeque<>());
+      if (!isClosed.get()
+          && iterator.isOwningHandle()
+          && pooledIterators.size() < MAX_POOLED_ITERATORS_PER_SEGMENT) {
+        pooledIterators.offerFirst(iterator);
+        return;
+      }
+    }
+    iterator.close();
   }
 
   @Override
@@ -253,7 +285,8 @@ public class RocksDBSnapshotTransaction
   public RocksDBSnapshotTransaction copy() {
     throwIfClosed();
     try {
-      var copyReadOptions = new ReadOptions().setSnapshot(snapshot.markAndUseSnapshot());
+      var copyReadOptions =
+          new ReadOptions().setTotalOrderSeek(true).setSnapshot(snapshot.markAndUseSnapshot());
       var copySnapTx = db.beginTransaction(writeOptions);
       copySnapTx.rebuildFromWriteBatch(snapTx.getWriteBatch().getWriteBatch());
       return new RocksDBSnapshotTransaction(
@@ -267,11 +300,15 @@ public class RocksDBSnapshotTransaction
 
   @Override
   public void close() {
+    synchronized (iteratorPool) {
+      isClosed.set(true);
+      iteratorPool.values().forEach(iterators -> iterators.forEach(RocksIterator::close));
+      iteratorPool.clear();
+    }
     snapTx.close();
     writeOptions.close();
     readOptions.close();
     snapshot.unMarkSnapshot();
-    isClosed.set(true);
   }
 
   private void throwIfClosed() {
@@ -111,6 +111,40 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     store.close();
   }
 
+  @Test
+  public void canStreamRangesOfPrefixedSegment(@TempDir final Path testPath) throws Exception {
+    final SegmentedKeyValueStorage store =
+        createSegmentedStore(
+            testPath, Arrays.asList(TestSegment.DEFAULT, TestSegment.PREFIXED), List.of());
+
+    final SegmentedKeyValueStorageTransaction tx = store.startTransaction();
+    for (final String key : List.of("0001", "0002", "0003", "0100", "0101", "0200")) {
+      tx.put(TestSegment.PREFIXED, bytesFromHexString(key), bytesFromHexString(key));
+    }
+    tx.commit();
+
+    // range under a single prefix
+    assertThat(
+            store
+                .streamFromKey(
+                    TestSegment.PREFIXED, bytesFromHexString("0002"), bytesFromHexString("00ff"))
+                .map(Pair::getKey))
+        .containsExactly(bytesFromHexString("0002"), bytesFromHexString("0003"));
+    // range across prefixes, with an inclusive end
+    assertThat(
+            store
+                .streamFromKey(
+                    TestSegment.PREFIXED, bytesFromHexString("0003"), bytesFromHexString("0101"))
+                .map(Pair::getKey))
+        .containsExactly(
+            bytesFromHexString("0003"), bytesFromHexString("0100"), bytesFromHexString("0101"));
+    // unbounded iteration is not restricted to the prefix of the start key
+    assertThat(store.streamFromKey(TestSegment.PREFIXED, bytesFromHexString("0101")).count())
+        .isEqualTo(2);
+
+    store.close();
+  }
+
   @Test
   public void canRemoveThroughSegmentIteration() throws Exception {
     // we're looping this in order to catch intermittent failures when rocksdb objects are not close
@@ -369,12 +403,15 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     BAR(new byte[] {2}),
     EXPERIMENTAL(new byte[] {3}),
 
-    STATIC_DATA(new byte[] {4}, true, false);
+    STATIC_DATA(new byte[] {4}, true, false),
+
+    PREFIXED(new byte[] {5}, false, false, 1);
 
     private final byte[] id;
     private final String nameAsUtf8;
     private final boolean containsStaticData;
     private final boolean eligibleToHighSpecFlag;
+    private final int keyPrefixLength;
 
     TestSegment(final byte[] id) {
       this(id, false, false);
@@ -382,10 +419,19 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
 
     TestSegment(
         final byte[] id, final boolean containsStaticData, final boolean eligibleToHighSpecFlag) {
+      this(id, containsStaticData, eligibleToHighSpecFlag, 0);
+    }
+
+    TestSegment(
+        final byte[] id,
+        final boolean containsStaticData,
+        final boolean eligibleToHighSpecFlag,
+        final int keyPrefixLength) {
       this.id = id;
       this.nameAsUtf8 = new String(id, StandardCharsets.UTF_8);
       this.containsStaticData = containsStaticData;
       this.eligibleToHighSpecFlag = eligibleToHighSpecFlag;
+      this.keyPrefixLength = keyPrefixLength;
     }
 
     @Override
@@ -407,6 +453,11 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     public boolean isEligibleToHighSpecFlag() {
       return eligibleToHighSpecFlag;
     }
+
+    @Override
+    public int getKeyPrefixLength() {
+      return keyPrefixLength;
+    }
   }
 
   protected abstract SegmentedKeyValueStorage createSegmentedStore() throws Exception;
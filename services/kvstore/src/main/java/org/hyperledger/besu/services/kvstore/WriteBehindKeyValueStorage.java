@@ -0,0 +1,392 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static org.hyperledger.besu.services.kvstore.SegmentedInMemoryKeyValueStorage.newSegmentMap;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Key value storage keeping the committed transactions in memory, as layers over a parent storage,
+ * and writing them to the parent in a single transaction once enough layers are pending.
+ *
+ * <p>The pending layers are flushed oldest first by a background thread, so the parent storage
+ * always holds a prefix of the committed transactions. The committing thread only waits for a
+ * flush when twice the flush threshold of layers are pending. The transactions that were not
+ * flushed before a crash are lost, which must be recoverable by the owner of the storage.
+ */
+public class WriteBehindKeyValueStorage implements SnappableKeyValueStorage {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WriteBehindKeyValueStorage.class);
+
+  private final SegmentedKeyValueStorage parent;
+  private final int flushThreshold;
+  private final ExecutorService flushExecutor;
+  private final Deque<ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>>>
+      pendingLayers = new ArrayDeque<>();
+
+  private volatile SegmentedKeyValueStorage head;
+  private Future<?> flushTask = CompletableFuture.completedFuture(null);
+
+  /**
+   * Instantiates a new write-behind key value storage.
+   *
+   * @param parent the snappable storage the pending layers are flushed to
+   * @param flushThreshold the number of pending layers triggering a flush
+   */
+  public WriteBehindKeyValueStorage(
+      final SegmentedKeyValueStorage parent, final int flushThreshold) {
+    this(
+        parent,
+        flushThreshold,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("write-behind-flush-%d")
+                .setDaemon(true)
+                .build()));
+  }
+
+  @VisibleForTesting
+  WriteBehindKeyValueStorage(
+      final SegmentedKeyValueStorage parent,
+      final int flushThreshold,
+      final ExecutorService flushExecutor) {
+    this.parent = parent;
+    this.flushThreshold = flushThreshold;
+    this.flushExecutor = flushExecutor;
+    this.head = parent;
+  }
+
+  @Override
+  public Optional<byte[]> get(final SegmentIdentifier segmentId, final byte[] key)
+      throws StorageException {
+    return head.get(segmentId, key);
+  }
+
+  @Override
+  public boolean containsKey(final SegmentIdentifier segmentId, final byte[] key)
+      throws StorageException {
+    return head.containsKey(segmentId, key);
+  }
+
+  @Override
+  public Optional<NearestKeyValue> getNearestBefore(
+      final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
+    return head.getNearestBefore(segmentIdentifier, key);
+  }
+
+  @Override
+  public Optional<NearestKeyValue> getNearestAfter(
+      final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
+    return head.getNearestAfter(segmentIdentifier, key);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> stream(final SegmentIdentifier segmentIdentifier) {
+    return head.stream(segmentIdentifier);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(
+      final SegmentIdentifier segmentIdentifier, final byte[] startKey) {
+    return head.streamFromKey(segmentIdentifier, startKey);
+  }
+
+  @Override
+  public Stream<Pair<byte[], byte[]>> streamFromKey(
+      final SegmentIdentifier segmentIdentifier, final byte[] startKey, final byte[] endKey) {
+    return head.streamFromKey(segmentIdentifier, startKey, endKey);
+  }
+
+  @Override
+  public Stream<byte[]> streamKeys(final SegmentIdentifier segmentIdentifier) {
+    return head.streamKeys(segmentIdentifier);
+  }
+
+  @Override
+  public Set<byte[]> getAllKeysThat(
+      final SegmentIdentifier segmentIdentifier, final Predicate<byte[]> returnCondition) {
+    flush();
+    return parent.getAllKeysThat(segmentIdentifier, returnCondition);
+  }
+
+  @Override
+  public Set<byte[]> getAllValuesFromKeysThat(
+      final SegmentIdentifier segmentIdentifier, final Predicate<byte[]> returnCondition) {
+    flush();
+    return parent.getAllValuesFromKeysThat(segmentIdentifier, returnCondition);
+  }
+
+  @Override
+  public boolean tryDelete(final SegmentIdentifier segmentIdentifier, final byte[] key)
+      throws StorageException {
+    // the parent decides whether the delete can be done, once it holds the earlier commits
+    flush();
+    return parent.tryDelete(segmentIdentifier, key);
+  }
+
+  @Override
+  public SegmentedKeyValueStorageTransaction startTransaction() throws StorageException {
+    return new SegmentedKeyValueStorageTransactionValidatorDecorator(
+        new WriteBehindTransaction(), this::isClosed);
+  }
+
+  @Override
+  public void clear(final SegmentIdentifier segmentIdentifier) {
+    final Future<?> task;
+    synchronized (this) {
+      task = flushExecutor.submit(() -> clearSegment(segmentIdentifier));
+      flushTask = task;
+    }
+    awaitFlush(task);
+  }
+
+  @Override
+  public boolean isClosed() {
+    return parent.isClosed();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (!parent.isClosed()) {
+        flush();
+      }
+    } finally {
+      flushExecutor.shutdown();
+      parent.close();
+    }
+  }
+
+  @Override
+  public synchronized SnappedKeyValueStorage takeSnapshot() {
+    final SnappedKeyValueStorage parentSnapshot =
+        ((SnappableKeyValueStorage) parent).takeSnapshot();
+    return new WriteBehindSnapshot(layeredView(parentSnapshot), parentSnapshot);
+  }
+
+  /**
+   * Writes all the pending layers to the parent storage, waiting for the end of the write.
+   *
+   * @throws StorageException if the pending layers can not be written
+   */
+  public void flush() throws StorageException {
+    final Future<?> task;
+    synchronized (this) {
+      task = flushExecutor.submit(this::flushPendingLayers);
+      flushTask = task;
+    }
+    awaitFlush(task);
+  }
+
+  @VisibleForTesting
+  synchronized int getPendingLayerCount() {
+    return pendingLayers.size();
+  }
+
+  private void addLayer(
+      final ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>> layer) {
+    final Future<?> task;
+    synchronized (this) {
+      pendingLayers.addLast(layer);
+      head = new LayeredKeyValueStorage(layer, head);
+      if (pendingLayers.size() < flushThreshold) {
+        return;
+      }
+      if (flushTask.isDone()) {
+        flushTask = flushExecutor.submit(this::flushPendingLayers);
+      }
+      if (pendingLayers.size() < 2 * flushThreshold) {
+        return;
+      }
+      task = flushTask;
+    }
+    // the parent storage can not keep up, wait for it rather than piling up layers in memory
+    awaitFlush(task);
+  }
+
+  /**
+   * Flushes the layers pending when the flush starts. Flushes run one at a time on the flush
+   * executor, and only they remove layers, so the flushed layers are still the oldest pending ones
+   * once written.
+   */
+  private void flushPendingLayers() {
+    final List<ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>>> layers;
+    synchronized (this) {
+      layers = List.copyOf(pendingLayers);
+    }
+    if (layers.isEmpty()) {
+      return;
+    }
+    try {
+      final Map<SegmentIdentifier, Map<Bytes, Optional<byte[]>>> merged = new HashMap<>();
+      layers.forEach(
+          layer ->
+              layer.forEach(
+                  (segment, values) ->
+                      merged.computeIfAbsent(segment, __ -> new HashMap<>()).putAll(values)));
+      final SegmentedKeyValueStorageTransaction transaction = parent.startTransaction();
+      merged.forEach(
+          (segment, values) ->
+              values.forEach(
+                  (key, value) -> {
+                    if (value.isPresent()) {
+                      transaction.put(segment, key.toArrayUnsafe(), value.get());
+                    } else {
+                      transaction.remove(segment, key.toArrayUnsafe());
+                    }
+                  }));
+      transaction.commit();
+    } catch (final RuntimeException e) {
+      LOG.error("Unable to flush {} pending layers", layers.size(), e);
+      throw e;
+    }
+    synchronized (this) {
+      for (int i = 0; i < layers.size(); i++) {
+        pendingLayers.removeFirst();
+      }
+      head = layeredView(parent);
+    }
+    LOG.debug("Flushed {} pending layers", layers.size());
+  }
+
+  /**
+   * Clears the segment in the parent storage and drops it from the pending layers. Running on the
+   * flush executor guarantees that no flush is writing the pending layers meanwhile, and holding
+   * the lock that no layer is committed between the two.
+   */
+  private synchronized void clearSegment(final SegmentIdentifier segmentIdentifier) {
+    final List<ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>>> layers =
+        List.copyOf(pendingLayers);
+    pendingLayers.clear();
+    // snapshots may still read the pending layers, so the segment is dropped from copies of them
+    for (final ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>> layer :
+        layers) {
+      final ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>> remaining =
+          new ConcurrentHashMap<>(layer);
+      remaining.remove(segmentIdentifier);
+      if (!remaining.isEmpty()) {
+        pendingLayers.addLast(remaining);
+      }
+    }
+    parent.clear(segmentIdentifier);
+    head = layeredView(parent);
+  }
+
+  private SegmentedKeyValueStorage layeredView(final SegmentedKeyValueStorage base) {
+    SegmentedKeyValueStorage view = base;
+    for (final ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>> layer :
+        pendingLayers) {
+      view = new LayeredKeyValueStorage(layer, view);
+    }
+    return view;
+  }
+
+  private static void awaitFlush(final Future<?> task) {
+    try {
+      task.get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StorageException("Interrupted while waiting for the pending layers flush", e);
+    } catch (final ExecutionException e) {
+      throw new StorageException("Unable to flush the pending layers", e.getCause());
+    }
+  }
+
+  private class WriteBehindTransaction implements SegmentedKeyValueStorageTransaction {
+
+    private final ConcurrentMap<SegmentIdentifier, NavigableMap<Bytes, Optional<byte[]>>> layer =
+        new ConcurrentHashMap<>();
+
+    @Override
+    public void put(final SegmentIdentifier segmentId, final byte[] key, final byte[] value) {
+      layer
+          .computeIfAbsent(segmentId, __ -> newSegmentMap())
+          .put(Bytes.wrap(key), Optional.of(value));
+    }
+
+    @Override
+    public void remove(final SegmentIdentifier segmentId, final byte[] key) {
+      // keep the removal in the layer in order to hide the value of the parent
+      layer
+          .computeIfAbsent(segmentId, __ -> newSegmentMap())
+          .put(Bytes.wrap(key), Optional.empty());
+    }
+
+    @Override
+    public void commit() throws StorageException {
+      if (!layer.isEmpty()) {
+        addLayer(layer);
+      }
+    }
+
+    @Override
+    public void rollback() {
+      layer.clear();
+    }
+  }
+
+  /** Snapshot of the pending layers over a snapshot of the parent, released on close. */
+  private static class WriteBehindSnapshot extends LayeredKeyValueStorage {
+
+    private final SnappedKeyValueStorage parentSnapshot;
+
+    WriteBehindSnapshot(
+        final SegmentedKeyValueStorage pendingLayers, final SnappedKeyValueStorage parentSnapshot) {
+      super(pendingLayers);
+      this.parentSnapshot = parentSnapshot;
+    }
+
+    @Override
+    public void close() {
+      try {
+        parentSnapshot.close();
+      } catch (final IOException e) {
+        throw new StorageException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.kvstore;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage.SEGMENT_IDENTIFIER;
+
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentedKeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class WriteBehindKeyValueStorageTest {
+
+  private static final int FLUSH_THRESHOLD = 3;
+
+  private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor();
+  private SegmentedInMemoryKeyValueStorage parent;
+  private WriteBehindKeyValueStorage storage;
+
+  @BeforeEach
+  public void setUp() {
+    parent = new SegmentedInMemoryKeyValueStorage();
+    storage = new WriteBehindKeyValueStorage(parent, FLUSH_THRESHOLD, flushExecutor);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    flushExecutor.shutdownNow();
+  }
+
+  @Test
+  public void committedValuesAreReadBeforeBeingFlushed() {
+    put(1, 1);
+    remove(2);
+
+    assertThat(valueOf(storage, 1)).contains(Bytes.of(1));
+    assertThat(valueOf(parent, 1)).isEmpty();
+    assertThat(storage.getPendingLayerCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void removalsHideTheValuesOfTheParent() {
+    put(1, 1);
+    storage.flush();
+
+    remove(1);
+
+    assertThat(valueOf(storage, 1)).isEmpty();
+    assertThat(storage.stream(SEGMENT_IDENTIFIER)).isEmpty();
+    assertThat(valueOf(parent, 1)).contains(Bytes.of(1));
+  }
+
+  @Test
+  public void pendingLayersAreWrittenInOneTransactionOnceTheThresholdIsReached() {
+    put(1, 1);
+    put(1, 2);
+    put(2, 2);
+    // waits for the flush triggered by the third layer
+    storage.flush();
+
+    assertThat(storage.getPendingLayerCount()).isZero();
+    assertThat(valueOf(parent, 1)).contains(Bytes.of(2));
+    assertThat(valueOf(parent, 2)).contains(Bytes.of(2));
+  }
+
+  @Test
+  public void rolledBackTransactionsAreNotCommitted() {
+    final SegmentedKeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(SEGMENT_IDENTIFIER, bytesOf(1), bytesOf(1));
+    transaction.rollback();
+
+    assertThat(valueOf(storage, 1)).isEmpty();
+    assertThat(storage.getPendingLayerCount()).isZero();
+  }
+
+  @Test
+  public void snapshotIsNotChangedByLaterCommitsAndFlushes() {
+    put(1, 1);
+    final SnappedKeyValueStorage snapshot = storage.takeSnapshot();
+
+    put(1, 2);
+    put(2, 2);
+    storage.flush();
+
+    assertThat(valueOf(snapshot, 1)).contains(Bytes.of(1));
+    assertThat(valueOf(snapshot, 2)).isEmpty();
+    assertThat(valueOf(storage, 1)).contains(Bytes.of(2));
+  }
+
+  @Test
+  public void tryDeleteRemovesPendingAndFlushedValues() {
+    put(1, 1);
+    storage.flush();
+    put(2, 2);
+
+    assertThat(storage.tryDelete(SEGMENT_IDENTIFIER, bytesOf(1))).isTrue();
+    assertThat(storage.tryDelete(SEGMENT_IDENTIFIER, bytesOf(2))).isTrue();
+
+    assertThat(valueOf(storage, 1)).isEmpty();
+    assertThat(valueOf(storage, 2)).isEmpty();
+    assertThat(valueOf(parent, 2)).isEmpty();
+  }
+
+  @Test
+  public void clearDropsTheSegmentFromPendingLayers() {
+    put(1, 1);
+    storage.flush();
+    put(2, 2);
+    final SnappedKeyValueStorage snapshot = storage.takeSnapshot();
+
+    storage.clear(SEGMENT_IDENTIFIER);
+    storage.flush();
+
+    assertThat(storage.getPendingLayerCount()).isZero();
+    assertThat(valueOf(storage, 1)).isEmpty();
+    assertThat(valueOf(storage, 2)).isEmpty();
+    assertThat(valueOf(parent, 2)).isEmpty();
+    assertThat(valueOf(snapshot, 2)).contains(Bytes.of(2));
+
+    put(3, 3);
+    assertThat(valueOf(storage, 3)).contains(Bytes.of(3));
+  }
+
+  @Test
+  public void pendingLayersAreFlushedOnClose() throws Exception {
+    put(1, 1);
+
+    storage.close();
+
+    assertThat(valueOf(parent, 1)).contains(Bytes.of(1));
+  }
+
+  private static Optional<Bytes> valueOf(final SegmentedKeyValueStorage kvStorage, final int key) {
+    return kvStorage.get(SEGMENT_IDENTIFIER, bytesOf(key)).map(Bytes::wrap);
+  }
+
+  private void put(final int key, final int value) {
+    final SegmentedKeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(SEGMENT_IDENTIFIER, bytesOf(key), bytesOf(value));
+    transaction.commit();
+  }
+
+  private void remove(final int key) {
+    final SegmentedKeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.remove(SEGMENT_IDENTIFIER, bytesOf(key));
+    transaction.commit();
+  }
+
+  private static byte[] bytesOf(final int value) {
+    return new byte[] {(byte) value};
+  }
+}